@@ -0,0 +1,37 @@
+package bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options and, unless -rf/-rff are
+ * given, writes the results as JSON to jmh-result.json, so runs of different releases
+ * can be compared.
+ * <p>
+ * Examples: {@code java -jar benchmarks.jar} (everything),
+ * {@code java -jar benchmarks.jar BoardBenchmark.revealFlood -p layout=1024x1024@0.05 -rff flood.json}.
+ */
+public final class BenchmarkMain {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cmd.getResult().hasValue()) options.result(DEFAULT_RESULT_FILE);
+        new Runner(options.build()).run();
+    }
+}
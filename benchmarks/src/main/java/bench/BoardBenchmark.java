@@ -0,0 +1,117 @@
+package bench;
+
+import Model.Board;
+import Model.BoardConfig;
+import Model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board hot paths: generating a board (mine placement, numbers, special cells), the
+ * flood fill of one reveal, flag toggling and the 3x3 area reward.
+ * <p>
+ * Reveals and rewards change the board, so those run on a game with undo
+ * ({@link UndoBoard}) and each invocation's move is undone outside the measured time.
+ * Undoing costs only the cells the move changed, and lazily built indices (such as the
+ * hidden-cell index of the area reward) are attached once per trial, not per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD", "256x256", "1024x1024", "1024x1024@0.05"})
+    public String layout;
+
+    private BoardConfig config;
+    // Trial-wide game for the benchmarks that do not use up the board
+    private Game game;
+    private Board board;
+    private long boardSeed;
+    private int flagCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Game.setConsoleOutput(false);
+        config = Layouts.parse(layout);
+        game = new Game(config, Layouts.SEED);
+        board = game.getBoard1();
+    }
+
+    /**
+     * A game that undoes one move, for benchmarks that reveal cells.
+     */
+    @State(Scope.Thread)
+    public static class UndoBoard {
+        Game game;
+        Board board;
+        int[] floodStart;
+
+        @Setup(Level.Trial)
+        public void setUp(BoardBenchmark benchmark) {
+            game = new Game(benchmark.config, Layouts.SEED);
+            game.setUndoDepth(1);
+            board = game.getBoard1();
+            floodStart = Layouts.largestFloodStart(board);
+            if (floodStart == null) throw new IllegalStateException("No empty cell on " + benchmark.layout);
+            // Attach the hidden-cell index now, so no measured call pays for building it
+            board.revealRandom3x3AreaReward();
+            game.undo();
+        }
+
+        @TearDown(Level.Invocation)
+        public void undoMove() {
+            game.undo();
+        }
+    }
+
+    /**
+     * Placement and number calculation of one board (a new seed each time).
+     */
+    @Benchmark
+    public Board construct() {
+        return new Board(config, game, new SplittableRandom(boardSeed++));
+    }
+
+    /**
+     * One reveal on the largest zero area of the board.
+     */
+    @Benchmark
+    public int revealFlood(UndoBoard undo) {
+        undo.board.revealCell(undo.floodStart[0], undo.floodStart[1]);
+        return undo.board.getSafeCellsRemaining();
+    }
+
+    /**
+     * Flag and unflag one cell (two toggles), moving over the board.
+     */
+    @Benchmark
+    public boolean toggleFlag() {
+        int r = flagCursor / board.getCols();
+        int c = flagCursor % board.getCols();
+        flagCursor = (flagCursor + 1) % (board.getRows() * board.getCols());
+        return board.toggleFlag(r, c) & board.toggleFlag(r, c);
+    }
+
+    @Benchmark
+    public int revealRandom3x3AreaReward(UndoBoard undo) {
+        return undo.board.revealRandom3x3AreaReward();
+    }
+}
@@ -0,0 +1,66 @@
+package bench;
+
+import Controller.GameController;
+import Model.Board;
+import Model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full repaint's worth of {@link GameController#getCellViewData} calls: every cell of
+ * both boards, after the largest zero area of board 1 has been revealed so hidden,
+ * number and empty cells all appear.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD", "256x256", "1024x1024"})
+    public String layout;
+
+    private GameController controller;
+    private int rows;
+    private int cols;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Game.setConsoleOutput(false);
+        controller = GameController.getInstance();
+        // Keep the generated layout: no mine relocation on the first reveal
+        controller.setFirstClickSafeMode(false);
+        controller.startNewGame(Layouts.parse(layout));
+        Board board = controller.getCurrentGame().getBoard1();
+        int[] start = Layouts.largestFloodStart(board);
+        if (start != null) board.revealCell(start[0], start[1]);
+        rows = board.getRows();
+        cols = board.getCols();
+    }
+
+    @Benchmark
+    public void getCellViewDataSweep(Blackhole blackhole) {
+        for (int boardNumber = 1; boardNumber <= 2; boardNumber++) {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    blackhole.consume(controller.getCellViewData(boardNumber, r, c));
+                }
+            }
+        }
+    }
+}
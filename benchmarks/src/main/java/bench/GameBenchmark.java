@@ -0,0 +1,49 @@
+package bench;
+
+import Model.BoardConfig;
+import Model.Game;
+import Model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Win/loss evaluation of a running game, as done after every committed move.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD", "256x256", "1024x1024"})
+    public String layout;
+
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Game.setConsoleOutput(false);
+        BoardConfig config = Layouts.parse(layout);
+        game = new Game(config, Layouts.SEED);
+    }
+
+    @Benchmark
+    public GameState checkGameStatus() {
+        game.checkGameStatus();
+        return game.getGameState();
+    }
+}
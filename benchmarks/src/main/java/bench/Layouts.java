@@ -0,0 +1,91 @@
+package bench;
+
+import Model.Board;
+import Model.BoardConfig;
+import Model.Cell;
+import Model.Difficulty;
+
+import java.util.ArrayDeque;
+
+/**
+ * Board layouts named by benchmark parameters, and helpers to find cells on them.
+ * <p>
+ * A layout is a built-in level ("EASY", "MEDIUM", "HARD") or a custom size "ROWSxCOLS",
+ * optionally with a mine density "ROWSxCOLS@0.05". Custom layouts use HARD rules, HARD's
+ * mine density unless given, and special cells in HARD's proportion.
+ */
+final class Layouts {
+
+    /** Seed of every benchmark game, so runs compare the same boards. */
+    static final long SEED = 20240601L;
+
+    private Layouts() {
+    }
+
+    static BoardConfig parse(String layout) {
+        int x = layout.indexOf('x');
+        if (x < 0) {
+            return BoardConfig.of(Difficulty.valueOf(layout));
+        }
+        Difficulty rules = Difficulty.HARD;
+        double hardCells = rules.getRows() * rules.getCols();
+        int at = layout.indexOf('@');
+        int rows = Integer.parseInt(layout.substring(0, x));
+        int cols = Integer.parseInt(layout.substring(x + 1, (at < 0) ? layout.length() : at));
+        double density = (at < 0) ? rules.getMines() / hardCells : Double.parseDouble(layout.substring(at + 1));
+        double scale = rows * (double) cols / hardCells;
+        return BoardConfig.custom(rows, cols, density,
+                (int) Math.round(rules.getQuestionCells() * scale),
+                (int) Math.round(rules.getSurpriseCells() * scale), rules);
+    }
+
+    /**
+     * A hidden empty cell (no adjacent mines) in the largest connected zero area, as
+     * {row, col}, so revealing it floods as much of the board as one click can.
+     * Returns null if the board has no such cell.
+     */
+    static int[] largestFloodStart(Board board) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        boolean[] seen = new boolean[rows * cols];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int best = -1;
+        int bestSize = 0;
+        for (int start = 0; start < seen.length; start++) {
+            if (seen[start] || !isZero(board, start / cols, start % cols)) continue;
+            seen[start] = true;
+            queue.add(start);
+            int size = 0;
+            while (!queue.isEmpty()) {
+                int i = queue.poll();
+                size++;
+                int r = i / cols;
+                int c = i % cols;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int nr = r + dr;
+                        int nc = c + dc;
+                        if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                        int n = nr * cols + nc;
+                        if (!seen[n] && isZero(board, nr, nc)) {
+                            seen[n] = true;
+                            queue.add(n);
+                        }
+                    }
+                }
+            }
+            if (size > bestSize) {
+                bestSize = size;
+                best = start;
+            }
+        }
+        return (best < 0) ? null : new int[]{best / cols, best % cols};
+    }
+
+    private static boolean isZero(Board board, int r, int c) {
+        Cell cell = board.getCell(r, c);
+        return cell.getState() == Cell.CellState.HIDDEN
+                && cell.getContent() == Cell.CellContent.EMPTY
+                && cell.getAdjacentMines() == 0;
+    }
+}
@@ -2,12 +2,24 @@ package Controller;
 
 import Model.*;
 
+import Model.replay.Replay;
+import Model.solver.FrontierSolver;
+import Model.solver.MineProbabilities;
+import Model.solver.ProbabilityEngine;
+import Model.replay.ReplayRecorder;
+
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Controller class between the UI (View) and the Game model.
@@ -22,9 +34,42 @@ public class GameController {
     private QuestionManager questionManager;
     private final GameSubject gameSubject = new GameSubject();
 
+    // Board pairs kept ready per built-in level, and for the current custom layout
+    private static final int POOLED_BOARDS_PER_LEVEL = 2;
+    private static final int POOLED_BOARDS_CUSTOM = 1;
+    private BoardConfig pooledCustomConfig;
+
+    // One cell-change listener per board number (a new BoardPanel replaces the old one)
+    private final Map<Integer, CellChangeListener> cellChangeListeners = new HashMap<>();
+    // Undo/redo history depth applied to every new game (0 = off, e.g. outside practice mode)
+    private int undoDepth;
+    // Replay recording: target directory (null = off) and the current game's recorder
+    private File replayDirectory;
+    private ReplayRecorder replayRecorder;
+    // Replay being viewed (null = normal play); its game is currentGame while it is open
+    private ReplayTimeline replayTimeline;
+    // Deduction engines per board of the current game (created on the first hint query)
+    private FrontierSolver[] solvers;
+    // New games use layouts that can be cleared without guessing
+    private boolean noGuessMode;
+    // New games move mines out of each board's first reveal
+    private boolean firstClickSafeMode = true;
+    // Exact mine probabilities for the heatmap, per board: an engine (memoizes frontier
+    // components across moves), a worker thread off the event thread, and the number of
+    // the latest request (older requests still queued are skipped)
+    private final ProbabilityEngine[] probabilityEngines = {new ProbabilityEngine(), new ProbabilityEngine()};
+    private final ExecutorService[] probabilityWorkers = {probabilityWorker(1), probabilityWorker(2)};
+    private final AtomicLongArray probabilityRequests = new AtomicLongArray(2);
+    private static final long PROBABILITY_BUDGET_MILLIS = 80;
+
     // Private constructor – prevents external instantiation
 
     private GameController() {
+        // Keep a couple of ready-made board pairs per level so new game / restart are instant
+        BoardPool pool = BoardPool.getInstance();
+        for (Difficulty d : Difficulty.values()) {
+            pool.setTargetSize(BoardConfig.of(d).withFirstClickSafe(firstClickSafeMode), POOLED_BOARDS_PER_LEVEL);
+        }
     }
 
     // Returns the single shared Controller instance
@@ -40,14 +85,46 @@ public class GameController {
      * This is the main entry point for starting a cooperative game.
      */
     public void startNewGame(Difficulty difficulty) {
+        startNewGame(BoardConfig.of(difficulty));
+    }
+
+    /**
+     * Creates a new Game with any board layout (built-in level or custom size).
+     */
+    public void startNewGame(BoardConfig config) {
+        if (noGuessMode) config = config.withNoGuess(true);
+        if (firstClickSafeMode) config = config.withFirstClickSafe(true);
         ensureQuestionManager();
         questionManager.resetForNewGame();
-        currentGame = new Game(difficulty);
+        poolCustomLayout(config);
+        replayTimeline = null;
+        resetSolvers();
+        currentGame = new Game(config);
         currentGame.setQuestionManager(questionManager);
+        currentGame.setUndoDepth(undoDepth);
+        // One coalesced event per committed model transaction reaches the observers
+        currentGame.addChangeListener((game, change) -> notifyStateChange());
+        // Per-action cell change sets go straight to the board views
+        currentGame.addCellChangeListener(this::forwardCellChanges);
+        startRecording();
         // Presenter is set by the View layer via registerQuestionPresenter
         notifyStateChange();
     }
 
+    /**
+     * Keeps one prepared board pair for the current custom layout (for restarts),
+     * and stops pooling the previous custom layout.
+     */
+    private void poolCustomLayout(BoardConfig config) {
+        if (!config.isCustom() || config.equals(pooledCustomConfig)) return;
+        BoardPool pool = BoardPool.getInstance();
+        if (pooledCustomConfig != null) {
+            pool.setTargetSize(pooledCustomConfig, 0);
+        }
+        pooledCustomConfig = config;
+        pool.setTargetSize(config, POOLED_BOARDS_CUSTOM);
+    }
+
     /**
      * Overload: creates a new Game instance from a difficulty key ("EASY", "MEDIUM", "HARD").
      * This lets the View pass only a String (no direct reference to the Model's enum).
@@ -62,17 +139,124 @@ public class GameController {
         startNewGame(difficulty);
     }
 
+    /**
+     * Creates a new custom-size game from plain values, so the View needs no Model types.
+     * Lives, costs and scoring follow the given rules difficulty key ("EASY", "MEDIUM", "HARD").
+     *
+     * @throws IllegalArgumentException if the size, density or counts are invalid
+     */
+    public void startNewCustomGame(int rows, int cols, double mineDensity,
+                                   int questionCells, int surpriseCells, String rulesKey) {
+        Difficulty rules;
+        try {
+            rules = Difficulty.valueOf(rulesKey.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            rules = Difficulty.EASY;
+        }
+        startNewGame(BoardConfig.custom(rows, cols, mineDensity, questionCells, surpriseCells, rules));
+    }
+
     /**
      * Restarts the current game using the same difficulty.
      * If no game exists yet, nothing happens.
      */
     public void restartGame() {
         if (currentGame != null) {
+            // A restart is a new game: questions may be asked again (and replays start clean)
+            if (questionManager != null) questionManager.resetForNewGame();
+            resetSolvers();
             currentGame.restartGame();
+            startRecording();
             notifyStateChange();
         }
     }
 
+    /**
+     * Turns "no guessing required" boards on or off for later games. While on, ready-made
+     * no-guess boards are kept for every built-in level, since searching takes a moment.
+     */
+    public void setNoGuessMode(boolean enabled) {
+        if (enabled == noGuessMode) return;
+        noGuessMode = enabled;
+        BoardPool pool = BoardPool.getInstance();
+        for (Difficulty d : Difficulty.values()) {
+            pool.setTargetSize(BoardConfig.of(d).withNoGuess(true).withFirstClickSafe(firstClickSafeMode),
+                    enabled ? POOLED_BOARDS_PER_LEVEL : 0);
+        }
+    }
+
+    public boolean isNoGuessMode() {
+        return noGuessMode;
+    }
+
+    /**
+     * Turns first-click safety on or off for later games (on by default). The ready-made
+     * boards move to the matching layouts.
+     */
+    public void setFirstClickSafeMode(boolean enabled) {
+        if (enabled == firstClickSafeMode) return;
+        BoardPool pool = BoardPool.getInstance();
+        for (Difficulty d : Difficulty.values()) {
+            BoardConfig plain = BoardConfig.of(d);
+            pool.setTargetSize(plain.withFirstClickSafe(firstClickSafeMode), 0);
+            pool.setTargetSize(plain.withFirstClickSafe(enabled), POOLED_BOARDS_PER_LEVEL);
+            if (noGuessMode) {
+                pool.setTargetSize(plain.withNoGuess(true).withFirstClickSafe(firstClickSafeMode), 0);
+                pool.setTargetSize(plain.withNoGuess(true).withFirstClickSafe(enabled), POOLED_BOARDS_PER_LEVEL);
+            }
+        }
+        firstClickSafeMode = enabled;
+    }
+
+    public boolean isFirstClickSafeMode() {
+        return firstClickSafeMode;
+    }
+
+    /**
+     * Sets how many moves can be undone (0 turns undo off), for this and later games.
+     * While a replay is open only later games get it: the replay's game stays without undo.
+     */
+    public void setUndoDepth(int depth) {
+        this.undoDepth = Math.max(0, depth);
+        if (currentGame != null && replayTimeline == null) {
+            if (replayRecorder != null) replayRecorder.recordUndoDepth(undoDepth);
+            currentGame.setUndoDepth(undoDepth);
+        }
+    }
+
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    public boolean canUndo() {
+        return currentGame != null && replayTimeline == null && currentGame.canUndo();
+    }
+
+    public boolean canRedo() {
+        return currentGame != null && replayTimeline == null && currentGame.canRedo();
+    }
+
+    /**
+     * Undoes the last move (boards, score, lives, state and turn). Returns false if there was none
+     * or a replay is open (use {@link #seekReplay(int)} there).
+     */
+    public boolean undo() {
+        if (currentGame == null || replayTimeline != null || !currentGame.undo()) return false;
+        if (replayRecorder != null) replayRecorder.recordUndo();
+        notifyStateChange();
+        return true;
+    }
+
+    /**
+     * Redoes the last undone move. Returns false if there was none or a replay is open.
+     */
+    public boolean redo() {
+        if (currentGame == null || replayTimeline != null || !currentGame.redo()) return false;
+        if (replayRecorder != null) replayRecorder.recordRedo();
+        notifyStateChange();
+        return true;
+    }
+
     /**
      * Returns the current Game instance.
      */
@@ -101,7 +285,12 @@ public class GameController {
      */
     public void registerQuestionPresenter(Game.QuestionPresenter presenter) {
         if (currentGame != null) {
-            currentGame.setQuestionPresenter(presenter);
+            // Answers are part of the replay: the rest of the game follows from them
+            currentGame.setQuestionPresenter(presenter == null ? null : question -> {
+                QuestionResult result = presenter.presentQuestion(question);
+                if (replayRecorder != null) replayRecorder.recordAnswer(question.getId(), result);
+                return result;
+            });
         }
     }
 
@@ -137,11 +326,18 @@ public class GameController {
 
     // Switches turn between players.
     public void switchTurn() {
-        if (currentGame != null) {
+        if (currentGame != null && replayTimeline == null) {
+            if (replayRecorder != null) replayRecorder.recordSwitchTurn();
             currentGame.switchTurn();
         }
     }
 
+    // Returns true if the current game uses a custom board size.
+    public boolean isCustomGame() {
+        return currentGame != null && currentGame.getBoardConfig() != null
+                && currentGame.getBoardConfig().isCustom();
+    }
+
     public String getDifficultyName() {
         if (currentGame == null || currentGame.getDifficulty() == null) return "";
         return currentGame.getDifficulty().name();
@@ -172,7 +368,8 @@ public class GameController {
     }
 
     public void processTurnEnd() {
-        if (currentGame == null || currentGame.getGameState() != GameState.RUNNING) return;
+        if (currentGame == null || replayTimeline != null || currentGame.getGameState() != GameState.RUNNING) return;
+        if (replayRecorder != null) replayRecorder.recordSwitchTurn();
         currentGame.switchTurn();
     }
 
@@ -208,21 +405,8 @@ public class GameController {
         Board b = getBoard(boardNumber);
         if (b == null) return 0;
 
-        int total = b.getTotalMines();
-        int foundMines = 0;
-
-        for (int r = 0; r < b.getRows(); r++) {
-            for (int c = 0; c < b.getCols(); c++) {
-                Cell cell = b.getCell(r, c);
-                if (cell == null) continue;
-
-                if (cell.isMine() && (cell.isRevealed() || cell.isFlagged())) {
-                    foundMines++;
-                }
-            }
-        }
-
-        int remaining = total - foundMines;
+        // Board keeps the found-mine counter incrementally, no grid scan needed
+        int remaining = b.getTotalMines() - b.getFoundMinesCount();
         return Math.max(remaining, 0);
     }
 
@@ -231,13 +415,13 @@ public class GameController {
      * This delegates to Board.revealCell, which contains the game logic.
      */
     public boolean revealCellUI(int boardNumber, int row, int col) {
-        if (currentGame == null || !isGameRunning()) return false;
+        if (currentGame == null || replayTimeline != null || !isGameRunning()) return false;
 
         Board board = getBoard(boardNumber);
         if (board == null) return false;
         if (row < 0 || row >= board.getRows() || col < 0 || col >= board.getCols()) return true;
-        board.revealCell(row, col);
-        notifyStateChange();
+        if (replayRecorder != null) replayRecorder.recordReveal(boardNumber, row, col);
+        board.revealCell(row, col); // observers are notified when the move's transaction commits
         return true;
     }
 
@@ -246,16 +430,15 @@ public class GameController {
      * This delegates to Board.toggleFlag, which contains the game logic and scoring.
      */
     public boolean toggleFlagUI(int boardNumber, int row, int col) {
-        if (currentGame == null || !isGameRunning()) return false;
+        if (currentGame == null || replayTimeline != null || !isGameRunning()) return false;
 
         Board board = getBoard(boardNumber);
         if (board == null) return false;
 
         if (row < 0 || row >= board.getRows() || col < 0 || col >= board.getCols()) return false;
 
-        boolean ok = board.toggleFlag(row, col);
-        notifyStateChange();
-        return ok;
+        if (replayRecorder != null) replayRecorder.recordFlag(boardNumber, row, col);
+        return board.toggleFlag(row, col); // observers are notified on commit
     }
 
 
@@ -345,14 +528,11 @@ public class GameController {
      */
 
     public boolean activateSpecialCellUI(int boardNumber, int row, int col) {
-        if (currentGame == null || !isGameRunning()) return false;
+        if (currentGame == null || replayTimeline != null || !isGameRunning()) return false;
         Board board = getBoard(boardNumber);
         if (board == null) return false;
-        boolean result = board.activateSpecialCell(row, col);
-        if (result) {
-            notifyStateChange();
-        }
-        return result;
+        if (replayRecorder != null) replayRecorder.recordActivate(boardNumber, row, col);
+        return board.activateSpecialCell(row, col); // observers are notified on commit
     }
 
     public boolean isQuestionOrSurprise(int boardNumber, int row, int col) {
@@ -665,9 +845,399 @@ public class GameController {
      * Called when player exits to Main Menu.
      */
     public void endGame() {
+        stopRecording();
+        replayTimeline = null;
+        resetSolvers();
+        currentGame = null;
+    }
+
+    // ======================================================
+    //  REPLAY RECORDING
+    // ======================================================
+
+    /**
+     * Records every game from now on into the given directory (null turns recording off).
+     * Each new game or restart gets its own file; see {@link Model.replay.ReplayPlayer}
+     * for playing one back.
+     */
+    public void setReplayDirectory(File directory) {
+        this.replayDirectory = directory;
+        if (directory == null) stopRecording();
+    }
+
+    public File getReplayDirectory() {
+        return replayDirectory;
+    }
+
+    /**
+     * File the current game is being recorded to, or null if it is not recorded.
+     */
+    public File getReplayFile() {
+        return (replayRecorder != null) ? replayRecorder.getFile().toFile() : null;
+    }
+
+    /**
+     * Blocks until everything recorded so far is on disk (e.g. before reading the file).
+     */
+    public void flushRecording() {
+        if (replayRecorder == null) return;
+        try {
+            replayRecorder.flush();
+        } catch (IOException e) {
+            System.out.println("Failed to write replay: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the previous game's recording and opens one for the current game.
+     */
+    private void startRecording() {
+        stopRecording();
+        if (replayDirectory == null || currentGame == null) return;
+        String name = "replay-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + "-" + Long.toHexString(currentGame.getSeed()) + ".scr";
+        try {
+            replayDirectory.mkdirs();
+            replayRecorder = ReplayRecorder.start(new File(replayDirectory, name).toPath(),
+                    currentGame.getSeed(), currentGame.getBoardConfig(), currentGame.getUndoDepth(),
+                    currentGame.getLayoutCandidates());
+        } catch (IOException e) {
+            System.out.println("Failed to start replay recording: " + e.getMessage());
+        }
+    }
+
+    private void stopRecording() {
+        if (replayRecorder == null) return;
+        try {
+            replayRecorder.close();
+        } catch (IOException e) {
+            System.out.println("Failed to write replay: " + e.getMessage());
+        }
+        replayRecorder = null;
+    }
+
+    // ======================================================
+    //  REPLAY VIEWING
+    // ======================================================
+
+    /**
+     * Opens a replay file for viewing: its rebuilt game becomes the current game (at the
+     * first move) and board actions are ignored until {@link #closeReplay()}.
+     * Opening indexes the whole replay once; after that any move is reached with
+     * {@link #seekReplay(int)} in time proportional to the cells that differ.
+     *
+     * @return false if the file cannot be read or does not match this version's rules or questions
+     */
+    public boolean openReplay(File file) {
+        ReplayTimeline timeline;
+        try {
+            timeline = ReplayTimeline.build(Replay.read(file.toPath()), getQuestionManager());
+        } catch (IOException | IllegalStateException e) {
+            System.out.println("Failed to open replay: " + e.getMessage());
+            return false;
+        }
+        stopRecording();
+        replayTimeline = timeline;
+        resetSolvers();
+        currentGame = timeline.getGame();
+        currentGame.addChangeListener((game, change) -> notifyStateChange());
+        currentGame.addCellChangeListener(this::forwardCellChanges);
+        timeline.seek(0);
+        notifyStateChange();
+        return true;
+    }
+
+    public boolean isReplayMode() {
+        return replayTimeline != null;
+    }
+
+    /** Number of moves in the open replay (0 if none). */
+    public int getReplayLength() {
+        return (replayTimeline != null) ? replayTimeline.getLength() : 0;
+    }
+
+    public int getReplayPosition() {
+        return (replayTimeline != null) ? replayTimeline.getPosition() : 0;
+    }
+
+    /**
+     * Shows the open replay after the given number of moves (clamped to the replay).
+     * Board views get the changed cells through their cell-change listeners.
+     */
+    public void seekReplay(int move) {
+        if (replayTimeline != null) replayTimeline.seek(move);
+    }
+
+    /** Milliseconds from the start of the recording to the given move. */
+    public long getReplayTimeMillis(int move) {
+        return (replayTimeline != null) ? replayTimeline.getTimeMillis(move) : 0;
+    }
+
+    /** Last move played at or before the given time of the recording. */
+    public int getReplayMoveAt(long millis) {
+        return (replayTimeline != null) ? replayTimeline.positionAt(millis) : 0;
+    }
+
+    /**
+     * Leaves replay mode and drops the replay's game.
+     */
+    public void closeReplay() {
+        if (replayTimeline == null) return;
+        replayTimeline = null;
+        resetSolvers();
         currentGame = null;
     }
 
+    // ======================================================
+    //  HINTS (deductions from the visible board)
+    // ======================================================
+
+    /**
+     * A suggested move: reveal a cell known to be safe, or flag one known to be a mine.
+     */
+    public static class HintData {
+        public final int row;
+        public final int col;
+        public final boolean flag;
+
+        public HintData(int row, int col, boolean flag) {
+            this.row = row;
+            this.col = col;
+            this.flag = flag;
+        }
+    }
+
+    /**
+     * Hidden cells that the visible numbers prove safe, as row * cols + col indexes.
+     */
+    public int[] getSafeCells(int boardNumber) {
+        FrontierSolver solver = getSolver(boardNumber);
+        return (solver != null) ? solver.getSafeCells() : new int[0];
+    }
+
+    /**
+     * Unrevealed cells that the visible numbers prove to be mines (flagged or not),
+     * as row * cols + col indexes.
+     */
+    public int[] getCertainMines(int boardNumber) {
+        FrontierSolver solver = getSolver(boardNumber);
+        return (solver != null) ? solver.getCertainMines() : new int[0];
+    }
+
+    /**
+     * Next move that needs no guessing: a safe cell to reveal (preferably next to the
+     * latest deductions), else a proven mine that is not flagged yet, else the safe
+     * opening of a no-guess board while it is still hidden.
+     *
+     * @return the hint, or null if the visible board proves nothing new
+     */
+    public HintData getHint(int boardNumber) {
+        FrontierSolver solver = getSolver(boardNumber);
+        if (solver == null) return null;
+        int cols = solver.getCols();
+        int safe = solver.nextSafeCell();
+        if (safe >= 0) return new HintData(safe / cols, safe % cols, false);
+        Board board = getBoard(boardNumber);
+        for (int mine : solver.getCertainMines()) {
+            if (!board.isFlagged(mine / cols, mine % cols)) {
+                return new HintData(mine / cols, mine % cols, true);
+            }
+        }
+        int opening = board.getOpeningCell();
+        if (opening >= 0 && !solver.isRevealed(opening)) {
+            return new HintData(opening / cols, opening % cols, false);
+        }
+        return null;
+    }
+
+    /**
+     * Chance that each cell of the board hides a mine, given the visible numbers and the
+     * board's mine count, as an array indexed by row * cols + col (NaN for revealed cells).
+     * <p>
+     * The visible state is copied on the calling thread and the computation runs on the
+     * board's worker thread, so the caller (the event thread) never waits for it. A new
+     * request for the same board cancels the one in progress.
+     *
+     * @return completes with the probabilities, or with null if there is no board, the
+     *         budget ran out or a newer request replaced this one
+     */
+    public CompletableFuture<float[]> requestMineProbabilities(int boardNumber) {
+        FrontierSolver solver = getSolver(boardNumber);
+        if (solver == null) return CompletableFuture.completedFuture(null);
+        Board board = getBoard(boardNumber);
+        int rows = board.getRows();
+        int cols = board.getCols();
+        byte[] codes = new byte[rows * cols];
+        board.fillRenderCodes(0, 0, rows, cols, codes, 0);
+        int totalMines = board.getTotalMines();
+        FrontierSolver deductions = solver.copy();
+
+        int k = boardNumber - 1;
+        long request = probabilityRequests.incrementAndGet(k);
+        ProbabilityEngine engine = probabilityEngines[k];
+        engine.cancel();
+        return CompletableFuture.supplyAsync(() -> {
+            if (probabilityRequests.get(k) != request) return null;
+            MineProbabilities result = engine.compute(rows, cols, codes, totalMines, deductions, PROBABILITY_BUDGET_MILLIS);
+            return (result != null && probabilityRequests.get(k) == request) ? result.toArray() : null;
+        }, probabilityWorkers[k]);
+    }
+
+    /**
+     * Stops the probability computations of both boards (their requests complete with null).
+     */
+    public void cancelMineProbabilities() {
+        for (int k = 0; k < probabilityEngines.length; k++) {
+            probabilityRequests.incrementAndGet(k);
+            probabilityEngines[k].cancel();
+        }
+    }
+
+    private static ExecutorService probabilityWorker(int boardNumber) {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "mine-probabilities-" + boardNumber);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Drops the boards' solvers (a new board or game) and any probabilities being computed.
+     */
+    private void resetSolvers() {
+        solvers = null;
+        cancelMineProbabilities();
+    }
+
+    /**
+     * The board's solver, loaded from the visible state on first use and then kept up
+     * to date from the board's change sets.
+     */
+    private FrontierSolver getSolver(int boardNumber) {
+        Board board = getBoard(boardNumber);
+        if (board == null || (boardNumber != 1 && boardNumber != 2)) return null;
+        if (solvers == null) solvers = new FrontierSolver[2];
+        if (solvers[boardNumber - 1] == null) {
+            solvers[boardNumber - 1] = FrontierSolver.forBoard(board);
+        }
+        return solvers[boardNumber - 1];
+    }
+
+    // ======================================================
+    //  CELL CHANGE EVENTS (incremental board refresh)
+    // ======================================================
+
+    /** Ints per change in the buffer passed to {@link CellChangeListener}: index, old code, new code. */
+    public static final int CHANGE_STRIDE = CellChangeSet.STRIDE;
+
+    /**
+     * Receives the cells changed on one board after each action, as primitive data only.
+     */
+    public interface CellChangeListener {
+        /**
+         * @param changes     (index, old code, new code) triples, index = row * cols + col;
+         *                    only the first {@code count * CHANGE_STRIDE} ints are valid and the
+         *                    array is reused after the call returns
+         * @param count       number of changed cells
+         * @param fullRefresh true if the whole board must be redrawn (then count is 0)
+         */
+        void onCellsChanged(int[] changes, int count, boolean fullRefresh);
+    }
+
+    /**
+     * Sets the listener for one board's cell changes (null to remove it).
+     */
+    public void setCellChangeListener(int boardNumber, CellChangeListener listener) {
+        if (listener == null) {
+            cellChangeListeners.remove(boardNumber);
+        } else {
+            cellChangeListeners.put(boardNumber, listener);
+        }
+    }
+
+    /** True if the change code describes a revealed cell. */
+    public static boolean isRevealedCode(int code) {
+        return CellChangeSet.isRevealed(code);
+    }
+
+    private void forwardCellChanges(int boardNumber, CellChangeSet changes) {
+        if (solvers != null && solvers[boardNumber - 1] != null) {
+            solvers[boardNumber - 1].sync(getBoard(boardNumber), changes);
+        }
+        CellChangeListener listener = cellChangeListeners.get(boardNumber);
+        if (listener != null) {
+            listener.onCellsChanged(changes.buffer(), changes.size(), changes.isFullRefresh());
+        }
+    }
+
+    // ======================================================
+    //  RENDER SNAPSHOTS (bulk primitive board state)
+    // ======================================================
+
+    // Render code layout: value in bits 0-3, state in bits 4-5, used flag in bit 6
+    public static final int RENDER_VALUE_MASK = CellRenderCode.VALUE_MASK;
+    public static final int RENDER_MINE = CellRenderCode.MINE;
+    public static final int RENDER_QUESTION = CellRenderCode.QUESTION;
+    public static final int RENDER_SURPRISE = CellRenderCode.SURPRISE;
+    public static final int RENDER_STATE_MASK = CellRenderCode.STATE_MASK;
+    public static final int RENDER_HIDDEN = CellRenderCode.HIDDEN;
+    public static final int RENDER_REVEALED = CellRenderCode.REVEALED;
+    public static final int RENDER_FLAGGED = CellRenderCode.FLAGGED;
+    public static final int RENDER_USED = CellRenderCode.USED;
+
+    /**
+     * Render code of one cell: value 0 (empty), 1-8 (number), RENDER_MINE, RENDER_QUESTION or
+     * RENDER_SURPRISE, or'ed with RENDER_HIDDEN / RENDER_REVEALED / RENDER_FLAGGED and RENDER_USED.
+     * Returns -1 if there is no game or the position is invalid.
+     */
+    public int getRenderCode(int boardNumber, int row, int col) {
+        Board b = getBoard(boardNumber);
+        return (b != null) ? b.getRenderCode(row, col) : -1;
+    }
+
+    /**
+     * Fills out[row * cols + col] with the render code of every cell of the board.
+     * The caller owns the buffer and can reuse it for every frame.
+     *
+     * @return false if there is no game
+     * @throws IllegalArgumentException if out is shorter than rows * cols
+     */
+    public boolean fillRenderState(int boardNumber, byte[] out) {
+        Board b = getBoard(boardNumber);
+        if (b == null) return false;
+        b.fillRenderCodes(0, 0, b.getRows(), b.getCols(), out, 0);
+        return true;
+    }
+
+    /**
+     * Fills out[(row - row0) * width + (col - col0)] with the render codes of a viewport.
+     *
+     * @return false if there is no game
+     * @throws IllegalArgumentException if the viewport leaves the board or out is too small
+     */
+    public boolean fillRenderState(int boardNumber, int row0, int col0, int height, int width, byte[] out) {
+        Board b = getBoard(boardNumber);
+        if (b == null) return false;
+        b.fillRenderCodes(row0, col0, height, width, out, 0);
+        return true;
+    }
+
+    /** Same as {@link #fillRenderState(int, byte[])} for an int buffer. */
+    public boolean fillRenderState(int boardNumber, int[] out) {
+        Board b = getBoard(boardNumber);
+        if (b == null) return false;
+        b.fillRenderCodes(0, 0, b.getRows(), b.getCols(), out, 0);
+        return true;
+    }
+
+    /** Same as {@link #fillRenderState(int, int, int, int, int, byte[])} for an int buffer. */
+    public boolean fillRenderState(int boardNumber, int row0, int col0, int height, int width, int[] out) {
+        Board b = getBoard(boardNumber);
+        if (b == null) return false;
+        b.fillRenderCodes(row0, col0, height, width, out, 0);
+        return true;
+    }
+
     // ======================================================
     //  OBSERVER PATTERN METHODS
     // ======================================================
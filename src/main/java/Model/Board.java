@@ -1,6 +1,9 @@
 package Model;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a single board for one player.
@@ -13,119 +16,209 @@ public class Board {
     private final int totalMines;
     private final int totalQuestionCells;
     private final int totalSurpriseCells;
-    private final Cell[][] cells;
-    private final Game game;
-    private int flagsPlaced = 0;
-
+    // Side of the square area revealed by revealRandomAreaReward()
+    private final int rewardAreaSize;
+    // Packed per-cell storage, indexed by r * cols + c
+    private final CellGrid grid;
+    // Parent game (null while the board waits in the BoardPool)
+    private Game game;
+    // Reusable work queue for flood-fill reveals (allocated on first use)
+    private int[] floodQueue;
+    // Zero regions labelled after generation (rebuilt on demand if the layout was edited)
+    private ZeroRegions zeroRegions;
+    // This board's stream from the game's seeded randomness (placement and reward effects)
+    private final RandomGenerator random;
+    // Special cells actually placed (may be fewer than requested if true-empty cells run out)
+    private int placedQuestionCells;
+    private int placedSurpriseCells;
+    // No-guess layouts: winning candidate (NoGuessGenerator.FALLBACK if none was found) and
+    // the safe opening cell it is solvable from (-1 for other layouts)
+    private final int layoutCandidate;
+    private int openingCell = -1;
+    // First-click safety: mines move out of the first reveal's window (until it happens)
+    private final boolean firstClickSafe;
+    private boolean firstRevealDone;
+
+    // Change-set events: listener, reused buffer and nesting depth of recorded actions
+    private CellChangeListener changeListener;
+    private CellChangeSet changeSet;
+    private int changeDepth;
+    // True if every change must be listed (no full-refresh shortcut), e.g. for replay indexing
+    private boolean completeChanges;
 
     // Counter to track how many safe cells are left to reveal
     private int safeCellsRemaining;
+
+    // Test mode: re-verify the incremental mine/flag counters after every action
+    private static boolean consistencyChecks = Boolean.getBoolean("scorpion.board.checkCounters");
+
+    // Boards with at least this many cells are generated on the fork-join pool
+    static final int PARALLEL_MIN_CELLS = 128 * 128;
+    // Number calculation is split into row bands of roughly this many cells
+    private static final int NUMBER_BAND_CELLS = 64 * 1024;
+    // Random picks tried before a first-click mine is moved by counting free cells
+    private static final int RELOCATION_ATTEMPTS = 64;
+    // Parallel generation switch (on by default; -Dscorpion.board.parallelGeneration=false turns it off)
+    private static volatile boolean parallelGeneration =
+            !"false".equals(System.getProperty("scorpion.board.parallelGeneration"));
+    /**
+     * Receives the cells changed by each board action, once the action is complete.
+     * The change set is reused; read it inside the callback.
+     */
+    public interface CellChangeListener {
+        void onCellsChanged(Board board, CellChangeSet changes);
+    }
+
     /**
      * Initializes a board according to the given difficulty and parent Game.
      * Places mines, question cells, surprise cells, and computes number cells.
      */
     public Board(Difficulty difficulty, Game game) {
+        this(BoardConfig.of(difficulty), game);
+    }
+
+    /**
+     * Initializes a board with any layout (built-in or custom size) and parent Game.
+     */
+    public Board(BoardConfig config, Game game) {
+        this(config, game, new SplittableRandom());
+    }
+
+    /**
+     * Initializes a board whose placement and reward effects draw from the given stream.
+     * Game passes its seeded per-board stream, so the same seed gives the same board.
+     */
+    public Board(BoardConfig config, Game game, RandomGenerator random) {
+        this(config, game, random, NoGuessGenerator.SEARCH);
+    }
+
+    /**
+     * Same as {@link #Board(BoardConfig, Game, RandomGenerator)}; for a no-guess layout,
+     * layoutCandidate selects the candidate directly (replays) instead of searching.
+     */
+    Board(BoardConfig config, Game game, RandomGenerator random, int layoutCandidate) {
         this.game = game;
-        this.rows = difficulty.getRows();
-        this.cols = difficulty.getCols();
-        this.totalMines = difficulty.getMines();
-        this.totalQuestionCells = difficulty.getQuestionCells();
-        this.totalSurpriseCells = difficulty.getSurpriseCells();
-        this.cells = new Cell[rows][cols];
+        this.random = random;
+        this.rows = config.getRows();
+        this.cols = config.getCols();
+        this.totalMines = config.getMines();
+        this.totalQuestionCells = config.getQuestionCells();
+        this.totalSurpriseCells = config.getSurpriseCells();
+        this.rewardAreaSize = config.getRewardAreaSize();
+        // All cells start EMPTY and HIDDEN
+        this.grid = new CellGrid(rows, cols);
 
         // Total safe cells = all cells minus mines
         this.safeCellsRemaining = (rows * cols) - totalMines;
-
-        // Initialize cells
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                cells[r][c] = new Cell(r, c);
-            }
-        }
+        this.firstClickSafe = config.isFirstClickSafe();
 
         // Place logic
-        placeMinesAndSpecialCells();
+        if (!config.isNoGuess()) {
+            this.layoutCandidate = NoGuessGenerator.FALLBACK;
+            placeMinesAndSpecialCells(random);
+            return;
+        }
+        // No-guess: candidates are numbered layouts derived from one draw of this board's stream
+        long baseSeed = random.nextLong();
+        this.layoutCandidate = (layoutCandidate == NoGuessGenerator.SEARCH)
+                ? NoGuessGenerator.search(config, baseSeed)
+                : layoutCandidate;
+        if (this.layoutCandidate == NoGuessGenerator.FALLBACK) {
+            placeMinesAndSpecialCells(random);
+        } else {
+            placeMinesAndSpecialCells(NoGuessGenerator.candidateRandom(baseSeed, this.layoutCandidate));
+            openingCell = NoGuessGenerator.openingCell(zeroRegions);
+        }
     }
     /**
-     * Places mines, question cells and surprise cells, then calculates number cells.
+     * Places mines, calculates number cells, then places question and surprise cells
+     * on true-empty cells. Placement cost is O(cells) regardless of mine density.
      */
-    private void placeMinesAndSpecialCells() {
-        placeContent(totalMines, Cell.CellContent.MINE);
+    private void placeMinesAndSpecialCells(RandomGenerator placementRandom) {
+        PlacementEngine placement = new PlacementEngine(grid, placementRandom);
+        placement.placeMines(totalMines);
 
         calculateNumbers();
 
-        placeSpecialOnlyOnTrueEmpty(totalQuestionCells, Cell.CellContent.QUESTION);
-        placeSpecialOnlyOnTrueEmpty(totalSurpriseCells, Cell.CellContent.SURPRISE);
-    }
+        placement.placeSpecials(totalQuestionCells, totalSurpriseCells);
+        placedQuestionCells = placement.getPlacedQuestionCells();
+        placedSurpriseCells = placement.getPlacedSurpriseCells();
 
-    /**
-     * Randomly assigns a given content type to EMPTY cells until count is reached.
-     */
-    private void placeContent(int count, Cell.CellContent type) {
-        Random random = new Random();
-        int placed = 0;
-        while (placed < count) {
-            int r = random.nextInt(rows);
-            int c = random.nextInt(cols);
-            if (cells[r][c].getContent() == Cell.CellContent.EMPTY) {
-                cells[r][c].setContent(type);
-                placed++;
-            }
+        // Specials sit on true-empty cells, so they are labelled as part of their zero region
+        zeroRegions = new ZeroRegions(grid);
+
+        if (placedQuestionCells < totalQuestionCells || placedSurpriseCells < totalSurpriseCells) {
+            Game.log("Board: not enough empty cells for special cells. Placed "
+                    + placedQuestionCells + "/" + totalQuestionCells + " question and "
+                    + placedSurpriseCells + "/" + totalSurpriseCells + " surprise cells.");
         }
     }
     /**
      * Converts suitable EMPTY cells to NUMBER cells based on adjacent mines.
+     * On large boards the rows are split into bands computed on the fork-join pool.
+     * Each band only reads mines (already placed) and writes its own cells, so the
+     * result is identical to the sequential pass.
      */
     private void calculateNumbers() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (cells[r][c].isMine()) continue;
-
-                int mines = countNeighborMines(r, c);
-                cells[r][c].setAdjacentMines(mines);
-
-                if (mines > 0) {
-                    cells[r][c].setContent(Cell.CellContent.NUMBER);
-                } else {
-                    cells[r][c].setContent(Cell.CellContent.EMPTY);
-                }
-            }
+        if (useParallelGeneration(rows * cols)) {
+            new NumberBand(0, rows).invoke();
+        } else {
+            calculateNumbers(grid, 0, rows);
         }
     }
 
-    private void placeSpecialOnlyOnTrueEmpty(int count, Cell.CellContent type) {
-        java.util.List<Cell> eligible = new java.util.ArrayList<>();
-
-        for (int r = 0; r < rows; r++) {
+    /**
+     * Number pass for rows [fromRow, toRow) of any grid (also used on candidate layouts).
+     */
+    static void calculateNumbers(CellGrid grid, int fromRow, int toRow) {
+        int cols = grid.getCols();
+        for (int r = fromRow; r < toRow; r++) {
             for (int c = 0; c < cols; c++) {
-                Cell cell = cells[r][c];
+                int i = grid.index(r, c);
+                if (grid.isMine(i)) continue;
 
-                if (cell.getContent() == Cell.CellContent.EMPTY && cell.getAdjacentMines() == 0) {
-                    eligible.add(cell);
-                }
+                int mines = countNeighborMines(grid, r, c);
+                grid.setAdjacentAt(i, mines);
+                grid.setContentAt(i, mines > 0 ? CellGrid.NUMBER : CellGrid.EMPTY);
             }
         }
+    }
 
-        java.util.Collections.shuffle(eligible, new java.util.Random());
+    /**
+     * Fork-join task that splits the number pass into row bands.
+     */
+    private final class NumberBand extends RecursiveAction {
+        private final int fromRow;
+        private final int toRow;
 
-        int toPlace = Math.min(count, eligible.size());
-        for (int i = 0; i < toPlace; i++) {
-            eligible.get(i).setContent(type);
+        NumberBand(int fromRow, int toRow) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
         }
-    }
 
+        @Override
+        protected void compute() {
+            int bandRows = toRow - fromRow;
+            if (bandRows < 2 || (long) bandRows * cols <= NUMBER_BAND_CELLS) {
+                calculateNumbers(grid, fromRow, toRow);
+                return;
+            }
+            int mid = fromRow + bandRows / 2;
+            invokeAll(new NumberBand(fromRow, mid), new NumberBand(mid, toRow));
+        }
+    }
 
     /**
      * Counts how many neighboring cells (8-directional) contain mines.
      */
-    private int countNeighborMines(int r, int c) {
+    private static int countNeighborMines(CellGrid grid, int r, int c) {
         int count = 0;
         for (int i = -1; i <= 1; i++) {
             for (int j = -1; j <= 1; j++) {
                 if (i == 0 && j == 0) continue;
                 int nr = r + i;
                 int nc = c + j;
-                if (isValid(nr, nc) && cells[nr][nc].isMine()) {
+                if (grid.isValid(nr, nc) && grid.isMine(grid.index(nr, nc))) {
                     count++;
                 }
             }
@@ -135,42 +228,169 @@ public class Board {
 
     /**
      * Reveals a cell, applies scoring and lives logic, and checks game status.
+     * Runs as one Game transaction, so the whole move is validated once.
      */
     public void revealCell(int r, int c) {
+        game.beginTransaction();
+        beginChanges();
+        try {
+            doRevealCell(r, c);
+        } finally {
+            endChanges();
+            game.commitTransaction();
+        }
+    }
+
+    private void doRevealCell(int r, int c) {
         if (!isValid(r, c)) return;
-        Cell cell = cells[r][c];
+        int i = grid.index(r, c);
 
         // Block action if cell is already processed OR game is not running
-        if (cell.isRevealed() || cell.isFlagged() || game.getGameState() != GameState.RUNNING) return;
-
-        cell.reveal();
+        if (grid.stateAt(i) != CellGrid.HIDDEN || game.getGameState() != GameState.RUNNING) return;
 
-        // 1. Scoring and Safe Cell Tracking
-        if (!cell.isMine()) {
-            safeCellsRemaining--;
-            game.setSharedScore(game.getSharedScore() + 1);
+        if (!firstRevealDone) {
+            firstRevealDone = true;
+            // No-guess layouts already come with a safe opening and must keep their mines
+            if (firstClickSafe && openingCell < 0) clearFirstRevealWindow(r, c);
         }
 
-        // 2. Content Handling
-        switch (cell.getContent()) {
+        grid.setStateAt(i, CellGrid.REVEALED);
+
+        // 1. Content Handling
+        int revealedSafe = 0;
+        switch (grid.getContent(i)) {
             case MINE:
                 game.setSharedLives(game.getSharedLives() - 1);
-                break;
+                checkConsistency();
+                return;
 
             case EMPTY:
-                autoRevealEmptyCells(r, c);
-                break;
-
             case QUESTION:
             case SURPRISE:
-                autoRevealEmptyCells(r, c);
+                revealedSafe = 1 + autoRevealEmptyCells(i);
                 break;
+
             case NUMBER:
+                revealedSafe = 1;
                 break;
         }
 
-        // After every move, check if we Won or Lost
-        game.checkGameStatus();
+        // 2. Scoring and Safe Cell Tracking, applied once for the whole region
+        safeCellsRemaining -= revealedSafe;
+        game.setSharedScore(game.getSharedScore() + revealedSafe);
+        checkConsistency();
+    }
+
+    /**
+     * First-click safety: moves every mine in the 3x3 window around (r, c) to a random
+     * free cell outside it, the clicked cell first, so the click opens a zero region.
+     * Only the 3x3 neighborhoods of the old and new mine positions are renumbered. If a
+     * mine moved, question and surprise cells are placed again on the final layout.
+     * <p>
+     * Destinations come from this board's stream, so a seed and its clicks reproduce the
+     * layout. On a board too dense to clear the window, mines move while there is room.
+     * Layout edits are not journaled: undoing the first reveal keeps the moved mines.
+     */
+    private void clearFirstRevealWindow(int r, int c) {
+        boolean moved = false;
+        if (grid.isMine(grid.index(r, c))) {
+            moved = moveMineOutOfWindow(grid.index(r, c), r, c);
+        }
+        for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+            for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                int n = grid.index(nr, nc);
+                if (grid.isMine(n)) moved |= moveMineOutOfWindow(n, r, c);
+            }
+        }
+        if (moved) replaceSpecialCells();
+    }
+
+    /**
+     * Moves the mine at {@code from} to a free cell outside the window around (r, c).
+     *
+     * @return false if there is no free cell outside the window
+     */
+    private boolean moveMineOutOfWindow(int from, int r, int c) {
+        int to = pickFreeCellOutsideWindow(r, c);
+        if (to < 0) return false;
+
+        // Old position: becomes a number (or empty) cell, its neighbors lose a mine
+        grid.setContentAt(from, CellGrid.EMPTY);
+        int fromRow = grid.rowOf(from);
+        int fromCol = grid.colOf(from);
+        int mines = countNeighborMines(grid, fromRow, fromCol);
+        grid.setAdjacentAt(from, mines);
+        grid.setContentAt(from, mines > 0 ? CellGrid.NUMBER : CellGrid.EMPTY);
+        adjustNeighborNumbers(fromRow, fromCol, -1);
+
+        // New position: its neighbors gain a mine
+        grid.setContentAt(to, CellGrid.MINE);
+        grid.setAdjacentAt(to, 0);
+        adjustNeighborNumbers(grid.rowOf(to), grid.colOf(to), +1);
+        return true;
+    }
+
+    /**
+     * Adds delta to the mine count of every non-mine neighbor of (r, c). Plain cells switch
+     * between EMPTY and NUMBER with their count; special cells keep their content.
+     */
+    private void adjustNeighborNumbers(int r, int c, int delta) {
+        for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+            for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                int n = grid.index(nr, nc);
+                if ((nr == r && nc == c) || grid.isMine(n)) continue;
+                int mines = grid.adjacentAt(n) + delta;
+                grid.setAdjacentAt(n, mines);
+                byte content = grid.contentAt(n);
+                if (content == CellGrid.EMPTY || content == CellGrid.NUMBER) {
+                    grid.setContentAt(n, mines > 0 ? CellGrid.NUMBER : CellGrid.EMPTY);
+                }
+            }
+        }
+    }
+
+    /**
+     * Uniformly random non-mine cell outside the 3x3 window around (r, c), or -1 if none.
+     * Tries rejection sampling first (free cells are the majority on playable boards),
+     * then falls back to counting the free cells.
+     */
+    private int pickFreeCellOutsideWindow(int r, int c) {
+        int size = grid.size();
+        for (int attempt = 0; attempt < RELOCATION_ATTEMPTS; attempt++) {
+            int i = random.nextInt(size);
+            if (!grid.isMine(i) && !inWindow(i, r, c)) return i;
+        }
+        int free = 0;
+        for (int i = 0; i < size; i++) {
+            if (!grid.isMine(i) && !inWindow(i, r, c)) free++;
+        }
+        if (free == 0) return -1;
+        int pick = random.nextInt(free);
+        for (int i = 0; i < size; i++) {
+            if (!grid.isMine(i) && !inWindow(i, r, c) && pick-- == 0) return i;
+        }
+        return -1;
+    }
+
+    private boolean inWindow(int i, int r, int c) {
+        return Math.abs(grid.rowOf(i) - r) <= 1 && Math.abs(grid.colOf(i) - c) <= 1;
+    }
+
+    /**
+     * Turns every question and surprise cell back into a plain cell and places them again
+     * on the true-empty cells of the current layout.
+     */
+    private void replaceSpecialCells() {
+        for (int i = 0; i < grid.size(); i++) {
+            byte content = grid.contentAt(i);
+            if (content == CellGrid.QUESTION || content == CellGrid.SURPRISE) {
+                grid.setContentAt(i, grid.adjacentAt(i) > 0 ? CellGrid.NUMBER : CellGrid.EMPTY);
+            }
+        }
+        PlacementEngine placement = new PlacementEngine(grid, random);
+        placement.placeSpecials(totalQuestionCells, totalSurpriseCells);
+        placedQuestionCells = placement.getPlacedQuestionCells();
+        placedSurpriseCells = placement.getPlacedSurpriseCells();
     }
 
     /**
@@ -180,21 +400,32 @@ public class Board {
      */
     // in Board.java
     public boolean activateSpecialCell(int r, int c) {
+        game.beginTransaction();
+        beginChanges();
+        try {
+            return doActivateSpecialCell(r, c);
+        } finally {
+            endChanges();
+            game.commitTransaction();
+        }
+    }
+
+    private boolean doActivateSpecialCell(int r, int c) {
         if (!isValid(r, c)) return false;
 
-        Cell cell = cells[r][c];
+        int i = grid.index(r, c);
 
-        if (!cell.isRevealed()) return false;
+        if (!grid.isRevealed(i)) return false;
 
-        if (cell.getContent() != Cell.CellContent.QUESTION &&
-                cell.getContent() != Cell.CellContent.SURPRISE) return false;
+        byte content = grid.contentAt(i);
+        if (content != CellGrid.QUESTION && content != CellGrid.SURPRISE) return false;
 
-        if (cell.isUsed()) return false;
+        if (grid.isUsed(i)) return false;
 
         //  only mark used if activation actually succeeded
-        boolean activated = game.activateSpecialCell(this, cell.getContent());
+        boolean activated = game.activateSpecialCell(this, grid.getContent(i));
         if (activated) {
-            cell.setUsed(true);
+            grid.setUsed(i, true);
         }
         return activated;
     }
@@ -204,22 +435,105 @@ public class Board {
 
 
     /**
-     * Recursively reveals neighbors around an EMPTY cell (flood-fill behavior).
+     * Reveals the whole region around an opened EMPTY/QUESTION/SURPRISE cell (flood-fill behavior).
+     * Mines and flagged cells are never touched; NUMBER cells are revealed but stop the expansion.
+     * Score and safe-cell counters are NOT updated here - the caller applies them in bulk.
+     * <p>
+     * An untouched region is revealed in one batch from its precomputed lists. If some of its
+     * zero cells were already revealed or flagged (which can cut the region), the flood runs.
+     *
+     * @return the number of safe cells newly revealed (not counting the start cell)
      */
-    private void autoRevealEmptyCells ( int r, int c){
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                int nr = r + i;
-                int nc = c + j;
-                if (isValid(nr, nc)) {
-                    Cell neighbor = cells[nr][nc];
-                    if (!neighbor.isRevealed() && !neighbor.isFlagged() && !neighbor.isMine()) {
-                        // Recursion flows back through revealCell to update state, score, and safeCellsRemaining
-                        revealCell(nr, nc);
+    private int autoRevealEmptyCells(int start) {
+        ZeroRegions regions = currentZeroRegions();
+        int region = regions.regionOf(start);
+        if (region >= 0 && isUntouched(regions, region, start)) {
+            return revealRegion(regions, region);
+        }
+        return floodReveal(start);
+    }
+
+    /**
+     * True if every zero cell of the region, except the clicked one, is still HIDDEN.
+     */
+    private boolean isUntouched(ZeroRegions regions, int region, int start) {
+        for (int p = regions.zeroStart(region), end = regions.zeroEnd(region); p < end; p++) {
+            int cell = regions.zeroAt(p);
+            if (cell != start && grid.stateAt(cell) != CellGrid.HIDDEN) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reveals every hidden cell of a region and its border in one pass.
+     */
+    private int revealRegion(ZeroRegions regions, int region) {
+        int revealed = 0;
+        for (int p = regions.zeroStart(region), end = regions.zeroEnd(region); p < end; p++) {
+            int cell = regions.zeroAt(p);
+            if (grid.stateAt(cell) == CellGrid.HIDDEN) {
+                grid.setStateAt(cell, CellGrid.REVEALED);
+                revealed++;
+            }
+        }
+        for (int p = regions.borderStart(region), end = regions.borderEnd(region); p < end; p++) {
+            int cell = regions.borderAt(p);
+            if (grid.stateAt(cell) == CellGrid.HIDDEN) {
+                grid.setStateAt(cell, CellGrid.REVEALED);
+                revealed++;
+            }
+        }
+        return revealed;
+    }
+
+    /**
+     * Returns the zero regions for the current layout, relabelling if cells were edited.
+     */
+    private ZeroRegions currentZeroRegions() {
+        if (zeroRegions == null || !zeroRegions.isCurrent(grid)) {
+            zeroRegions = new ZeroRegions(grid);
+        }
+        return zeroRegions;
+    }
+
+    /**
+     * Flood fill with an explicit queue instead of recursion, so large regions cannot
+     * overflow the stack. Used when a region was partly opened or flagged before.
+     */
+    private int floodReveal(int start) {
+        if (floodQueue == null) {
+            // Every cell enters the queue at most once, so board size is always enough
+            floodQueue = new int[grid.size()];
+        }
+        int[] queue = floodQueue;
+        int head = 0;
+        int tail = 0;
+        int revealed = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int cur = queue[head++];
+            int r = grid.rowOf(cur);
+            int c = grid.colOf(cur);
+            int rMax = Math.min(r + 1, rows - 1);
+            int cMax = Math.min(c + 1, cols - 1);
+
+            for (int nr = Math.max(r - 1, 0); nr <= rMax; nr++) {
+                for (int nc = Math.max(c - 1, 0); nc <= cMax; nc++) {
+                    int n = grid.index(nr, nc);
+                    if (grid.stateAt(n) != CellGrid.HIDDEN || grid.isMine(n)) continue;
+
+                    grid.setStateAt(n, CellGrid.REVEALED);
+                    revealed++;
+
+                    // Only non-number cells keep the region growing
+                    if (grid.contentAt(n) != CellGrid.NUMBER) {
+                        queue[tail++] = n;
                     }
                 }
             }
         }
+        return revealed;
     }
 
     /**
@@ -228,16 +542,27 @@ public class Board {
      * This method must be VOID or return only if the action was successful for the Controller's logic to work.
      */
     public boolean toggleFlag(int r, int c) {
-        if (!isValid(r, c) || cells[r][c].isRevealed() || game.getGameState() != GameState.RUNNING) return false;
+        game.beginTransaction();
+        beginChanges();
+        try {
+            return doToggleFlag(r, c);
+        } finally {
+            endChanges();
+            game.commitTransaction();
+        }
+    }
+
+    private boolean doToggleFlag(int r, int c) {
+        if (!isValid(r, c) || grid.isRevealed(grid.index(r, c)) || game.getGameState() != GameState.RUNNING) return false;
 
-        Cell cell = cells[r][c];
+        int i = grid.index(r, c);
 
-        boolean wasFlagged = cell.isFlagged();
+        boolean wasFlagged = grid.isFlagged(i);
 
         // If trying to PLACE a new flag, enforce max flags = number of unrevealed mines
         if (!wasFlagged) {
-            int unrevealedMines = countUnrevealedMines();
-            if (flagsPlaced >= unrevealedMines) {
+            int unrevealedMines = grid.getUnrevealedMines();
+            if (grid.getFlaggedCount() >= unrevealedMines) {
                 game.setLastActionMessage(
                         "No flags left!\n" +
                                 "You already used all " + unrevealedMines + " flags.\n" +
@@ -247,43 +572,33 @@ public class Board {
             }
         }
 
-        boolean stateChanged = cell.toggleFlag();
-        if (!stateChanged) return false;
+        grid.setStateAt(i, wasFlagged ? CellGrid.HIDDEN : CellGrid.FLAGGED);
 
         if (!wasFlagged) {
-            // placed a flag
-            flagsPlaced++;
+            // placed a flag (the flag counter is updated by the grid)
 
             // scoring ONLY when placing a flag
-            if (cell.isMine()) {
+            if (grid.isMine(i)) {
                 game.setSharedScore(game.getSharedScore() + game.getDifficulty().getMineFlagReward()); // +1
             } else {
                 game.setSharedScore(game.getSharedScore() + game.getDifficulty().getNonMineFlagPenalty()); // -3
             }
         } else {
             // removed a flag
-            flagsPlaced--;
             // no score reversal (as per your current design)
         }
 
-        game.checkGameStatus();
+        // win/loss is checked once when the transaction commits
+        checkConsistency();
         return true;
     }
 
     /**
-     * Counts how many mines are not yet revealed (still hidden).
+     * Counts how many mines are not yet revealed (still hidden or flagged).
+     * O(1): the grid keeps this counter up to date on every state change.
      */
     private int countUnrevealedMines() {
-        int count = 0;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = cells[r][c];
-                if (cell.isMine() && !cell.isRevealed()) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return grid.getUnrevealedMines();
     }
 
 
@@ -293,27 +608,27 @@ public class Board {
      * Returns true if a mine was revealed, false if no unrevealed mine found.
      */
     public boolean revealRandomMine() {
-        // Collect all unrevealed, unflagged mines
-        java.util.List<Cell> unrevealedMines = new java.util.ArrayList<>();
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = cells[r][c];
-                if (cell.isMine() && !cell.isRevealed() && !cell.isFlagged()) {
-                    unrevealedMines.add(cell);
-                }
-            }
+        game.beginTransaction();
+        beginChanges();
+        try {
+            return doRevealRandomMine();
+        } finally {
+            endChanges();
+            game.commitTransaction();
         }
+    }
 
-        if (unrevealedMines.isEmpty()) {
-            System.out.println("Reward: No unrevealed mines available to show.");
+    private boolean doRevealRandomMine() {
+        // Uniform pick from the indexed set of unrevealed, unflagged mines (O(1))
+        int chosen = grid.randomHiddenMine(random);
+        if (chosen < 0) {
+            Game.log("Reward: No unrevealed mines available to show.");
             return false;
         }
 
-        // Pick random mine from the list
-        Random rand = new Random();
-        Cell chosen = unrevealedMines.get(rand.nextInt(unrevealedMines.size()));
-        chosen.reveal();
-        System.out.println("Reward: A mine at (" + chosen.getRow() + "," + chosen.getCol() + ") was safely revealed.");
+        grid.setStateAt(chosen, CellGrid.REVEALED);
+        Game.log("Reward: A mine at (" + grid.rowOf(chosen) + "," + grid.colOf(chosen) + ") was safely revealed.");
+        checkConsistency();
         // The footnote states no score for automatic mine reveal.
         return true;
     }
@@ -323,96 +638,78 @@ public class Board {
      * Tries to find an area with unrevealed cells. Returns the count of newly revealed cells.
      */
     public int revealRandom3x3AreaReward() {
-        Random rand = new Random();
-
-        // Find the best 3x3 position (one with most unrevealed cells)
-        int bestR = -1, bestC = -1, bestCount = 0;
-
-        // Try up to 20 random positions to find a good one
-        for (int attempt = 0; attempt < 20; attempt++) {
-            int r0 = rand.nextInt(rows - 2);
-            int c0 = rand.nextInt(cols - 2);
-            int count = countUnrevealedIn3x3(r0, c0);
-            if (count > bestCount) {
-                bestCount = count;
-                bestR = r0;
-                bestC = c0;
-                if (count >= 5) break; // Good enough, stop searching
-            }
+        return revealRandomAreaReward(3);
+    }
+
+    /**
+     * Reveals a random area of this board's reward size (3x3 on built-in levels,
+     * proportionally larger on big custom boards).
+     */
+    public int revealRandomAreaReward() {
+        return revealRandomAreaReward(rewardAreaSize);
+    }
+
+    /**
+     * Reveals a random k x k area as a reward (k is clamped to the board size).
+     * Prefers a random area that is more than half hidden, otherwise the area with the
+     * most hidden cells. Returns the count of newly revealed cells.
+     */
+    public int revealRandomAreaReward(int k) {
+        game.beginTransaction();
+        beginChanges();
+        try {
+            return doRevealRandomAreaReward(Math.max(1, Math.min(k, Math.min(rows, cols))));
+        } finally {
+            endChanges();
+            game.commitTransaction();
         }
+    }
 
-        // If random didn't find anything good, scan entire board for best position
-        if (bestCount == 0) {
-            for (int r0 = 0; r0 <= rows - 3; r0++) {
-                for (int c0 = 0; c0 <= cols - 3; c0++) {
-                    int count = countUnrevealedIn3x3(r0, c0);
-                    if (count > bestCount) {
-                        bestCount = count;
-                        bestR = r0;
-                        bestC = c0;
-                    }
-                }
-            }
+    private int doRevealRandomAreaReward(int k) {
+        HiddenCellIndex index = grid.hiddenIndex();
+
+        // A random "good" area first (more than half hidden), else the best area there is
+        int origin = index.randomWindow(k, k * k / 2 + 1, random);
+        if (origin < 0) {
+            origin = index.bestWindow(k);
         }
 
         // If still no unrevealed cells found anywhere
-        if (bestCount == 0) {
-            System.out.println("Reward: No unrevealed cells available for 3x3 reveal.");
+        if (origin < 0) {
+            Game.log("Reward: No unrevealed cells available for " + k + "x" + k + " reveal.");
             return 0;
         }
+        int bestR = grid.rowOf(origin);
+        int bestC = grid.colOf(origin);
 
-        // Reveal the 3x3 area at the best position
+        // Reveal the area at the chosen position
         int revealed = 0;
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                int r = bestR + i;
-                int c = bestC + j;
-                Cell cell = cells[r][c];
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                int cell = grid.index(bestR + i, bestC + j);
 
                 // don't touch already processed cells
-                if (cell.isRevealed() || cell.isFlagged()) continue;
+                if (grid.stateAt(cell) != CellGrid.HIDDEN) continue;
 
                 // reveal visually only (no score/lives side effects)
-                cell.reveal();
+                grid.setStateAt(cell, CellGrid.REVEALED);
                 revealed++;
 
                 // if it's NOT a mine, count it as progress like a normal reveal
-                if (!cell.isMine()) {
+                if (!grid.isMine(cell)) {
                     safeCellsRemaining--;
                 }
             }
         }
 
-        System.out.println("Reward: Revealed " + revealed + " cells in 3x3 area starting at (" + bestR + "," + bestC + ")");
+        Game.log("Reward: Revealed " + revealed + " cells in " + k + "x" + k + " area starting at (" + bestR + "," + bestC + ")");
 
-        // after reward reveal, check win/loss (win possible)
-        game.checkGameStatus();
+        // win/loss (win possible) is checked once when the transaction commits
+        checkConsistency();
 
         return revealed;
     }
 
-    /**
-     * Counts unrevealed, unflagged cells in a 3x3 area starting at (r0, c0).
-     */
-    private int countUnrevealedIn3x3(int r0, int c0) {
-        int count = 0;
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                int r = r0 + i;
-                int c = c0 + j;
-                if (isValid(r, c)) {
-                    Cell cell = cells[r][c];
-                    if (!cell.isRevealed() && !cell.isFlagged()) {
-                        count++;
-                    }
-                }
-            }
-        }
-        return count;
-    }
-
-
-
     /**
      * Returns true if (r,c) is inside the board boundaries.
      */
@@ -431,16 +728,149 @@ public class Board {
      * Reveals all cells without changing score or lives (used at game end).
      */
     public void revealAll() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = cells[r][c];
+        beginChanges();
+        try {
+            if (changeDepth > 0 && !completeChanges) {
+                // Listing every cell is pointless; listeners redraw the whole board
+                changeSet.markFullRefresh();
+            }
+            for (int i = 0; i < grid.size(); i++) {
                 // Only set to REVEALED if it hasn't been revealed yet.
-                if (cell.getState() != Cell.CellState.REVEALED) {
-                    cell.setState(Cell.CellState.REVEALED);
+                if (grid.stateAt(i) != CellGrid.REVEALED) {
+                    grid.setStateAt(i, CellGrid.REVEALED);
                     // Intentionally avoids calling revealCell() to skip side effects.
                 }
             }
+        } finally {
+            endChanges();
+        }
+    }
+
+    // --- Change-set events ---
+
+    /**
+     * Sets the listener for per-action cell changes (null to stop recording).
+     * Without a listener nothing is recorded, so headless games pay nothing.
+     */
+    public void setCellChangeListener(CellChangeListener listener) {
+        setCellChangeListener(listener, false);
+    }
+
+    /**
+     * Same as {@link #setCellChangeListener(CellChangeListener)}; with complete set, every
+     * change is listed and the change set is never collapsed into a full refresh.
+     */
+    void setCellChangeListener(CellChangeListener listener, boolean complete) {
+        this.changeListener = listener;
+        if (listener != null && (changeSet == null || complete != completeChanges)) {
+            // Past a quarter of the board, a full refresh is cheaper than the list
+            changeSet = new CellChangeSet(complete ? Integer.MAX_VALUE : Math.max(64, grid.size() / 4));
+            completeChanges = complete;
+        }
+    }
+
+    /**
+     * Starts recording for the outermost action (nested actions share one change set).
+     */
+    private void beginChanges() {
+        if (changeDepth > 0) {
+            changeDepth++;
+        } else if (changeListener != null) {
+            changeDepth = 1;
+            changeSet.clear();
+            grid.setRecorder(changeSet);
+        }
+    }
+
+    /**
+     * Ends the outermost recorded action and publishes its changes, if any.
+     */
+    private void endChanges() {
+        if (changeDepth == 0 || --changeDepth > 0) return;
+        grid.setRecorder(null);
+        if (!changeSet.isEmpty() && changeListener != null) {
+            changeListener.onCellsChanged(this, changeSet);
+        }
+        changeSet.clear();
+    }
+
+    // --- Undo journal ---
+
+    /**
+     * Sends this board's state changes to the game's undo journal (null to stop).
+     */
+    void setJournal(MoveJournal journal, int boardNumber) {
+        grid.setJournal(journal, boardNumber);
+    }
+
+    /**
+     * Groups journal restores into one change-set event, like a normal action.
+     */
+    void beginRestore() {
+        beginChanges();
+    }
+
+    void endRestore() {
+        endChanges();
+    }
+
+    /**
+     * Puts a cell back to a journaled code (state plus {@link CellChangeSet#USED_BIT}).
+     * Counters and indexes follow through the grid; safeCellsRemaining is restored separately.
+     */
+    void restoreCell(int index, int code) {
+        grid.setStateAt(index, (byte) (code & ~CellChangeSet.USED_BIT));
+        grid.setUsed(index, (code & CellChangeSet.USED_BIT) != 0);
+    }
+
+    void adjustSafeCellsRemaining(int delta) {
+        safeCellsRemaining += delta;
+    }
+
+    int getLayoutVersion() {
+        return grid.getLayoutVersion();
+    }
+
+    /**
+     * Approximate heap size of this board's data in bytes: the packed cells, the zero
+     * regions, the flood queue and any index attached so far.
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 256 + grid.estimateBytes();
+        if (zeroRegions != null) bytes += zeroRegions.estimateBytes();
+        if (floodQueue != null) bytes += 4L * floodQueue.length;
+        return bytes;
+    }
+
+    /**
+     * Copy of the layout: content ([0]) and adjacent mine counts ([1]) of every cell.
+     * Used to move a viewer across a first-click relocation, which is not journaled.
+     */
+    byte[][] copyLayout() {
+        byte[][] layout = new byte[2][grid.size()];
+        for (int i = 0; i < grid.size(); i++) {
+            layout[0][i] = grid.contentAt(i);
+            layout[1][i] = (byte) grid.adjacentAt(i);
         }
+        return layout;
+    }
+
+    /**
+     * Puts back a layout from {@link #copyLayout()}. Counters and indexes follow through
+     * the grid; firstRevealDone says whether the layout is from before or after the first reveal.
+     */
+    void restoreLayout(byte[][] layout, boolean firstRevealDone) {
+        int questions = 0;
+        int surprises = 0;
+        for (int i = 0; i < grid.size(); i++) {
+            grid.setContentAt(i, layout[0][i]);
+            grid.setAdjacentAt(i, layout[1][i]);
+            if (layout[0][i] == CellGrid.QUESTION) questions++;
+            else if (layout[0][i] == CellGrid.SURPRISE) surprises++;
+        }
+        placedQuestionCells = questions;
+        placedSurpriseCells = surprises;
+        this.firstRevealDone = firstRevealDone;
     }
 
     /**
@@ -448,25 +878,186 @@ public class Board {
      */
     public boolean isFlagged(int r, int c) {
         if (r < 0 || r >= rows || c < 0 || c >= cols) return false;
-        // Assuming 'cells' is the array of Cell objects
-        return cells[r][c].isFlagged();
+        return grid.isFlagged(grid.index(r, c));
     }
 
     /**
      * Checks if all mines on the board have been found (revealed or flagged).
+     * O(1): uses the incremental found-mine counter.
      * @return true if all mines are found, false otherwise.
      */
     public boolean areAllMinesFound() {
-        int foundMines = 0;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = cells[r][c];
-                if (cell.isMine() && (cell.isRevealed() || cell.isFlagged())) {
-                    foundMines++;
-                }
+        return grid.getFoundMines() == totalMines;
+    }
+
+    /**
+     * Returns how many mines are currently revealed or flagged (O(1)).
+     */
+    public int getFoundMinesCount() {
+        return grid.getFoundMines();
+    }
+
+    // --- Counter consistency checks (tests) ---
+
+    /**
+     * Enables or disables verifying the incremental counters after every board action.
+     * Also enabled with -Dscorpion.board.checkCounters=true. Intended for tests only.
+     */
+    public static void setConsistencyChecks(boolean enabled) {
+        consistencyChecks = enabled;
+    }
+
+    public static boolean isConsistencyChecks() {
+        return consistencyChecks;
+    }
+
+    /**
+     * Recomputes all incremental counters with a full scan.
+     *
+     * @throws IllegalStateException if any counter has drifted from the real grid state
+     */
+    public void verifyCounters() {
+        String mismatch = grid.findCounterMismatch();
+        if (mismatch != null) {
+            throw new IllegalStateException("Board counters out of sync: " + mismatch);
+        }
+    }
+
+    private void checkConsistency() {
+        if (consistencyChecks) {
+            verifyCounters();
+        }
+    }
+
+    /**
+     * Hands a board prepared by the BoardPool to the game that starts with it.
+     */
+    void attachTo(Game game) {
+        this.game = game;
+    }
+
+    // --- Board analytics ---
+
+    /**
+     * Number of connected zero regions (each opens with a single click).
+     */
+    public int getZeroRegionCount() {
+        return currentZeroRegions().getRegionCount();
+    }
+
+    /**
+     * Cells that clicking (r, c) opens on a fresh board: its zero region plus border,
+     * 1 for a number cell, 0 for a mine or an invalid position.
+     */
+    public int getZeroRegionSize(int r, int c) {
+        if (!isValid(r, c)) return 0;
+        int i = grid.index(r, c);
+        if (grid.isMine(i)) return 0;
+        ZeroRegions regions = currentZeroRegions();
+        int region = regions.regionOf(i);
+        return (region < 0) ? 1 : regions.regionSize(region);
+    }
+
+    /**
+     * Safe cell a no-guess board can be cleared from by deduction alone, as
+     * row * cols + col, or -1 if the board is not a solver-verified no-guess layout.
+     */
+    public int getOpeningCell() {
+        return openingCell;
+    }
+
+    /**
+     * Candidate a no-guess layout was built from (recorded in replays), or
+     * {@link NoGuessGenerator#FALLBACK} for normally generated layouts.
+     */
+    public int getLayoutCandidate() {
+        return layoutCandidate;
+    }
+
+    /**
+     * 3BV of this layout: the minimum number of clicks needed to clear it without flags.
+     */
+    public int get3BV() {
+        return currentZeroRegions().get3BV();
+    }
+
+    // --- Render snapshots ---
+
+    /**
+     * Render code of one cell (see {@link CellRenderCode}), or -1 for an invalid position.
+     */
+    public int getRenderCode(int r, int c) {
+        if (!isValid(r, c)) return -1;
+        return renderCode(grid.index(r, c));
+    }
+
+    private int renderCode(int i) {
+        return CellRenderCode.encode(grid.contentAt(i), grid.stateAt(i), grid.adjacentAt(i), grid.isUsed(i));
+    }
+
+    /**
+     * Writes the render codes of the viewport [row0, row0 + height) x [col0, col0 + width)
+     * into out, row-major with a row stride of width, starting at offset.
+     *
+     * @throws IllegalArgumentException if the viewport leaves the board or out is too small
+     */
+    public void fillRenderCodes(int row0, int col0, int height, int width, byte[] out, int offset) {
+        checkViewport(row0, col0, height, width, out.length, offset);
+        int at = offset;
+        for (int r = row0; r < row0 + height; r++) {
+            int base = r * cols + col0;
+            for (int i = base; i < base + width; i++) {
+                out[at++] = (byte) renderCode(i);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #fillRenderCodes(int, int, int, int, byte[], int)} for an int buffer.
+     */
+    public void fillRenderCodes(int row0, int col0, int height, int width, int[] out, int offset) {
+        checkViewport(row0, col0, height, width, out.length, offset);
+        int at = offset;
+        for (int r = row0; r < row0 + height; r++) {
+            int base = r * cols + col0;
+            for (int i = base; i < base + width; i++) {
+                out[at++] = renderCode(i);
             }
         }
-        return foundMines == totalMines;
+    }
+
+    private void checkViewport(int row0, int col0, int height, int width, int length, int offset) {
+        if (height < 0 || width < 0 || row0 < 0 || col0 < 0 || row0 + height > rows || col0 + width > cols) {
+            throw new IllegalArgumentException("Viewport " + height + "x" + width + " at (" + row0 + "," + col0
+                    + ") does not fit a " + rows + "x" + cols + " board");
+        }
+        if (offset < 0 || (long) offset + (long) height * width > length) {
+            throw new IllegalArgumentException("Buffer of " + length + " too small for " + height + "x" + width
+                    + " cells at offset " + offset);
+        }
+    }
+
+    // --- Parallel generation ---
+
+    /**
+     * Enables or disables generating large boards on the fork-join pool.
+     * The layout for a given seed is the same either way; this only changes latency.
+     */
+    public static void setParallelGeneration(boolean enabled) {
+        parallelGeneration = enabled;
+    }
+
+    public static boolean isParallelGeneration() {
+        return parallelGeneration;
+    }
+
+    /**
+     * True if a board with this many cells should be generated in parallel.
+     */
+    static boolean useParallelGeneration(int cells) {
+        return parallelGeneration
+                && cells >= PARALLEL_MIN_CELLS
+                && ForkJoinPool.getCommonPoolParallelism() > 1;
     }
 
     // --- Getters ---
@@ -490,19 +1081,45 @@ public class Board {
     public int getTotalSurpriseCells () {
         return totalSurpriseCells;
     }
+    /**
+     * Returns how many question cells were actually placed (at most the requested total).
+     */
+    public int getPlacedQuestionCells() {
+        return placedQuestionCells;
+    }
+    /**
+     * Returns how many surprise cells were actually placed (at most the requested total).
+     */
+    public int getPlacedSurpriseCells() {
+        return placedSurpriseCells;
+    }
+    /**
+     * Builds a grid of cell views over the packed storage.
+     * Prefer {@link #getCell(int, int)} on large boards.
+     */
     public Cell[][] getCells () {
-        return cells;
+        Cell[][] views = new Cell[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                views[r][c] = new Cell(grid, grid.index(r, c), r, c);
+            }
+        }
+        return views;
     }
+    /**
+     * Returns a lightweight view of the cell at (row, col), or null if out of bounds.
+     * Changes made through the view are written straight to the board.
+     */
     public Cell getCell ( int row, int col){
-        if (isValid(row, col)) return cells[row][col];
+        if (isValid(row, col)) return new Cell(grid, grid.index(row, col), row, col);
         return null;
     }
     public int getFlagsPlaced() {
-        return flagsPlaced;
+        return grid.getFlaggedCount();
     }
 
     public int getFlagsRemaining() {
-        return countUnrevealedMines() - flagsPlaced;
+        return countUnrevealedMines() - grid.getFlaggedCount();
     }
 
     /**
@@ -0,0 +1,199 @@
+package Model;
+
+import java.util.Objects;
+
+/**
+ * Board layout parameters for one game: size, mine count and special-cell counts.
+ * Built-in levels come straight from {@link Difficulty}. Custom layouts may use any
+ * size and mine density, and borrow lives, activation cost and the scoring table
+ * from a base ("rules") difficulty. Any layout can be marked "no guessing required"
+ * (see {@link NoGuessGenerator}) and "first click safe" (the first reveal of each board
+ * moves mines away so that it opens a zero region).
+ */
+public final class BoardConfig {
+
+    // Smallest custom side: reward effects work on 3x3 windows
+    public static final int MIN_SIDE = 3;
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final int questionCells;
+    private final int surpriseCells;
+    private final Difficulty rules;
+    private final boolean custom;
+    private final boolean noGuess;
+    private final boolean firstClickSafe;
+
+    private BoardConfig(int rows, int cols, int mines, int questionCells, int surpriseCells,
+                        Difficulty rules, boolean custom, boolean noGuess, boolean firstClickSafe) {
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.questionCells = questionCells;
+        this.surpriseCells = surpriseCells;
+        this.rules = rules;
+        this.custom = custom;
+        this.noGuess = noGuess;
+        this.firstClickSafe = firstClickSafe;
+    }
+
+    /**
+     * Returns the standard layout of a built-in difficulty.
+     */
+    public static BoardConfig of(Difficulty difficulty) {
+        Objects.requireNonNull(difficulty, "difficulty");
+        return new BoardConfig(difficulty.getRows(), difficulty.getCols(), difficulty.getMines(),
+                difficulty.getQuestionCells(), difficulty.getSurpriseCells(), difficulty, false, false, false);
+    }
+
+    /**
+     * Creates a custom layout whose mine count is derived from a density.
+     *
+     * @param mineDensity fraction of cells that are mines, in (0, 1)
+     * @param rules       difficulty providing lives, activation cost and scoring rules
+     */
+    public static BoardConfig custom(int rows, int cols, double mineDensity,
+                                     int questionCells, int surpriseCells, Difficulty rules) {
+        if (!(mineDensity > 0.0 && mineDensity < 1.0)) {
+            throw new IllegalArgumentException("Mine density must be between 0 and 1: " + mineDensity);
+        }
+        checkSize(rows, cols);
+        long cells = (long) rows * cols;
+        int mines = (int) Math.max(1, Math.min(cells - 1, Math.round(cells * mineDensity)));
+        return customWithMineCount(rows, cols, mines, questionCells, surpriseCells, rules);
+    }
+
+    /**
+     * Creates a custom layout with an exact mine count.
+     */
+    public static BoardConfig customWithMineCount(int rows, int cols, int mines,
+                                                  int questionCells, int surpriseCells, Difficulty rules) {
+        Objects.requireNonNull(rules, "rules");
+        checkSize(rows, cols);
+        long cells = (long) rows * cols;
+        if (mines < 1 || mines >= cells) {
+            throw new IllegalArgumentException("Mine count must be between 1 and " + (cells - 1) + ": " + mines);
+        }
+        if (questionCells < 0 || surpriseCells < 0) {
+            throw new IllegalArgumentException("Special-cell counts cannot be negative");
+        }
+        return new BoardConfig(rows, cols, mines, questionCells, surpriseCells, rules, true, false, false);
+    }
+
+    /**
+     * The same layout, generated so that it can be cleared without guessing (or not).
+     */
+    public BoardConfig withNoGuess(boolean noGuess) {
+        if (noGuess == this.noGuess) return this;
+        return new BoardConfig(rows, cols, mines, questionCells, surpriseCells, rules, custom, noGuess, firstClickSafe);
+    }
+
+    /**
+     * The same layout, with mines moved out of the way of each board's first reveal (or not).
+     */
+    public BoardConfig withFirstClickSafe(boolean firstClickSafe) {
+        if (firstClickSafe == this.firstClickSafe) return this;
+        return new BoardConfig(rows, cols, mines, questionCells, surpriseCells, rules, custom, noGuess, firstClickSafe);
+    }
+
+    private static void checkSize(int rows, int cols) {
+        if (rows < MIN_SIDE || cols < MIN_SIDE) {
+            throw new IllegalArgumentException("Board must be at least " + MIN_SIDE + "x" + MIN_SIDE + ": " + rows + "x" + cols);
+        }
+        // Packed storage is indexed by int (see CellGrid)
+        if ((long) rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Board too large: " + rows + "x" + cols);
+        }
+    }
+
+    /**
+     * Side of the square area revealed by the area reward. Built-in levels use 3x3;
+     * custom boards scale it so the area covers the same share of the board as on HARD.
+     */
+    public int getRewardAreaSize() {
+        if (!custom) return 3;
+        double scale = Math.sqrt((double) rows * cols / (Difficulty.HARD.getRows() * Difficulty.HARD.getCols()));
+        int side = (int) Math.max(3, Math.round(3 * scale));
+        return Math.min(side, Math.min(rows, cols));
+    }
+
+    // --- Getters ---
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getMines() {
+        return mines;
+    }
+
+    public int getQuestionCells() {
+        return questionCells;
+    }
+
+    public int getSurpriseCells() {
+        return surpriseCells;
+    }
+
+    /**
+     * Difficulty whose lives, costs and scoring table apply to this board.
+     */
+    public Difficulty getRules() {
+        return rules;
+    }
+
+    public boolean isCustom() {
+        return custom;
+    }
+
+    /**
+     * True if boards are generated so that they can be cleared from their safe opening
+     * by deduction alone.
+     */
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    /**
+     * True if the first reveal of each board opens a zero region: mines in its 3x3 window
+     * are moved elsewhere before the cell is opened. Layouts with a no-guess opening keep
+     * their mines.
+     */
+    public boolean isFirstClickSafe() {
+        return firstClickSafe;
+    }
+
+    public double getMineDensity() {
+        return (double) mines / ((long) rows * cols);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BoardConfig)) return false;
+        BoardConfig other = (BoardConfig) o;
+        return rows == other.rows && cols == other.cols && mines == other.mines
+                && questionCells == other.questionCells && surpriseCells == other.surpriseCells
+                && rules == other.rules && custom == other.custom && noGuess == other.noGuess
+                && firstClickSafe == other.firstClickSafe;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rows, cols, mines, questionCells, surpriseCells, rules, custom, noGuess, firstClickSafe);
+    }
+
+    @Override
+    public String toString() {
+        String name = custom
+                ? "CUSTOM " + rows + "x" + cols + " (" + mines + " mines, rules " + rules.name() + ")"
+                : rules.name();
+        if (noGuess) name += " NO-GUESS";
+        return firstClickSafe ? name + " SAFE-START" : name;
+    }
+}
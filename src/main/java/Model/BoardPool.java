@@ -0,0 +1,266 @@
+package Model;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a few ready-made board pairs per layout so new games and restarts start instantly.
+ * <p>
+ * A pooled entry is a full seeded game setup ({@link GameRandom} plus both boards generated
+ * from it), so a pooled game is identical to {@code startNewGame(config, seed)} with the
+ * entry's seed. Entries are refilled on a single low-priority daemon thread. The total size
+ * of all pooled boards is kept under a memory budget. Layouts have a target size of 0 (not
+ * pooled) until configured.
+ */
+public final class BoardPool {
+
+    /** Default memory budget for all pooled boards together. */
+    public static final long DEFAULT_MEMORY_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    // Singleton shared by all games of the application
+    private static BoardPool instance;
+
+    /**
+     * One prepared game setup: the seeded randomness and the two boards generated from it.
+     * The boards are not attached to a game yet.
+     */
+    static final class Prepared {
+        final GameRandom random;
+        final Board board1;
+        final Board board2;
+        final long bytes;
+
+        Prepared(GameRandom random, Board board1, Board board2, long bytes) {
+            this.random = random;
+            this.board1 = board1;
+            this.board2 = board2;
+            this.bytes = bytes;
+        }
+    }
+
+    private final Map<BoardConfig, ConcurrentLinkedDeque<Prepared>> pools = new ConcurrentHashMap<>();
+    private final Map<BoardConfig, Integer> targetSizes = new ConcurrentHashMap<>();
+    // Layouts with a refill task queued or running (at most one each)
+    private final Set<BoardConfig> refilling = ConcurrentHashMap.newKeySet();
+    private final ExecutorService worker;
+
+    private volatile long memoryBudgetBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong skippedOverBudget = new AtomicLong();
+
+    public BoardPool(long memoryBudgetBytes) {
+        if (memoryBudgetBytes < 0) {
+            throw new IllegalArgumentException("Memory budget must be >= 0");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "board-pool-refill");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * Returns the shared pool used by games that were not given their own.
+     */
+    public static synchronized BoardPool getInstance() {
+        if (instance == null) {
+            instance = new BoardPool(DEFAULT_MEMORY_BUDGET_BYTES);
+        }
+        return instance;
+    }
+
+    // --- Configuration ---
+
+    /**
+     * Sets how many prepared board pairs to keep for a built-in difficulty.
+     */
+    public void setTargetSize(Difficulty difficulty, int size) {
+        setTargetSize(BoardConfig.of(difficulty), size);
+    }
+
+    /**
+     * Sets how many prepared board pairs to keep for a layout. 0 stops pooling it and
+     * frees its prepared boards. Refilling starts in the background.
+     */
+    public void setTargetSize(BoardConfig config, int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Pool size must be >= 0");
+        }
+        if (size == 0) {
+            targetSizes.remove(config);
+        } else {
+            targetSizes.put(config, size);
+        }
+        trim(config, size);
+        scheduleRefill(config);
+    }
+
+    public int getTargetSize(BoardConfig config) {
+        return targetSizes.getOrDefault(config, 0);
+    }
+
+    /**
+     * Changes the memory budget. Boards already pooled stay until used; new boards are
+     * only generated while they fit.
+     */
+    public void setMemoryBudgetBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Memory budget must be >= 0");
+        }
+        this.memoryBudgetBytes = bytes;
+        for (BoardConfig config : targetSizes.keySet()) {
+            scheduleRefill(config);
+        }
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    /**
+     * Drops every prepared board (targets are kept, so refilling starts again).
+     */
+    public void clear() {
+        for (BoardConfig config : pools.keySet()) {
+            trim(config, 0);
+            scheduleRefill(config);
+        }
+    }
+
+    // --- Use ---
+
+    /**
+     * Takes a prepared board pair for the layout in O(1) and schedules a refill.
+     *
+     * @return the prepared entry, or null if none is ready (a miss) or the layout is not pooled
+     */
+    Prepared take(BoardConfig config) {
+        if (getTargetSize(config) == 0) return null;
+
+        ConcurrentLinkedDeque<Prepared> pool = pools.get(config);
+        Prepared prepared = (pool != null) ? pool.pollFirst() : null;
+        if (prepared == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+            usedBytes.addAndGet(-prepared.bytes);
+        }
+        scheduleRefill(config);
+        return prepared;
+    }
+
+    /**
+     * Heap size reserved for one prepared pair before it is built. Per board: the packed
+     * grid (3 bytes and 1 bit per cell) and the zero regions (an int label per cell, plus
+     * zero and border lists that together stay well under two ints per cell). Once the
+     * pair exists the reservation is corrected to {@link Board#estimateMemoryBytes()}.
+     */
+    public static long estimateBytes(BoardConfig config) {
+        long cells = (long) config.getRows() * config.getCols();
+        return 2 * (3 * cells + cells / 8 + 12 * cells + 256);
+    }
+
+    private void scheduleRefill(BoardConfig config) {
+        if (getTargetSize(config) == 0 || !refilling.add(config)) return;
+        worker.execute(() -> refill(config));
+    }
+
+    private void refill(BoardConfig config) {
+        try {
+            ConcurrentLinkedDeque<Prepared> pool = pools.computeIfAbsent(config, k -> new ConcurrentLinkedDeque<>());
+            long bytes = estimateBytes(config);
+            while (pool.size() < getTargetSize(config)) {
+                if (!reserve(bytes)) {
+                    skippedOverBudget.incrementAndGet();
+                    break;
+                }
+                Prepared prepared = generate(config);
+                usedBytes.addAndGet(prepared.bytes - bytes);
+                pool.addLast(prepared);
+                generated.incrementAndGet();
+            }
+        } finally {
+            refilling.remove(config);
+        }
+        // A take() may have run between the last size check and the flag removal
+        ConcurrentLinkedDeque<Prepared> pool = pools.get(config);
+        if (pool != null && pool.size() < getTargetSize(config)
+                && usedBytes.get() + estimateBytes(config) <= memoryBudgetBytes) {
+            scheduleRefill(config);
+        }
+    }
+
+    private Prepared generate(BoardConfig config) {
+        GameRandom random = new GameRandom(GameRandom.newSeed());
+        // Same stream order as Game.startNewGame, so the entry matches its seed
+        Board board1 = new Board(config, null, random.boardStream(1));
+        Board board2 = new Board(config, null, random.boardStream(2));
+        return new Prepared(random, board1, board2, board1.estimateMemoryBytes() + board2.estimateMemoryBytes());
+    }
+
+    private boolean reserve(long bytes) {
+        while (true) {
+            long used = usedBytes.get();
+            if (used + bytes > memoryBudgetBytes) return false;
+            if (usedBytes.compareAndSet(used, used + bytes)) return true;
+        }
+    }
+
+    private void trim(BoardConfig config, int size) {
+        ConcurrentLinkedDeque<Prepared> pool = pools.get(config);
+        if (pool == null) return;
+        while (pool.size() > size) {
+            Prepared dropped = pool.pollLast();
+            if (dropped == null) break;
+            usedBytes.addAndGet(-dropped.bytes);
+        }
+    }
+
+    // --- Metrics ---
+
+    /** Number of prepared pairs ready for the layout right now. */
+    public int getAvailable(BoardConfig config) {
+        ConcurrentLinkedDeque<Prepared> pool = pools.get(config);
+        return (pool != null) ? pool.size() : 0;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Fraction of takes on pooled layouts that found a prepared pair (0 if none yet). */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return (total == 0) ? 0.0 : (double) h / total;
+    }
+
+    public long getGenerated() {
+        return generated.get();
+    }
+
+    /** Number of refills stopped early because the memory budget was full. */
+    public long getSkippedOverBudget() {
+        return skippedOverBudget.get();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+}
@@ -2,7 +2,8 @@ package Model;
 
 /**
  * Represents a single cell on the Minesweeper board.
- * Stores position, content type, current state, and metadata for special cell logic.
+ * A Cell is a lightweight view over the packed storage of its board
+ * (see {@link CellGrid}); reads and writes go straight to that storage.
  */
 public class Cell {
     // Cell content types
@@ -11,40 +12,41 @@ public class Cell {
     // Cell visibility states
     public enum CellState {HIDDEN, REVEALED, FLAGGED}
 
+    private final CellGrid grid;
+    private final int index;
     private final int row;
     private final int col;
-    private CellContent content;
-    private CellState state;
-    private int adjacentMines;
-    private boolean used;
-    private Integer questionId;
 
 
     /**
-     * Creates a new EMPTY, HIDDEN cell at the specified board coordinates.
+     * Creates a new standalone EMPTY, HIDDEN cell at the specified board coordinates.
      */
     public Cell(int row, int col) {
+        this(new CellGrid(1, 1), 0, row, col);
+    }
+
+    /**
+     * Creates a view of the cell stored at the given index of a board grid.
+     */
+    Cell(CellGrid grid, int index, int row, int col) {
+        this.grid = grid;
+        this.index = index;
         this.row = row;
         this.col = col;
-        this.content = CellContent.EMPTY;
-        this.state = CellState.HIDDEN;
-        this.adjacentMines = 0;
-        this.used = false;
-        this.questionId = null;
     }
 
     // --- Basic getters/setters used by Board and Game ---
 
     public CellContent getContent() {
-        return content;
+        return grid.getContent(index);
     }
 
     public void setContent(CellContent content) {
-        this.content = content;
+        grid.setContent(index, content);
     }
 
     public void setAdjacentMines(int adjacentMines) {
-        this.adjacentMines = adjacentMines;
+        grid.setAdjacentAt(index, adjacentMines);
     }
 
     public int getRow() {
@@ -58,15 +60,16 @@ public class Cell {
     // --- HELPER METHODS FOR LOGIC  ---
 
     public boolean isRevealed() {
-        return state == CellState.REVEALED;
+        return grid.isRevealed(index);
     }
 
     public boolean isFlagged() {
-        return state == CellState.FLAGGED;
+        return grid.isFlagged(index);
     }
 
     public boolean isQuestionOrSurprise() {
-        return content == CellContent.QUESTION || content == CellContent.SURPRISE;
+        byte content = grid.contentAt(index);
+        return content == CellGrid.QUESTION || content == CellGrid.SURPRISE;
     }
 
     // --- Game actions ---
@@ -75,7 +78,7 @@ public class Cell {
      * Marks the cell as REVEALED.
      */
     public void reveal() {
-        this.state = CellState.REVEALED;
+        grid.setStateAt(index, CellGrid.REVEALED);
     }
 
     // -------- Game Logic Helpers --------
@@ -84,7 +87,7 @@ public class Cell {
      * Returns true if the cell contains a mine.
      */
     public boolean isMine() {
-        return this.content == CellContent.MINE;
+        return grid.isMine(index);
     }
 
     /**
@@ -94,18 +97,20 @@ public class Cell {
      * @return true if the state was successfully changed, false otherwise.
      */
     public boolean toggleFlag() {
+        byte state = grid.stateAt(index);
+
         // Cannot flag or unflag a revealed cell
-        if (this.state == CellState.REVEALED) {
+        if (state == CellGrid.REVEALED) {
             return false;
         }
 
-        if (this.state == CellState.HIDDEN) {
+        if (state == CellGrid.HIDDEN) {
             // Change from HIDDEN to FLAGGED
-            this.state = CellState.FLAGGED;
+            grid.setStateAt(index, CellGrid.FLAGGED);
             return true;
-        } else if (this.state == CellState.FLAGGED) {
+        } else if (state == CellGrid.FLAGGED) {
             // Change from FLAGGED back to HIDDEN
-            this.state = CellState.HIDDEN;
+            grid.setStateAt(index, CellGrid.HIDDEN);
             return true;
         }
         // Should not happen, but return false defensively
@@ -115,28 +120,42 @@ public class Cell {
     // --- getters and setters for controller logic ---
 
     public CellState getState() {
-        return state;
+        return grid.getState(index);
     }
 
     public void setState(CellState state) {
-        this.state = state;
+        grid.setState(index, state);
     }
 
     public boolean isUsed() {
-        return used;
+        return grid.isUsed(index);
     }
 
     public void setUsed(boolean used) {
-        this.used = used;
+        grid.setUsed(index, used);
     }
 
 
     public void setQuestionId(Integer questionId) {
-        this.questionId = questionId;
+        grid.setQuestionId(index, questionId);
     }
 
     public int getAdjacentMines() {
-        return adjacentMines;
+        return grid.adjacentAt(index);
+    }
+
+    // Two views are equal when they point at the same storage slot
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Cell)) return false;
+        Cell other = (Cell) o;
+        return grid == other.grid && index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(grid) + index;
     }
 
-}
\ No newline at end of file
+}
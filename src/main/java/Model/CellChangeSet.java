@@ -0,0 +1,123 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * Cells changed by one board action, as a flat primitive buffer of
+ * (index, old code, new code) triples.
+ * <p>
+ * A code is the cell's state ordinal ({@link Cell.CellState}) plus {@link #USED_BIT} when a
+ * special cell has been used. When an action touches too many cells to be worth listing
+ * (for example the reveal-all at game end), the set is marked as a full refresh instead.
+ * <p>
+ * A board reuses one instance for all its actions, so listeners must read it during the
+ * callback and not keep a reference.
+ */
+public final class CellChangeSet {
+
+    /** Entries per change in {@link #buffer()}: index, old code, new code. */
+    public static final int STRIDE = 3;
+    /** Set in a code when the cell's special effect has been used. */
+    public static final int USED_BIT = 4;
+    private static final int STATE_MASK = 3;
+
+    private static final CellChangeSet FULL_REFRESH = new CellChangeSet(0);
+    static {
+        FULL_REFRESH.fullRefresh = true;
+    }
+
+    private int[] buffer = new int[16 * STRIDE];
+    private int size;
+    private boolean fullRefresh;
+    // Beyond this many changes a full refresh is cheaper than the list
+    private final int limit;
+
+    CellChangeSet(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Shared marker for "everything may have changed" (new boards, reveal-all).
+     */
+    public static CellChangeSet fullRefresh() {
+        return FULL_REFRESH;
+    }
+
+    void add(int index, int oldCode, int newCode) {
+        if (fullRefresh) return;
+        if (size >= limit) {
+            markFullRefresh();
+            return;
+        }
+        int at = size * STRIDE;
+        if (at + STRIDE > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[at] = index;
+        buffer[at + 1] = oldCode;
+        buffer[at + 2] = newCode;
+        size++;
+    }
+
+    void markFullRefresh() {
+        fullRefresh = true;
+        size = 0;
+    }
+
+    void clear() {
+        size = 0;
+        fullRefresh = false;
+    }
+
+    boolean isEmpty() {
+        return size == 0 && !fullRefresh;
+    }
+
+    // --- Reading ---
+
+    /** Number of listed changes (0 for a full refresh). */
+    public int size() {
+        return size;
+    }
+
+    public boolean isFullRefresh() {
+        return fullRefresh;
+    }
+
+    /**
+     * Raw triples; only the first {@code size() * STRIDE} entries are valid.
+     */
+    public int[] buffer() {
+        return buffer;
+    }
+
+    public int index(int k) {
+        return buffer[k * STRIDE];
+    }
+
+    public int oldCode(int k) {
+        return buffer[k * STRIDE + 1];
+    }
+
+    public int newCode(int k) {
+        return buffer[k * STRIDE + 2];
+    }
+
+    // --- Decoding codes ---
+
+    public static Cell.CellState stateOf(int code) {
+        return Cell.CellState.values()[code & STATE_MASK];
+    }
+
+    public static boolean isRevealed(int code) {
+        return (code & STATE_MASK) == CellGrid.REVEALED;
+    }
+
+    public static boolean isFlagged(int code) {
+        return (code & STATE_MASK) == CellGrid.FLAGGED;
+    }
+
+    public static boolean isUsed(int code) {
+        return (code & USED_BIT) != 0;
+    }
+}
@@ -0,0 +1,370 @@
+package Model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Packed primitive storage for all cells of one board.
+ * Content, state and adjacent-mine count are kept in parallel byte arrays and
+ * the used flag in a long bitset, all addressed by index = r * cols + c.
+ * {@link Cell} objects are only lightweight views over this storage.
+ * <p>
+ * Mine and flag counters are maintained on every content/state write,
+ * so the board never has to scan the grid to answer them.
+ */
+final class CellGrid {
+
+    private static final Cell.CellContent[] CONTENT_VALUES = Cell.CellContent.values();
+    private static final Cell.CellState[] STATE_VALUES = Cell.CellState.values();
+
+    static final byte EMPTY = (byte) Cell.CellContent.EMPTY.ordinal();
+    static final byte MINE = (byte) Cell.CellContent.MINE.ordinal();
+    static final byte QUESTION = (byte) Cell.CellContent.QUESTION.ordinal();
+    static final byte SURPRISE = (byte) Cell.CellContent.SURPRISE.ordinal();
+    static final byte NUMBER = (byte) Cell.CellContent.NUMBER.ordinal();
+
+    static final byte HIDDEN = (byte) Cell.CellState.HIDDEN.ordinal();
+    static final byte REVEALED = (byte) Cell.CellState.REVEALED.ordinal();
+    static final byte FLAGGED = (byte) Cell.CellState.FLAGGED.ordinal();
+
+    private final int rows;
+    private final int cols;
+    private final byte[] content;
+    private final byte[] state;
+    private final byte[] adjacent;
+    private final long[] used;
+
+    // Question ids are rare, so they are kept sparse instead of one slot per cell
+    private Map<Integer, Integer> questionIds;
+
+    // Incremental counters, kept in sync by setContentAt / setStateAt
+    private int mineCount;        // cells whose content is MINE
+    private int unrevealedMines;  // mines that are not REVEALED (HIDDEN or FLAGGED)
+    private int flaggedCount;     // cells in FLAGGED state
+    private int hiddenMineCount;  // mines still HIDDEN; found mines = mineCount - hiddenMineCount
+    // Optional random-access set of the HIDDEN mines (attached on first use, then kept in sync)
+    private HiddenMineSet hiddenMines;
+
+    // Bumped on every content or number change (tells precomputed layout data it is stale)
+    private int layoutVersion;
+
+    // Receives every state/used change while a board action is being recorded (else null)
+    private CellChangeSet recorder;
+    // Undo journal of the owning game (null when undo is off) and this grid's board number in it
+    private MoveJournal journal;
+    private int journalBoard;
+
+    // Optional spatial index of HIDDEN cells (attached on first use, then kept in sync)
+    private HiddenCellIndex hiddenIndex;
+
+    /**
+     * Creates a grid of EMPTY, HIDDEN, unused cells with 0 adjacent mines.
+     */
+    CellGrid(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + rows + "x" + cols);
+        }
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grid too large: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.content = new byte[(int) size];
+        this.state = new byte[(int) size];
+        this.adjacent = new byte[(int) size];
+        this.used = new long[(int) ((size + 63) >>> 6)];
+    }
+
+    // --- Addressing ---
+
+    int getRows() {
+        return rows;
+    }
+
+    int getCols() {
+        return cols;
+    }
+
+    int size() {
+        return content.length;
+    }
+
+    int index(int r, int c) {
+        return r * cols + c;
+    }
+
+    int rowOf(int index) {
+        return index / cols;
+    }
+
+    int colOf(int index) {
+        return index % cols;
+    }
+
+    boolean isValid(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    // --- Raw byte access (hot paths inside the Model) ---
+
+    byte contentAt(int index) {
+        return content[index];
+    }
+
+    void setContentAt(int index, byte value) {
+        byte old = content[index];
+        if (old == value) return;
+        content[index] = value;
+        layoutVersion++;
+
+        if (old == MINE) {
+            countMine(index, -1);
+        } else if (value == MINE) {
+            countMine(index, +1);
+        }
+    }
+
+    byte stateAt(int index) {
+        return state[index];
+    }
+
+    void setStateAt(int index, byte value) {
+        byte old = state[index];
+        if (old == value) return;
+        state[index] = value;
+
+        if (old == FLAGGED) flaggedCount--;
+        if (value == FLAGGED) flaggedCount++;
+
+        if (recorder != null || journal != null) {
+            int usedBit = isUsed(index) ? CellChangeSet.USED_BIT : 0;
+            if (recorder != null) recorder.add(index, old | usedBit, value | usedBit);
+            if (journal != null) journal.addCell(journalBoard, index, old | usedBit, value | usedBit);
+        }
+
+        if (hiddenIndex != null && (old == HIDDEN) != (value == HIDDEN)) {
+            hiddenIndex.update(index, value == HIDDEN ? 1 : -1);
+        }
+
+        if (content[index] == MINE) {
+            if (old == HIDDEN) hiddenMineRemoved(index);
+            if (value == HIDDEN) hiddenMineAdded(index);
+            if (old == REVEALED) unrevealedMines++;
+            if (value == REVEALED) unrevealedMines--;
+        }
+    }
+
+    /**
+     * Adds (delta = +1) or removes (delta = -1) the mine at index from all mine counters.
+     */
+    private void countMine(int index, int delta) {
+        byte s = state[index];
+        mineCount += delta;
+        if (s == HIDDEN) {
+            if (delta > 0) hiddenMineAdded(index);
+            else hiddenMineRemoved(index);
+        }
+        if (s != REVEALED) unrevealedMines += delta;
+    }
+
+    private void hiddenMineAdded(int index) {
+        hiddenMineCount++;
+        if (hiddenMines != null) hiddenMines.add(index);
+    }
+
+    private void hiddenMineRemoved(int index) {
+        hiddenMineCount--;
+        if (hiddenMines != null) hiddenMines.remove(index);
+    }
+
+    /**
+     * Returns the set of HIDDEN mines, building it with one scan on the first call.
+     * Grids that never pick a random mine (chunks, no-guess candidates) never pay for it.
+     */
+    private HiddenMineSet hiddenMines() {
+        if (hiddenMines == null) {
+            HiddenMineSet set = new HiddenMineSet(content.length);
+            for (int i = 0; i < content.length; i++) {
+                if (content[i] == MINE && state[i] == HIDDEN) set.add(i);
+            }
+            hiddenMines = set;
+        }
+        return hiddenMines;
+    }
+
+    /**
+     * Returns the spatial index of HIDDEN cells, building it on the first call.
+     */
+    HiddenCellIndex hiddenIndex() {
+        if (hiddenIndex == null) {
+            hiddenIndex = new HiddenCellIndex(this);
+        }
+        return hiddenIndex;
+    }
+
+    int adjacentAt(int index) {
+        return adjacent[index];
+    }
+
+    void setAdjacentAt(int index, int value) {
+        if (adjacent[index] == value) return;
+        adjacent[index] = (byte) value;
+        layoutVersion++;
+    }
+
+    /**
+     * Starts (non-null) or stops (null) recording state changes into the given set.
+     */
+    void setRecorder(CellChangeSet recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Sends every state/used change to the given undo journal (null to stop).
+     */
+    void setJournal(MoveJournal journal, int boardNumber) {
+        this.journal = journal;
+        this.journalBoard = boardNumber;
+    }
+
+    int getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    boolean isMine(int index) {
+        return content[index] == MINE;
+    }
+
+    boolean isRevealed(int index) {
+        return state[index] == REVEALED;
+    }
+
+    boolean isFlagged(int index) {
+        return state[index] == FLAGGED;
+    }
+
+    boolean isUsed(int index) {
+        return (used[index >>> 6] & (1L << index)) != 0;
+    }
+
+    void setUsed(int index, boolean value) {
+        if (isUsed(index) == value) return;
+        if (recorder != null || journal != null) {
+            int s = state[index];
+            int oldCode = value ? s : s | CellChangeSet.USED_BIT;
+            int newCode = value ? s | CellChangeSet.USED_BIT : s;
+            if (recorder != null) recorder.add(index, oldCode, newCode);
+            if (journal != null) journal.addCell(journalBoard, index, oldCode, newCode);
+        }
+        if (value) {
+            used[index >>> 6] |= (1L << index);
+        } else {
+            used[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    // --- Counters (O(1)) ---
+
+    int getMineCount() {
+        return mineCount;
+    }
+
+    int getFoundMines() {
+        return mineCount - hiddenMineCount;
+    }
+
+    int getHiddenMineCount() {
+        return hiddenMineCount;
+    }
+
+    /**
+     * Returns a uniformly chosen hidden (unrevealed, unflagged) mine in O(1), or -1 if none.
+     */
+    int randomHiddenMine(RandomGenerator random) {
+        return (hiddenMineCount == 0) ? -1 : hiddenMines().random(random);
+    }
+
+    /**
+     * Approximate heap size of the cell data, in bytes: 3 bytes and 1 bit per cell, plus
+     * 4 bytes per cell for each optional index that has been attached.
+     */
+    long estimateBytes() {
+        long bytes = 3L * content.length + 8L * used.length;
+        if (hiddenMines != null) bytes += hiddenMines.estimateBytes();
+        if (hiddenIndex != null) bytes += hiddenIndex.estimateBytes();
+        return bytes;
+    }
+
+    int getUnrevealedMines() {
+        return unrevealedMines;
+    }
+
+    int getFlaggedCount() {
+        return flaggedCount;
+    }
+
+    /**
+     * Recomputes every counter with a full scan and compares it with the incremental value.
+     *
+     * @return null if all counters match, otherwise a description of the first mismatch
+     */
+    String findCounterMismatch() {
+        int mines = 0, hiddenMineCells = 0, unrevealed = 0, flagged = 0, hidden = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (state[i] == FLAGGED) flagged++;
+            if (state[i] == HIDDEN) hidden++;
+            if (content[i] != MINE) continue;
+            mines++;
+            if (state[i] == HIDDEN) {
+                hiddenMineCells++;
+                if (hiddenMines != null && !hiddenMines.contains(i)) return "hidden mine " + i + " missing from hiddenMines";
+            }
+            if (state[i] != REVEALED) unrevealed++;
+        }
+        if (mines != mineCount) return "mineCount=" + mineCount + " but scan found " + mines;
+        if (hiddenMineCells != hiddenMineCount) return "hiddenMineCount=" + hiddenMineCount + " but scan found " + hiddenMineCells;
+        if (hiddenMines != null && hiddenMines.size() != hiddenMineCount) {
+            return "hiddenMines=" + hiddenMines.size() + " but hiddenMineCount=" + hiddenMineCount;
+        }
+        if (unrevealed != unrevealedMines) return "unrevealedMines=" + unrevealedMines + " but scan found " + unrevealed;
+        if (flagged != flaggedCount) return "flaggedCount=" + flaggedCount + " but scan found " + flagged;
+        if (hiddenIndex != null) {
+            int indexed = hiddenIndex.count(0, 0, rows - 1, cols - 1);
+            if (indexed != hidden) return "hiddenIndex=" + indexed + " but scan found " + hidden;
+        }
+        return null;
+    }
+
+    // --- Enum access (used by the Cell view) ---
+
+    Cell.CellContent getContent(int index) {
+        return CONTENT_VALUES[content[index]];
+    }
+
+    void setContent(int index, Cell.CellContent value) {
+        setContentAt(index, (byte) value.ordinal());
+    }
+
+    Cell.CellState getState(int index) {
+        return STATE_VALUES[state[index]];
+    }
+
+    void setState(int index, Cell.CellState value) {
+        setStateAt(index, (byte) value.ordinal());
+    }
+
+    Integer getQuestionId(int index) {
+        return (questionIds == null) ? null : questionIds.get(index);
+    }
+
+    void setQuestionId(int index, Integer questionId) {
+        if (questionId == null) {
+            if (questionIds != null) questionIds.remove(index);
+            return;
+        }
+        if (questionIds == null) questionIds = new HashMap<>();
+        questionIds.put(index, questionId);
+    }
+}
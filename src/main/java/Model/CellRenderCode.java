@@ -0,0 +1,52 @@
+package Model;
+
+/**
+ * Compact render state of one cell, as written by {@link Board#fillRenderCodes}.
+ * Fits in a byte:
+ * <ul>
+ *   <li>bits 0-3: value - 0 empty, 1-8 adjacent-mine number, {@link #MINE}, {@link #QUESTION}, {@link #SURPRISE}</li>
+ *   <li>bits 4-5: state - {@link #HIDDEN}, {@link #REVEALED} or {@link #FLAGGED}</li>
+ *   <li>bit 6: {@link #USED} - the special cell's effect has been used</li>
+ * </ul>
+ */
+public final class CellRenderCode {
+
+    public static final int VALUE_MASK = 0x0F;
+    public static final int MINE = 9;
+    public static final int QUESTION = 10;
+    public static final int SURPRISE = 11;
+
+    // State field is the Cell.CellState ordinal shifted by STATE_SHIFT
+    public static final int STATE_SHIFT = 4;
+    public static final int STATE_MASK = 0x30;
+    public static final int HIDDEN = 0x00;
+    public static final int REVEALED = 0x10;
+    public static final int FLAGGED = 0x20;
+
+    public static final int USED = 0x40;
+
+    private CellRenderCode() {
+    }
+
+    static int encode(byte content, byte state, int adjacent, boolean used) {
+        int value;
+        if (content == CellGrid.NUMBER) value = adjacent;
+        else if (content == CellGrid.MINE) value = MINE;
+        else if (content == CellGrid.QUESTION) value = QUESTION;
+        else if (content == CellGrid.SURPRISE) value = SURPRISE;
+        else value = 0;
+        return value | (state << STATE_SHIFT) | (used ? USED : 0);
+    }
+
+    public static int value(int code) {
+        return code & VALUE_MASK;
+    }
+
+    public static int state(int code) {
+        return code & STATE_MASK;
+    }
+
+    public static boolean isUsed(int code) {
+        return (code & USED) != 0;
+    }
+}
@@ -0,0 +1,464 @@
+package Model;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Sparse, chunk-based board for unbounded play.
+ * The board is split into 64x64 chunks that are generated on demand the first time
+ * one of their cells is touched (directly or by a flood fill crossing a chunk border).
+ * <p>
+ * Mines of a chunk are derived only from (seed, chunk coordinates), so any chunk can be
+ * regenerated at any time and numbers on chunk edges always agree with the neighbour
+ * chunk. Untouched chunks cost no memory. When more than {@code maxLoadedChunks} are
+ * loaded, the least recently used one is evicted: its cell states are packed into a
+ * 1 KB byte array (2 bits per cell) and its content is dropped, since it can be rebuilt
+ * from the seed. Chunks with no revealed or flagged cell are dropped entirely.
+ * <p>
+ * This mode has mines and numbers only; question and surprise cells and scoring stay
+ * with the regular {@link Board}. Callers apply score from the values returned here.
+ */
+public class ChunkedBoard {
+
+    public static final int CHUNK_SHIFT = 6;
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // 64
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    public static final int DEFAULT_MAX_LOADED_CHUNKS = 256;
+    // A 3x3 block of chunks must fit, so a single reveal never evicts what it is working on
+    public static final int MIN_LOADED_CHUNKS = 9;
+    // Caps one flood fill; on a very sparse board a zero region may be practically unbounded
+    public static final int DEFAULT_MAX_FLOOD_CELLS = 1 << 20;
+
+    /** Returned by {@link #revealCell(int, int)} when a mine was revealed. */
+    public static final int REVEALED_MINE = -1;
+
+    private final int rows;
+    private final int cols;
+    private final long seed;
+    private final double mineDensity;
+    private final int maxLoadedChunks;
+    private final int maxFloodCells;
+
+    // Hot chunks, least recently used first
+    private final LinkedHashMap<Long, CellGrid> loaded;
+    // Cold chunks that have player state, packed as 2-bit cell states
+    private final Map<Long, byte[]> evicted = new HashMap<>();
+
+    private static final long[] NO_FRONTIER = new long[0];
+    private long[] floodQueue = new long[256];
+    // Cells left to expand by a flood fill that hit maxFloodCells (see floodFrom)
+    private long[] floodFrontier = NO_FRONTIER;
+
+    private long revealedSafeCells;
+    private long minesRevealed;
+    private long flagsPlaced;
+    private long chunksGenerated;
+    private long chunksEvicted;
+    private long chunksRestored;
+
+    /**
+     * Creates an unbounded board (Integer.MAX_VALUE cells in each direction).
+     */
+    public ChunkedBoard(long seed, double mineDensity) {
+        this(Integer.MAX_VALUE, Integer.MAX_VALUE, seed, mineDensity,
+                DEFAULT_MAX_LOADED_CHUNKS, DEFAULT_MAX_FLOOD_CELLS);
+    }
+
+    /**
+     * Creates a board with a declared size; memory still grows only with the explored area.
+     *
+     * @param mineDensity     probability that a cell is a mine, in (0, 1)
+     * @param maxLoadedChunks how many chunks stay expanded in memory before eviction
+     * @param maxFloodCells   upper bound on cells opened by a single flood fill
+     */
+    public ChunkedBoard(int rows, int cols, long seed, double mineDensity,
+                        int maxLoadedChunks, int maxFloodCells) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Board size must be positive: " + rows + "x" + cols);
+        }
+        if (!(mineDensity > 0.0 && mineDensity < 1.0)) {
+            throw new IllegalArgumentException("Mine density must be between 0 and 1: " + mineDensity);
+        }
+        if (maxLoadedChunks < MIN_LOADED_CHUNKS) {
+            throw new IllegalArgumentException("At least " + MIN_LOADED_CHUNKS + " chunks must stay loaded");
+        }
+        if (maxFloodCells <= 0) {
+            throw new IllegalArgumentException("Flood limit must be positive: " + maxFloodCells);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.seed = seed;
+        this.mineDensity = mineDensity;
+        this.maxLoadedChunks = maxLoadedChunks;
+        this.maxFloodCells = maxFloodCells;
+        this.loaded = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CellGrid> eldest) {
+                if (size() <= ChunkedBoard.this.maxLoadedChunks) return false;
+                evict(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    // --- Player actions ---
+
+    /**
+     * Reveals a cell; EMPTY cells flood-fill across chunk borders.
+     * Revealing an already revealed EMPTY cell resumes a flood fill that hit the cell limit.
+     *
+     * @return the number of safe cells revealed, 0 if nothing changed,
+     * or {@link #REVEALED_MINE} if the cell was a mine
+     */
+    public int revealCell(int r, int c) {
+        if (!isValid(r, c)) return 0;
+        CellGrid chunk = chunkFor(r, c);
+        int i = localIndex(r, c);
+        if (chunk.stateAt(i) == CellGrid.REVEALED && chunk.contentAt(i) == CellGrid.EMPTY) {
+            int resumed = floodFrom(r, c);
+            revealedSafeCells += resumed;
+            return resumed;
+        }
+        if (chunk.stateAt(i) != CellGrid.HIDDEN) return 0;
+
+        chunk.setStateAt(i, CellGrid.REVEALED);
+        if (chunk.isMine(i)) {
+            minesRevealed++;
+            return REVEALED_MINE;
+        }
+
+        int revealed = 1;
+        if (chunk.contentAt(i) == CellGrid.EMPTY) {
+            revealed += floodFrom(r, c);
+        }
+        revealedSafeCells += revealed;
+        return revealed;
+    }
+
+    /**
+     * Toggles a flag on a hidden cell.
+     *
+     * @return true if the flag state changed
+     */
+    public boolean toggleFlag(int r, int c) {
+        if (!isValid(r, c)) return false;
+        CellGrid chunk = chunkFor(r, c);
+        int i = localIndex(r, c);
+        byte state = chunk.stateAt(i);
+        if (state == CellGrid.REVEALED) return false;
+
+        boolean placing = state == CellGrid.HIDDEN;
+        chunk.setStateAt(i, placing ? CellGrid.FLAGGED : CellGrid.HIDDEN);
+        flagsPlaced += placing ? 1 : -1;
+        return true;
+    }
+
+    /**
+     * Breadth-first reveal over packed (row, col) coordinates, loading chunks as it crosses borders.
+     * A chunk reference is never held across another chunk lookup, since that lookup may evict it.
+     * <p>
+     * When the fill reaches maxFloodCells, the cells whose neighbours were not processed yet
+     * are kept as the pending frontier; the next fill (a click on a revealed EMPTY cell)
+     * continues from them.
+     */
+    private int floodFrom(int startR, int startC) {
+        long[] pending = floodFrontier;
+        floodFrontier = NO_FRONTIER;
+        long[] queue = floodQueue;
+        if (queue.length < pending.length + 1) {
+            queue = new long[Integer.highestOneBit(pending.length + 1) << 1];
+            floodQueue = queue;
+        }
+        int head = 0;
+        int tail = 0;
+        int revealed = 0;
+        queue[tail++] = pack(startR, startC);
+        System.arraycopy(pending, 0, queue, tail, pending.length);
+        tail += pending.length;
+
+        while (head < tail) {
+            long cur = queue[head++];
+            int r = (int) (cur >>> 32);
+            int c = (int) cur;
+
+            for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+                for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                    CellGrid chunk = chunkFor(nr, nc);
+                    int n = localIndex(nr, nc);
+                    if (chunk.stateAt(n) != CellGrid.HIDDEN || chunk.isMine(n)) continue;
+
+                    if (revealed == maxFloodCells) {
+                        // cur still has hidden neighbours; keep it with the unprocessed queue
+                        long[] frontier = new long[tail - head + 1];
+                        frontier[0] = cur;
+                        System.arraycopy(queue, head, frontier, 1, tail - head);
+                        floodFrontier = frontier;
+                        return revealed;
+                    }
+                    chunk.setStateAt(n, CellGrid.REVEALED);
+                    revealed++;
+
+                    if (chunk.contentAt(n) == CellGrid.EMPTY) {
+                        if (tail == queue.length) {
+                            // compact consumed entries first, grow only if still full
+                            System.arraycopy(queue, head, queue, 0, tail - head);
+                            tail -= head;
+                            head = 0;
+                            if (tail == queue.length) {
+                                queue = java.util.Arrays.copyOf(queue, queue.length * 2);
+                                floodQueue = queue;
+                            }
+                        }
+                        queue[tail++] = pack(nr, nc);
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+
+    // --- Queries (touching a cell loads its chunk) ---
+
+    public boolean isRevealed(int r, int c) {
+        return isValid(r, c) && chunkFor(r, c).isRevealed(localIndex(r, c));
+    }
+
+    public boolean isFlagged(int r, int c) {
+        return isValid(r, c) && chunkFor(r, c).isFlagged(localIndex(r, c));
+    }
+
+    public boolean isMine(int r, int c) {
+        return isValid(r, c) && chunkFor(r, c).isMine(localIndex(r, c));
+    }
+
+    public Cell.CellContent getContent(int r, int c) {
+        if (!isValid(r, c)) return null;
+        return chunkFor(r, c).getContent(localIndex(r, c));
+    }
+
+    public int getAdjacentMines(int r, int c) {
+        if (!isValid(r, c)) return 0;
+        return chunkFor(r, c).adjacentAt(localIndex(r, c));
+    }
+
+    public boolean isValid(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    // --- Chunk management ---
+
+    private CellGrid chunkFor(int r, int c) {
+        int cy = r >>> CHUNK_SHIFT;
+        int cx = c >>> CHUNK_SHIFT;
+        long key = chunkKey(cy, cx);
+        CellGrid chunk = loaded.get(key);
+        if (chunk == null) {
+            chunk = generateChunk(cy, cx);
+            byte[] packed = evicted.remove(key);
+            if (packed != null) {
+                restoreStates(chunk, packed);
+                chunksRestored++;
+            }
+            loaded.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Builds a chunk's content from the seed. Neighbour chunks' mines are regenerated
+     * (not loaded) just to compute edge numbers, so this never touches other chunks' state.
+     */
+    private CellGrid generateChunk(int cy, int cx) {
+        chunksGenerated++;
+        long[][] mines = new long[3][];
+        long[][] above = new long[3][];
+        long[][] below = new long[3][];
+        for (int dx = -1; dx <= 1; dx++) {
+            above[dx + 1] = chunkMines(cy - 1, cx + dx);
+            mines[dx + 1] = chunkMines(cy, cx + dx);
+            below[dx + 1] = chunkMines(cy + 1, cx + dx);
+        }
+
+        CellGrid chunk = new CellGrid(CHUNK_SIZE, CHUNK_SIZE);
+        long[] own = mines[1];
+        for (int lr = 0; lr < CHUNK_SIZE; lr++) {
+            for (int lc = 0; lc < CHUNK_SIZE; lc++) {
+                int i = lr * CHUNK_SIZE + lc;
+                if (testBit(own, i)) {
+                    chunk.setContentAt(i, CellGrid.MINE);
+                    continue;
+                }
+                int count = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if (dr == 0 && dc == 0) continue;
+                        int nr = lr + dr;
+                        int nc = lc + dc;
+                        int sy = nr < 0 ? 0 : (nr >= CHUNK_SIZE ? 2 : 1);
+                        int sx = nc < 0 ? 0 : (nc >= CHUNK_SIZE ? 2 : 1);
+                        long[] bits = (sy == 0 ? above : sy == 1 ? mines : below)[sx];
+                        if (bits != null && testBit(bits, (nr & CHUNK_MASK) * CHUNK_SIZE + (nc & CHUNK_MASK))) {
+                            count++;
+                        }
+                    }
+                }
+                chunk.setAdjacentAt(i, count);
+                chunk.setContentAt(i, count > 0 ? CellGrid.NUMBER : CellGrid.EMPTY);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Deterministic mine bitset of one chunk, or null if the chunk lies outside the board.
+     * Cells beyond the declared board size never hold mines.
+     */
+    private long[] chunkMines(int cy, int cx) {
+        if (cy < 0 || cx < 0) return null;
+        long firstRow = (long) cy << CHUNK_SHIFT;
+        long firstCol = (long) cx << CHUNK_SHIFT;
+        if (firstRow >= rows || firstCol >= cols) return null;
+
+        int validRows = (int) Math.min(CHUNK_SIZE, rows - firstRow);
+        int validCols = (int) Math.min(CHUNK_SIZE, cols - firstCol);
+        SplittableRandom rnd = new SplittableRandom(mix(seed, chunkKey(cy, cx)));
+        long[] bits = new long[CHUNK_CELLS / 64];
+        for (int lr = 0; lr < validRows; lr++) {
+            for (int lc = 0; lc < validCols; lc++) {
+                if (rnd.nextDouble() < mineDensity) {
+                    int i = lr * CHUNK_SIZE + lc;
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Packs a chunk's player state for cold storage. Content is not stored: it is rebuilt from the seed.
+     */
+    private void evict(long key, CellGrid chunk) {
+        chunksEvicted++;
+        if (chunk.getFlaggedCount() == 0 && !hasRevealed(chunk)) {
+            return; // identical to a freshly generated chunk, nothing to keep
+        }
+        byte[] packed = new byte[CHUNK_CELLS / 4];
+        for (int i = 0; i < CHUNK_CELLS; i++) {
+            packed[i >>> 2] |= (byte) (chunk.stateAt(i) << ((i & 3) << 1));
+        }
+        evicted.put(key, packed);
+    }
+
+    private static void restoreStates(CellGrid chunk, byte[] packed) {
+        for (int i = 0; i < CHUNK_CELLS; i++) {
+            chunk.setStateAt(i, (byte) ((packed[i >>> 2] >>> ((i & 3) << 1)) & 3));
+        }
+    }
+
+    private static boolean hasRevealed(CellGrid chunk) {
+        for (int i = 0; i < CHUNK_CELLS; i++) {
+            if (chunk.stateAt(i) == CellGrid.REVEALED) return true;
+        }
+        return false;
+    }
+
+    // --- Helpers ---
+
+    private static int localIndex(int r, int c) {
+        return (r & CHUNK_MASK) * CHUNK_SIZE + (c & CHUNK_MASK);
+    }
+
+    private static long chunkKey(int cy, int cx) {
+        return ((long) cy << 32) | (cx & 0xFFFFFFFFL);
+    }
+
+    private static long pack(int r, int c) {
+        return ((long) r << 32) | (c & 0xFFFFFFFFL);
+    }
+
+    private static boolean testBit(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    // SplitMix64 finalizer, so neighbouring chunk keys get unrelated streams
+    private static long mix(long seed, long key) {
+        long z = seed + key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // --- Getters / metrics ---
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getMineDensity() {
+        return mineDensity;
+    }
+
+    public long getRevealedSafeCells() {
+        return revealedSafeCells;
+    }
+
+    public long getMinesRevealed() {
+        return minesRevealed;
+    }
+
+    public long getFlagsPlaced() {
+        return flagsPlaced;
+    }
+
+    /**
+     * Whether a flood fill stopped at the cell limit; revealing any revealed EMPTY cell
+     * continues it.
+     */
+    public boolean isFloodPending() {
+        return floodFrontier.length > 0;
+    }
+
+    public int getLoadedChunkCount() {
+        return loaded.size();
+    }
+
+    public int getStoredChunkCount() {
+        return evicted.size();
+    }
+
+    public long getChunksGenerated() {
+        return chunksGenerated;
+    }
+
+    public long getChunksEvicted() {
+        return chunksEvicted;
+    }
+
+    public long getChunksRestored() {
+        return chunksRestored;
+    }
+
+    /**
+     * Rough heap estimate of chunk data: the cell arrays of each loaded chunk (about 3 bytes
+     * + 1 bit per cell, since chunks never attach the optional indices), 1 KB per stored chunk.
+     */
+    public long estimateMemoryBytes() {
+        long bytes = (long) evicted.size() * (CHUNK_CELLS / 4);
+        for (CellGrid chunk : loaded.values()) {
+            bytes += chunk.estimateBytes();
+        }
+        return bytes;
+    }
+}
@@ -5,16 +5,28 @@ import Model.specialcell.factory.ActivatorFactoryRegistry;
 import Model.specialcell.factory.QuestionActivatorFactory;
 import Model.specialcell.factory.SurpriseActivatorFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
 /**
  * Represents a cooperative Minesweeper game with two boards.
  * Manages shared lives, shared score, difficulty settings, questions and turns.
  */
 public class Game {
     // Maximum number of lives allowed (extra lives are converted to score)
-    private final int MAX_LIVES = 10;
+    public static final int MAX_LIVES = 10;
+    // Console trace of rule events (off for headless simulations; -Dscorpion.game.console=false)
+    private static volatile boolean consoleOutput =
+            !"false".equals(System.getProperty("scorpion.game.console"));
     private Board board1;
     private Board board2;
     private Difficulty difficulty;
+    // Board layout in use (built-in level or custom size); difficulty holds its rules
+    private BoardConfig boardConfig;
     private int sharedLives;
     private int sharedScore;
     private GameState gameState;
@@ -22,12 +34,28 @@ public class Game {
     private QuestionManager questionManager;
     private QuestionPresenter questionPresenter;
     private int totalSurprisesOpened;
+    // Seeded randomness for everything in this game (boards, surprises, scoring, questions)
+    private GameRandom random;
+    // Source of ready-made boards for new games and restarts
+    private BoardPool boardPool = BoardPool.getInstance();
 
     //  Field to store the message for the View
     private String lastActionMessage;
     private int totalQuestionsAnswered;
     private int totalCorrectAnswers;
 
+    // Unit-of-work state: nesting depth and the values seen when the outermost transaction began
+    private int transactionDepth;
+    private int txStartScore;
+    private int txStartLives;
+    private GameState txStartState;
+    private final List<ChangeListener> changeListeners = new ArrayList<>();
+    private final List<CellChangeListener> cellChangeListeners = new ArrayList<>();
+
+    // Undo/redo history (null when undo is off) and whether it is currently being applied
+    private MoveJournal journal;
+    private boolean restoringJournal;
+
     //  Factory Method registry (DP1)
     private final ActivatorFactoryRegistry activatorRegistry =
             new ActivatorFactoryRegistry(
@@ -47,11 +75,86 @@ public class Game {
         startNewGame(difficulty);
     }
 
+    /**
+     * Creates a new game with the given board layout (e.g. a custom size).
+     */
+    public Game(BoardConfig config) {
+        startNewGame(config);
+    }
+
+    /**
+     * Creates a game with the given layout from an explicit seed (replays, simulations).
+     * The boards are always generated, never taken from the pool.
+     */
+    public Game(BoardConfig config, long seed) {
+        startNewGame(config, seed);
+    }
+
+    /**
+     * Creates a game from an explicit seed with the recorded no-guess candidates of both
+     * boards (see {@link #getLayoutCandidates()}), so replays skip the search.
+     */
+    public Game(BoardConfig config, long seed, int[] layoutCandidates) {
+        startNewGame(config, seed, layoutCandidates);
+    }
+
     /**
      * Initializes or resets all game data for the given difficulty.
      * Creates two boards, sets initial lives, score and game state.
      */
     public void startNewGame(Difficulty difficulty) {
+        startNewGame(BoardConfig.of(difficulty));
+    }
+
+    /**
+     * Initializes or resets all game data for the given board layout.
+     * Lives, costs and scoring follow the layout's rules difficulty.
+     */
+    public void startNewGame(BoardConfig config) {
+        BoardPool.Prepared prepared = (boardPool != null) ? boardPool.take(config) : null;
+        if (prepared == null) {
+            startNewGame(config, GameRandom.newSeed());
+            return;
+        }
+        // Pool hit: the boards were generated from prepared.random exactly as below
+        resetGame(config, prepared.random);
+        prepared.board1.attachTo(this);
+        prepared.board2.attachTo(this);
+        this.board1 = prepared.board1;
+        this.board2 = prepared.board2;
+        attachJournal();
+        announceNewBoards();
+    }
+
+    /**
+     * Initializes or resets the game from an explicit seed.
+     * The same layout and seed reproduce the game exactly (replays, benchmarks, bug reports).
+     */
+    public void startNewGame(BoardConfig config, long seed) {
+        startNewGame(config, seed, null);
+    }
+
+    /**
+     * Same as {@link #startNewGame(BoardConfig, long)}, with the no-guess candidates of
+     * both boards given (null to search for them).
+     */
+    public void startNewGame(BoardConfig config, long seed, int[] layoutCandidates) {
+        resetGame(config, new GameRandom(seed));
+        generateBoards(config, layoutCandidates);
+        attachJournal();
+        announceNewBoards();
+    }
+
+    /**
+     * Resets everything except the boards for a new game with the given randomness.
+     */
+    private void resetGame(BoardConfig config, GameRandom random) {
+        Difficulty difficulty = config.getRules();
+        this.random = random;
+        if (questionManager != null) {
+            questionManager.setRandom(random.questionStream());
+        }
+        this.boardConfig = config;
         this.difficulty = difficulty;
         this.sharedLives = difficulty.getStartingLives();
         this.sharedScore = 0;
@@ -60,29 +163,312 @@ public class Game {
         this.lastActionMessage = null; // Initialize the message field
         this.totalQuestionsAnswered = 0;
         this.totalCorrectAnswers = 0;
-
-        this.board1 = new Board(difficulty, this);
-        this.board2 = new Board(difficulty, this);
         this.totalSurprisesOpened = 0;
+    }
 
+    /**
+     * Builds both boards. Large boards are generated in parallel: board 2 on the
+     * fork-join pool while board 1 is built on the calling thread. Each board draws
+     * only from its own seeded stream, so the result does not depend on timing.
+     *
+     * @param layoutCandidates no-guess candidates of both boards, or null to search
+     */
+    private void generateBoards(BoardConfig config, int[] layoutCandidates) {
+        int candidate1 = (layoutCandidates != null) ? layoutCandidates[0] : NoGuessGenerator.SEARCH;
+        int candidate2 = (layoutCandidates != null) ? layoutCandidates[1] : NoGuessGenerator.SEARCH;
+        if (!Board.useParallelGeneration(config.getRows() * config.getCols())) {
+            this.board1 = new Board(config, this, random.boardStream(1), candidate1);
+            this.board2 = new Board(config, this, random.boardStream(2), candidate2);
+            return;
+        }
+        RandomGenerator stream2 = random.boardStream(2);
+        ForkJoinTask<Board> second = ForkJoinPool.commonPool().submit(() -> new Board(config, this, stream2, candidate2));
+        this.board1 = new Board(config, this, random.boardStream(1), candidate1);
+        this.board2 = second.join();
     }
 
     /**
-     * Restarts the game using the last selected difficulty (if available).
+     * No-guess candidates both boards were built from ({@link NoGuessGenerator#FALLBACK}
+     * for normal layouts). With the seed they reproduce the boards without a search.
+     */
+    public int[] getLayoutCandidates() {
+        return new int[]{board1.getLayoutCandidate(), board2.getLayoutCandidate()};
+    }
+
+    /**
+     * Sets where new games and restarts take ready-made boards from (null to always generate).
+     */
+    public void setBoardPool(BoardPool boardPool) {
+        this.boardPool = boardPool;
+    }
+
+    public BoardPool getBoardPool() {
+        return boardPool;
+    }
+
+    /**
+     * Restarts the game using the last selected difficulty / board layout (if available).
      */
     public void restartGame() {
-        if (this.difficulty != null) {
-            startNewGame(this.difficulty);
+        if (this.boardConfig != null) {
+            startNewGame(this.boardConfig);
+        }
+    }
+
+    // --- Transactions (unit of work) ---
+
+    /**
+     * Coalesced description of everything a committed transaction changed.
+     */
+    public static class StateChange {
+        public final int deltaScore;
+        public final int deltaLives;
+        public final GameState oldState;
+        public final GameState newState;
+
+        public StateChange(int deltaScore, int deltaLives, GameState oldState, GameState newState) {
+            this.deltaScore = deltaScore;
+            this.deltaLives = deltaLives;
+            this.oldState = oldState;
+            this.newState = newState;
+        }
+
+        public boolean stateChanged() {
+            return oldState != newState;
+        }
+    }
+
+    /**
+     * Receives one event per committed transaction that changed score, lives or game state.
+     */
+    public interface ChangeListener {
+        void onGameChanged(Game game, StateChange change);
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        if (listener != null && !changeListeners.contains(listener)) {
+            changeListeners.add(listener);
+        }
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Receives the cells changed by each board action, tagged with the board number (1 or 2).
+     * New boards (new game, restart) are announced with {@link CellChangeSet#fullRefresh()}.
+     */
+    public interface CellChangeListener {
+        void onCellsChanged(int boardNumber, CellChangeSet changes);
+    }
+
+    public void addCellChangeListener(CellChangeListener listener) {
+        if (listener != null && !cellChangeListeners.contains(listener)) {
+            cellChangeListeners.add(listener);
+            attachBoardListeners();
+        }
+    }
+
+    public void removeCellChangeListener(CellChangeListener listener) {
+        cellChangeListeners.remove(listener);
+    }
+
+    /**
+     * Routes both boards' change sets to the game's listeners (only once someone listens,
+     * so boards of headless games never record).
+     */
+    private void attachBoardListeners() {
+        if (cellChangeListeners.isEmpty()) return;
+        if (board1 != null) board1.setCellChangeListener((board, changes) -> fireCellChanges(1, changes));
+        if (board2 != null) board2.setCellChangeListener((board, changes) -> fireCellChanges(2, changes));
+    }
+
+    private void fireCellChanges(int boardNumber, CellChangeSet changes) {
+        for (CellChangeListener listener : new ArrayList<>(cellChangeListeners)) {
+            listener.onCellsChanged(boardNumber, changes);
+        }
+    }
+
+    /**
+     * Hooks up freshly created boards and tells listeners to redraw them completely.
+     */
+    private void announceNewBoards() {
+        if (cellChangeListeners.isEmpty()) return;
+        attachBoardListeners();
+        fireCellChanges(1, CellChangeSet.fullRefresh());
+        fireCellChanges(2, CellChangeSet.fullRefresh());
+    }
+
+    /**
+     * Opens a (possibly nested) transaction. While one is open, score/lives updates
+     * only collect deltas: the win/loss check is deferred until the outermost commit.
+     * Always pair with {@link #commitTransaction()} in a finally block.
+     */
+    public void beginTransaction() {
+        if (transactionDepth++ == 0) {
+            txStartScore = sharedScore;
+            txStartLives = sharedLives;
+            txStartState = gameState;
+            if (journal != null && !restoringJournal) journal.beginMove(this);
+        }
+    }
+
+    /**
+     * Closes the current transaction. The outermost commit validates the end state
+     * once (win/loss check) and publishes a single coalesced change event.
+     */
+    public void commitTransaction() {
+        if (transactionDepth == 0) {
+            throw new IllegalStateException("commitTransaction() without beginTransaction()");
+        }
+        if (--transactionDepth > 0) return;
+
+        evaluateGameStatus();
+        if (journal != null && !restoringJournal) journal.endMove(this);
+
+        if (sharedScore != txStartScore || sharedLives != txStartLives || gameState != txStartState) {
+            StateChange change = new StateChange(
+                    sharedScore - txStartScore, sharedLives - txStartLives, txStartState, gameState);
+            for (ChangeListener listener : new ArrayList<>(changeListeners)) {
+                listener.onGameChanged(this, change);
+            }
+        }
+    }
+
+    public boolean isInTransaction() {
+        return transactionDepth > 0;
+    }
+
+    /**
+     * Runs the given work as one unit: one status check and one change event at the end.
+     */
+    public void runInTransaction(Runnable work) {
+        beginTransaction();
+        try {
+            work.run();
+        } finally {
+            commitTransaction();
         }
     }
 
+    /**
+     * Same as {@link #runInTransaction(Runnable)} but returns the work's result.
+     */
+    public <T> T callInTransaction(Supplier<T> work) {
+        beginTransaction();
+        try {
+            return work.get();
+        } finally {
+            commitTransaction();
+        }
+    }
+
+    // --- Undo / redo (practice mode) ---
+
+    /**
+     * Enables undo/redo keeping at most depth moves (0 turns it off). The history starts
+     * empty; it is kept as per-move cell deltas, so memory follows the moves, not the boards.
+     */
+    public void setUndoDepth(int depth) {
+        if (transactionDepth > 0) {
+            throw new IllegalStateException("setUndoDepth() inside a transaction");
+        }
+        journal = (depth > 0) ? new MoveJournal(depth) : null;
+        attachJournal();
+    }
+
+    public int getUndoDepth() {
+        return (journal != null) ? journal.getDepth() : 0;
+    }
+
+    public boolean canUndo() {
+        return journal != null && journal.canUndo();
+    }
+
+    public boolean canRedo() {
+        return journal != null && journal.canRedo();
+    }
+
+    /**
+     * Reverts the last move (a reveal, flag, special-cell activation or any other
+     * transaction): cells, score, lives, game state, turn and counters.
+     * Costs time proportional to the cells the move changed.
+     *
+     * @return false if there is nothing to undo
+     */
+    public boolean undo() {
+        if (!canUndo()) return false;
+        applyJournal(true);
+        return true;
+    }
+
+    /**
+     * Re-applies the last undone move.
+     *
+     * @return false if there is nothing to redo
+     */
+    public boolean redo() {
+        if (!canRedo()) return false;
+        applyJournal(false);
+        return true;
+    }
+
+    private void applyJournal(boolean undo) {
+        if (transactionDepth > 0) {
+            throw new IllegalStateException((undo ? "undo()" : "redo()") + " inside a transaction");
+        }
+        // One transaction, so listeners get the usual coalesced change event
+        restoringJournal = true;
+        beginTransaction();
+        try {
+            if (undo) journal.undo(this);
+            else journal.redo(this);
+        } finally {
+            commitTransaction();
+            restoringJournal = false;
+        }
+    }
+
+    /**
+     * Sets the journaled game-level values during undo/redo (counter arguments are deltas).
+     */
+    void restoreJournaledState(int score, int lives, GameState state, int turn,
+                               int answeredDelta, int correctDelta, int surprisesDelta) {
+        this.sharedScore = score;
+        this.sharedLives = lives;
+        this.gameState = state;
+        this.currentPlayerTurn = turn;
+        this.totalQuestionsAnswered += answeredDelta;
+        this.totalCorrectAnswers += correctDelta;
+        this.totalSurprisesOpened += surprisesDelta;
+    }
+
+    /**
+     * Starts a fresh history for the current boards (new game, restart or new depth).
+     */
+    private void attachJournal() {
+        if (journal != null) journal.clear();
+        if (board1 != null) board1.setJournal(journal, 1);
+        if (board2 != null) board2.setJournal(journal, 2);
+    }
+
     // --- Game Status & End Game Logic ---
 
     /**
      * Checks if the game has been won or lost, based on lives and safe cells.
      * Updates the game state and triggers end-of-game processing if needed.
+     * Inside a transaction the check is deferred to the outermost commit.
      */
     public void checkGameStatus() {
+        if (transactionDepth > 0) return;
+        runInTransaction(() -> { });
+    }
+
+    /**
+     * Performs the actual win/loss evaluation (called once per committed transaction).
+     */
+    private void evaluateGameStatus() {
         if (gameState != GameState.RUNNING) return;
 
         // Loss
@@ -106,20 +492,20 @@ public class Game {
      */
     private void endGameProcessing() {
         if (gameState == GameState.WON || gameState == GameState.LOST) {
-            System.out.println("=== GAME ENDED: " + gameState + " ===");
+            log("=== GAME ENDED: " + gameState + " ===");
 
             // 1. Convert remaining lives to points
             int lifeValue = difficulty.getActivationCost();
             int lifeBonus = sharedLives * lifeValue;
             sharedScore += lifeBonus;
 
-            System.out.println("Final Life Bonus: " + sharedLives + " lives * " + lifeValue + " pts = +" + lifeBonus + " points.");
+            log("Final Life Bonus: " + sharedLives + " lives * " + lifeValue + " pts = +" + lifeBonus + " points.");
 
             // 2. Auto-reveal all cells
             if (board1 != null) board1.revealAll();
             if (board2 != null) board2.revealAll();
 
-            printGameStatus();
+            if (consoleOutput) printGameStatus();
         }
     }
 
@@ -142,6 +528,22 @@ public class Game {
         System.out.println("==========================");
     }
 
+    /**
+     * Turns the console trace of rule events (game end, life cap, rewards) on or off
+     * for all games. Headless simulations turn it off.
+     */
+    public static void setConsoleOutput(boolean enabled) {
+        consoleOutput = enabled;
+    }
+
+    public static boolean isConsoleOutput() {
+        return consoleOutput;
+    }
+
+    static void log(String message) {
+        if (consoleOutput) System.out.println(message);
+    }
+
     // --- Life Management ---
 
     /**
@@ -149,15 +551,19 @@ public class Game {
      * Extra lives above the cap are converted to score.
      */
     public void setSharedLives(int newLives) {
-        if (newLives > MAX_LIVES) {
-            int excess = newLives - MAX_LIVES;
-            this.sharedLives = MAX_LIVES;
-            this.sharedScore += excess * difficulty.getActivationCost();
-            System.out.println("Life cap reached! Converted " + excess + " excess lives to " + (excess * difficulty.getActivationCost()) + " points.");
-        } else {
-            this.sharedLives = newLives;
+        beginTransaction();
+        try {
+            if (newLives > MAX_LIVES) {
+                int excess = newLives - MAX_LIVES;
+                this.sharedLives = MAX_LIVES;
+                this.sharedScore += excess * difficulty.getActivationCost();
+                log("Life cap reached! Converted " + excess + " excess lives to " + (excess * difficulty.getActivationCost()) + " points.");
+            } else {
+                this.sharedLives = newLives;
+            }
+        } finally {
+            commitTransaction();
         }
-        checkGameStatus();
     }
 
     /**
@@ -167,28 +573,40 @@ public class Game {
      * @param pointsValue score value to add if life is converted due to cap.
      */
     public void addLife(int pointsValue) {
-        if (sharedLives < MAX_LIVES) {
-            sharedLives++;
-        } else {
-            sharedScore += pointsValue;
-            System.out.println("Life cap reached! Converted life gain to " + pointsValue + " points.");
+        beginTransaction();
+        try {
+            if (sharedLives < MAX_LIVES) {
+                sharedLives++;
+            } else {
+                sharedScore += pointsValue;
+                log("Life cap reached! Converted life gain to " + pointsValue + " points.");
+            }
+        } finally {
+            commitTransaction();
         }
-        checkGameStatus();
     }
 
     /**
      * Deducts lives and triggers a status check for possible loss.
      */
     public void deductLife(int lives) {
-        this.sharedLives -= lives;
-        checkGameStatus();
+        beginTransaction();
+        try {
+            this.sharedLives -= lives;
+        } finally {
+            commitTransaction();
+        }
     }
 
     // --- Getters and Setters ---
 
     public void setSharedScore(int sharedScore) {
-        this.sharedScore = sharedScore;
-        checkGameStatus();
+        beginTransaction();
+        try {
+            this.sharedScore = sharedScore;
+        } finally {
+            commitTransaction();
+        }
     }
 
     public void setGameState(GameState gameState) {
@@ -208,7 +626,7 @@ public class Game {
         if (activator == null) {
             return false;
         }
-        return activator.activate(); // template method (final) runs the flow
+        return activator.activate(); // template method (final) runs the flow inside one transaction
     }
 
     /**
@@ -223,21 +641,25 @@ public class Game {
         totalQuestionsAnswered++;
         if (isCorrect) totalCorrectAnswers++;
 
-        ScoreRules.Result r = ScoreRules.compute(difficulty, qLevel, isCorrect);
-
-        // apply score delta
-        sharedScore += r.deltaScore;
-
-        // apply lives delta (with cap handling through addLife)
-        if (r.deltaLives > 0) {
-            for (int i = 0; i < r.deltaLives; i++) {
-                addLife(difficulty.getActivationCost());
+        ScoreRules.Result r = ScoreRules.compute(difficulty, qLevel, isCorrect, random.scoringStream());
+
+        // Apply all deltas as one unit: a single status check when the transaction commits
+        beginTransaction();
+        try {
+            // apply score delta
+            sharedScore += r.deltaScore;
+
+            // apply lives delta (with cap handling through addLife)
+            if (r.deltaLives > 0) {
+                for (int i = 0; i < r.deltaLives; i++) {
+                    addLife(difficulty.getActivationCost());
+                }
+            } else if (r.deltaLives < 0) {
+                deductLife(-r.deltaLives);
             }
-        } else if (r.deltaLives < 0) {
-            deductLife(-r.deltaLives);
+        } finally {
+            commitTransaction();
         }
-
-        checkGameStatus();
         return r;
     }
 
@@ -255,6 +677,9 @@ public class Game {
 
     public void setQuestionManager(QuestionManager manager) {
         this.questionManager = manager;
+        if (manager != null) {
+            manager.setRandom(random.questionStream());
+        }
     }
 
     public QuestionManager getQuestionManager() {
@@ -269,7 +694,7 @@ public class Game {
         for (int i = 0; i < lives; i++) {
             addLife(points);
         }
-        System.out.println("Correct! +" + points + " pts, +" + lives + " lives.");
+        log("Correct! +" + points + " pts, +" + lives + " lives.");
     }
 
     /**
@@ -278,7 +703,7 @@ public class Game {
     private void applyPenalties(int points, int lives) {
         this.sharedScore -= points;
         deductLife(lives);
-        System.out.println("Incorrect! -" + points + " pts, -" + lives + " lives.");
+        log("Incorrect! -" + points + " pts, -" + lives + " lives.");
     }
 
     // --- Turn Handling ---
@@ -324,6 +749,18 @@ public class Game {
         return difficulty;
     }
 
+    public BoardConfig getBoardConfig() {
+        return boardConfig;
+    }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    public long getSeed() {
+        return random.getSeed();
+    }
+
     public int getSharedLives() {
         return sharedLives;
     }
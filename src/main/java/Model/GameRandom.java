@@ -0,0 +1,73 @@
+package Model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Central, seeded randomness for one game.
+ * Every board and subsystem gets its own {@link SplittableRandom} stream, split from
+ * the game seed in a fixed order. The same seed therefore reproduces a game exactly
+ * (board layouts, reward picks, surprise outcomes, 50/50 scoring rules and question
+ * choice), no matter in which order the streams are used.
+ * <p>
+ * Streams are not thread-safe; each one is meant for a single subsystem of a single game.
+ */
+public final class GameRandom {
+
+    private final long seed;
+    private final SplittableRandom board1;
+    private final SplittableRandom board2;
+    private final SplittableRandom surprise;
+    private final SplittableRandom scoring;
+    private final SplittableRandom questions;
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        // Split order is part of the replay format: only append new streams at the end
+        this.board1 = root.split();
+        this.board2 = root.split();
+        this.surprise = root.split();
+        this.scoring = root.split();
+        this.questions = root.split();
+    }
+
+    /**
+     * Returns a fresh seed for a game that was not given one.
+     */
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Stream for placement and reward effects of board 1 or 2.
+     */
+    public SplittableRandom boardStream(int boardNumber) {
+        return (boardNumber == 1) ? board1 : board2;
+    }
+
+    /**
+     * Stream for surprise-cell outcomes.
+     */
+    public SplittableRandom surpriseStream() {
+        return surprise;
+    }
+
+    /**
+     * Stream for the 50/50 outcomes in {@link ScoreRules}.
+     */
+    public SplittableRandom scoringStream() {
+        return scoring;
+    }
+
+    /**
+     * Stream for picking questions.
+     */
+    public SplittableRandom questionStream() {
+        return questions;
+    }
+}
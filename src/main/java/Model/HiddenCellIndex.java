@@ -0,0 +1,202 @@
+package Model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Spatial index of the HIDDEN (unrevealed, unflagged) cells of one {@link CellGrid}.
+ * A 2D Fenwick tree over packed indices gives point updates and rectangle counts in
+ * O(log rows * log cols). The grid updates it on every state change once attached.
+ * <p>
+ * Window queries search the k x k window origins as a tree of rectangles. The hidden
+ * count of a rectangle of origins, grown by k - 1, is an upper bound for every window
+ * in it, so most of the board is pruned after a few logarithmic counts.
+ */
+final class HiddenCellIndex {
+
+    // Random windows tried before falling back to the pruned search
+    private static final int RANDOM_ATTEMPTS = 20;
+
+    private final int rows;
+    private final int cols;
+    // 0-based Fenwick tree, row-major: tree[i * cols + j]
+    private final int[] tree;
+
+    // Best window found by the current search (origin index and count)
+    private int foundOrigin;
+    private int foundCount;
+
+    /** Approximate heap size of the tree, in bytes. */
+    long estimateBytes() {
+        return 4L * tree.length;
+    }
+
+    /**
+     * Builds the index from the grid's current states in O(cells).
+     */
+    HiddenCellIndex(CellGrid grid) {
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.tree = new int[rows * cols];
+        for (int i = 0; i < tree.length; i++) {
+            tree[i] = (grid.stateAt(i) == CellGrid.HIDDEN) ? 1 : 0;
+        }
+        // In-place build: push each node into its parent along columns, then along rows
+        for (int r = 0; r < rows; r++) {
+            int base = r * cols;
+            for (int c = 0; c < cols; c++) {
+                int parent = c | (c + 1);
+                if (parent < cols) tree[base + parent] += tree[base + c];
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            int parent = r | (r + 1);
+            if (parent >= rows) continue;
+            int from = r * cols;
+            int to = parent * cols;
+            for (int c = 0; c < cols; c++) {
+                tree[to + c] += tree[from + c];
+            }
+        }
+    }
+
+    /**
+     * Adds delta (+1 hidden, -1 no longer hidden) at the packed cell index.
+     */
+    void update(int index, int delta) {
+        int r0 = index / cols;
+        int c0 = index - r0 * cols;
+        for (int r = r0; r < rows; r |= r + 1) {
+            int base = r * cols;
+            for (int c = c0; c < cols; c |= c + 1) {
+                tree[base + c] += delta;
+            }
+        }
+    }
+
+    /**
+     * Hidden cells in rows [0, r] and cols [0, c] (0 if either is negative).
+     */
+    private int prefix(int r0, int c0) {
+        int sum = 0;
+        for (int r = r0; r >= 0; r = (r & (r + 1)) - 1) {
+            int base = r * cols;
+            for (int c = c0; c >= 0; c = (c & (c + 1)) - 1) {
+                sum += tree[base + c];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Hidden cells in the inclusive rectangle, clipped to the board.
+     */
+    int count(int r0, int c0, int r1, int c1) {
+        r0 = Math.max(r0, 0);
+        c0 = Math.max(c0, 0);
+        r1 = Math.min(r1, rows - 1);
+        c1 = Math.min(c1, cols - 1);
+        if (r0 > r1 || c0 > c1) return 0;
+        return prefix(r1, c1) - prefix(r0 - 1, c1) - prefix(r1, c0 - 1) + prefix(r0 - 1, c0 - 1);
+    }
+
+    /**
+     * Hidden cells in the k x k window whose top-left corner is (r, c).
+     */
+    int windowCount(int r, int c, int k) {
+        return count(r, c, r + k - 1, c + k - 1);
+    }
+
+    /**
+     * Finds a k x k window with the most hidden cells.
+     *
+     * @return packed index of the window's top-left corner, or -1 if no window has a hidden cell
+     */
+    int bestWindow(int k) {
+        checkWindow(k);
+        foundOrigin = -1;
+        foundCount = 0;
+        searchBest(0, 0, rows - k, cols - k, k);
+        return foundOrigin;
+    }
+
+    /**
+     * Picks a random k x k window with at least minHidden hidden cells: a few uniform
+     * samples first, then a pruned search that visits sub-rectangles in random order.
+     *
+     * @return packed index of the window's top-left corner, or -1 if there is none
+     */
+    int randomWindow(int k, int minHidden, RandomGenerator random) {
+        checkWindow(k);
+        int originRows = rows - k + 1;
+        int originCols = cols - k + 1;
+        for (int attempt = 0; attempt < RANDOM_ATTEMPTS; attempt++) {
+            int r = random.nextInt(originRows);
+            int c = random.nextInt(originCols);
+            if (windowCount(r, c, k) >= minHidden) return r * cols + c;
+        }
+        foundOrigin = -1;
+        searchAtLeast(0, 0, originRows - 1, originCols - 1, k, Math.max(1, minHidden), random);
+        return foundOrigin;
+    }
+
+    private void checkWindow(int k) {
+        if (k < 1 || k > rows || k > cols) {
+            throw new IllegalArgumentException("Window " + k + "x" + k + " does not fit a " + rows + "x" + cols + " board");
+        }
+    }
+
+    /**
+     * Upper bound for every window with an origin in [r0, r1] x [c0, c1].
+     */
+    private int bound(int r0, int c0, int r1, int c1, int k) {
+        return count(r0, c0, r1 + k - 1, c1 + k - 1);
+    }
+
+    private void searchBest(int r0, int c0, int r1, int c1, int k) {
+        if (foundCount == k * k) return; // cannot do better than a full window
+        if (r0 == r1 && c0 == c1) {
+            int n = windowCount(r0, c0, k);
+            if (n > foundCount) {
+                foundCount = n;
+                foundOrigin = r0 * cols + c0;
+            }
+            return;
+        }
+        // Split the longer side and search the more promising half first
+        boolean splitRows = (r1 - r0) >= (c1 - c0);
+        int mid = splitRows ? (r0 + r1) >>> 1 : (c0 + c1) >>> 1;
+        int aR1 = splitRows ? mid : r1, aC1 = splitRows ? c1 : mid;
+        int bR0 = splitRows ? mid + 1 : r0, bC0 = splitRows ? c0 : mid + 1;
+
+        int boundA = bound(r0, c0, aR1, aC1, k);
+        int boundB = bound(bR0, bC0, r1, c1, k);
+        if (boundA >= boundB) {
+            if (boundA > foundCount) searchBest(r0, c0, aR1, aC1, k);
+            if (boundB > foundCount) searchBest(bR0, bC0, r1, c1, k);
+        } else {
+            if (boundB > foundCount) searchBest(bR0, bC0, r1, c1, k);
+            if (boundA > foundCount) searchBest(r0, c0, aR1, aC1, k);
+        }
+    }
+
+    private void searchAtLeast(int r0, int c0, int r1, int c1, int k, int minHidden, RandomGenerator random) {
+        if (foundOrigin >= 0 || bound(r0, c0, r1, c1, k) < minHidden) return;
+        if (r0 == r1 && c0 == c1) {
+            // bound of a single origin is exactly its window count
+            foundOrigin = r0 * cols + c0;
+            return;
+        }
+        boolean splitRows = (r1 - r0) >= (c1 - c0);
+        int mid = splitRows ? (r0 + r1) >>> 1 : (c0 + c1) >>> 1;
+        int aR1 = splitRows ? mid : r1, aC1 = splitRows ? c1 : mid;
+        int bR0 = splitRows ? mid + 1 : r0, bC0 = splitRows ? c0 : mid + 1;
+
+        if (random.nextBoolean()) {
+            searchAtLeast(r0, c0, aR1, aC1, k, minHidden, random);
+            searchAtLeast(bR0, bC0, r1, c1, k, minHidden, random);
+        } else {
+            searchAtLeast(bR0, bC0, r1, c1, k, minHidden, random);
+            searchAtLeast(r0, c0, aR1, aC1, k, minHidden, random);
+        }
+    }
+}
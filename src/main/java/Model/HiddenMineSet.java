@@ -0,0 +1,67 @@
+package Model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Random-access set of the hidden (unrevealed, unflagged) mines of one {@link CellGrid}.
+ * Members are packed cell indices in a dense int array. A per-cell position map
+ * (slot + 1, 0 = absent) gives O(1) add, remove (swap with the last member) and
+ * contains. A uniform random pick is O(1) and allocates nothing.
+ */
+final class HiddenMineSet {
+
+    private int[] members;
+    private int size;
+    // positions[cell] = slot of cell in members + 1, or 0 if the cell is not a member
+    private final int[] positions;
+
+    HiddenMineSet(int cells) {
+        this.positions = new int[cells];
+        this.members = new int[16];
+    }
+
+    void add(int cell) {
+        if (positions[cell] != 0) return;
+        if (size == members.length) {
+            members = java.util.Arrays.copyOf(members, size * 2);
+        }
+        members[size] = cell;
+        positions[cell] = ++size;
+    }
+
+    void remove(int cell) {
+        int slot = positions[cell] - 1;
+        if (slot < 0) return;
+        int last = members[--size];
+        members[slot] = last;
+        positions[last] = slot + 1;
+        positions[cell] = 0;
+    }
+
+    boolean contains(int cell) {
+        return positions[cell] != 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Member at the given slot (0 <= slot < size), in no particular order.
+     */
+    int get(int slot) {
+        return members[slot];
+    }
+
+    /** Approximate heap size of the arrays, in bytes. */
+    long estimateBytes() {
+        return 4L * positions.length + 4L * members.length;
+    }
+
+    /**
+     * Returns a uniformly chosen member, or -1 if the set is empty.
+     */
+    int random(RandomGenerator random) {
+        return (size == 0) ? -1 : members[random.nextInt(size)];
+    }
+}
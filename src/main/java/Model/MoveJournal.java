@@ -0,0 +1,284 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * Bounded undo/redo history of a {@link Game}, kept as primitive deltas.
+ * <p>
+ * A move is one outermost game transaction. For each move the journal stores the cells it
+ * changed, as (board + cell index, old code, new code) entries in the {@link CellChangeSet}
+ * code format, plus a small header with the score, lives, counter and safe-cell deltas,
+ * the game state before and after, and the turn. Undo walks only the move's own entries, so
+ * undoing a large flood fill costs time proportional to the fill, never to the board.
+ * <p>
+ * At most {@code depth} moves are kept; the oldest move is dropped when a new one is
+ * recorded. Recording a new move after an undo drops the redo history.
+ * <p>
+ * Not journaled: which questions the question manager has already asked, and the
+ * random streams (redo re-applies the recorded result instead of replaying the action).
+ */
+final class MoveJournal {
+
+    // Move header fields (H_STRIDE ints per move)
+    private static final int H_CELL_START = 0;   // first cell entry
+    private static final int H_CELL_COUNT = 1;
+    private static final int H_SCORE = 2;
+    private static final int H_LIVES = 3;
+    private static final int H_STATE_BEFORE = 4; // GameState ordinals
+    private static final int H_STATE_AFTER = 5;
+    private static final int H_TURN_BEFORE = 6;
+    private static final int H_TURN_AFTER = 7;   // filled in on undo
+    private static final int H_SAFE1 = 8;        // safeCellsRemaining deltas of board 1 and 2
+    private static final int H_SAFE2 = 9;
+    private static final int H_ANSWERED = 10;
+    private static final int H_CORRECT = 11;
+    private static final int H_SURPRISES = 12;
+    private static final int H_STRIDE = 13;
+
+    private static final GameState[] STATES = GameState.values();
+
+    private final int depth;
+    // Ring of move headers: move k (0 = oldest kept) is at slot (first + k) % depth
+    private final int[] headers;
+    private int first;
+    private int moveCount;
+    // Moves [0, cursor) are applied; [cursor, moveCount) can be redone
+    private int cursor;
+
+    // Cell entries, two ints each (entry e at cells[2e]): key = index << 1 | (board - 1),
+    // codes = old | new << 8
+    private int[] cells = new int[256];
+    // Entries before cellBase belong to dropped moves; cellEnd is one past the last entry
+    private int cellBase;
+    private int cellEnd;
+
+    // Move being recorded (between beginMove and endMove)
+    private boolean recording;
+    private final int[] pending = new int[H_STRIDE];
+
+    MoveJournal(int depth) {
+        if (depth < 1) throw new IllegalArgumentException("Undo depth must be at least 1: " + depth);
+        this.depth = depth;
+        this.headers = new int[depth * H_STRIDE];
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    boolean canUndo() {
+        return cursor > 0;
+    }
+
+    boolean canRedo() {
+        return cursor < moveCount;
+    }
+
+    int getUndoCount() {
+        return cursor;
+    }
+
+    int getRedoCount() {
+        return moveCount - cursor;
+    }
+
+    /**
+     * Cell entries currently held (a measure of the journal's memory use).
+     */
+    int getCellEntryCount() {
+        return cellEnd - cellBase;
+    }
+
+    void clear() {
+        first = 0;
+        moveCount = 0;
+        cursor = 0;
+        cellBase = 0;
+        cellEnd = 0;
+        recording = false;
+    }
+
+    // --- Recording ---
+
+    /**
+     * Called by the grids for every state/used change while a move is recorded.
+     */
+    void addCell(int boardNumber, int index, int oldCode, int newCode) {
+        if (!recording) return;
+        if (cellEnd * 2 + 2 > cells.length) {
+            compact();
+            if (cellEnd * 2 + 2 > cells.length) cells = Arrays.copyOf(cells, cells.length * 2);
+        }
+        int at = cellEnd * 2;
+        cells[at] = (index << 1) | (boardNumber - 1);
+        cells[at + 1] = oldCode | (newCode << 8);
+        cellEnd++;
+    }
+
+    void beginMove(Game game) {
+        recording = true;
+        pending[H_CELL_START] = cellEnd;
+        pending[H_SCORE] = game.getSharedScore();
+        pending[H_LIVES] = game.getSharedLives();
+        pending[H_STATE_BEFORE] = game.getGameState().ordinal();
+        pending[H_TURN_BEFORE] = game.getCurrentPlayerTurn();
+        pending[H_SAFE1] = safeCells(game.getBoard1());
+        pending[H_SAFE2] = safeCells(game.getBoard2());
+        pending[H_ANSWERED] = game.getTotalQuestionsAnswered();
+        pending[H_CORRECT] = game.getTotalCorrectAnswers();
+        pending[H_SURPRISES] = game.getTotalSurprisesOpened();
+    }
+
+    /**
+     * Closes the move; turns the recorded start values into deltas and keeps the move
+     * unless it changed nothing.
+     */
+    void endMove(Game game) {
+        if (!recording) return;
+        recording = false;
+        int[] h = pending;
+        h[H_CELL_COUNT] = cellEnd - h[H_CELL_START];
+        h[H_SCORE] = game.getSharedScore() - h[H_SCORE];
+        h[H_LIVES] = game.getSharedLives() - h[H_LIVES];
+        h[H_STATE_AFTER] = game.getGameState().ordinal();
+        h[H_TURN_AFTER] = game.getCurrentPlayerTurn();
+        h[H_SAFE1] = safeCells(game.getBoard1()) - h[H_SAFE1];
+        h[H_SAFE2] = safeCells(game.getBoard2()) - h[H_SAFE2];
+        h[H_ANSWERED] = game.getTotalQuestionsAnswered() - h[H_ANSWERED];
+        h[H_CORRECT] = game.getTotalCorrectAnswers() - h[H_CORRECT];
+        h[H_SURPRISES] = game.getTotalSurprisesOpened() - h[H_SURPRISES];
+
+        boolean changed = h[H_CELL_COUNT] != 0 || h[H_SCORE] != 0 || h[H_LIVES] != 0
+                || h[H_STATE_BEFORE] != h[H_STATE_AFTER] || h[H_SAFE1] != 0 || h[H_SAFE2] != 0
+                || h[H_ANSWERED] != 0 || h[H_CORRECT] != 0 || h[H_SURPRISES] != 0;
+        if (!changed) {
+            cellEnd = h[H_CELL_START];
+            return;
+        }
+
+        if (cursor < moveCount) {
+            // New move after an undo: drop the redo history and move this move's cells down
+            int redoStart = header(cursor, H_CELL_START);
+            int count = h[H_CELL_COUNT];
+            System.arraycopy(cells, h[H_CELL_START] * 2, cells, redoStart * 2, count * 2);
+            h[H_CELL_START] = redoStart;
+            cellEnd = redoStart + count;
+            moveCount = cursor;
+        }
+        if (moveCount == depth) {
+            dropOldest();
+        }
+        System.arraycopy(h, 0, headers, slot(moveCount), H_STRIDE);
+        moveCount++;
+        cursor = moveCount;
+    }
+
+    private void dropOldest() {
+        // The next kept move starts where the dropped one ended (the pending move if none)
+        cellBase = (moveCount > 1) ? header(1, H_CELL_START) : pending[H_CELL_START];
+        first = (first + 1) % depth;
+        moveCount--;
+        cursor--;
+        // Compact once the dropped prefix is half the buffer (amortized O(1) per entry)
+        if (cellBase * 4 >= cells.length) {
+            compact();
+        }
+    }
+
+    /**
+     * Moves the live entries to the front of the buffer and rebases the stored offsets.
+     */
+    private void compact() {
+        if (cellBase == 0) return;
+        System.arraycopy(cells, cellBase * 2, cells, 0, (cellEnd - cellBase) * 2);
+        for (int k = 0; k < moveCount; k++) {
+            headers[slot(k) + H_CELL_START] -= cellBase;
+        }
+        pending[H_CELL_START] -= cellBase;
+        cellEnd -= cellBase;
+        cellBase = 0;
+    }
+
+    // --- Undo / redo ---
+
+    /**
+     * Reverts the last applied move. The caller holds the game in a transaction.
+     */
+    void undo(Game game) {
+        int k = --cursor;
+        int slot = slot(k);
+        headers[slot + H_TURN_AFTER] = game.getCurrentPlayerTurn();
+
+        Board board1 = game.getBoard1();
+        Board board2 = game.getBoard2();
+        board1.beginRestore();
+        board2.beginRestore();
+        try {
+            int from = headers[slot + H_CELL_START] * 2;
+            for (int at = from + (headers[slot + H_CELL_COUNT] - 1) * 2; at >= from; at -= 2) {
+                int key = cells[at];
+                Board board = ((key & 1) == 0) ? board1 : board2;
+                board.restoreCell(key >>> 1, cells[at + 1] & 0xFF);
+            }
+        } finally {
+            board2.endRestore();
+            board1.endRestore();
+        }
+        board1.adjustSafeCellsRemaining(-headers[slot + H_SAFE1]);
+        board2.adjustSafeCellsRemaining(-headers[slot + H_SAFE2]);
+        game.restoreJournaledState(
+                game.getSharedScore() - headers[slot + H_SCORE],
+                game.getSharedLives() - headers[slot + H_LIVES],
+                STATES[headers[slot + H_STATE_BEFORE]],
+                headers[slot + H_TURN_BEFORE],
+                -headers[slot + H_ANSWERED],
+                -headers[slot + H_CORRECT],
+                -headers[slot + H_SURPRISES]);
+    }
+
+    /**
+     * Re-applies the next undone move. The caller holds the game in a transaction.
+     */
+    void redo(Game game) {
+        int slot = slot(cursor++);
+
+        Board board1 = game.getBoard1();
+        Board board2 = game.getBoard2();
+        board1.beginRestore();
+        board2.beginRestore();
+        try {
+            int from = headers[slot + H_CELL_START] * 2;
+            int to = from + headers[slot + H_CELL_COUNT] * 2;
+            for (int at = from; at < to; at += 2) {
+                int key = cells[at];
+                Board board = ((key & 1) == 0) ? board1 : board2;
+                board.restoreCell(key >>> 1, (cells[at + 1] >>> 8) & 0xFF);
+            }
+        } finally {
+            board2.endRestore();
+            board1.endRestore();
+        }
+        board1.adjustSafeCellsRemaining(headers[slot + H_SAFE1]);
+        board2.adjustSafeCellsRemaining(headers[slot + H_SAFE2]);
+        game.restoreJournaledState(
+                game.getSharedScore() + headers[slot + H_SCORE],
+                game.getSharedLives() + headers[slot + H_LIVES],
+                STATES[headers[slot + H_STATE_AFTER]],
+                headers[slot + H_TURN_AFTER],
+                headers[slot + H_ANSWERED],
+                headers[slot + H_CORRECT],
+                headers[slot + H_SURPRISES]);
+    }
+
+    private int slot(int k) {
+        return ((first + k) % depth) * H_STRIDE;
+    }
+
+    private int header(int k, int field) {
+        return headers[slot(k) + field];
+    }
+
+    private static int safeCells(Board board) {
+        return (board != null) ? board.getSafeCellsRemaining() : 0;
+    }
+}
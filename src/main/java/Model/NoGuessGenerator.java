@@ -0,0 +1,269 @@
+package Model;
+
+import Model.solver.FrontierSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Generates layouts that can be cleared without guessing.
+ * <p>
+ * Candidate k of a board is the normal layout placed from a stream seeded with
+ * (base seed, k), where the base seed is one draw from the board's own stream. A candidate
+ * is accepted if a {@link FrontierSolver} that starts by opening its largest zero region
+ * reveals every safe cell by deduction alone.
+ * <p>
+ * Candidates are checked in parallel on the fork-join pool. Workers take candidate
+ * numbers in increasing order and skip everything above the best success so far, so the
+ * winner is the lowest solvable candidate, the same as a sequential search. If no
+ * candidate passes within the latency budget (or the candidate limit), the board falls
+ * back to the normal generator.
+ * <p>
+ * Generation time, candidates tried and fallbacks are kept per {@link Difficulty} (the
+ * layout's rules), see {@link #getStats}.
+ */
+public final class NoGuessGenerator {
+
+    /** Candidate value of a layout made by the normal generator (also the fallback). */
+    public static final int FALLBACK = -1;
+    // Board constructor argument: search for the candidate
+    static final int SEARCH = Integer.MIN_VALUE;
+
+    public static final long DEFAULT_BUDGET_MILLIS = 400;
+    public static final int DEFAULT_MAX_CANDIDATES = 20_000;
+
+    private static volatile long budgetMillis = DEFAULT_BUDGET_MILLIS;
+    private static volatile int maxCandidates = DEFAULT_MAX_CANDIDATES;
+
+    // Solver steps between two checks for a better candidate or the deadline
+    private static final int CHECK_INTERVAL = 256;
+
+    // Per difficulty ordinal: boards, fallbacks, candidates tried, total and max nanoseconds
+    private static final int STAT_FIELDS = 5;
+    private static final AtomicLongArray stats = new AtomicLongArray(Difficulty.values().length * STAT_FIELDS);
+
+    private NoGuessGenerator() {
+    }
+
+    // --- Settings ---
+
+    /**
+     * Sets how long one board may search before falling back to the normal generator.
+     */
+    public static void setBudgetMillis(long millis) {
+        if (millis < 0) throw new IllegalArgumentException("Budget must be >= 0");
+        budgetMillis = millis;
+    }
+
+    public static long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Sets how many candidates one board may try before falling back.
+     */
+    public static void setMaxCandidates(int count) {
+        if (count < 1) throw new IllegalArgumentException("Candidate limit must be >= 1");
+        maxCandidates = count;
+    }
+
+    public static int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    // --- Generation ---
+
+    /**
+     * Placement stream of candidate k.
+     */
+    static SplittableRandom candidateRandom(long baseSeed, int candidate) {
+        return new SplittableRandom(baseSeed + 0x9E3779B97F4A7C15L * (candidate + 1));
+    }
+
+    /**
+     * The opening of a layout: first cell of its largest zero region (lowest region on
+     * ties), or -1 if the layout has no zero cell.
+     */
+    static int openingCell(ZeroRegions regions) {
+        int best = -1;
+        for (int region = 0; region < regions.getRegionCount(); region++) {
+            if (best < 0 || regions.regionSize(region) > regions.regionSize(best)) best = region;
+        }
+        return (best < 0) ? -1 : regions.zeroAt(regions.zeroStart(best));
+    }
+
+    /**
+     * Finds the lowest solvable candidate for the layout.
+     *
+     * @return the candidate number, or {@link #FALLBACK} if none passed in time
+     */
+    static int search(BoardConfig config, long baseSeed) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        int limit = maxCandidates;
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger best = new AtomicInteger(Integer.MAX_VALUE);
+        AtomicLong tried = new AtomicLong();
+
+        int workers = Board.isParallelGeneration() ? Math.max(1, ForkJoinPool.getCommonPoolParallelism()) : 1;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (int k = next.getAndIncrement(); k < limit && k < best.get(); k = next.getAndIncrement()) {
+                    if (System.nanoTime() > deadline) return;
+                    Candidate candidate = new Candidate(config, candidateRandom(baseSeed, k));
+                    if (candidate.isSolvable(k, best, deadline)) best.accumulateAndGet(k, Math::min);
+                    tried.incrementAndGet();
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int winner = (best.get() == Integer.MAX_VALUE) ? FALLBACK : best.get();
+        record(config.getRules(), System.nanoTime() - start, tried.get(), winner == FALLBACK);
+        return winner;
+    }
+
+    /**
+     * One candidate layout (mines and numbers only: special cells sit on zero cells,
+     * which the solver treats as 0 anyway) and its deduction-only playthrough.
+     */
+    private static final class Candidate {
+        private final CellGrid grid;
+        private final int rows;
+        private final int cols;
+        private final int safeCells;
+
+        Candidate(BoardConfig config, SplittableRandom random) {
+            rows = config.getRows();
+            cols = config.getCols();
+            grid = new CellGrid(rows, cols);
+            new PlacementEngine(grid, random).placeMines(config.getMines());
+            Board.calculateNumbers(grid, 0, rows);
+            safeCells = grid.size() - grid.getMineCount();
+        }
+
+        /**
+         * Opens the largest zero region, then keeps revealing deduced safe cells.
+         * Gives up once a lower candidate has won or the deadline has passed.
+         */
+        boolean isSolvable(int self, AtomicInteger best, long deadline) {
+            int opening = openingCell(new ZeroRegions(grid));
+            if (opening < 0) return false;
+            FrontierSolver solver = new FrontierSolver(rows, cols);
+            boolean[] revealed = new boolean[grid.size()];
+            int[] queue = new int[grid.size()];
+            int revealedCount = reveal(opening, solver, revealed, queue);
+            int steps = 0;
+            while (revealedCount < safeCells) {
+                solver.propagate();
+                int next = solver.nextSafeCell();
+                if (next < 0) return false;
+                revealedCount += reveal(next, solver, revealed, queue);
+                if (++steps == CHECK_INTERVAL) {
+                    steps = 0;
+                    if (best.get() < self || System.nanoTime() > deadline) return false;
+                }
+            }
+            return true;
+        }
+
+        // Reveals the cell like a click (zero cells flood) and returns how many cells opened
+        private int reveal(int start, FrontierSolver solver, boolean[] revealed, int[] queue) {
+            int head = 0;
+            int tail = 0;
+            revealed[start] = true;
+            queue[tail++] = start;
+            while (head < tail) {
+                int i = queue[head++];
+                int adjacent = grid.adjacentAt(i);
+                solver.reveal(i, adjacent);
+                if (adjacent != 0) continue;
+                int r = i / cols;
+                int c = i % cols;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                        int j = nr * cols + nc;
+                        if (!revealed[j] && !grid.isMine(j)) {
+                            revealed[j] = true;
+                            queue[tail++] = j;
+                        }
+                    }
+                }
+            }
+            return tail;
+        }
+    }
+
+    // --- Metrics ---
+
+    /**
+     * Generation metrics of one difficulty (no-guess boards only).
+     */
+    public static final class Stats {
+        private final long boards;
+        private final long fallbacks;
+        private final long candidates;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Stats(long boards, long fallbacks, long candidates, long totalNanos, long maxNanos) {
+            this.boards = boards;
+            this.fallbacks = fallbacks;
+            this.candidates = candidates;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /** No-guess boards generated (including fallbacks). */
+        public long getBoards() {
+            return boards;
+        }
+
+        /** Boards that fell back to the normal generator. */
+        public long getFallbacks() {
+            return fallbacks;
+        }
+
+        /** Candidate layouts checked over all boards. */
+        public long getCandidates() {
+            return candidates;
+        }
+
+        public double getAverageMillis() {
+            return (boards == 0) ? 0.0 : totalNanos / 1e6 / boards;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1e6;
+        }
+    }
+
+    /**
+     * Snapshot of the generation metrics for layouts with the given rules.
+     */
+    public static Stats getStats(Difficulty difficulty) {
+        int at = difficulty.ordinal() * STAT_FIELDS;
+        return new Stats(stats.get(at), stats.get(at + 1), stats.get(at + 2), stats.get(at + 3), stats.get(at + 4));
+    }
+
+    public static void resetStats() {
+        for (int i = 0; i < stats.length(); i++) stats.set(i, 0);
+    }
+
+    private static void record(Difficulty difficulty, long nanos, long candidates, boolean fallback) {
+        int at = difficulty.ordinal() * STAT_FIELDS;
+        stats.incrementAndGet(at);
+        if (fallback) stats.incrementAndGet(at + 1);
+        stats.addAndGet(at + 2, candidates);
+        stats.addAndGet(at + 3, nanos);
+        stats.accumulateAndGet(at + 4, nanos, Math::max);
+    }
+}
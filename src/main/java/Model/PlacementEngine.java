@@ -0,0 +1,94 @@
+package Model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Places mines and special cells on a fresh {@link CellGrid}.
+ * Both steps use a partial Fisher-Yates shuffle over packed cell indices, so the cost
+ * is O(cells) whatever the mine density (no rejection sampling), and one scratch array
+ * is shared by both steps.
+ */
+final class PlacementEngine {
+
+    private final CellGrid grid;
+    private final RandomGenerator random;
+    private final int[] scratch;
+
+    private int placedMines;
+    private int placedQuestionCells;
+    private int placedSurpriseCells;
+
+    PlacementEngine(CellGrid grid, RandomGenerator random) {
+        this.grid = grid;
+        this.random = random;
+        this.scratch = new int[grid.size()];
+    }
+
+    /**
+     * Turns {@code count} distinct EMPTY cells into mines, chosen uniformly at random.
+     *
+     * @return how many mines were placed (less than count only if the grid is too small)
+     */
+    int placeMines(int count) {
+        int candidates = collect(false);
+        placedMines = pickAndSet(candidates, Math.min(count, candidates), CellGrid.MINE, 0);
+        return placedMines;
+    }
+
+    /**
+     * Places question and surprise cells only on true-empty cells (EMPTY with 0 adjacent mines),
+     * in one pass. Must run after the numbers are calculated. Questions are served first,
+     * so when there are not enough true-empty cells the surprises are the ones cut short.
+     */
+    void placeSpecials(int questionCount, int surpriseCount) {
+        int candidates = collect(true);
+        placedQuestionCells = Math.min(questionCount, candidates);
+        placedSurpriseCells = Math.min(surpriseCount, candidates - placedQuestionCells);
+
+        pickAndSet(candidates, placedQuestionCells, CellGrid.QUESTION, 0);
+        pickAndSet(candidates, placedSurpriseCells, CellGrid.SURPRISE, placedQuestionCells);
+    }
+
+    /**
+     * Copies eligible cell indices into the scratch array.
+     *
+     * @return number of eligible cells
+     */
+    private int collect(boolean trueEmptyOnly) {
+        int n = 0;
+        for (int i = 0; i < scratch.length; i++) {
+            if (grid.contentAt(i) != CellGrid.EMPTY) continue;
+            if (trueEmptyOnly && grid.adjacentAt(i) != 0) continue;
+            scratch[n++] = i;
+        }
+        return n;
+    }
+
+    /**
+     * Partial Fisher-Yates: fixes positions [from, from + count) of the first
+     * {@code candidates} scratch entries to a uniform random sample and sets their content.
+     */
+    private int pickAndSet(int candidates, int count, byte value, int from) {
+        int end = from + count;
+        for (int k = from; k < end; k++) {
+            int j = k + random.nextInt(candidates - k);
+            int chosen = scratch[j];
+            scratch[j] = scratch[k];
+            scratch[k] = chosen;
+            grid.setContentAt(chosen, value);
+        }
+        return count;
+    }
+
+    int getPlacedMines() {
+        return placedMines;
+    }
+
+    int getPlacedQuestionCells() {
+        return placedQuestionCells;
+    }
+
+    int getPlacedSurpriseCells() {
+        return placedSurpriseCells;
+    }
+}
@@ -16,10 +16,22 @@ public class QuestionManager {
         return instance;
     }
 
+    /**
+     * A standalone manager over a fixed question list, never loaded from or saved to disk.
+     * Headless simulations give each game its own, since games run on many threads.
+     */
+    public static QuestionManager detached(List<Question> questions) {
+        QuestionManager manager = new QuestionManager();
+        manager.persistenceEnabled = false;
+        manager.allQuestions.addAll(questions);
+        return manager;
+    }
+
     // --- Data ---
     private final List<Question> allQuestions = new ArrayList<>();
     private final Set<Integer> usedQuestionIdsThisGame = new HashSet<>();
-    private final Random random = new Random();
+    // Replaced by the current game's seeded question stream (see Game.setQuestionManager)
+    private java.util.random.RandomGenerator random = new SplittableRandom();
 
     // --- TESTING HELPERS ---
     private boolean persistenceEnabled = true;
@@ -28,6 +40,13 @@ public class QuestionManager {
         this.persistenceEnabled = enabled;
     }
 
+    /**
+     * Sets the random source used to pick questions (the game's seeded question stream).
+     */
+    public void setRandom(java.util.random.RandomGenerator random) {
+        if (random != null) this.random = random;
+    }
+
     // --- Caching for all 5 languages ---
     private final List<Question> cacheEn = new ArrayList<>();
     private final List<Question> cacheHe = new ArrayList<>();
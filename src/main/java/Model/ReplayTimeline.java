@@ -0,0 +1,400 @@
+package Model;
+
+import Model.replay.Replay;
+import Model.replay.ReplayPlayer;
+
+import java.util.Arrays;
+
+/**
+ * Random access over a recorded game: {@link #seek(int)} moves the viewer game to any
+ * action of the replay without replaying from the start.
+ * <p>
+ * {@link #build} plays the replay once and keeps, per action, the cells it changed
+ * (old and new code, like the undo journal) and the game-level values after it. Every
+ * few thousand cell changes it also stores a checkpoint: packed bitsets of the
+ * revealed, flagged and used cells of both boards. A seek applies the deltas between
+ * the current position and the target, forward or backward, or jumps to the nearest
+ * checkpoint first when that touches fewer cells. Jumping to a checkpoint only rewrites
+ * the cells whose bits differ, found by XOR-ing the packed words.
+ * <p>
+ * Cells are restored through the board's journal hooks, so counters and indexes stay
+ * consistent and listeners get the usual change-set and state events.
+ * <p>
+ * On first-click-safe layouts a board's first reveal may move mines, which the deltas do
+ * not cover. The layout before and after that reveal is kept, and a seek across it swaps
+ * the board's layout.
+ */
+public final class ReplayTimeline {
+
+    // A checkpoint is stored after at least this many cell changes ...
+    private static final int MIN_CHECKPOINT_SPACING = 4096;
+    // ... or after this fraction of the cells of both boards on large boards
+    private static final int CHECKPOINT_SPACING_DIVISOR = 4;
+
+    // Bitset slots per board: revealed, flagged, used
+    private static final int BITS_REVEALED = 0;
+    private static final int BITS_FLAGGED = 1;
+    private static final int BITS_USED = 2;
+    private static final int BITS_PER_BOARD = 3;
+
+    private final Replay replay;
+    private final Game game;
+    private final Board[] boards;
+    private final int cellsPerBoard;
+    private final int words;
+    private final int checkpointSpacing;
+
+    // Actions in the replay; positions run from 0 (start) to length (end)
+    private int length;
+    private int position;
+
+    // Cell deltas, two ints each: (index << 1) | (board - 1), then old | new << 8
+    private int[] deltas = new int[1024];
+    // deltaEnd[p] = delta entries applied to reach position p
+    private int[] deltaEnd = new int[64];
+    // Deltas captured so far for the action being indexed
+    private int pendingDeltas;
+
+    // Game-level values after each position
+    private int[] scores = new int[64];
+    private int[] lives = new int[64];
+    private byte[] states = new byte[64];
+    private byte[] turns = new byte[64];
+    private int[] answered = new int[64];
+    private int[] correct = new int[64];
+    private int[] surprises = new int[64];
+    private int[] safe1 = new int[64];
+    private int[] safe2 = new int[64];
+    private long[] times = new long[64];
+
+    // Checkpoints: positions (ascending) and their bitsets
+    private int checkpointCount;
+    private int[] checkpointPositions = new int[8];
+    private long[][][] checkpointBits = new long[8][][];
+
+    // Bitsets of the viewer game as it is now
+    private final long[][] bits;
+
+    // Per board: layout before and after its first reveal moved mines, and the position
+    // of that reveal (past the end if no mine moved)
+    private final byte[][][] layoutsBefore = new byte[2][][];
+    private final byte[][][] layoutsAfter = new byte[2][][];
+    private final int[] layoutChanges = {Integer.MAX_VALUE, Integer.MAX_VALUE};
+
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    private ReplayTimeline(Replay replay, Game game) {
+        this.replay = replay;
+        this.game = game;
+        this.boards = new Board[] {game.getBoard1(), game.getBoard2()};
+        this.cellsPerBoard = boards[0].getRows() * boards[0].getCols();
+        this.words = (cellsPerBoard + 63) >>> 6;
+        this.checkpointSpacing = Math.max(MIN_CHECKPOINT_SPACING, 2 * cellsPerBoard / CHECKPOINT_SPACING_DIVISOR);
+        this.bits = new long[2 * BITS_PER_BOARD][words];
+    }
+
+    /**
+     * Plays the replay once and indexes it. The returned timeline's game is at the end.
+     *
+     * @param questions question bank of the recording (null if the game never asked one)
+     * @throws IllegalStateException if the replay does not match this build's rules or questions
+     */
+    public static ReplayTimeline build(Replay replay, QuestionManager questions) {
+        ReplayPlayer player = new ReplayPlayer(replay, questions);
+        ReplayTimeline timeline = new ReplayTimeline(replay, player.getGame());
+        timeline.index(player);
+        return timeline;
+    }
+
+    private void index(ReplayPlayer player) {
+        for (int b = 0; b < 2; b++) {
+            Board board = boards[b];
+            int boardIndex = b;
+            for (int i = 0; i < cellsPerBoard; i++) {
+                int code = CellGrid.HIDDEN;
+                int render = board.getRenderCode(i / board.getCols(), i % board.getCols());
+                int state = CellRenderCode.state(render);
+                if (state == CellRenderCode.REVEALED) code |= CellGrid.REVEALED;
+                else if (state == CellRenderCode.FLAGGED) code |= CellGrid.FLAGGED;
+                if (CellRenderCode.isUsed(render)) code |= CellChangeSet.USED_BIT;
+                setBits(boardIndex, i, code);
+            }
+            // Complete change sets: every changed cell is listed, even for reveal-all
+            board.setCellChangeListener((changed, changes) -> capture(boardIndex, changes), true);
+        }
+        recordPosition(0, 0);
+        addCheckpoint(0);
+        int[] layoutVersions = new int[2];
+        for (int b = 0; b < 2; b++) {
+            if (!replay.getConfig().isFirstClickSafe()) continue;
+            layoutsBefore[b] = boards[b].copyLayout();
+            layoutVersions[b] = boards[b].getLayoutVersion();
+        }
+
+        while (player.step()) {
+            length++;
+            for (int b = 0; b < 2; b++) {
+                if (layoutsBefore[b] != null && layoutChanges[b] == Integer.MAX_VALUE
+                        && boards[b].getLayoutVersion() != layoutVersions[b]) {
+                    layoutChanges[b] = length;
+                }
+            }
+            recordPosition(length, replay.getEventTimeMillis(player.getPosition() - 1));
+            if (deltaEnd[length] - deltaEnd[checkpointPositions[checkpointCount - 1]] >= checkpointSpacing) {
+                addCheckpoint(length);
+            }
+        }
+        for (Board board : boards) board.setCellChangeListener(null);
+        // The first reveal is the only layout edit, so the end layout is the one after it
+        for (int b = 0; b < 2; b++) {
+            if (layoutChanges[b] == Integer.MAX_VALUE) layoutsBefore[b] = null;
+            else layoutsAfter[b] = boards[b].copyLayout();
+        }
+        // Seeks are not moves of the viewer game
+        game.setUndoDepth(0);
+        position = length;
+    }
+
+    private void capture(int boardIndex, CellChangeSet changes) {
+        int n = changes.size();
+        int at = deltaEnd[length] + pendingDeltas;
+        if (2 * (at + n) > deltas.length) {
+            deltas = Arrays.copyOf(deltas, Math.max(deltas.length * 2, 2 * (at + n)));
+        }
+        for (int k = 0; k < n; k++) {
+            int index = changes.index(k);
+            int newCode = changes.newCode(k);
+            deltas[2 * at] = (index << 1) | boardIndex;
+            deltas[2 * at + 1] = changes.oldCode(k) | (newCode << 8);
+            setBits(boardIndex, index, newCode);
+            at++;
+        }
+        pendingDeltas += n;
+    }
+
+    private void recordPosition(int p, long time) {
+        if (p == deltaEnd.length) {
+            int n = p * 2;
+            deltaEnd = Arrays.copyOf(deltaEnd, n);
+            scores = Arrays.copyOf(scores, n);
+            lives = Arrays.copyOf(lives, n);
+            states = Arrays.copyOf(states, n);
+            turns = Arrays.copyOf(turns, n);
+            answered = Arrays.copyOf(answered, n);
+            correct = Arrays.copyOf(correct, n);
+            surprises = Arrays.copyOf(surprises, n);
+            safe1 = Arrays.copyOf(safe1, n);
+            safe2 = Arrays.copyOf(safe2, n);
+            times = Arrays.copyOf(times, n);
+        }
+        deltaEnd[p] = (p == 0) ? 0 : deltaEnd[p - 1] + pendingDeltas;
+        pendingDeltas = 0;
+        scores[p] = game.getSharedScore();
+        lives[p] = game.getSharedLives();
+        states[p] = (byte) game.getGameState().ordinal();
+        turns[p] = (byte) game.getCurrentPlayerTurn();
+        answered[p] = game.getTotalQuestionsAnswered();
+        correct[p] = game.getTotalCorrectAnswers();
+        surprises[p] = game.getTotalSurprisesOpened();
+        safe1[p] = boards[0].getSafeCellsRemaining();
+        safe2[p] = boards[1].getSafeCellsRemaining();
+        times[p] = time;
+    }
+
+    private void addCheckpoint(int p) {
+        if (checkpointCount == checkpointPositions.length) {
+            checkpointPositions = Arrays.copyOf(checkpointPositions, checkpointCount * 2);
+            checkpointBits = Arrays.copyOf(checkpointBits, checkpointCount * 2);
+        }
+        long[][] copy = new long[bits.length][];
+        for (int k = 0; k < bits.length; k++) {
+            copy[k] = bits[k].clone();
+        }
+        checkpointPositions[checkpointCount] = p;
+        checkpointBits[checkpointCount] = copy;
+        checkpointCount++;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /** The viewer game; it always shows the current position. */
+    public Game getGame() {
+        return game;
+    }
+
+    /** Number of actions (the last position). */
+    public int getLength() {
+        return length;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getCheckpointCount() {
+        return checkpointCount;
+    }
+
+    /** Milliseconds from the start of the recording to the given position. */
+    public long getTimeMillis(int p) {
+        return times[clamp(p)];
+    }
+
+    /**
+     * Last position reached at or before the given time.
+     */
+    public int positionAt(long millis) {
+        int lo = 0;
+        int hi = length;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (times[mid] <= millis) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Moves the viewer game to the given position (0 = start, {@link #getLength()} = end).
+     * Costs time proportional to the cells that differ along the cheapest route.
+     */
+    public void seek(int target) {
+        target = clamp(target);
+        if (target == position) return;
+        if (game.isInTransaction()) {
+            throw new IllegalStateException("seek() inside a transaction");
+        }
+
+        int direct = Math.abs(deltaEnd[target] - deltaEnd[position]);
+        // Checkpoint restores scan the packed words of both boards
+        int restoreCost = bits.length * words;
+        int floor = floorCheckpoint(target);
+        int ceil = (floor + 1 < checkpointCount) ? floor + 1 : -1;
+        int viaFloor = restoreCost + deltaEnd[target] - deltaEnd[checkpointPositions[floor]];
+        int viaCeil = (ceil < 0) ? Integer.MAX_VALUE
+                : restoreCost + deltaEnd[checkpointPositions[ceil]] - deltaEnd[target];
+
+        for (Board board : boards) board.beginRestore();
+        try {
+            swapLayouts(target);
+            if (direct <= viaFloor && direct <= viaCeil) {
+                apply(position, target);
+            } else if (viaFloor <= viaCeil) {
+                restoreCheckpoint(floor);
+                apply(checkpointPositions[floor], target);
+            } else {
+                restoreCheckpoint(ceil);
+                apply(checkpointPositions[ceil], target);
+            }
+        } finally {
+            for (Board board : boards) board.endRestore();
+        }
+
+        // One transaction, so listeners get the usual state event
+        final int p = target;
+        game.runInTransaction(() -> {
+            boards[0].adjustSafeCellsRemaining(safe1[p] - boards[0].getSafeCellsRemaining());
+            boards[1].adjustSafeCellsRemaining(safe2[p] - boards[1].getSafeCellsRemaining());
+            game.restoreJournaledState(scores[p], lives[p], GAME_STATES[states[p]], turns[p],
+                    answered[p] - game.getTotalQuestionsAnswered(),
+                    correct[p] - game.getTotalCorrectAnswers(),
+                    surprises[p] - game.getTotalSurprisesOpened());
+        });
+        position = target;
+    }
+
+    /**
+     * Gives each board the layout of the target position if a first-click relocation lies
+     * between it and the current one.
+     */
+    private void swapLayouts(int target) {
+        for (int b = 0; b < 2; b++) {
+            boolean after = target >= layoutChanges[b];
+            if (after != (position >= layoutChanges[b])) {
+                boards[b].restoreLayout(after ? layoutsAfter[b] : layoutsBefore[b], after);
+            }
+        }
+    }
+
+    /**
+     * Applies the deltas between two positions: new codes in order going forward,
+     * old codes in reverse order going backward.
+     */
+    private void apply(int from, int to) {
+        if (from < to) {
+            for (int e = deltaEnd[from], end = deltaEnd[to]; e < end; e++) {
+                restore(deltas[2 * e], deltas[2 * e + 1] >>> 8);
+            }
+        } else {
+            for (int e = deltaEnd[from] - 1, end = deltaEnd[to]; e >= end; e--) {
+                restore(deltas[2 * e], deltas[2 * e + 1] & 0xFF);
+            }
+        }
+    }
+
+    private void restore(int key, int code) {
+        int boardIndex = key & 1;
+        int index = key >>> 1;
+        boards[boardIndex].restoreCell(index, code);
+        setBits(boardIndex, index, code);
+    }
+
+    /**
+     * Rewrites the cells whose revealed / flagged / used bits differ from the checkpoint.
+     */
+    private void restoreCheckpoint(int k) {
+        long[][] saved = checkpointBits[k];
+        for (int b = 0; b < 2; b++) {
+            int base = b * BITS_PER_BOARD;
+            long[] revealed = saved[base + BITS_REVEALED];
+            long[] flagged = saved[base + BITS_FLAGGED];
+            long[] used = saved[base + BITS_USED];
+            for (int w = 0; w < words; w++) {
+                long diff = (bits[base + BITS_REVEALED][w] ^ revealed[w])
+                        | (bits[base + BITS_FLAGGED][w] ^ flagged[w])
+                        | (bits[base + BITS_USED][w] ^ used[w]);
+                while (diff != 0) {
+                    int bit = Long.numberOfTrailingZeros(diff);
+                    diff &= diff - 1;
+                    long mask = 1L << bit;
+                    int code = ((revealed[w] & mask) != 0) ? CellGrid.REVEALED
+                            : ((flagged[w] & mask) != 0) ? CellGrid.FLAGGED : CellGrid.HIDDEN;
+                    if ((used[w] & mask) != 0) code |= CellChangeSet.USED_BIT;
+                    restore(((w << 6 | bit) << 1) | b, code);
+                }
+            }
+        }
+    }
+
+    private void setBits(int boardIndex, int index, int code) {
+        int base = boardIndex * BITS_PER_BOARD;
+        int w = index >>> 6;
+        long mask = 1L << index;
+        int state = code & ~CellChangeSet.USED_BIT;
+        setBit(bits[base + BITS_REVEALED], w, mask, state == CellGrid.REVEALED);
+        setBit(bits[base + BITS_FLAGGED], w, mask, state == CellGrid.FLAGGED);
+        setBit(bits[base + BITS_USED], w, mask, (code & CellChangeSet.USED_BIT) != 0);
+    }
+
+    private static void setBit(long[] words, int w, long mask, boolean on) {
+        if (on) words[w] |= mask;
+        else words[w] &= ~mask;
+    }
+
+    private int floorCheckpoint(int p) {
+        int lo = 0;
+        int hi = checkpointCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (checkpointPositions[mid] <= p) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private int clamp(int p) {
+        return Math.max(0, Math.min(p, length));
+    }
+}
@@ -1,9 +1,10 @@
 package Model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
- * Applies scoring/life changes for answering questions,
+ * Applies scoring/life changes for answering questions and opening surprises,
  * exactly according to the requirements table.
  */
 public class ScoreRules {
@@ -21,25 +22,46 @@ public class ScoreRules {
     }
 
 
-    private static final Random rnd = new Random();
+    /**
+     * Same as {@link #compute(Difficulty, Game.QuestionLevel, boolean, RandomGenerator)}
+     * with unseeded randomness for the 50/50 rules.
+     */
+    public static Result compute(Difficulty gameDifficulty, Game.QuestionLevel qLevel, boolean correct) {
+        return compute(gameDifficulty, qLevel, correct, ThreadLocalRandom.current());
+    }
 
     /**
      * @param gameDifficulty EASY / MEDIUM / HARD
      * @param qLevel         EASY / MEDIUM / HARD / EXPERT
      * @param correct        whether the answer was correct
+     * @param rnd            source for the 50/50 outcomes (the game's seeded scoring stream)
      */
-    public static Result compute(Difficulty gameDifficulty, Game.QuestionLevel qLevel, boolean correct) {
+    public static Result compute(Difficulty gameDifficulty, Game.QuestionLevel qLevel, boolean correct,
+                                 RandomGenerator rnd) {
         return switch (gameDifficulty) {
-            case EASY -> easyGame(qLevel, correct);
-            case MEDIUM -> mediumGame(qLevel, correct);
-            case HARD -> hardGame(qLevel, correct);
+            case EASY -> easyGame(qLevel, correct, rnd);
+            case MEDIUM -> mediumGame(qLevel, correct, rnd);
+            case HARD -> hardGame(qLevel, correct, rnd);
         };
     }
 
+    /**
+     * Outcome of a surprise cell (the activation cost is paid separately): 50% good,
+     * +surprise value and +1 life, 50% bad, -surprise value and -1 life.
+     *
+     * @param rnd source for the 50/50 outcome (the game's seeded surprise stream)
+     */
+    public static Result surprise(Difficulty gameDifficulty, RandomGenerator rnd) {
+        int value = gameDifficulty.getSurpriseValue();
+        return rnd.nextBoolean()
+                ? new Result(+value, +1, "Surprise result: GOOD\nReward: +" + value + " pts, +1 life.")
+                : new Result(-value, -1, "Surprise result: BAD\nPenalty: -" + value + " pts, -1 life.");
+    }
+
     // ==========================
     // EASY GAME RULES
     // ==========================
-    private static Result easyGame(Game.QuestionLevel q, boolean correct) {
+    private static Result easyGame(Game.QuestionLevel q, boolean correct, RandomGenerator rnd) {
         if (correct) {
             return switch (q) {
                 case EASY -> new Result(+3, +1, "Correct EASY: +3 pts, +1 life.");
@@ -73,7 +95,7 @@ public class ScoreRules {
     // ==========================
 // MEDIUM GAME RULES
 // ==========================
-    private static Result mediumGame(Game.QuestionLevel q, boolean correct) {
+    private static Result mediumGame(Game.QuestionLevel q, boolean correct, RandomGenerator rnd) {
         if (correct) {
             return switch (q) {
                 case EASY -> new Result(+8, +1, "Correct EASY: +8 pts, +1 life.");
@@ -104,7 +126,7 @@ public class ScoreRules {
     // ==========================
 // HARD GAME RULES
 // ==========================
-    private static Result hardGame(Game.QuestionLevel q, boolean correct) {
+    private static Result hardGame(Game.QuestionLevel q, boolean correct, RandomGenerator rnd) {
         if (correct) {
             return switch (q) {
                 case EASY -> new Result(+10, +1, "Correct EASY: +10 pts, +1 life.");
@@ -0,0 +1,219 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * Connected zero regions of a board, labelled once with union-find.
+ * <p>
+ * A zero cell is a safe cell that is not a NUMBER (EMPTY, QUESTION or SURPRISE), i.e. a
+ * cell the flood fill expands through. Zero cells are connected 8-directionally. Each region
+ * is kept as two compact index lists: its zero cells and its NUMBER border (each border cell
+ * once per region). Revealing a region is a walk over those lists with no neighbor lookups.
+ * <p>
+ * The labels describe the layout at build time. {@link #isCurrent(CellGrid)} tells whether
+ * content or numbers have changed since then.
+ */
+final class ZeroRegions {
+
+    private static final int NONE = -1;
+
+    // Region id per zero cell; negative for other cells (see regionOf)
+    private final int[] label;
+    // Zero cells of region k: zeros[zeroStart[k] .. zeroStart[k+1])
+    private final int[] zeroStart;
+    private final int[] zeros;
+    // Border NUMBER cells of region k: borders[borderStart[k] .. borderStart[k+1])
+    private final int[] borderStart;
+    private final int[] borders;
+
+    private final int regionCount;
+    private final int isolatedNumbers;
+    private final int layoutVersion;
+
+    ZeroRegions(CellGrid grid) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int n = grid.size();
+        this.layoutVersion = grid.getLayoutVersion();
+
+        // 1. Union-find in raster order over the already visited neighbors. If the cell above
+        //    is a zero cell it already touches the left and both upper diagonals, so one union
+        //    is enough; otherwise left (which covers upper-left) and upper-right are joined.
+        int[] parent = new int[n];
+        int safeCells = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int i = r * cols + c;
+                if (grid.isMine(i)) {
+                    parent[i] = NONE;
+                    continue;
+                }
+                safeCells++;
+                if (grid.contentAt(i) == CellGrid.NUMBER) {
+                    parent[i] = NONE;
+                    continue;
+                }
+                parent[i] = i;
+                if (r > 0 && parent[i - cols] != NONE) {
+                    union(parent, i - cols, i);
+                    continue;
+                }
+                if (c > 0) {
+                    if (parent[i - 1] != NONE) {
+                        union(parent, i - 1, i);
+                    } else if (r > 0 && parent[i - cols - 1] != NONE) {
+                        union(parent, i - cols - 1, i);
+                    }
+                }
+                if (r > 0 && c + 1 < cols && parent[i - cols + 1] != NONE) {
+                    union(parent, i - cols + 1, i);
+                }
+            }
+        }
+
+        // 2. Dense labels in scan order. Every parent link points to a smaller index (roots are
+        //    the smallest cell of their set), so one ascending pass can overwrite parent with labels.
+        //    Region sizes are counted in the same pass.
+        int[] lab = parent;
+        int[] sizes = new int[16];
+        int count = 0;
+        int zeroCells = 0;
+        for (int i = 0; i < n; i++) {
+            int p = parent[i];
+            if (p == NONE) continue;
+            int k;
+            if (p == i) {
+                k = count++;
+                if (count == sizes.length) sizes = Arrays.copyOf(sizes, count * 2);
+            } else {
+                k = lab[p];
+            }
+            lab[i] = k;
+            sizes[k + 1]++;
+            zeroCells++;
+        }
+        this.label = lab;
+        this.regionCount = count;
+
+        this.zeroStart = Arrays.copyOf(sizes, count + 1);
+        for (int k = 0; k < count; k++) {
+            zeroStart[k + 1] += zeroStart[k];
+        }
+        this.zeros = new int[zeroCells];
+        int[] fill = Arrays.copyOf(zeroStart, count);
+        for (int i = 0; i < n; i++) {
+            if (label[i] != NONE) zeros[fill[label[i]]++] = i;
+        }
+
+        // 3. Border lists. A number cell's label slot is free, so it stores -(k + 2) for the
+        //    last region k that listed it, which deduplicates borders without another array.
+        int[] border = new int[Math.max(16, zeroCells)];
+        int distinctBorders = 0;
+        int borderSize = 0;
+        this.borderStart = new int[count + 1];
+        for (int k = 0; k < count; k++) {
+            borderStart[k] = borderSize;
+            for (int z = zeroStart[k]; z < zeroStart[k + 1]; z++) {
+                int cell = zeros[z];
+                int r = cell / cols;
+                int c = cell - r * cols;
+                for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+                    for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                        int nb = nr * cols + nc;
+                        int mark = label[nb];
+                        if (mark >= 0 || mark == -(k + 2) || grid.isMine(nb)) continue;
+                        if (mark == NONE) distinctBorders++;
+                        label[nb] = -(k + 2);
+                        if (borderSize == border.length) border = Arrays.copyOf(border, borderSize * 2);
+                        border[borderSize++] = nb;
+                    }
+                }
+            }
+        }
+        borderStart[count] = borderSize;
+        this.borders = Arrays.copyOf(border, borderSize);
+
+        // 3BV: one click per region plus one per safe number cell that no region opens
+        this.isolatedNumbers = safeCells - zeroCells - distinctBorders;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // path halving
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra == rb) return;
+        // Smaller index becomes the root, so labels follow scan order
+        if (ra < rb) parent[rb] = ra;
+        else parent[ra] = rb;
+    }
+
+    /** Approximate heap size of the label and region lists, in bytes. */
+    long estimateBytes() {
+        return 4L * (label.length + zeroStart.length + zeros.length + borderStart.length + borders.length);
+    }
+
+    /**
+     * True if no content or number has changed since the regions were labelled.
+     */
+    boolean isCurrent(CellGrid grid) {
+        return grid.getLayoutVersion() == layoutVersion;
+    }
+
+    /**
+     * Region id of a zero cell, or -1 if the cell is a mine or a NUMBER.
+     */
+    int regionOf(int cell) {
+        int l = label[cell];
+        return (l >= 0) ? l : NONE;
+    }
+
+    int getRegionCount() {
+        return regionCount;
+    }
+
+    int zeroStart(int region) {
+        return zeroStart[region];
+    }
+
+    int zeroEnd(int region) {
+        return zeroStart[region + 1];
+    }
+
+    int zeroAt(int pos) {
+        return zeros[pos];
+    }
+
+    int borderStart(int region) {
+        return borderStart[region];
+    }
+
+    int borderEnd(int region) {
+        return borderStart[region + 1];
+    }
+
+    int borderAt(int pos) {
+        return borders[pos];
+    }
+
+    /**
+     * Cells opened by clicking into the region on a fresh board (zero cells plus border).
+     */
+    int regionSize(int region) {
+        return (zeroStart[region + 1] - zeroStart[region]) + (borderStart[region + 1] - borderStart[region]);
+    }
+
+    /**
+     * 3BV (Bechtel's Board Benchmark Value): the minimum number of clicks that clears
+     * the board without flags, i.e. one per zero region plus one per isolated number.
+     */
+    int get3BV() {
+        return regionCount + isolatedNumbers;
+    }
+}
@@ -0,0 +1,197 @@
+package Model.replay;
+
+import Model.BoardConfig;
+import Model.Difficulty;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A recorded game loaded from a replay file: the starting position (seed, layout, undo
+ * depth) and the event log as primitive arrays. Use a {@link ReplayPlayer} to rebuild
+ * the game from it.
+ */
+public final class Replay {
+
+    private final long seed;
+    private final BoardConfig config;
+    private final int undoDepth;
+    private final long startMillis;
+    // No-guess candidates of both boards (null for other layouts)
+    private final int[] layoutCandidates;
+
+    private int eventCount;
+    private byte[] types = new byte[64];
+    private byte[] boards = new byte[64];
+    private int[] payloads = new int[64];
+    // Milliseconds since the start of the recording
+    private long[] times = new long[64];
+
+    private Replay(long seed, BoardConfig config, int[] layoutCandidates, int undoDepth, long startMillis) {
+        this.seed = seed;
+        this.config = config;
+        this.layoutCandidates = layoutCandidates;
+        this.undoDepth = undoDepth;
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Reads a replay file. A truncated last event (e.g. after a crash) is ignored.
+     *
+     * @throws IOException if the file cannot be read or is not a replay
+     */
+    public static Replay read(Path file) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Replay too large: " + file);
+            in = ByteBuffer.allocate((int) size);
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // keep reading
+            }
+            in.flip();
+        }
+        return parse(in);
+    }
+
+    /**
+     * Parses replay bytes (from {@link #read} or an in-memory copy).
+     */
+    public static Replay parse(ByteBuffer in) throws IOException {
+        try {
+            for (byte b : ReplayFormat.MAGIC) {
+                if (!in.hasRemaining() || in.get() != b) throw new IOException("Not a replay file");
+            }
+            int version = ReplayFormat.getVarintInt(in);
+            if (version < 1 || version > ReplayFormat.VERSION) throw new IOException("Unsupported replay version " + version);
+            if (in.remaining() < Long.BYTES) throw new EOFException("Truncated header");
+            long seed = in.getLong();
+            int rows = ReplayFormat.getVarintInt(in);
+            int cols = ReplayFormat.getVarintInt(in);
+            int mines = ReplayFormat.getVarintInt(in);
+            int questions = ReplayFormat.getVarintInt(in);
+            int surprises = ReplayFormat.getVarintInt(in);
+            int rulesOrdinal = ReplayFormat.getVarintInt(in);
+            if (rulesOrdinal >= Difficulty.values().length) throw new IOException("Unknown rules " + rulesOrdinal);
+            Difficulty rules = Difficulty.values()[rulesOrdinal];
+            if (!in.hasRemaining()) throw new EOFException("Truncated header");
+            int flags = in.get();
+            boolean custom = (flags & ReplayFormat.FLAG_CUSTOM) != 0;
+            boolean noGuess = (flags & ReplayFormat.FLAG_NO_GUESS) != 0;
+            boolean firstClickSafe = (flags & ReplayFormat.FLAG_FIRST_CLICK_SAFE) != 0;
+            int[] layoutCandidates = null;
+            if (noGuess) {
+                layoutCandidates = new int[]{
+                        ReplayFormat.getVarintInt(in) - 1,
+                        ReplayFormat.getVarintInt(in) - 1
+                };
+            }
+            int undoDepth = ReplayFormat.getVarintInt(in);
+            long startMillis = ReplayFormat.getVarint(in);
+
+            BoardConfig config = (custom
+                    ? BoardConfig.customWithMineCount(rows, cols, mines, questions, surprises, rules)
+                    : BoardConfig.of(rules)).withNoGuess(noGuess).withFirstClickSafe(firstClickSafe);
+            if (config.getRows() != rows || config.getCols() != cols || config.getMines() != mines) {
+                throw new IOException("Replay layout does not match the " + rules + " level");
+            }
+            Replay replay = new Replay(seed, config, layoutCandidates, undoDepth, startMillis);
+            replay.readEvents(in);
+            return replay;
+        } catch (EOFException e) {
+            throw new IOException("Truncated replay header", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt replay: " + e.getMessage(), e);
+        }
+    }
+
+    private void readEvents(ByteBuffer in) {
+        long time = 0;
+        while (in.hasRemaining()) {
+            int start = in.position();
+            try {
+                int tag = in.get() & 0xFF;
+                int type = tag >>> 1;
+                time += ReplayFormat.getVarint(in);
+                int payload = ReplayFormat.hasPayload(type) ? (int) ReplayFormat.getVarint(in) : 0;
+                if (type < ReplayFormat.REVEAL || type > ReplayFormat.UNDO_DEPTH) {
+                    throw new IllegalArgumentException("Unknown event type " + type + " at byte " + start);
+                }
+                add(type, (tag & 1) + 1, payload, time);
+            } catch (EOFException e) {
+                return; // cut off mid-event: keep the complete ones
+            }
+        }
+    }
+
+    private void add(int type, int boardNumber, int payload, long time) {
+        if (eventCount == types.length) {
+            int n = eventCount * 2;
+            types = Arrays.copyOf(types, n);
+            boards = Arrays.copyOf(boards, n);
+            payloads = Arrays.copyOf(payloads, n);
+            times = Arrays.copyOf(times, n);
+        }
+        types[eventCount] = (byte) type;
+        boards[eventCount] = (byte) boardNumber;
+        payloads[eventCount] = payload;
+        times[eventCount] = time;
+        eventCount++;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public BoardConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * No-guess candidates both boards were built from, or null if the layout is not no-guess.
+     */
+    public int[] getLayoutCandidates() {
+        return (layoutCandidates != null) ? layoutCandidates.clone() : null;
+    }
+
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    /** Wall-clock time the recording started (epoch ms). */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /** One of the event types in {@link ReplayFormat}. */
+    public int getEventType(int k) {
+        return types[k];
+    }
+
+    public int getEventBoard(int k) {
+        return boards[k];
+    }
+
+    /** Cell index, answer (question id &lt;&lt; 2 | result) or depth, depending on the type. */
+    public int getEventPayload(int k) {
+        return payloads[k];
+    }
+
+    /** Milliseconds from the start of the recording to event k. */
+    public long getEventTimeMillis(int k) {
+        return times[k];
+    }
+
+    public long getDurationMillis() {
+        return (eventCount == 0) ? 0 : times[eventCount - 1];
+    }
+}
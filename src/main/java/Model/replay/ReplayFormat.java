@@ -0,0 +1,81 @@
+package Model.replay;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary layout of replay files.
+ * <pre>
+ * header: 'S' 'C' 'R' 'P', version, seed (8 bytes, big-endian), rows, cols, mines,
+ *         question cells, surprise cells, rules ordinal, flags (bit 0 custom, bit 1
+ *         no-guess, bit 2 first click safe), [no-guess only: candidate + 1 of board 1 and
+ *         board 2], undo depth,
+ *         start time (epoch ms)
+ * event:  tag = type &lt;&lt; 1 | (board - 1), time since the previous event (ms), payload
+ * </pre>
+ * Every number except the seed is an unsigned LEB128 varint, so a typical event takes
+ * 3 to 5 bytes. Payloads: the cell index (row * cols + col) for REVEAL, FLAG and
+ * ACTIVATE; question id &lt;&lt; 2 | result ordinal for ANSWER; the depth for UNDO_DEPTH;
+ * nothing for the others. The file is append-only: a cut-off file still replays up to
+ * its last complete event. Version 1 files (flags byte 0 or 1, no candidates) and version 2
+ * files (no first-click flag) are still read.
+ */
+public final class ReplayFormat {
+
+    static final byte[] MAGIC = {'S', 'C', 'R', 'P'};
+    static final int VERSION = 3;
+
+    // Header flags
+    static final int FLAG_CUSTOM = 1;
+    static final int FLAG_NO_GUESS = 2;
+    static final int FLAG_FIRST_CLICK_SAFE = 4;
+
+    // Event types
+    public static final int REVEAL = 1;
+    public static final int FLAG = 2;
+    public static final int ACTIVATE = 3;
+    public static final int SWITCH_TURN = 4;
+    public static final int ANSWER = 5;
+    public static final int UNDO = 6;
+    public static final int REDO = 7;
+    public static final int UNDO_DEPTH = 8;
+
+    /** Longest encoded event: tag, 64-bit time delta, 32-bit payload. */
+    static final int MAX_EVENT_BYTES = 1 + 10 + 5;
+
+    private ReplayFormat() {
+    }
+
+    static boolean hasPayload(int type) {
+        return type != SWITCH_TURN && type != UNDO && type != REDO;
+    }
+
+    /**
+     * Writes value (treated as unsigned) as a varint at pos and returns the position after it.
+     */
+    static int putVarint(byte[] buf, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+
+    static long getVarint(ByteBuffer in) throws EOFException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!in.hasRemaining()) throw new EOFException("Truncated varint");
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Varint longer than 64 bits");
+    }
+
+    static int getVarintInt(ByteBuffer in) throws EOFException {
+        long value = getVarint(in);
+        if (value > Integer.MAX_VALUE) throw new IllegalArgumentException("Value out of range: " + value);
+        return (int) value;
+    }
+}
@@ -0,0 +1,122 @@
+package Model.replay;
+
+import Model.Board;
+import Model.Game;
+import Model.Question;
+import Model.QuestionManager;
+import Model.QuestionResult;
+
+/**
+ * Rebuilds a recorded game by feeding its events to the normal model code
+ * ({@link Board#revealCell}, {@link Board#toggleFlag}, {@link Game#switchTurn} ...).
+ * Everything random comes from the recorded seed, and question answers come from the
+ * log, so the rebuilt game matches the recorded one exactly, given the same question bank.
+ * <p>
+ * The player uses the question manager's per-game state, like a live game does.
+ */
+public final class ReplayPlayer {
+
+    private static final QuestionResult[] RESULTS = QuestionResult.values();
+
+    private final Replay replay;
+    private final QuestionManager questions;
+    private Game game;
+    // Events consumed so far (answers are consumed by the activation that asked them)
+    private int position;
+
+    /**
+     * @param questions question bank of the recording (null if the game never asked one)
+     */
+    public ReplayPlayer(Replay replay, QuestionManager questions) {
+        this.replay = replay;
+        this.questions = questions;
+        restart();
+    }
+
+    /**
+     * Goes back to the recorded starting position.
+     */
+    public void restart() {
+        if (questions != null) questions.resetForNewGame();
+        game = new Game(replay.getConfig(), replay.getSeed(), replay.getLayoutCandidates());
+        game.setQuestionManager(questions);
+        game.setUndoDepth(replay.getUndoDepth());
+        game.setQuestionPresenter(this::recordedAnswer);
+        position = 0;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /** The game as rebuilt up to {@link #getPosition()}. */
+    public Game getGame() {
+        return game;
+    }
+
+    /** Number of events applied so far. */
+    public int getPosition() {
+        return position;
+    }
+
+    public boolean isAtEnd() {
+        return position >= replay.getEventCount();
+    }
+
+    /**
+     * Applies the next action (and the answers it consumes).
+     *
+     * @return false if the replay is already at its end
+     */
+    public boolean step() {
+        if (isAtEnd()) return false;
+        int k = position++;
+        int type = replay.getEventType(k);
+        int payload = replay.getEventPayload(k);
+        Board board = (replay.getEventBoard(k) == 1) ? game.getBoard1() : game.getBoard2();
+        int cols = board.getCols();
+        switch (type) {
+            case ReplayFormat.REVEAL -> board.revealCell(payload / cols, payload % cols);
+            case ReplayFormat.FLAG -> board.toggleFlag(payload / cols, payload % cols);
+            case ReplayFormat.ACTIVATE -> board.activateSpecialCell(payload / cols, payload % cols);
+            case ReplayFormat.SWITCH_TURN -> game.switchTurn();
+            case ReplayFormat.UNDO -> game.undo();
+            case ReplayFormat.REDO -> game.redo();
+            case ReplayFormat.UNDO_DEPTH -> game.setUndoDepth(payload);
+            default -> throw new IllegalStateException("Replay diverged: unexpected event type " + type + " at " + k);
+        }
+        return true;
+    }
+
+    /**
+     * Applies actions until at least the given number of events has been consumed
+     * (restarting first if that position is behind the current one).
+     */
+    public void seek(int target) {
+        target = Math.max(0, Math.min(target, replay.getEventCount()));
+        if (target < position) restart();
+        while (position < target && step()) {
+            // keep stepping
+        }
+    }
+
+    public void playToEnd() {
+        while (step()) {
+            // keep stepping
+        }
+    }
+
+    private QuestionResult recordedAnswer(Question question) {
+        int k = position;
+        if (k >= replay.getEventCount() || replay.getEventType(k) != ReplayFormat.ANSWER) {
+            throw new IllegalStateException("Replay diverged: no recorded answer at event " + k);
+        }
+        int payload = replay.getEventPayload(k);
+        if ((payload >>> 2) != question.getId()) {
+            throw new IllegalStateException("Replay diverged: recorded question " + (payload >>> 2)
+                    + " but the game asked " + question.getId() + " (different question bank?)");
+        }
+        position++;
+        return RESULTS[payload & 3];
+    }
+}
@@ -0,0 +1,141 @@
+package Model.replay;
+
+import Model.BoardConfig;
+import Model.QuestionResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Records one game as an append-only event log (see {@link ReplayFormat}).
+ * <p>
+ * Each call encodes its event into a small scratch array and hands the bytes to a
+ * {@link ReplayWriter}; the file is written on the writer's background thread, so the
+ * click path never waits for the disk. A recorder is meant for a single thread (the UI).
+ */
+public final class ReplayRecorder implements Closeable {
+
+    private final ReplayWriter writer;
+    private final Path file;
+    private final int cols;
+    private final byte[] scratch = new byte[64];
+    private long lastEventMillis;
+
+    private ReplayRecorder(Path file, int cols) throws IOException {
+        this.writer = new ReplayWriter(file);
+        this.file = file;
+        this.cols = cols;
+    }
+
+    /**
+     * Creates the file and writes the header: everything needed to rebuild the starting position.
+     */
+    public static ReplayRecorder start(Path file, long seed, BoardConfig config, int undoDepth) throws IOException {
+        return start(file, seed, config, undoDepth, null);
+    }
+
+    /**
+     * Same as {@link #start(Path, long, BoardConfig, int)} for a no-guess layout, with the
+     * candidates both boards were built from (see {@code Game.getLayoutCandidates()}).
+     */
+    public static ReplayRecorder start(Path file, long seed, BoardConfig config, int undoDepth,
+                                       int[] layoutCandidates) throws IOException {
+        if (config.isNoGuess() && layoutCandidates == null) {
+            throw new IllegalArgumentException("No-guess layouts need their candidates");
+        }
+        ReplayRecorder recorder = new ReplayRecorder(file, config.getCols());
+        recorder.writeHeader(seed, config, undoDepth, layoutCandidates);
+        return recorder;
+    }
+
+    private void writeHeader(long seed, BoardConfig config, int undoDepth, int[] layoutCandidates) {
+        byte[] buf = new byte[64];
+        System.arraycopy(ReplayFormat.MAGIC, 0, buf, 0, ReplayFormat.MAGIC.length);
+        int pos = ReplayFormat.putVarint(buf, ReplayFormat.MAGIC.length, ReplayFormat.VERSION);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buf[pos++] = (byte) (seed >>> shift);
+        }
+        pos = ReplayFormat.putVarint(buf, pos, config.getRows());
+        pos = ReplayFormat.putVarint(buf, pos, config.getCols());
+        pos = ReplayFormat.putVarint(buf, pos, config.getMines());
+        pos = ReplayFormat.putVarint(buf, pos, config.getQuestionCells());
+        pos = ReplayFormat.putVarint(buf, pos, config.getSurpriseCells());
+        pos = ReplayFormat.putVarint(buf, pos, config.getRules().ordinal());
+        buf[pos++] = (byte) ((config.isCustom() ? ReplayFormat.FLAG_CUSTOM : 0)
+                | (config.isNoGuess() ? ReplayFormat.FLAG_NO_GUESS : 0)
+                | (config.isFirstClickSafe() ? ReplayFormat.FLAG_FIRST_CLICK_SAFE : 0));
+        if (config.isNoGuess()) {
+            // Candidates are >= -1 (fallback), stored shifted so they stay unsigned
+            pos = ReplayFormat.putVarint(buf, pos, layoutCandidates[0] + 1L);
+            pos = ReplayFormat.putVarint(buf, pos, layoutCandidates[1] + 1L);
+        }
+        pos = ReplayFormat.putVarint(buf, pos, undoDepth);
+        lastEventMillis = System.currentTimeMillis();
+        pos = ReplayFormat.putVarint(buf, pos, lastEventMillis);
+        writer.write(buf, 0, pos);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void recordReveal(int boardNumber, int row, int col) {
+        event(ReplayFormat.REVEAL, boardNumber, row * cols + col);
+    }
+
+    public void recordFlag(int boardNumber, int row, int col) {
+        event(ReplayFormat.FLAG, boardNumber, row * cols + col);
+    }
+
+    public void recordActivate(int boardNumber, int row, int col) {
+        event(ReplayFormat.ACTIVATE, boardNumber, row * cols + col);
+    }
+
+    public void recordSwitchTurn() {
+        event(ReplayFormat.SWITCH_TURN, 1, 0);
+    }
+
+    /**
+     * Records the player's answer to the question shown during the preceding activation.
+     */
+    public void recordAnswer(int questionId, QuestionResult result) {
+        event(ReplayFormat.ANSWER, 1, (questionId << 2) | result.ordinal());
+    }
+
+    public void recordUndo() {
+        event(ReplayFormat.UNDO, 1, 0);
+    }
+
+    public void recordRedo() {
+        event(ReplayFormat.REDO, 1, 0);
+    }
+
+    public void recordUndoDepth(int depth) {
+        event(ReplayFormat.UNDO_DEPTH, 1, depth);
+    }
+
+    private void event(int type, int boardNumber, int payload) {
+        long now = System.currentTimeMillis();
+        int pos = 0;
+        scratch[pos++] = (byte) ((type << 1) | (boardNumber - 1));
+        pos = ReplayFormat.putVarint(scratch, pos, Math.max(0, now - lastEventMillis));
+        if (ReplayFormat.hasPayload(type)) {
+            pos = ReplayFormat.putVarint(scratch, pos, payload & 0xFFFFFFFFL);
+        }
+        lastEventMillis = now;
+        writer.write(scratch, 0, pos);
+    }
+
+    /**
+     * Blocks until all recorded events are on disk.
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,138 @@
+package Model.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file sink that keeps disk I/O off the caller's thread.
+ * <p>
+ * Callers copy bytes into a front buffer under a short lock. One daemon thread swaps the
+ * front and back buffers and writes the back buffer to a {@link FileChannel}, so everything
+ * that piles up while a write is in progress goes out in the next single write. Appending
+ * allocates nothing unless the front buffer has to grow.
+ */
+final class ReplayWriter implements Closeable {
+
+    private static final int INITIAL_BUFFER = 4096;
+
+    private final FileChannel channel;
+    private final Thread thread;
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private byte[] front = new byte[INITIAL_BUFFER];
+    private int frontSize;
+    private boolean writing;
+    private boolean closed;
+    private IOException failure;
+
+    // Owned by the writer thread
+    private byte[] back = new byte[INITIAL_BUFFER];
+
+    ReplayWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.thread = new Thread(this::run, "replay-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues bytes for writing. Never blocks on I/O.
+     */
+    void write(byte[] src, int offset, int length) {
+        synchronized (lock) {
+            if (closed) return;
+            if (frontSize + length > front.length) {
+                front = java.util.Arrays.copyOf(front, Math.max(front.length * 2, frontSize + length));
+            }
+            System.arraycopy(src, offset, front, frontSize, length);
+            if (frontSize == 0) lock.notifyAll();
+            frontSize += length;
+        }
+    }
+
+    /**
+     * Blocks until everything queued so far is written.
+     *
+     * @throws IOException if a write failed
+     */
+    void flush() throws IOException {
+        synchronized (lock) {
+            while ((frontSize > 0 || writing) && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while flushing replay", e);
+                }
+            }
+            if (failure != null) throw failure;
+        }
+    }
+
+    /**
+     * Writes what is queued, stops the writer thread and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (lock) {
+            if (failure != null) throw failure;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            int size;
+            synchronized (lock) {
+                while (frontSize == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (frontSize == 0) return; // closed and drained
+                byte[] swap = back;
+                back = front;
+                front = swap;
+                size = frontSize;
+                frontSize = 0;
+                writing = true;
+            }
+            IOException error = null;
+            try {
+                ByteBuffer out = ByteBuffer.wrap(back, 0, size);
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (lock) {
+                writing = false;
+                if (error != null) {
+                    failure = error;
+                    closed = true;
+                }
+                lock.notifyAll();
+                if (error != null) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package Model.sim;
+
+import Model.Board;
+import Model.Game;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A simulated team: plays both players' turns of a cooperative game without a UI.
+ * A bot plays one game at a time, so it may keep state from {@link #startGame} on.
+ */
+public interface Bot {
+
+    /**
+     * Called before the first turn of each game.
+     */
+    default void startGame(Game game) {
+    }
+
+    /**
+     * Plays one turn on the current player's board: any number of flags, then one
+     * turn-ending action (a reveal, or the activation of a revealed special cell).
+     *
+     * @param random the game's bot stream (seeded, so a simulation is reproducible)
+     */
+    void playTurn(Game game, Board board, RandomGenerator random);
+}
@@ -0,0 +1,120 @@
+package Model.sim;
+
+import java.util.Arrays;
+
+/**
+ * Counts of integer values (scores, game lengths). The covered range grows as values
+ * arrive, so negative scores need no special handling. Not thread-safe: each simulation
+ * batch fills its own histograms and they are merged afterwards.
+ */
+public final class Histogram {
+
+    // counts[k] = occurrences of offset + k
+    private long[] counts = new long[0];
+    private int offset;
+    private long total;
+    private long sum;
+
+    public void add(int value) {
+        add(value, 1);
+    }
+
+    private void add(int value, long count) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = value;
+        } else if (value < offset) {
+            int grow = Math.max(offset - value, counts.length / 2);
+            long[] bigger = new long[counts.length + grow];
+            System.arraycopy(counts, 0, bigger, grow, counts.length);
+            counts = bigger;
+            offset -= grow;
+        } else if (value - offset >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(value - offset + 1, counts.length * 2));
+        }
+        counts[value - offset] += count;
+        total += count;
+        sum += (long) value * count;
+    }
+
+    /**
+     * Adds every count of the other histogram to this one.
+     */
+    public void merge(Histogram other) {
+        for (int k = 0; k < other.counts.length; k++) {
+            if (other.counts[k] != 0) add(other.offset + k, other.counts[k]);
+        }
+    }
+
+    public Histogram copy() {
+        Histogram copy = new Histogram();
+        copy.counts = counts.clone();
+        copy.offset = offset;
+        copy.total = total;
+        copy.sum = sum;
+        return copy;
+    }
+
+    /** Number of values added. */
+    public long getTotal() {
+        return total;
+    }
+
+    /** Occurrences of one value. */
+    public long getCount(int value) {
+        int k = value - offset;
+        return (k < 0 || k >= counts.length) ? 0 : counts[k];
+    }
+
+    public int getMin() {
+        for (int k = 0; k < counts.length; k++) {
+            if (counts[k] != 0) return offset + k;
+        }
+        throw new IllegalStateException("Empty histogram");
+    }
+
+    public int getMax() {
+        for (int k = counts.length - 1; k >= 0; k--) {
+            if (counts[k] != 0) return offset + k;
+        }
+        throw new IllegalStateException("Empty histogram");
+    }
+
+    public double getMean() {
+        return (total == 0) ? Double.NaN : (double) sum / total;
+    }
+
+    /**
+     * Smallest value with at least the given fraction of all values at or below it.
+     *
+     * @param fraction in [0, 1], e.g. 0.5 for the median
+     */
+    public int getPercentile(double fraction) {
+        if (total == 0) throw new IllegalStateException("Empty histogram");
+        if (!(fraction >= 0.0 && fraction <= 1.0)) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1: " + fraction);
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int k = 0; k < counts.length; k++) {
+            seen += counts[k];
+            if (seen >= rank) return offset + k;
+        }
+        return getMax();
+    }
+
+    /**
+     * Counts in buckets of the given width: element j covers [getMin() + j * width,
+     * getMin() + (j + 1) * width).
+     */
+    public long[] getBuckets(int width) {
+        if (width < 1) throw new IllegalArgumentException("Bucket width must be >= 1");
+        if (total == 0) return new long[0];
+        int min = getMin();
+        long[] buckets = new long[(getMax() - min) / width + 1];
+        for (int k = min - offset; k < counts.length; k++) {
+            if (counts[k] != 0) buckets[(offset + k - min) / width] += counts[k];
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,51 @@
+package Model.sim;
+
+import Model.Board;
+import Model.CellRenderCode;
+import Model.Game;
+
+import java.util.function.IntPredicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Baseline bot: reveals a uniformly random hidden cell every turn, never flags and never
+ * activates special cells.
+ */
+public final class RandomBot implements Bot {
+
+    // Random picks tried before counting the eligible cells
+    private static final int SAMPLE_ATTEMPTS = 32;
+
+    @Override
+    public void playTurn(Game game, Board board, RandomGenerator random) {
+        int cell = randomHiddenCell(board, random, i -> true);
+        if (cell >= 0) board.revealCell(cell / board.getCols(), cell % board.getCols());
+    }
+
+    /**
+     * A uniformly random HIDDEN cell (not flagged) that the filter accepts, or -1 if none.
+     * Tries rejection sampling first, then counts the eligible cells.
+     */
+    static int randomHiddenCell(Board board, RandomGenerator random, IntPredicate accept) {
+        int cols = board.getCols();
+        int size = board.getRows() * cols;
+        for (int attempt = 0; attempt < SAMPLE_ATTEMPTS; attempt++) {
+            int i = random.nextInt(size);
+            if (isHidden(board, i, cols) && accept.test(i)) return i;
+        }
+        int eligible = 0;
+        for (int i = 0; i < size; i++) {
+            if (isHidden(board, i, cols) && accept.test(i)) eligible++;
+        }
+        if (eligible == 0) return -1;
+        int pick = random.nextInt(eligible);
+        for (int i = 0; i < size; i++) {
+            if (isHidden(board, i, cols) && accept.test(i) && pick-- == 0) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isHidden(Board board, int i, int cols) {
+        return CellRenderCode.state(board.getRenderCode(i / cols, i % cols)) == CellRenderCode.HIDDEN;
+    }
+}
@@ -0,0 +1,392 @@
+package Model.sim;
+
+import Model.Difficulty;
+import Model.Game;
+import Model.ScoreRules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Expected score and life changes of activating a special cell, for every game
+ * difficulty, question level and answer, for surprises, and for every number of lives
+ * the team may have before the activation.
+ * <p>
+ * An activation costs {@link Difficulty#getActivationCost()} points. Lives gained at
+ * {@link Game#MAX_LIVES} turn into points (the activation cost for questions, the
+ * surprise value for surprises) and a team that drops to 0 lives loses, as in {@link Game}.
+ * <p>
+ * The exact values come from running the rules themselves with every sequence of 50/50
+ * draws, each weighted 2^-draws, so edited rule tables need no second description here.
+ * The sampled values run the rules with a seeded random stream, as a game does. Every
+ * (difficulty, rule) pair is analyzed as its own task on the fork-join pool; a full
+ * analysis takes milliseconds, so an editor can re-run it on every change.
+ */
+public final class RuleAnalyzer {
+
+    /** Rules for answering a question (default {@link ScoreRules#compute}). */
+    public interface QuestionRules {
+        ScoreRules.Result compute(Difficulty difficulty, Game.QuestionLevel level, boolean correct, RandomGenerator rnd);
+    }
+
+    /** Rules for opening a surprise (default {@link ScoreRules#surprise}). */
+    public interface SurpriseRules {
+        ScoreRules.Result compute(Difficulty difficulty, RandomGenerator rnd);
+    }
+
+    public static final int DEFAULT_SAMPLES = 4096;
+    // Longest sequence of 50/50 draws one rule may make
+    private static final int MAX_DRAWS = 20;
+
+    private QuestionRules questionRules = ScoreRules::compute;
+    private SurpriseRules surpriseRules = ScoreRules::surprise;
+    private int samples = DEFAULT_SAMPLES;
+    private long seed;
+
+    public void setQuestionRules(QuestionRules rules) {
+        this.questionRules = Objects.requireNonNull(rules, "rules");
+    }
+
+    public void setSurpriseRules(SurpriseRules rules) {
+        this.surpriseRules = Objects.requireNonNull(rules, "rules");
+    }
+
+    /**
+     * Sets how many random activations are sampled per rule (0 for exact values only).
+     */
+    public void setSamples(int samples) {
+        if (samples < 0) throw new IllegalArgumentException("Samples must be >= 0");
+        this.samples = samples;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Expectations for every difficulty, question level and answer, and surprises, for
+     * 1 to {@link Game#MAX_LIVES} lives before the activation. Ordered by difficulty, then
+     * questions by level (correct before wrong), then the surprise, then lives.
+     */
+    public List<Expectation> analyze() {
+        List<Rule> rules = new ArrayList<>();
+        for (Difficulty d : Difficulty.values()) {
+            for (Game.QuestionLevel level : Game.QuestionLevel.values()) {
+                rules.add(new Rule(d, level, true));
+                rules.add(new Rule(d, level, false));
+            }
+            rules.add(new Rule(d, null, false));
+        }
+        List<ForkJoinTask<List<Expectation>>> tasks = new ArrayList<>(rules.size());
+        for (int k = 0; k < rules.size(); k++) {
+            Rule rule = rules.get(k);
+            long ruleSeed = seed + 0x9E3779B97F4A7C15L * k;
+            tasks.add(ForkJoinTask.adapt(() -> rule.analyze(ruleSeed)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        List<Expectation> all = new ArrayList<>(rules.size() * Game.MAX_LIVES);
+        for (ForkJoinTask<List<Expectation>> task : tasks) {
+            all.addAll(task.join());
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * One activation kind: a question of a level answered correctly or not (level null:
+     * a surprise).
+     */
+    private final class Rule {
+        private final Difficulty difficulty;
+        private final Game.QuestionLevel level;
+        private final boolean correct;
+        private final int cost;
+        // Points a life gained at the cap turns into
+        private final int lifeValue;
+
+        Rule(Difficulty difficulty, Game.QuestionLevel level, boolean correct) {
+            this.difficulty = difficulty;
+            this.level = level;
+            this.correct = correct;
+            this.cost = difficulty.getActivationCost();
+            this.lifeValue = (level == null) ? difficulty.getSurpriseValue() : cost;
+        }
+
+        ScoreRules.Result apply(RandomGenerator rnd) {
+            return (level == null)
+                    ? surpriseRules.compute(difficulty, rnd)
+                    : questionRules.compute(difficulty, level, correct, rnd);
+        }
+
+        List<Expectation> analyze(long ruleSeed) {
+            // Exact: outcome distribution of the rule, then each starting lives value
+            List<ScoreRules.Result> outcomes = new ArrayList<>();
+            List<Double> weights = new ArrayList<>();
+            enumerate(outcomes, weights);
+
+            // Sampled: the same draws are reused for every starting lives value
+            ScoreRules.Result[] sampled = new ScoreRules.Result[samples];
+            SplittableRandom rnd = new SplittableRandom(ruleSeed);
+            for (int s = 0; s < samples; s++) {
+                sampled[s] = apply(rnd);
+            }
+
+            List<Expectation> result = new ArrayList<>(Game.MAX_LIVES);
+            for (int lives = 1; lives <= Game.MAX_LIVES; lives++) {
+                double score = 0;
+                double lifeDelta = 0;
+                double loss = 0;
+                for (int k = 0; k < outcomes.size(); k++) {
+                    long packed = settle(outcomes.get(k), lives);
+                    double w = weights.get(k);
+                    score += w * scoreOf(packed);
+                    lifeDelta += w * livesOf(packed);
+                    if (lives + livesOf(packed) == 0) loss += w;
+                }
+
+                double sampledScore = 0;
+                double sampledScoreSquares = 0;
+                double sampledLives = 0;
+                long sampledLosses = 0;
+                for (ScoreRules.Result r : sampled) {
+                    long packed = settle(r, lives);
+                    int ds = scoreOf(packed);
+                    sampledScore += ds;
+                    sampledScoreSquares += (double) ds * ds;
+                    sampledLives += livesOf(packed);
+                    if (lives + livesOf(packed) == 0) sampledLosses++;
+                }
+                double n = Math.max(1, samples);
+                double mean = sampledScore / n;
+                double variance = Math.max(0, sampledScoreSquares / n - mean * mean);
+                result.add(new Expectation(difficulty, level, correct, lives, score, lifeDelta, loss,
+                        samples, mean, sampledLives / n, sampledLosses / n, Math.sqrt(variance / n)));
+            }
+            return result;
+        }
+
+        /**
+         * Applies a rule outcome like Game does: pay the cost, add points, gain lives up to
+         * the cap (the rest as points), lose lives down to 0.
+         *
+         * @return score delta and lives delta, packed by {@link #pack}
+         */
+        long settle(ScoreRules.Result r, int lives) {
+            int score = r.deltaScore - cost;
+            int after = lives;
+            if (r.deltaLives > 0) {
+                for (int i = 0; i < r.deltaLives; i++) {
+                    if (after < Game.MAX_LIVES) after++;
+                    else score += lifeValue;
+                }
+            } else {
+                after = Math.max(0, after + r.deltaLives);
+            }
+            return pack(score, after - lives);
+        }
+
+        /**
+         * Runs the rule once for every sequence of 50/50 draws it can make.
+         */
+        private void enumerate(List<ScoreRules.Result> outcomes, List<Double> weights) {
+            ScriptedDraws draws = new ScriptedDraws();
+            long[] scripts = new long[2 * MAX_DRAWS + 2];
+            int[] lengths = new int[scripts.length];
+            int top = 0;
+            scripts[top] = 0;
+            lengths[top++] = 0;
+            while (top > 0) {
+                top--;
+                long script = scripts[top];
+                int length = lengths[top];
+                draws.reset(script, length);
+                ScoreRules.Result r = apply(draws);
+                if (draws.used > length) {
+                    // The rule drew past the script: branch on its next draw
+                    if (length == MAX_DRAWS) {
+                        throw new IllegalStateException(this + " makes more than " + MAX_DRAWS + " random draws");
+                    }
+                    scripts[top] = script;
+                    lengths[top++] = length + 1;
+                    scripts[top] = script | (1L << length);
+                    lengths[top++] = length + 1;
+                } else {
+                    outcomes.add(r);
+                    weights.add(Math.scalb(1.0, -length));
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return difficulty + " " + ((level == null) ? "surprise" : level + (correct ? " correct" : " wrong"));
+        }
+    }
+
+    private static long pack(int score, int lives) {
+        return ((long) score << 32) | (lives & 0xFFFFFFFFL);
+    }
+
+    private static int scoreOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int livesOf(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Random source that answers nextBoolean() from a script of bits. Draws past the
+     * script return false and are counted, so the caller can branch on them. Any other
+     * kind of draw has no exact 50/50 split and is rejected.
+     */
+    private static final class ScriptedDraws implements RandomGenerator {
+        private long script;
+        private int length;
+        private int used;
+
+        void reset(long script, int length) {
+            this.script = script;
+            this.length = length;
+            this.used = 0;
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            int draw = used++;
+            return draw < length && (script >>> draw & 1) != 0;
+        }
+
+        @Override
+        public long nextLong() {
+            throw new UnsupportedOperationException("Exact analysis supports 50/50 draws (nextBoolean) only");
+        }
+    }
+
+    /**
+     * Expected result of one activation kind with a given number of lives before it.
+     * Score and lives deltas include the activation cost and the life cap.
+     */
+    public static final class Expectation {
+        private final Difficulty difficulty;
+        private final Game.QuestionLevel level;
+        private final boolean correct;
+        private final int livesBefore;
+        private final double score;
+        private final double lives;
+        private final double lossProbability;
+        private final int samples;
+        private final double sampledScore;
+        private final double sampledLives;
+        private final double sampledLossProbability;
+        private final double sampledScoreError;
+
+        Expectation(Difficulty difficulty, Game.QuestionLevel level, boolean correct, int livesBefore,
+                    double score, double lives, double lossProbability, int samples,
+                    double sampledScore, double sampledLives, double sampledLossProbability,
+                    double sampledScoreError) {
+            this.difficulty = difficulty;
+            this.level = level;
+            this.correct = correct;
+            this.livesBefore = livesBefore;
+            this.score = score;
+            this.lives = lives;
+            this.lossProbability = lossProbability;
+            this.samples = samples;
+            this.sampledScore = sampledScore;
+            this.sampledLives = sampledLives;
+            this.sampledLossProbability = sampledLossProbability;
+            this.sampledScoreError = sampledScoreError;
+        }
+
+        public Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        /** Question level, or null for a surprise. */
+        public Game.QuestionLevel getQuestionLevel() {
+            return level;
+        }
+
+        public boolean isSurprise() {
+            return level == null;
+        }
+
+        /** Whether the question was answered correctly (false for surprises). */
+        public boolean isCorrect() {
+            return correct;
+        }
+
+        public int getLivesBefore() {
+            return livesBefore;
+        }
+
+        /** Exact expected score change. */
+        public double getScore() {
+            return score;
+        }
+
+        /** Exact expected lives change. */
+        public double getLives() {
+            return lives;
+        }
+
+        /** Exact chance that the activation ends the game. */
+        public double getLossProbability() {
+            return lossProbability;
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        public double getSampledScore() {
+            return sampledScore;
+        }
+
+        public double getSampledLives() {
+            return sampledLives;
+        }
+
+        public double getSampledLossProbability() {
+            return sampledLossProbability;
+        }
+
+        /** Standard error of the sampled score. */
+        public double getSampledScoreError() {
+            return sampledScoreError;
+        }
+
+        @Override
+        public String toString() {
+            String kind = (level == null) ? "surprise" : level + (correct ? " correct" : " wrong");
+            return String.format("%s %-14s lives %2d: score %+7.2f lives %+5.2f loss %4.2f | sampled %+7.2f (+-%.2f) %+5.2f",
+                    difficulty, kind, livesBefore, score, lives, lossProbability,
+                    sampledScore, sampledScoreError, sampledLives);
+        }
+    }
+
+    /**
+     * Command line: {@code RuleAnalyzer [samples]}. Prints every expectation.
+     */
+    public static void main(String[] args) {
+        RuleAnalyzer analyzer = new RuleAnalyzer();
+        if (args.length > 0) analyzer.setSamples(Integer.parseInt(args[0]));
+        long start = System.nanoTime();
+        List<Expectation> expectations = analyzer.analyze();
+        long nanos = System.nanoTime() - start;
+        for (Expectation e : expectations) {
+            System.out.println(e);
+        }
+        System.out.printf("%d expectations, %d samples each, %.1f ms%n", expectations.size(), analyzer.getSamples(), nanos / 1e6);
+    }
+}
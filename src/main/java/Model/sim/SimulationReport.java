@@ -0,0 +1,117 @@
+package Model.sim;
+
+import Model.BoardConfig;
+
+/**
+ * Aggregated results of simulated games on one layout: outcomes, final scores (life
+ * bonus included) and game lengths in turns.
+ */
+public final class SimulationReport {
+
+    private final BoardConfig config;
+    private final long wins;
+    private final long losses;
+    private final long unfinished;
+    private final long livesLeft;
+    private final long questionsAnswered;
+    private final long correctAnswers;
+    private final long surprisesOpened;
+    private final Histogram scores;
+    private final Histogram turns;
+    private final long elapsedNanos;
+
+    SimulationReport(BoardConfig config, Simulator.Tally tally, long elapsedNanos) {
+        this.config = config;
+        this.wins = tally.wins;
+        this.losses = tally.losses;
+        this.unfinished = tally.unfinished;
+        this.livesLeft = tally.livesLeft;
+        this.questionsAnswered = tally.questionsAnswered;
+        this.correctAnswers = tally.correctAnswers;
+        this.surprisesOpened = tally.surprisesOpened;
+        this.scores = tally.scores;
+        this.turns = tally.turns;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public BoardConfig getConfig() {
+        return config;
+    }
+
+    public long getGames() {
+        return wins + losses + unfinished;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    /** Games stopped at the turn limit (a bot that stopped making progress). */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public double getWinRate() {
+        long games = getGames();
+        return (games == 0) ? 0.0 : (double) wins / games;
+    }
+
+    /** Average lives left when a game ended. */
+    public double getAverageLivesLeft() {
+        long games = getGames();
+        return (games == 0) ? 0.0 : (double) livesLeft / games;
+    }
+
+    public long getQuestionsAnswered() {
+        return questionsAnswered;
+    }
+
+    public long getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public long getSurprisesOpened() {
+        return surprisesOpened;
+    }
+
+    /** Final scores, one per game (a copy). */
+    public Histogram getScores() {
+        return scores.copy();
+    }
+
+    /** Turns per game (a copy). */
+    public Histogram getTurns() {
+        return turns.copy();
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1e6;
+    }
+
+    public double getGamesPerSecond() {
+        return (elapsedNanos == 0) ? 0.0 : getGames() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(config).append(": ").append(getGames()).append(" games, ")
+                .append(String.format("win %.1f%%", 100 * getWinRate()));
+        if (unfinished > 0) sb.append(", ").append(unfinished).append(" unfinished");
+        sb.append(String.format(", lives left %.2f", getAverageLivesLeft()));
+        if (scores.getTotal() > 0) {
+            sb.append(String.format("%n  score  mean %.1f  min %d  p10 %d  p50 %d  p90 %d  max %d",
+                    scores.getMean(), scores.getMin(), scores.getPercentile(0.1), scores.getPercentile(0.5),
+                    scores.getPercentile(0.9), scores.getMax()));
+            sb.append(String.format("%n  turns  mean %.1f  min %d  p10 %d  p50 %d  p90 %d  max %d",
+                    turns.getMean(), turns.getMin(), turns.getPercentile(0.1), turns.getPercentile(0.5),
+                    turns.getPercentile(0.9), turns.getMax()));
+        }
+        sb.append(String.format("%n  %.0f games/s", getGamesPerSecond()));
+        return sb.toString();
+    }
+}
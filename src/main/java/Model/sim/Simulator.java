@@ -0,0 +1,267 @@
+package Model.sim;
+
+import Model.Board;
+import Model.BoardConfig;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import Model.Question;
+import Model.QuestionManager;
+import Model.QuestionResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Plays complete cooperative games headlessly, driving {@link Game} and {@link Board}
+ * directly, and aggregates the results per layout (see {@link SimulationReport}).
+ * <p>
+ * Games are split into batches on a fork-join pool of its own, so bots that use the
+ * common pool (e.g. for probabilities) never wait on their own workers. Each batch gets a
+ * fresh bot from the supplier and plays its games one after the other. Game i is seeded
+ * from (seed, i) and so is its bot stream, so the results do not depend on the number of
+ * threads or on scheduling.
+ * <p>
+ * Questions come from a small built-in bank; the simulated team answers a question of
+ * each level correctly with a set probability ({@link #setAnswerAccuracy}).
+ */
+public final class Simulator {
+
+    // Games per batch (one bot, one task)
+    private static final int BATCH_GAMES = 32;
+    // Questions of each level in the simulated bank
+    private static final int QUESTIONS_PER_LEVEL = 10;
+    private static final long BOT_STREAM_SALT = 0x5DEECE66DL;
+
+    private final Supplier<? extends Bot> bots;
+    private long seed;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    // Chance of a correct answer, per Game.QuestionLevel ordinal
+    private final double[] answerAccuracy = {0.9, 0.75, 0.6, 0.45};
+    private final List<Question> questions = createQuestionBank();
+
+    /**
+     * @param bots creates the bots; called once per batch, from the batch's thread
+     */
+    public Simulator(Supplier<? extends Bot> bots) {
+        this.bots = Objects.requireNonNull(bots, "bots");
+    }
+
+    // --- Settings ---
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets how many threads play games at once.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be >= 1");
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the chance that the team answers a question of the given level correctly.
+     */
+    public void setAnswerAccuracy(Game.QuestionLevel level, double probability) {
+        if (!(probability >= 0.0 && probability <= 1.0)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+        }
+        answerAccuracy[level.ordinal()] = probability;
+    }
+
+    public double getAnswerAccuracy(Game.QuestionLevel level) {
+        return answerAccuracy[level.ordinal()];
+    }
+
+    // --- Running ---
+
+    /**
+     * Plays the given number of games on one layout.
+     */
+    public SimulationReport run(BoardConfig config, long games) {
+        Objects.requireNonNull(config, "config");
+        if (games < 0) throw new IllegalArgumentException("Game count must be >= 0");
+        boolean console = Game.isConsoleOutput();
+        Game.setConsoleOutput(false);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long start = System.nanoTime();
+            Tally tally = pool.invoke(new Batch(config, 0, games));
+            return new SimulationReport(config, tally, System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+            Game.setConsoleOutput(console);
+        }
+    }
+
+    /**
+     * Plays the given number of games on every built-in level, with the layouts the game
+     * itself uses (first click safe).
+     */
+    public Map<Difficulty, SimulationReport> runAll(long gamesPerLevel) {
+        Map<Difficulty, SimulationReport> reports = new EnumMap<>(Difficulty.class);
+        for (Difficulty d : Difficulty.values()) {
+            reports.put(d, run(BoardConfig.of(d).withFirstClickSafe(true), gamesPerLevel));
+        }
+        return reports;
+    }
+
+    /**
+     * Game numbers [from, to): split in halves down to one batch.
+     */
+    private final class Batch extends RecursiveTask<Tally> {
+        private final BoardConfig config;
+        private final long from;
+        private final long to;
+
+        Batch(BoardConfig config, long from, long to) {
+            this.config = config;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= BATCH_GAMES) {
+                Tally tally = new Tally();
+                Bot bot = bots.get();
+                for (long i = from; i < to; i++) {
+                    play(config, i, bot, tally);
+                }
+                return tally;
+            }
+            long mid = from + (to - from) / 2;
+            Batch left = new Batch(config, from, mid);
+            left.fork();
+            Tally tally = new Batch(config, mid, to).compute();
+            tally.merge(left.join());
+            return tally;
+        }
+    }
+
+    /**
+     * Plays game number i to the end (or the turn limit) and records it.
+     */
+    private void play(BoardConfig config, long i, Bot bot, Tally tally) {
+        long gameSeed = new SplittableRandom(seed + 0x9E3779B97F4A7C15L * i).nextLong();
+        SplittableRandom botRandom = new SplittableRandom(gameSeed ^ BOT_STREAM_SALT);
+        SplittableRandom answers = botRandom.split();
+
+        Game game = new Game(config, gameSeed);
+        game.setQuestionManager(QuestionManager.detached(questions));
+        game.setQuestionPresenter(q -> answers.nextDouble() < answerAccuracy[q.getQuestionLevel().ordinal()]
+                ? QuestionResult.CORRECT : QuestionResult.WRONG);
+        bot.startGame(game);
+
+        // Every turn reveals a cell or uses a special cell, so this only stops stuck bots
+        int maxTurns = 4 * config.getRows() * config.getCols() + 16;
+        int turns = 0;
+        while (game.getGameState() == GameState.RUNNING && turns < maxTurns) {
+            Board board = (game.getCurrentPlayerTurn() == 1) ? game.getBoard1() : game.getBoard2();
+            bot.playTurn(game, board, botRandom);
+            turns++;
+            game.switchTurn();
+        }
+        tally.record(game, turns);
+    }
+
+    private static List<Question> createQuestionBank() {
+        List<Question> bank = new ArrayList<>();
+        List<String> options = List.of("A", "B", "C", "D");
+        int id = 1;
+        for (Game.QuestionLevel level : Game.QuestionLevel.values()) {
+            for (int k = 0; k < QUESTIONS_PER_LEVEL; k++, id++) {
+                bank.add(new Question(id, "Simulated " + level + " question " + k, options, 'A', level.name()));
+            }
+        }
+        return Collections.unmodifiableList(bank);
+    }
+
+    /**
+     * Running totals of one batch; batches are merged into the report.
+     */
+    static final class Tally {
+        long wins;
+        long losses;
+        long unfinished;
+        long livesLeft;
+        long questionsAnswered;
+        long correctAnswers;
+        long surprisesOpened;
+        final Histogram scores = new Histogram();
+        final Histogram turns = new Histogram();
+
+        void record(Game game, int turnCount) {
+            GameState state = game.getGameState();
+            if (state == GameState.WON) wins++;
+            else if (state == GameState.LOST) losses++;
+            else unfinished++;
+            livesLeft += game.getSharedLives();
+            questionsAnswered += game.getTotalQuestionsAnswered();
+            correctAnswers += game.getTotalCorrectAnswers();
+            surprisesOpened += game.getTotalSurprisesOpened();
+            scores.add(game.getSharedScore());
+            turns.add(turnCount);
+        }
+
+        void merge(Tally other) {
+            wins += other.wins;
+            losses += other.losses;
+            unfinished += other.unfinished;
+            livesLeft += other.livesLeft;
+            questionsAnswered += other.questionsAnswered;
+            correctAnswers += other.correctAnswers;
+            surprisesOpened += other.surprisesOpened;
+            scores.merge(other.scores);
+            turns.merge(other.turns);
+        }
+    }
+
+    /**
+     * Command line: {@code Simulator [games per level] [random|solver|risk] [seed]}.
+     * Prints one report per built-in level.
+     */
+    public static void main(String[] args) {
+        long games = (args.length > 0) ? Long.parseLong(args[0]) : 10_000;
+        String kind = (args.length > 1) ? args[1] : "solver";
+        Supplier<? extends Bot> bots;
+        switch (kind) {
+            case "random":
+                bots = RandomBot::new;
+                break;
+            case "solver":
+                bots = () -> new SolverBot(false);
+                break;
+            case "risk":
+                bots = () -> new SolverBot(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + kind + " (random, solver or risk)");
+        }
+        Simulator simulator = new Simulator(bots);
+        if (args.length > 2) simulator.setSeed(Long.parseLong(args[2]));
+        System.out.println("Bot " + kind + ", " + games + " games per level, "
+                + simulator.getParallelism() + " threads, seed " + simulator.getSeed());
+        for (SimulationReport report : simulator.runAll(games).values()) {
+            System.out.println(report);
+        }
+    }
+}
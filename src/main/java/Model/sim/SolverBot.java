@@ -0,0 +1,108 @@
+package Model.sim;
+
+import Model.Board;
+import Model.CellRenderCode;
+import Model.Game;
+import Model.GameState;
+import Model.solver.FrontierSolver;
+import Model.solver.MineProbabilities;
+import Model.solver.ProbabilityEngine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Bot that plays by deduction: it flags every mine the {@link FrontierSolver} proves
+ * and reveals a proven safe cell. When nothing is proven it guesses a random cell
+ * that is not a known mine.
+ * <p>
+ * A risk-taking bot guesses the cell the {@link ProbabilityEngine} rates least likely to
+ * be a mine instead, and spends its points on every revealed special cell it can afford.
+ * <p>
+ * Each board's solver follows the game's change sets, so a turn costs time in
+ * proportion to the cells it changed.
+ */
+public final class SolverBot implements Bot {
+
+    // Backtracking nodes a risk-taker may spend on one frontier component of a guess
+    // (random guess beyond that); a node count, not a time, so seeded games repeat exactly
+    private static final long PROBABILITY_NODE_LIMIT = 1L << 22;
+
+    private final boolean takeRisks;
+    private final ProbabilityEngine probabilities;
+    private final FrontierSolver[] solvers = new FrontierSolver[2];
+    private Board[] boards;
+
+    public SolverBot() {
+        this(false);
+    }
+
+    public SolverBot(boolean takeRisks) {
+        this.takeRisks = takeRisks;
+        this.probabilities = takeRisks ? new ProbabilityEngine() : null;
+        if (probabilities != null) probabilities.setNodeLimit(PROBABILITY_NODE_LIMIT);
+    }
+
+    public boolean isTakingRisks() {
+        return takeRisks;
+    }
+
+    @Override
+    public void startGame(Game game) {
+        boards = new Board[]{game.getBoard1(), game.getBoard2()};
+        for (int b = 0; b < 2; b++) {
+            solvers[b] = FrontierSolver.forBoard(boards[b]);
+        }
+        game.addCellChangeListener((boardNumber, changes) ->
+                solvers[boardNumber - 1].sync(boards[boardNumber - 1], changes));
+        if (probabilities != null) probabilities.clearCache();
+    }
+
+    @Override
+    public void playTurn(Game game, Board board, RandomGenerator random) {
+        FrontierSolver solver = solvers[(board == boards[0]) ? 0 : 1];
+        int cols = board.getCols();
+
+        // 1. Flags do not end the turn: mark every proven mine (this can win the game)
+        for (int mine : solver.getCertainMines()) {
+            if (game.getGameState() != GameState.RUNNING) return;
+            if (!board.isFlagged(mine / cols, mine % cols)) board.toggleFlag(mine / cols, mine % cols);
+        }
+        if (game.getGameState() != GameState.RUNNING) return;
+
+        // 2. Risk-takers gamble their points on special cells
+        if (takeRisks) {
+            int special = affordableSpecialCell(game, board);
+            if (special >= 0 && board.activateSpecialCell(special / cols, special % cols)) return;
+        }
+
+        // 3. A proven safe cell, else a guess
+        int cell = solver.nextSafeCell();
+        if (cell < 0 && takeRisks) cell = safestGuess(board, solver);
+        if (cell < 0) cell = RandomBot.randomHiddenCell(board, random, i -> !solver.isMine(i));
+        if (cell >= 0) board.revealCell(cell / cols, cell % cols);
+    }
+
+    /**
+     * A revealed, unused question or surprise cell, if the team can pay its activation cost.
+     */
+    private static int affordableSpecialCell(Game game, Board board) {
+        if (game.getSharedScore() < game.getDifficulty().getActivationCost()) return -1;
+        int cols = board.getCols();
+        for (int i = 0, n = board.getRows() * cols; i < n; i++) {
+            int code = board.getRenderCode(i / cols, i % cols);
+            int value = CellRenderCode.value(code);
+            if (CellRenderCode.state(code) == CellRenderCode.REVEALED && !CellRenderCode.isUsed(code)
+                    && (value == CellRenderCode.QUESTION || value == CellRenderCode.SURPRISE)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int safestGuess(Board board, FrontierSolver solver) {
+        MineProbabilities p = probabilities.compute(board, solver, ProbabilityEngine.NO_BUDGET);
+        if (p == null) return -1;
+        int cell = p.safestCell();
+        return (cell >= 0 && !board.isFlagged(cell / board.getCols(), cell % board.getCols())) ? cell : -1;
+    }
+}
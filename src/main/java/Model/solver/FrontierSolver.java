@@ -0,0 +1,428 @@
+package Model.solver;
+
+import Model.Board;
+import Model.CellChangeSet;
+import Model.CellRenderCode;
+
+import java.util.Arrays;
+
+/**
+ * Minesweeper deductions from what a player can see: revealed numbers (question and
+ * surprise cells count as 0, since they sit on true-empty cells) and revealed mines.
+ * Flags are player guesses and are treated as unknown.
+ * <p>
+ * Every revealed cell with unknown neighbours is a constraint "need mines among these
+ * unknown cells". Two rules run on a worklist of changed constraints:
+ * <ul>
+ *   <li>single cell: need == 0 makes every unknown neighbour safe, need == unknowns makes
+ *       every one a mine;</li>
+ *   <li>subset: if A's unknowns are a subset of B's, the cells only B sees hold
+ *       need(B) - need(A) mines, which decides them when that is 0 or all of them.</li>
+ * </ul>
+ * The solver is incremental: {@link #reveal} only queues the affected constraints and
+ * {@link #propagate()} processes what changed, so a move costs time proportional to the
+ * cells it touched and the deductions it triggered, not to the board size.
+ * Hiding cells again (undo) cannot be undone incrementally; {@link #sync} reloads then.
+ */
+public final class FrontierSolver {
+
+    /** Value passed to {@link #reveal} for a revealed mine. */
+    public static final int MINE = CellRenderCode.MINE;
+
+    // Cell status
+    private static final byte UNKNOWN = 0;
+    private static final byte SAFE = 1;     // hidden, deduced safe
+    private static final byte MINED = 2;    // hidden or flagged, deduced mine
+    private static final byte OPEN = 3;     // revealed number or empty cell (a constraint)
+    private static final byte BLOWN = 4;    // revealed mine
+
+    private final int rows;
+    private final int cols;
+    private final byte[] status;
+    // For OPEN cells: mines still to place among the unknown neighbours, and how many there are
+    private final byte[] need;
+    private final byte[] unknowns;
+
+    // Worklist of constraints to (re)check
+    private final int[] queue;
+    private final boolean[] queued;
+    private int head;
+    private int queueSize;
+
+    // Deduced cells that are still hidden (dense sets: members plus position of each member)
+    private final IntSet safeCells;
+    private final IntSet mineCells;
+
+    public FrontierSolver(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        int n = rows * cols;
+        this.status = new byte[n];
+        this.need = new byte[n];
+        this.unknowns = new byte[n];
+        this.queue = new int[n];
+        this.queued = new boolean[n];
+        this.safeCells = new IntSet(n);
+        this.mineCells = new IntSet(n);
+    }
+
+    private FrontierSolver(FrontierSolver other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.status = other.status.clone();
+        this.need = other.need.clone();
+        this.unknowns = other.unknowns.clone();
+        this.queue = other.queue.clone();
+        this.queued = other.queued.clone();
+        this.head = other.head;
+        this.queueSize = other.queueSize;
+        this.safeCells = new IntSet(other.safeCells);
+        this.mineCells = new IntSet(other.mineCells);
+    }
+
+    /**
+     * Independent copy of this solver's state, e.g. for use on another thread while this
+     * one keeps following the board.
+     */
+    public FrontierSolver copy() {
+        return new FrontierSolver(this);
+    }
+
+    /**
+     * Creates a solver loaded with the board's visible state and propagated.
+     */
+    public static FrontierSolver forBoard(Board board) {
+        FrontierSolver solver = new FrontierSolver(board.getRows(), board.getCols());
+        solver.load(board);
+        return solver;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Forgets everything: all cells unknown.
+     */
+    public void reset() {
+        Arrays.fill(status, UNKNOWN);
+        Arrays.fill(need, (byte) 0);
+        Arrays.fill(unknowns, (byte) 0);
+        Arrays.fill(queued, false);
+        head = 0;
+        queueSize = 0;
+        safeCells.clear();
+        mineCells.clear();
+    }
+
+    /**
+     * Reloads the board's visible state from scratch and propagates.
+     */
+    public void load(Board board) {
+        reset();
+        for (int r = 0, i = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++, i++) {
+                int code = board.getRenderCode(r, c);
+                if (CellRenderCode.state(code) == CellRenderCode.REVEALED) {
+                    reveal(i, CellRenderCode.value(code));
+                }
+            }
+        }
+        propagate();
+    }
+
+    /**
+     * Applies one action's change set of the given board and propagates. Reveals are
+     * incremental; a full-refresh event or a cell hidden again reloads the board.
+     */
+    public void sync(Board board, CellChangeSet changes) {
+        if (changes.isFullRefresh()) {
+            load(board);
+            return;
+        }
+        int n = changes.size();
+        for (int k = 0; k < n; k++) {
+            if (CellChangeSet.isRevealed(changes.oldCode(k)) && !CellChangeSet.isRevealed(changes.newCode(k))) {
+                load(board);
+                return;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            if (!CellChangeSet.isRevealed(changes.oldCode(k)) && CellChangeSet.isRevealed(changes.newCode(k))) {
+                int i = changes.index(k);
+                reveal(i, CellRenderCode.value(board.getRenderCode(i / cols, i % cols)));
+            }
+        }
+        propagate();
+    }
+
+    /**
+     * Records a revealed cell: a number 0-8, {@link CellRenderCode#QUESTION} or
+     * {@link CellRenderCode#SURPRISE} (both 0), or {@link #MINE}.
+     * Call {@link #propagate()} afterwards.
+     */
+    public void reveal(int index, int value) {
+        byte old = status[index];
+        if (old == OPEN || old == BLOWN) return;
+        boolean mine = value == MINE;
+        if (old == SAFE) safeCells.remove(index);
+        else if (old == MINED) mineCells.remove(index);
+
+        int r = index / cols;
+        int c = index % cols;
+        int mines = 0;
+        int unknown = 0;
+        for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+            for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                int j = nr * cols + nc;
+                if (j == index) continue;
+                byte s = status[j];
+                if (s == OPEN) {
+                    // This cell leaves the neighbour's unknowns (and fills its need if it is a mine)
+                    if (old == UNKNOWN) {
+                        unknowns[j]--;
+                        if (mine) need[j]--;
+                        enqueue(j);
+                    }
+                } else if (s == MINED || s == BLOWN) {
+                    mines++;
+                } else if (s == UNKNOWN) {
+                    unknown++;
+                }
+            }
+        }
+        if (mine) {
+            status[index] = BLOWN;
+        } else {
+            status[index] = OPEN;
+            need[index] = (byte) ((value > 8 ? 0 : value) - mines);
+            unknowns[index] = (byte) unknown;
+            if (unknown > 0) enqueue(index);
+        }
+    }
+
+    /**
+     * Runs both rules until no queued constraint yields anything new.
+     */
+    public void propagate() {
+        while (queueSize > 0) {
+            int a = queue[head];
+            head = (head + 1 == queue.length) ? 0 : head + 1;
+            queueSize--;
+            queued[a] = false;
+            if (unknowns[a] == 0) continue;
+
+            if (need[a] == 0) {
+                decideNeighbours(a, -1, SAFE);
+            } else if (need[a] == unknowns[a]) {
+                decideNeighbours(a, -1, MINED);
+            } else {
+                applySubsetRule(a);
+            }
+        }
+    }
+
+    /**
+     * Compares constraint a with every constraint b that can share unknowns with it
+     * (within two rows and columns), in both directions.
+     */
+    private void applySubsetRule(int a) {
+        int ar = a / cols;
+        int ac = a % cols;
+        for (int br = Math.max(0, ar - 2); br <= Math.min(rows - 1, ar + 2); br++) {
+            for (int bc = Math.max(0, ac - 2); bc <= Math.min(cols - 1, ac + 2); bc++) {
+                int b = br * cols + bc;
+                if (b == a || status[b] != OPEN || unknowns[b] == 0) continue;
+                if (unknowns[a] == 0) return;
+                if (unknowns[a] <= unknowns[b] && unknownsWithin(a, b)) {
+                    decideDifference(a, b);
+                } else if (unknowns[b] < unknowns[a] && unknownsWithin(b, a)) {
+                    decideDifference(b, a);
+                }
+            }
+        }
+    }
+
+    // True if every unknown neighbour of a is also a neighbour of b
+    private boolean unknownsWithin(int a, int b) {
+        int ar = a / cols, ac = a % cols;
+        int br = b / cols, bc = b % cols;
+        for (int nr = Math.max(0, ar - 1); nr <= Math.min(rows - 1, ar + 1); nr++) {
+            for (int nc = Math.max(0, ac - 1); nc <= Math.min(cols - 1, ac + 1); nc++) {
+                if (status[nr * cols + nc] == UNKNOWN && (Math.abs(nr - br) > 1 || Math.abs(nc - bc) > 1)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // a's unknowns are a subset of b's: decide b's other unknowns when their mine count is 0 or all
+    private void decideDifference(int a, int b) {
+        int extraCells = unknowns[b] - unknowns[a];
+        int extraMines = need[b] - need[a];
+        if (extraCells == 0) return;
+        if (extraMines == 0) {
+            decideNeighbours(b, a, SAFE);
+        } else if (extraMines == extraCells) {
+            decideNeighbours(b, a, MINED);
+        }
+    }
+
+    /**
+     * Marks the unknown neighbours of center (except those also next to exclude, if any).
+     */
+    private void decideNeighbours(int center, int exclude, byte result) {
+        int r = center / cols;
+        int c = center % cols;
+        int er = (exclude >= 0) ? exclude / cols : Integer.MIN_VALUE / 2;
+        int ec = (exclude >= 0) ? exclude % cols : Integer.MIN_VALUE / 2;
+        for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+            for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                int j = nr * cols + nc;
+                if (status[j] != UNKNOWN) continue;
+                if (Math.abs(nr - er) <= 1 && Math.abs(nc - ec) <= 1) continue;
+                decide(j, result);
+            }
+        }
+    }
+
+    private void decide(int index, byte result) {
+        status[index] = result;
+        if (result == SAFE) safeCells.add(index);
+        else mineCells.add(index);
+        int r = index / cols;
+        int c = index % cols;
+        for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+            for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                int j = nr * cols + nc;
+                if (status[j] != OPEN) continue;
+                unknowns[j]--;
+                if (result == MINED) need[j]--;
+                enqueue(j);
+            }
+        }
+    }
+
+    private void enqueue(int index) {
+        if (queued[index]) return;
+        queued[index] = true;
+        int tail = head + queueSize;
+        if (tail >= queue.length) tail -= queue.length;
+        queue[tail] = index;
+        queueSize++;
+    }
+
+    // --- Results ---
+
+    /** True if the hidden cell is known to be safe. */
+    public boolean isSafe(int index) {
+        return status[index] == SAFE;
+    }
+
+    /** True if the unrevealed cell is known to be a mine. */
+    public boolean isMine(int index) {
+        return status[index] == MINED;
+    }
+
+    /** True if the cell holds no deduction and is not revealed. */
+    public boolean isUnknown(int index) {
+        return status[index] == UNKNOWN;
+    }
+
+    public boolean isRevealed(int index) {
+        return status[index] == OPEN || status[index] == BLOWN;
+    }
+
+    /** Number of hidden cells known to be safe. */
+    public int getSafeCount() {
+        return safeCells.size();
+    }
+
+    /** Number of unrevealed cells known to be mines. */
+    public int getMineCount() {
+        return mineCells.size();
+    }
+
+    /** Indexes (row * cols + col) of the hidden cells known to be safe, in no particular order. */
+    public int[] getSafeCells() {
+        return safeCells.toArray();
+    }
+
+    /** Indexes of the unrevealed cells known to be mines, in no particular order. */
+    public int[] getCertainMines() {
+        return mineCells.toArray();
+    }
+
+    /**
+     * The most recently deduced safe cell (usually next to the last move), or -1.
+     */
+    public int nextSafeCell() {
+        return safeCells.last();
+    }
+
+    /**
+     * The most recently deduced mine, or -1.
+     */
+    public int nextMine() {
+        return mineCells.last();
+    }
+
+    /**
+     * Set of cell indexes with O(1) add, remove and membership: members are kept densely
+     * with the position of each one.
+     */
+    private static final class IntSet {
+        private final int[] members;
+        private final int[] positions;
+        private int size;
+
+        IntSet(int capacity) {
+            members = new int[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, -1);
+        }
+
+        IntSet(IntSet other) {
+            members = other.members.clone();
+            positions = other.positions.clone();
+            size = other.size;
+        }
+
+        void add(int value) {
+            if (positions[value] >= 0) return;
+            positions[value] = size;
+            members[size++] = value;
+        }
+
+        void remove(int value) {
+            int at = positions[value];
+            if (at < 0) return;
+            int moved = members[--size];
+            members[at] = moved;
+            positions[moved] = at;
+            positions[value] = -1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int last() {
+            return (size > 0) ? members[size - 1] : -1;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(members, size);
+        }
+
+        void clear() {
+            for (int k = 0; k < size; k++) positions[members[k]] = -1;
+            size = 0;
+        }
+    }
+}
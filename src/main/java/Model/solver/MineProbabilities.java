@@ -0,0 +1,73 @@
+package Model.solver;
+
+/**
+ * Result of {@link ProbabilityEngine}: the chance that each cell hides a mine, given
+ * everything a player can see and the number of mines on the board.
+ * Revealed cells have no probability ({@link Float#NaN}).
+ */
+public final class MineProbabilities {
+
+    private final int rows;
+    private final int cols;
+    // Indexed by row * cols + col
+    private final float[] probabilities;
+    private final float unconstrained;
+    private final int components;
+
+    MineProbabilities(int rows, int cols, float[] probabilities, float unconstrained, int components) {
+        this.rows = rows;
+        this.cols = cols;
+        this.probabilities = probabilities;
+        this.unconstrained = unconstrained;
+        this.components = components;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /** Mine probability of the cell at row * cols + col, NaN if it is revealed. */
+    public float get(int index) {
+        return probabilities[index];
+    }
+
+    /** Mine probability of the cell, NaN if it is revealed. */
+    public float get(int row, int col) {
+        return probabilities[row * cols + col];
+    }
+
+    /**
+     * Mine probability shared by every hidden cell that touches no revealed number
+     * and is not deduced, NaN if there is none.
+     */
+    public float getUnconstrained() {
+        return unconstrained;
+    }
+
+    /** Number of independent frontier components that were enumerated. */
+    public int getComponentCount() {
+        return components;
+    }
+
+    /** Copy of all probabilities, indexed by row * cols + col. */
+    public float[] toArray() {
+        return probabilities.clone();
+    }
+
+    /**
+     * The hidden cell least likely to be a mine (the lowest index on ties), or -1 if
+     * every cell is revealed.
+     */
+    public int safestCell() {
+        int best = -1;
+        for (int i = 0; i < probabilities.length; i++) {
+            float p = probabilities[i];
+            if (!Float.isNaN(p) && (best < 0 || p < probabilities[best])) best = i;
+        }
+        return best;
+    }
+}
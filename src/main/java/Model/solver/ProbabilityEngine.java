@@ -0,0 +1,699 @@
+package Model.solver;
+
+import Model.Board;
+import Model.CellRenderCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exact mine probabilities for every hidden cell, from what a player can see and the
+ * board's mine count.
+ * <p>
+ * Cells the {@link FrontierSolver} proves safe or mined are fixed first, which usually
+ * splits the frontier (hidden cells next to a revealed number) into many small
+ * independent components. Each component's valid layouts are enumerated by backtracking,
+ * counting layouts per number of mines. Components are combined with the global mine
+ * count: a frontier holding m mines leaves C(U, M - m) ways to place the rest among the
+ * U unconstrained cells.
+ * <p>
+ * Large components are enumerated in parallel on a fork-join pool. A computation has a
+ * time budget and can be cancelled from another thread; either way it returns null.
+ * Callers that need the same answer on every run (simulations) pass {@link #NO_BUDGET}
+ * and bound the work with {@link #setNodeLimit} instead, which does not depend on timing.
+ * Component results depend only on the component itself, so they are memoized: after a
+ * move, only the components it changed are enumerated again.
+ */
+public final class ProbabilityEngine {
+
+    // Components this small are enumerated on the calling thread
+    private static final int INLINE_CELLS = 16;
+    // Larger components are not enumerated at all (the result would take too long)
+    private static final int MAX_COMPONENT_CELLS = 256;
+    // Enumeration nodes between two deadline / cancellation checks
+    private static final int CHECK_INTERVAL = 1 << 12;
+    private static final int CACHE_ENTRIES = 1024;
+
+    /** Budget that never runs out (see {@link #setNodeLimit} for a deterministic bound). */
+    public static final long NO_BUDGET = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+    // Enumeration nodes one component may take before the computation gives up (0 = no limit)
+    private volatile long nodeLimit;
+    private final Map<ComponentKey, ComponentResult> cache =
+            new LinkedHashMap<>(CACHE_ENTRIES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ComponentKey, ComponentResult> eldest) {
+                    return size() > CACHE_ENTRIES;
+                }
+            };
+    // Cancellation flag of the computation in progress (null when idle)
+    private volatile AtomicBoolean running;
+
+    public ProbabilityEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ProbabilityEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the probabilities for the board's visible state.
+     *
+     * @return the probabilities, or null if the budget ran out, the computation was
+     *         cancelled, a component was too large, or no layout fits the visible board
+     */
+    public MineProbabilities compute(Board board, long budgetMillis) {
+        return compute(board, null, budgetMillis);
+    }
+
+    /**
+     * Same as {@link #compute(Board, long)}, reusing deductions already made for the
+     * board (null to deduce from scratch).
+     */
+    public MineProbabilities compute(Board board, FrontierSolver deductions, long budgetMillis) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        byte[] codes = new byte[rows * cols];
+        board.fillRenderCodes(0, 0, rows, cols, codes, 0);
+        return compute(rows, cols, codes, board.getTotalMines(), deductions, budgetMillis);
+    }
+
+    /**
+     * Computes the probabilities for a board given as render codes (see {@link CellRenderCode}).
+     *
+     * @param codes      render code per cell, indexed by row * cols + col
+     * @param totalMines mines on the whole board, revealed ones included
+     * @param deductions deductions for the same visible state, or null to make them here
+     */
+    public MineProbabilities compute(int rows, int cols, byte[] codes, int totalMines,
+                                     FrontierSolver deductions, long budgetMillis) {
+        long deadline = (budgetMillis == NO_BUDGET)
+                ? Long.MAX_VALUE
+                : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        running = cancelled;
+        try {
+            if (deductions == null) deductions = deduce(rows, cols, codes);
+            Frontier frontier = new Frontier(rows, cols, codes, deductions);
+            frontier.build();
+            if (frontier.tooLarge) return null;
+            ComponentResult[] results = solveComponents(frontier.components, deadline, cancelled);
+            if (results == null || cancelled.get() || System.nanoTime() > deadline) return null;
+            return combine(frontier, results, totalMines - frontier.knownMines);
+        } finally {
+            running = null;
+        }
+    }
+
+    /**
+     * Limits the backtracking nodes spent on any one component; a computation with a
+     * component over the limit returns null. The outcome depends only on the board, not
+     * on timing or threads. 0 (the default) means no limit.
+     */
+    public void setNodeLimit(long nodes) {
+        if (nodes < 0) throw new IllegalArgumentException("Node limit must be >= 0");
+        this.nodeLimit = nodes;
+    }
+
+    public long getNodeLimit() {
+        return nodeLimit;
+    }
+
+    /**
+     * Stops the computation in progress (it returns null). Safe to call from any thread.
+     */
+    public void cancel() {
+        AtomicBoolean flag = running;
+        if (flag != null) flag.set(true);
+    }
+
+    /** Forgets all memoized component results. */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static FrontierSolver deduce(int rows, int cols, byte[] codes) {
+        FrontierSolver solver = new FrontierSolver(rows, cols);
+        for (int i = 0; i < codes.length; i++) {
+            if (CellRenderCode.state(codes[i]) == CellRenderCode.REVEALED) {
+                solver.reveal(i, CellRenderCode.value(codes[i]));
+            }
+        }
+        solver.propagate();
+        return solver;
+    }
+
+    // --- Enumeration ---
+
+    /**
+     * Enumerates every component (cached ones are reused, small ones inline, the rest on
+     * the pool). Returns null on timeout or cancellation.
+     */
+    private ComponentResult[] solveComponents(List<Component> components, long deadline, AtomicBoolean cancelled) {
+        int count = components.size();
+        ComponentResult[] results = new ComponentResult[count];
+        List<ForkJoinTask<ComponentResult>> tasks = new ArrayList<>();
+        int[] taskSlots = new int[count];
+        long limit = nodeLimit;
+        try {
+            for (int k = 0; k < count; k++) {
+                Component component = components.get(k);
+                synchronized (cache) {
+                    results[k] = cache.get(component.key);
+                }
+                if (results[k] != null) continue;
+                if (component.size() <= INLINE_CELLS) {
+                    results[k] = remember(component, new Enumeration(component, deadline, limit, cancelled).run());
+                } else {
+                    taskSlots[tasks.size()] = k;
+                    tasks.add(pool.submit(() -> remember(component, new Enumeration(component, deadline, limit, cancelled).run())));
+                }
+            }
+            for (int t = 0; t < tasks.size(); t++) {
+                if (deadline == Long.MAX_VALUE) {
+                    results[taskSlots[t]] = tasks.get(t).get();
+                    continue;
+                }
+                long wait = deadline - System.nanoTime();
+                if (wait <= 0) throw new TimeoutException();
+                results[taskSlots[t]] = tasks.get(t).get(wait, TimeUnit.NANOSECONDS);
+            }
+            return results;
+        } catch (TimeoutException | CancellationException | ExecutionException e) {
+            cancelled.set(true);
+            for (ForkJoinTask<ComponentResult> task : tasks) task.cancel(false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+            return null;
+        }
+    }
+
+    private ComponentResult remember(Component component, ComponentResult result) {
+        synchronized (cache) {
+            cache.put(component.key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Backtracking over one component's cells in breadth-first order, so constraints are
+     * completed (and pruned) as early as possible.
+     */
+    private static final class Enumeration {
+        private final Component component;
+        private final long deadline;
+        private final long nodeLimit;
+        private final AtomicBoolean cancelled;
+        private final int[] order;
+        private final int[][] cellConstraints;
+        private final int[] mines;
+        private final int[] unassigned;
+        private final boolean[] assigned;
+        private final double[] ways;
+        private final double[][] mineWays;
+        private int nodes;
+        private long totalNodes;
+
+        Enumeration(Component component, long deadline, long nodeLimit, AtomicBoolean cancelled) {
+            this.component = component;
+            this.deadline = deadline;
+            this.nodeLimit = nodeLimit;
+            this.cancelled = cancelled;
+            int n = component.size();
+            int constraints = component.needs.length;
+            this.cellConstraints = component.cellConstraints();
+            this.order = breadthFirstOrder(n, cellConstraints, component.constraintCells);
+            this.mines = new int[constraints];
+            this.unassigned = new int[constraints];
+            for (int c = 0; c < constraints; c++) unassigned[c] = component.constraintCells[c].length;
+            this.assigned = new boolean[n];
+            this.ways = new double[n + 1];
+            this.mineWays = new double[n][n + 1];
+        }
+
+        ComponentResult run() {
+            search(0, 0);
+            return ComponentResult.of(ways, mineWays);
+        }
+
+        private void search(int position, int placed) {
+            if (++nodes == CHECK_INTERVAL) {
+                nodes = 0;
+                totalNodes += CHECK_INTERVAL;
+                if (cancelled.get() || System.nanoTime() > deadline) throw new CancellationException();
+                if (nodeLimit > 0 && totalNodes > nodeLimit) throw new CancellationException();
+            }
+            if (position == order.length) {
+                ways[placed]++;
+                for (int v = 0; v < assigned.length; v++) {
+                    if (assigned[v]) mineWays[v][placed]++;
+                }
+                return;
+            }
+            int cell = order[position];
+            for (int value = 0; value <= 1; value++) {
+                if (assign(cell, value)) {
+                    assigned[cell] = value == 1;
+                    search(position + 1, placed + value);
+                    assigned[cell] = false;
+                }
+                unassign(cell, value);
+            }
+        }
+
+        // Applies the value to the cell's constraints; false if one can no longer be met
+        private boolean assign(int cell, int value) {
+            boolean feasible = true;
+            for (int c : cellConstraints[cell]) {
+                unassigned[c]--;
+                mines[c] += value;
+                int need = component.needs[c];
+                if (mines[c] > need || mines[c] + unassigned[c] < need) feasible = false;
+            }
+            return feasible;
+        }
+
+        private void unassign(int cell, int value) {
+            for (int c : cellConstraints[cell]) {
+                unassigned[c]++;
+                mines[c] -= value;
+            }
+        }
+
+        private static int[] breadthFirstOrder(int n, int[][] cellConstraints, int[][] constraintCells) {
+            int[] order = new int[n];
+            boolean[] seen = new boolean[n];
+            int size = 0;
+            for (int start = 0; start < n; start++) {
+                if (seen[start]) continue;
+                seen[start] = true;
+                order[size++] = start;
+                for (int head = size - 1; head < size; head++) {
+                    for (int c : cellConstraints[order[head]]) {
+                        for (int next : constraintCells[c]) {
+                            if (!seen[next]) {
+                                seen[next] = true;
+                                order[size++] = next;
+                            }
+                        }
+                    }
+                }
+            }
+            return order;
+        }
+    }
+
+    // --- Combination ---
+
+    /**
+     * Weighs each component's per-mine-count layouts by the layouts of all other
+     * components and the binomial count of the unconstrained cells.
+     */
+    private static MineProbabilities combine(Frontier frontier, ComponentResult[] results, int remainingMines) {
+        int count = results.length;
+        int unconstrained = frontier.unconstrainedCells;
+
+        // prefix[k] = mine-count distribution of components [0, k), suffix[k] of [k, count)
+        Distribution[] prefix = new Distribution[count + 1];
+        Distribution[] suffix = new Distribution[count + 1];
+        prefix[0] = Distribution.ONE;
+        suffix[count] = Distribution.ONE;
+        for (int k = 0; k < count; k++) prefix[k + 1] = prefix[k].convolve(results[k].distribution);
+        for (int k = count - 1; k >= 0; k--) suffix[k] = results[k].distribution.convolve(suffix[k + 1]);
+        Distribution all = prefix[count];
+
+        // weights[m - all.offset] ~ C(U, M - m): ways to place the rest off the frontier
+        double[] logFactorial = logFactorials(unconstrained);
+        double[] weights = new double[all.values.length];
+        double maxLog = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < weights.length; k++) {
+            weights[k] = logChoose(logFactorial, unconstrained, remainingMines - (all.offset + k));
+            maxLog = Math.max(maxLog, weights[k]);
+        }
+        if (maxLog == Double.NEGATIVE_INFINITY) return null;
+        for (int k = 0; k < weights.length; k++) weights[k] = Math.exp(weights[k] - maxLog);
+
+        double total = 0;
+        double restMines = 0;
+        for (int k = 0; k < weights.length; k++) {
+            double w = all.values[k] * weights[k];
+            total += w;
+            restMines += w * (remainingMines - (all.offset + k));
+        }
+        if (total <= 0) return null;
+        float unconstrainedP = (unconstrained > 0) ? (float) (restMines / (total * unconstrained)) : Float.NaN;
+
+        float[] probabilities = frontier.fixedProbabilities(unconstrainedP);
+        for (int k = 0; k < count; k++) {
+            Distribution others = prefix[k].convolve(suffix[k + 1]);
+            ComponentResult result = results[k];
+            Distribution own = result.distribution;
+            // Weight of the component holding (own.offset + j) mines
+            double[] weightOf = new double[own.values.length];
+            double norm = 0;
+            for (int j = 0; j < own.values.length; j++) {
+                double w = 0;
+                int base = own.offset + j + others.offset - all.offset;
+                for (int m = 0; m < others.values.length; m++) {
+                    w += others.values[m] * weights[base + m];
+                }
+                weightOf[j] = w;
+                norm += own.values[j] * w;
+            }
+            int[] cells = frontier.components.get(k).cells;
+            for (int v = 0; v < cells.length; v++) {
+                double mine = 0;
+                double[] mineWays = result.mineWays[v];
+                for (int j = 0; j < mineWays.length; j++) mine += mineWays[j] * weightOf[j];
+                probabilities[cells[v]] = (float) (mine / norm);
+            }
+        }
+        return new MineProbabilities(frontier.rows, frontier.cols, probabilities, unconstrainedP, count);
+    }
+
+    private static double[] logFactorials(int n) {
+        double[] table = new double[n + 1];
+        for (int k = 2; k <= n; k++) table[k] = table[k - 1] + Math.log(k);
+        return table;
+    }
+
+    private static double logChoose(double[] logFactorial, int n, int k) {
+        if (k < 0 || k > n) return Double.NEGATIVE_INFINITY;
+        return logFactorial[n] - logFactorial[k] - logFactorial[n - k];
+    }
+
+    /**
+     * Layout counts per number of mines, from offset upwards, scaled so the largest is 1.
+     */
+    private static final class Distribution {
+        static final Distribution ONE = new Distribution(0, new double[]{1});
+
+        final int offset;
+        final double[] values;
+
+        Distribution(int offset, double[] values) {
+            this.offset = offset;
+            this.values = values;
+        }
+
+        Distribution convolve(Distribution other) {
+            double[] out = new double[values.length + other.values.length - 1];
+            for (int a = 0; a < values.length; a++) {
+                if (values[a] == 0) continue;
+                for (int b = 0; b < other.values.length; b++) {
+                    out[a + b] += values[a] * other.values[b];
+                }
+            }
+            return new Distribution(offset + other.offset, scale(out));
+        }
+
+        static double[] scale(double[] values) {
+            double max = 0;
+            for (double v : values) max = Math.max(max, v);
+            if (max > 0 && max != 1) {
+                for (int k = 0; k < values.length; k++) values[k] /= max;
+            }
+            return values;
+        }
+    }
+
+    /**
+     * A component's layout counts per mine count, and per cell the counts of layouts
+     * where it holds a mine, trimmed to the feasible mine counts. Immutable once built.
+     */
+    private static final class ComponentResult {
+        final Distribution distribution;
+        final double[][] mineWays;
+
+        private ComponentResult(Distribution distribution, double[][] mineWays) {
+            this.distribution = distribution;
+            this.mineWays = mineWays;
+        }
+
+        static ComponentResult of(double[] ways, double[][] mineWays) {
+            int low = 0;
+            int high = ways.length - 1;
+            while (low <= high && ways[low] == 0) low++;
+            while (high >= low && ways[high] == 0) high--;
+            if (low > high) {
+                // No layout fits: an impossible weight that empties every combination
+                return new ComponentResult(new Distribution(0, new double[]{0}), new double[mineWays.length][1]);
+            }
+            double max = 0;
+            for (int k = low; k <= high; k++) max = Math.max(max, ways[k]);
+            double[] trimmed = new double[high - low + 1];
+            double[][] trimmedMines = new double[mineWays.length][high - low + 1];
+            for (int k = low; k <= high; k++) {
+                trimmed[k - low] = ways[k] / max;
+                for (int v = 0; v < mineWays.length; v++) trimmedMines[v][k - low] = mineWays[v][k] / max;
+            }
+            return new ComponentResult(new Distribution(low, trimmed), trimmedMines);
+        }
+    }
+
+    // --- Frontier decomposition ---
+
+    /**
+     * Hidden cells next to a revealed number that are not deduced, grouped into
+     * components that share no constraint.
+     */
+    private static final class Frontier {
+        private static final byte UNKNOWN = 0;
+        private static final byte NUMBER = 1;
+        private static final byte MINE = 2;
+        private static final byte SAFE = 3;
+        private static final byte REVEALED_MINE = 4;
+
+        final int rows;
+        final int cols;
+        private final byte[] codes;
+        private final FrontierSolver deductions;
+        private final byte[] kind;
+        final List<Component> components = new ArrayList<>();
+        int knownMines;
+        int unconstrainedCells;
+        boolean tooLarge;
+
+        Frontier(int rows, int cols, byte[] codes, FrontierSolver deductions) {
+            this.rows = rows;
+            this.cols = cols;
+            this.codes = codes;
+            this.deductions = deductions;
+            this.kind = new byte[rows * cols];
+        }
+
+        void build() {
+            int n = rows * cols;
+            for (int i = 0; i < n; i++) {
+                int code = codes[i];
+                if (CellRenderCode.state(code) == CellRenderCode.REVEALED) {
+                    kind[i] = (CellRenderCode.value(code) == CellRenderCode.MINE) ? REVEALED_MINE : NUMBER;
+                } else if (deductions.isMine(i)) {
+                    kind[i] = MINE;
+                } else if (deductions.isSafe(i)) {
+                    kind[i] = SAFE;
+                }
+                if (kind[i] == MINE || kind[i] == REVEALED_MINE) knownMines++;
+            }
+
+            // Union the unknown neighbours of every number, remembering each number's need
+            int[] parent = new int[n];
+            Arrays.fill(parent, -1);
+            int[] need = new int[n];
+            // First unknown neighbour of each constraint (-1 for cells that are none)
+            int[] anchor = new int[n];
+            Arrays.fill(anchor, -1);
+            for (int i = 0; i < n; i++) {
+                if (kind[i] != NUMBER) continue;
+                int value = CellRenderCode.value(codes[i]);
+                int remaining = (value > 8) ? 0 : value;
+                int first = -1;
+                int r = i / cols, c = i % cols;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                        int j = nr * cols + nc;
+                        if (j == i) continue;
+                        if (kind[j] == MINE || kind[j] == REVEALED_MINE) {
+                            remaining--;
+                        } else if (kind[j] == UNKNOWN) {
+                            if (parent[j] < 0) parent[j] = j;
+                            if (first < 0) first = j;
+                            else union(parent, first, j);
+                        }
+                    }
+                }
+                if (first >= 0) {
+                    anchor[i] = first;
+                    need[i] = remaining;
+                }
+            }
+
+            // Number the components and their cells in index order
+            int[] componentOf = new int[n];
+            int[] local = new int[n];
+            List<List<Integer>> cellLists = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (kind[i] != UNKNOWN) continue;
+                if (parent[i] < 0) {
+                    unconstrainedCells++;
+                    continue;
+                }
+                int root = find(parent, i);
+                if (root == i) {
+                    componentOf[i] = cellLists.size();
+                    cellLists.add(new ArrayList<>());
+                } else {
+                    componentOf[i] = componentOf[root];
+                }
+                List<Integer> cells = cellLists.get(componentOf[i]);
+                local[i] = cells.size();
+                cells.add(i);
+            }
+            List<List<int[]>> constraintLists = new ArrayList<>();
+            List<List<Integer>> needLists = new ArrayList<>();
+            for (int k = 0; k < cellLists.size(); k++) {
+                if (cellLists.get(k).size() > MAX_COMPONENT_CELLS) tooLarge = true;
+                constraintLists.add(new ArrayList<>());
+                needLists.add(new ArrayList<>());
+            }
+            if (tooLarge) return;
+            int[] scratch = new int[8];
+            for (int i = 0; i < n; i++) {
+                if (anchor[i] < 0) continue;
+                int size = 0;
+                int r = i / cols, c = i % cols;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                        int j = nr * cols + nc;
+                        if (j != i && kind[j] == UNKNOWN) scratch[size++] = local[j];
+                    }
+                }
+                int k = componentOf[anchor[i]];
+                constraintLists.get(k).add(Arrays.copyOf(scratch, size));
+                needLists.get(k).add(need[i]);
+            }
+            for (int k = 0; k < cellLists.size(); k++) {
+                components.add(new Component(cellLists.get(k), constraintLists.get(k), needLists.get(k)));
+            }
+        }
+
+        /**
+         * Probabilities of everything but the frontier: NaN for revealed cells, 0 or 1 for
+         * deduced cells, and the given value for unconstrained ones.
+         */
+        float[] fixedProbabilities(float unconstrained) {
+            float[] p = new float[kind.length];
+            for (int i = 0; i < kind.length; i++) {
+                switch (kind[i]) {
+                    case NUMBER, REVEALED_MINE -> p[i] = Float.NaN;
+                    case MINE -> p[i] = 1f;
+                    case SAFE -> p[i] = 0f;
+                    default -> p[i] = unconstrained;
+                }
+            }
+            return p;
+        }
+
+        private static int find(int[] parent, int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        private static void union(int[] parent, int a, int b) {
+            int ra = find(parent, a);
+            int rb = find(parent, b);
+            // The smaller index stays the root, so components are numbered in index order
+            if (ra < rb) parent[rb] = ra;
+            else if (rb < ra) parent[ra] = rb;
+        }
+    }
+
+    /**
+     * One independent part of the frontier: its cells (board indexes, ascending) and its
+     * constraints as lists of local cell numbers with the mines they still need.
+     */
+    private static final class Component {
+        final int[] cells;
+        final int[][] constraintCells;
+        final int[] needs;
+        final ComponentKey key;
+
+        Component(List<Integer> cells, List<int[]> constraints, List<Integer> needs) {
+            this.cells = cells.stream().mapToInt(Integer::intValue).toArray();
+            this.constraintCells = constraints.toArray(new int[0][]);
+            this.needs = needs.stream().mapToInt(Integer::intValue).toArray();
+            this.key = new ComponentKey(this.constraintCells, this.needs, this.cells.length);
+        }
+
+        int size() {
+            return cells.length;
+        }
+
+        int[][] cellConstraints() {
+            int[] counts = new int[cells.length];
+            for (int[] constraint : constraintCells) {
+                for (int v : constraint) counts[v]++;
+            }
+            int[][] result = new int[cells.length][];
+            for (int v = 0; v < cells.length; v++) result[v] = new int[counts[v]];
+            Arrays.fill(counts, 0);
+            for (int c = 0; c < constraintCells.length; c++) {
+                for (int v : constraintCells[c]) result[v][counts[v]++] = c;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Shape of a component's constraint system (cell count, then need and local cells of
+     * each constraint). Components with the same shape have the same layout counts,
+     * wherever they are on the board.
+     */
+    private static final class ComponentKey {
+        private final int[] shape;
+        private final int hash;
+
+        ComponentKey(int[][] constraints, int[] needs, int cells) {
+            int length = 1;
+            for (int[] constraint : constraints) length += 2 + constraint.length;
+            shape = new int[length];
+            int at = 0;
+            shape[at++] = cells;
+            for (int c = 0; c < constraints.length; c++) {
+                shape[at++] = needs[c];
+                shape[at++] = constraints[c].length;
+                for (int v : constraints[c]) shape[at++] = v;
+            }
+            hash = Arrays.hashCode(shape);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComponentKey other && hash == other.hash && Arrays.equals(shape, other.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -66,11 +66,12 @@ public class QuestionActivator extends SpecialCellActivator {
                     return "\nSpecial effect: no unrevealed mines to show.";
                 }
             } else if (level == Game.QuestionLevel.HARD) {
-                int revealedCount = board.revealRandom3x3AreaReward();
+                int revealedCount = board.revealRandomAreaReward();
+                int side = game.getBoardConfig().getRewardAreaSize();
                 if (revealedCount > 0) {
-                    return "\nSpecial effect: revealed random 3x3 area (reward).";
+                    return "\nSpecial effect: revealed random " + side + "x" + side + " area (reward).";
                 } else {
-                    return "\nSpecial effect: no unrevealed cells for 3x3 area.";
+                    return "\nSpecial effect: no unrevealed cells for " + side + "x" + side + " area.";
                 }
             }
         }
@@ -51,14 +51,23 @@ public abstract class SpecialCellActivator {
         int beforeScore = game.getSharedScore();
         int beforeLives = game.getSharedLives();
 
-        // 5) Pay activation cost
-        payCost();
-
-        // 6) Do the special activation (subclass-specific)
-        ActivationResult result = doActivation();
-
-        // 7) Extra hook (optional, default empty)
-        String extra = extraEffects(result);
+        // 5-7) Cost, activation and extras run as one Game transaction:
+        //      the end state is validated once and a single change event is published
+        ActivationResult result;
+        String extra;
+        game.beginTransaction();
+        try {
+            // 5) Pay activation cost
+            payCost();
+
+            // 6) Do the special activation (subclass-specific)
+            result = doActivation();
+
+            // 7) Extra hook (optional, default empty)
+            extra = extraEffects(result);
+        } finally {
+            game.commitTransaction();
+        }
 
         // 8) Snapshot after
         int afterScore = game.getSharedScore();
@@ -84,7 +93,7 @@ public abstract class SpecialCellActivator {
 
     protected void payCost() {
         game.setSharedScore(game.getSharedScore() - cost);
-        // setSharedScore already checks status in your code
+        // status check is deferred to the activation transaction's commit
     }
 
     // ------------------------
@@ -3,8 +3,7 @@ package Model.specialcell;
 import Model.Board;
 import Model.Cell;
 import Model.Game;
-
-import java.util.Random;
+import Model.ScoreRules;
 
 public class SurpriseActivator extends SpecialCellActivator {
 
@@ -15,25 +14,18 @@ public class SurpriseActivator extends SpecialCellActivator {
     @Override
     protected ActivationResult doActivation() {
         game.incrementSurprisesOpened();
-        Random rand = new Random();
-        boolean good = rand.nextBoolean();
-        int value = game.getDifficulty().getSurpriseValue();
+        ScoreRules.Result r = ScoreRules.surprise(game.getDifficulty(), game.getRandom().surpriseStream());
 
-        if (good) {
-            // reward: +points +life (life capped inside addLife logic)
-            game.setSharedScore(game.getSharedScore() + value);
-            game.addLife(value);
-            return new ActivationResult(true, false,
-                    " Surprise result: GOOD\n" +
-                            "Reward: +" + value + " pts, +1 life.");
-        } else {
-            // penalty: -points -life
-            game.setSharedScore(game.getSharedScore() - value);
-            game.deductLife(1);
-            return new ActivationResult(true, false,
-                    " Surprise result: BAD\n" +
-                            "Penalty: -" + value + " pts, -1 life.");
+        // reward: +points +life (life capped inside addLife logic); penalty: -points -life
+        game.setSharedScore(game.getSharedScore() + r.deltaScore);
+        if (r.deltaLives > 0) {
+            for (int i = 0; i < r.deltaLives; i++) {
+                game.addLife(game.getDifficulty().getSurpriseValue());
+            }
+        } else if (r.deltaLives < 0) {
+            game.deductLife(-r.deltaLives);
         }
+        return new ActivationResult(true, false, " " + r.details);
     }
 
     @Override
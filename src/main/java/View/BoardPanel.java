@@ -28,8 +28,47 @@ public class BoardPanel extends JPanel {
     public enum EffectType {REVEAL_3X3, REVEAL_1_MINE}
 
     public EffectType pendingEffect = null;
+    // Revealed state as currently drawn, per button
     private boolean[][] prevRevealed;
+    // Cells reported changed since the last refresh (deduplicated), or a full redraw
+    private int[] pendingCells = new int[64];
+    private int pendingCount;
+    private boolean[][] pendingMark;
+    private boolean fullRefreshPending = true;
+    // Enabled state applied to the buttons by the last refresh
+    private boolean lastEnabled;
     private final java.util.Map<Point, Long> animStart = new java.util.HashMap<>();
+    // Reused buffer for full-board render snapshots
+    private byte[] renderCodes = new byte[0];
+    // Optional mine-probability heatmap over hidden cells (recomputed in the background on
+    // refresh while on; the last one stays on screen until the next arrives)
+    private boolean probabilityOverlay;
+    private float[] probabilities;
+    // Number of the latest heatmap request; older results are dropped
+    private int probabilityRequest;
+
+    // Shared per-panel styles, so redrawing a cell allocates nothing
+    private static final Color DEFAULT_FOREGROUND = new Color(40, 40, 40);
+    private static final String[] NUMBER_TEXT = {"", "1", "2", "3", "4", "5", "6", "7", "8"};
+    private static final Color[] NUMBER_COLORS = {
+            Color.BLACK,
+            new Color(0, 0, 255),
+            new Color(0, 128, 0),
+            new Color(255, 0, 0),
+            new Color(128, 0, 128),
+            new Color(128, 0, 0),
+            new Color(0, 128, 128),
+            new Color(0, 0, 0),
+            new Color(128, 128, 128)
+    };
+    private final Color hiddenBackground;
+    private final Color revealedBackground;
+    private final javax.swing.border.Border hiddenBorder;
+    private final javax.swing.border.Border revealedBorder;
+    private Icon flagIcon, mineIcon, questionIcon, surpriseIcon;
+    private int iconSize = -1;
+    private Color usedBackground;
+    private javax.swing.border.Border usedBorder;
     private javax.swing.Timer animTimer;
 
     public BoardPanel(GameController controller, int boardNumber, boolean initiallyWaiting, MoveCallback moveCallback) {
@@ -37,6 +76,17 @@ public class BoardPanel extends JPanel {
         this.boardNumber = boardNumber;
         this.waiting = initiallyWaiting;
         this.moveCallback = moveCallback;
+        if (boardNumber == 1) {
+            hiddenBackground = new Color(255, 165, 165);
+            revealedBackground = new Color(255, 215, 215);
+            hiddenBorder = BorderFactory.createLineBorder(new Color(184, 82, 82, 140), 1);
+            revealedBorder = BorderFactory.createLineBorder(new Color(200, 150, 150, 120), 1);
+        } else {
+            hiddenBackground = new Color(210, 230, 255);
+            revealedBackground = new Color(235, 235, 235);
+            hiddenBorder = BorderFactory.createLineBorder(new Color(40, 90, 160, 180), 1);
+            revealedBorder = BorderFactory.createLineBorder(new Color(120, 120, 120, 120), 1);
+        }
         initComponents();
     }
 
@@ -109,15 +159,40 @@ public class BoardPanel extends JPanel {
                 prevRevealed[r][c] = controller.isCellRevealed(boardNumber, r, c);
             }
         }
+        pendingMark = new boolean[rows][cols];
+        controller.setCellChangeListener(boardNumber, this::onCellsChanged);
         refresh();
     }
 
+    /**
+     * Collects the cells changed by a model action; the next refresh redraws only those.
+     */
+    private void onCellsChanged(int[] changes, int count, boolean fullRefresh) {
+        if (fullRefreshPending) return;
+        int cols = buttons[0].length;
+        if (fullRefresh || pendingCount + count > (buttons.length * cols) / 4) {
+            fullRefreshPending = true;
+            return;
+        }
+        for (int k = 0; k < count; k++) {
+            int index = changes[k * GameController.CHANGE_STRIDE];
+            int r = index / cols;
+            int c = index % cols;
+            if (pendingMark[r][c]) continue;
+            pendingMark[r][c] = true;
+            if (pendingCount == pendingCells.length) {
+                pendingCells = java.util.Arrays.copyOf(pendingCells, pendingCount * 2);
+            }
+            pendingCells[pendingCount++] = index;
+        }
+    }
+
     public void queueEffect(EffectType type) {
         this.pendingEffect = type;
     }
 
     private void handleClick(int r, int c, boolean isFlagging) {
-        if (!controller.isGameRunning()) return;
+        if (!controller.isGameRunning() || controller.isReplayMode()) return;
         if (controller.getCurrentPlayerTurn() != boardNumber) return;
         if (waiting) return;
         boolean special = controller.isQuestionOrSurprise(boardNumber, r, c);
@@ -191,122 +266,187 @@ public class BoardPanel extends JPanel {
         }
     }
 
+    /**
+     * Shows or hides the mine-probability heatmap over the hidden cells.
+     */
+    public void setProbabilityOverlay(boolean enabled) {
+        probabilityOverlay = enabled;
+        probabilities = null;
+        if (enabled) {
+            requestProbabilities();
+        } else {
+            probabilityRequest++;
+        }
+        repaint();
+    }
+
+    /**
+     * Starts computing the heatmap for the current cells; the panel repaints when it arrives.
+     */
+    private void requestProbabilities() {
+        int request = ++probabilityRequest;
+        controller.requestMineProbabilities(boardNumber).thenAccept(result ->
+                SwingUtilities.invokeLater(() -> {
+                    if (request != probabilityRequest || !probabilityOverlay) return;
+                    probabilities = result;
+                    repaint();
+                }));
+    }
+
+    public boolean isProbabilityOverlay() {
+        return probabilityOverlay;
+    }
+
     public void setWaiting(boolean waiting) {
         this.waiting = waiting;
         repaint();
     }
 
+    /**
+     * Redraws the cells changed since the last refresh (all cells after a full-refresh event),
+     * so the cost follows the size of the change, not the size of the board.
+     */
     public void refresh() {
         int rows = controller.getBoardRows(boardNumber);
         int cols = controller.getBoardCols(boardNumber);
         boolean gameIsRunning = controller.isGameRunning();
+        boolean enabled = gameIsRunning && !waiting;
+
+        java.util.Set<Point> newlyRevealed = (pendingEffect != null) ? new java.util.HashSet<>() : null;
         boolean playMineSfx = false;
 
-        java.util.Set<Point> newlyRevealed = null;
-
-        if (pendingEffect != null && prevRevealed != null) {
-            newlyRevealed = new java.util.HashSet<>();
-            for (int rr = 0; rr < rows; rr++) {
-                for (int cc = 0; cc < cols; cc++) {
-                    boolean nowRev = controller.isCellRevealed(boardNumber, rr, cc);
-                    if (nowRev && !prevRevealed[rr][cc]) {
-                        if (pendingEffect == EffectType.REVEAL_1_MINE) {
-                            GameController.CellViewData d = controller.getCellViewData(boardNumber, rr, cc);
-                            if ("M".equals(d.text)) newlyRevealed.add(new Point(rr, cc));
-                        } else {
-                            newlyRevealed.add(new Point(rr, cc));
-                        }
-                    }
+        if (fullRefreshPending || rows != buttons.length || cols != buttons[0].length) {
+            if (renderCodes.length < rows * cols) renderCodes = new byte[rows * cols];
+            controller.fillRenderState(boardNumber, renderCodes);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    playMineSfx |= updateCell(r, c, renderCodes[r * cols + c], enabled, newlyRevealed);
                 }
             }
-        }
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                JButton btn = buttons[r][c];
-                GameController.CellViewData data = controller.getCellViewData(boardNumber, r, c);
-                boolean revealed = controller.isCellRevealed(boardNumber, r, c);
-                boolean wasRevealedBefore = prevRevealed != null && prevRevealed[r][c];
-                if (revealed && !wasRevealedBefore && "M".equals(data.text)) {
-                    playMineSfx = true;
-                }
-
-
-                if (boardNumber == 1) {
-                    btn.setBackground(revealed ? new Color(255, 215, 215) : new Color(255, 165, 165));
-                    btn.setBorder(BorderFactory.createLineBorder(revealed ? new Color(200, 150, 150, 120) : new Color(184, 82, 82, 140), 1));
-                } else {
-                    btn.setBackground(revealed ? new Color(235, 235, 235) : new Color(210, 230, 255));
-                    btn.setBorder(BorderFactory.createLineBorder(revealed ? new Color(120, 120, 120, 120) : new Color(40, 90, 160, 180), 1));
-                }
-
-                btn.setForeground(new Color(40, 40, 40));
-                btn.setText("");
-                btn.setIcon(null);
-                btn.setDisabledIcon(null);
-
-                String t = data.text;
-                if ("🚩".equals(t) || "flag".equals(t)) {
-                    btn.setIcon(IconCache.icon("/ui/cells/flag.png", (int) (cellSize * 0.80)));
-                    btn.setDisabledIcon(btn.getIcon());
-                } else if ("M".equals(t)) {
-                    btn.setIcon(IconCache.icon("/ui/cells/mine.png", (int) (cellSize * 0.85)));
-                    btn.setDisabledIcon(btn.getIcon());
-                } else if ("Q".equals(t)) {
-                    Icon icon = IconCache.icon("/ui/cells/question.png", (int) (cellSize * 0.82));
-                    btn.setIcon(icon);
-                    btn.setDisabledIcon(icon);
-                } else if ("S".equals(t)) {
-                    Icon icon = IconCache.icon("/ui/cells/surprise_btn.png", (int) (cellSize * 0.82));
-                    btn.setIcon(icon);
-                    btn.setDisabledIcon(icon);
-                } else {
-                    btn.setText(t);
-                    if (!t.isEmpty() && Character.isDigit(t.charAt(0))) {
-                        int val = Integer.parseInt(t);
-                        btn.setForeground(getNumberColor(val));
-                        btn.setFont(this.cachedCellFont);
-                    }
+        } else {
+            for (int k = 0; k < pendingCount; k++) {
+                int r = pendingCells[k] / cols;
+                int c = pendingCells[k] % cols;
+                playMineSfx |= updateCell(r, c, controller.getRenderCode(boardNumber, r, c), enabled, newlyRevealed);
+            }
+            // Pulsing cells get their border re-applied on every refresh
+            for (Point p : animStart.keySet()) {
+                if (!pendingMark[p.x][p.y]) {
+                    updateCell(p.x, p.y, controller.getRenderCode(boardNumber, p.x, p.y), enabled, null);
                 }
-
-                btn.setEnabled(gameIsRunning && !waiting);
-
-                boolean usedSpecial = (revealed && ("Q".equals(t) || "S".equals(t)) && !data.enabled);
-                if (usedSpecial) markUsedSpecial(btn, "Q".equals(t));
-                else clearUsedSpecial(btn);
-
-                Point key = new Point(r, c);
-                if (animStart.containsKey(key)) {
-                    long start = animStart.get(key);
-                    float tt = animPhase(start);
-                    float pulse = (tt < 0.5f) ? (tt / 0.5f) : ((1f - tt) / 0.5f);
-                    Color neon = (boardNumber == 1) ? new Color(255, 60, 60) : new Color(80, 180, 255);
-                    btn.setBorder(BorderFactory.createLineBorder(new Color(neon.getRed(), neon.getGreen(), neon.getBlue(), 130 + Math.round(120 * pulse)), 2 + Math.round(4 * pulse)));
+            }
+            if (enabled != lastEnabled) {
+                for (JButton[] row : buttons) {
+                    for (JButton btn : row) btn.setEnabled(enabled);
                 }
             }
         }
+        for (int k = 0; k < pendingCount; k++) {
+            pendingMark[pendingCells[k] / cols][pendingCells[k] % cols] = false;
+        }
+        pendingCount = 0;
+        fullRefreshPending = false;
+        lastEnabled = enabled;
+
         // Only play mine sound if player clicked a mine (NOT for reward reveals)
         // When pendingEffect is set (REVEAL_1_MINE or REVEAL_3X3), it's a reward - skip sound
-        if (playMineSfx && pendingEffect == null) {
+        if (playMineSfx && pendingEffect == null && !controller.isReplayMode()) {
             SoundManager.wrongAnswer();
         }
 
-        for (int rr = 0; rr < rows; rr++) {
-            for (int cc = 0; cc < cols; cc++) {
-                prevRevealed[rr][cc] = controller.isCellRevealed(boardNumber, rr, cc);
-            }
-        }
         if (pendingEffect != null && newlyRevealed != null && !newlyRevealed.isEmpty())
             startPulseAnimation(newlyRevealed);
         pendingEffect = null;
+        if (probabilityOverlay) requestProbabilities();
         revalidate();
         repaint();
     }
 
+    /**
+     * Redraws one cell button from its render code (see {@link GameController#getRenderCode}).
+     *
+     * @param newlyRevealed collects cells revealed since they were last drawn (for reward effects), or null
+     * @return true if a mine became visible on this cell
+     */
+    private boolean updateCell(int r, int c, int code, boolean enabled, java.util.Set<Point> newlyRevealed) {
+        JButton btn = buttons[r][c];
+        int state = code & GameController.RENDER_STATE_MASK;
+        int value = code & GameController.RENDER_VALUE_MASK;
+        boolean revealed = state == GameController.RENDER_REVEALED;
+        boolean wasRevealedBefore = prevRevealed[r][c];
+        prevRevealed[r][c] = revealed;
+        boolean isMine = revealed && value == GameController.RENDER_MINE;
+        boolean mineShown = isMine && !wasRevealedBefore;
+
+        if (newlyRevealed != null && revealed && !wasRevealedBefore) {
+            if (pendingEffect != EffectType.REVEAL_1_MINE || isMine) {
+                newlyRevealed.add(new Point(r, c));
+            }
+        }
+
+        btn.setBackground(revealed ? revealedBackground : hiddenBackground);
+        btn.setBorder(revealed ? revealedBorder : hiddenBorder);
+        btn.setForeground(DEFAULT_FOREGROUND);
+        btn.setText("");
+
+        if (iconSize != cellSize) loadIcons();
+        Icon icon = null;
+        boolean special = false;
+        if (state == GameController.RENDER_FLAGGED) {
+            icon = flagIcon;
+        } else if (revealed) {
+            if (value == GameController.RENDER_MINE) {
+                icon = mineIcon;
+            } else if (value == GameController.RENDER_QUESTION) {
+                icon = questionIcon;
+                special = true;
+            } else if (value == GameController.RENDER_SURPRISE) {
+                icon = surpriseIcon;
+                special = true;
+            } else if (value > 0) {
+                btn.setText(NUMBER_TEXT[value]);
+                btn.setForeground(NUMBER_COLORS[value]);
+                btn.setFont(this.cachedCellFont);
+            }
+        }
+        btn.setIcon(icon);
+        btn.setDisabledIcon(icon);
+
+        btn.setEnabled(enabled);
+
+        boolean usedSpecial = special && (code & GameController.RENDER_USED) != 0;
+        if (usedSpecial) markUsedSpecial(btn, value == GameController.RENDER_QUESTION);
+        else clearUsedSpecial(btn);
+
+        if (!animStart.isEmpty()) {
+            Long start = animStart.get(new Point(r, c));
+            if (start != null) {
+                float tt = animPhase(start);
+                float pulse = (tt < 0.5f) ? (tt / 0.5f) : ((1f - tt) / 0.5f);
+                Color neon = (boardNumber == 1) ? new Color(255, 60, 60) : new Color(80, 180, 255);
+                btn.setBorder(BorderFactory.createLineBorder(new Color(neon.getRed(), neon.getGreen(), neon.getBlue(), 130 + Math.round(120 * pulse)), 2 + Math.round(4 * pulse)));
+            }
+        }
+        return mineShown;
+    }
+
+    /**
+     * Scales the cell icons for the current cell size (once per size, not per cell).
+     */
+    private void loadIcons() {
+        flagIcon = IconCache.icon("/ui/cells/flag.png", (int) (cellSize * 0.80));
+        mineIcon = IconCache.icon("/ui/cells/mine.png", (int) (cellSize * 0.85));
+        questionIcon = IconCache.icon("/ui/cells/question.png", (int) (cellSize * 0.82));
+        surpriseIcon = IconCache.icon("/ui/cells/surprise_btn.png", (int) (cellSize * 0.82));
+        iconSize = cellSize;
+    }
+
     @Override
     protected void paintChildren(Graphics g) {
         super.paintChildren(g);
 
+        if (probabilityOverlay && probabilities != null) paintProbabilities(g);
+
         // Don't draw waiting overlay while reward animation is playing - let user see the revealed cells
         boolean animationInProgress = !animStart.isEmpty();
 
@@ -341,6 +481,38 @@ public class BoardPanel extends JPanel {
         }
     }
 
+    /**
+     * Tints each hidden cell from green (safe) to red (mine) by its mine probability,
+     * with the percentage when the cells are large enough to read it.
+     */
+    private void paintProbabilities(Graphics g) {
+        int cols = buttons[0].length;
+        if (probabilities.length != buttons.length * cols) return;
+        Graphics2D g2 = (Graphics2D) g.create();
+        boolean labels = cellSize >= 30;
+        if (labels) g2.setFont(new Font("Dialog", Font.BOLD, Math.max(9, cellSize / 4)));
+        FontMetrics fm = g2.getFontMetrics();
+        Rectangle clip = g2.getClipBounds();
+        for (int r = 0; r < buttons.length; r++) {
+            for (int c = 0; c < cols; c++) {
+                float p = probabilities[r * cols + c];
+                if (Float.isNaN(p)) continue;
+                Rectangle cell = buttons[r][c].getBounds();
+                if (clip != null && !clip.intersects(cell)) continue;
+                int red = Math.round(255 * Math.min(1f, 2 * p));
+                int green = Math.round(255 * Math.min(1f, 2 * (1 - p)));
+                g2.setColor(new Color(red, green, 0, 110));
+                g2.fillRect(cell.x, cell.y, cell.width, cell.height);
+                if (labels) {
+                    String text = Math.round(p * 100) + "%";
+                    g2.setColor(new Color(20, 20, 20, 220));
+                    g2.drawString(text, cell.x + (cell.width - fm.stringWidth(text)) / 2, cell.y + cell.height - fm.getDescent() - 2);
+                }
+            }
+        }
+        g2.dispose();
+    }
+
     private void startPulseAnimation(java.util.Set<Point> cells) {
         long now = System.currentTimeMillis();
         for (Point p : cells) animStart.put(p, now);
@@ -365,20 +537,6 @@ public class BoardPanel extends JPanel {
         return Math.max(0f, Math.min(1f, dt));
     }
 
-    private Color getNumberColor(int value) {
-        return switch (value) {
-            case 1 -> new Color(0, 0, 255);
-            case 2 -> new Color(0, 128, 0);
-            case 3 -> new Color(255, 0, 0);
-            case 4 -> new Color(128, 0, 128);
-            case 5 -> new Color(128, 0, 0);
-            case 6 -> new Color(0, 128, 128);
-            case 7 -> new Color(0, 0, 0);
-            case 8 -> new Color(128, 128, 128);
-            default -> Color.BLACK;
-        };
-    }
-
     private void styleCellButton(JButton btn) {
         btn.setFocusable(false);
         btn.setFocusPainted(false);
@@ -400,9 +558,13 @@ public class BoardPanel extends JPanel {
 
     private void markUsedSpecial(JButton btn, boolean isQuestion) {
         btn.setCursor(Cursor.getDefaultCursor());
-        Color base = btn.getBackground();
-        btn.setBackground(new Color(Math.max(0, base.getRed() - 25), Math.max(0, base.getGreen() - 25), Math.max(0, base.getBlue() - 25)));
-        btn.setBorder(BorderFactory.createDashedBorder(new Color(180, 180, 180, 170), 3f, 5f));
+        if (usedBackground == null) {
+            Color base = revealedBackground;
+            usedBackground = new Color(Math.max(0, base.getRed() - 25), Math.max(0, base.getGreen() - 25), Math.max(0, base.getBlue() - 25));
+            usedBorder = BorderFactory.createDashedBorder(new Color(180, 180, 180, 170), 3f, 5f);
+        }
+        btn.setBackground(usedBackground);
+        btn.setBorder(usedBorder);
         btn.putClientProperty("USED_SPECIAL", Boolean.TRUE);
     }
 
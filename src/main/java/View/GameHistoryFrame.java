@@ -7,6 +7,7 @@ import util.LanguageManager;
 import util.SoundToggleOverlay;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
@@ -14,6 +15,7 @@ import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.io.File;
 import java.net.URL;
 import java.util.List;
 import util.SoundManager;
@@ -32,6 +34,7 @@ public class GameHistoryFrame extends JFrame {
     private JLabel lblSearch, lblDiff, lblResult;
     private JLabel lblSortHint;
     private JButton searchBtn;
+    private JButton replaysBtn;
 
     private JPanel topBar;
     private JPanel filtersPanel;
@@ -154,8 +157,14 @@ public class GameHistoryFrame extends JFrame {
         leftBottom.setOpaque(false);
         leftBottom.add(exitBtn);
 
+        replaysBtn = createButton(LanguageManager.get("replays", controller.getCurrentLanguage()));
+        replaysBtn.setPreferredSize(new Dimension(100, 34));
+        replaysBtn.addActionListener(e -> openReplay());
+        attachClickSound(replaysBtn);
+
         JPanel rightBottom = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         rightBottom.setOpaque(false);
+        rightBottom.add(replaysBtn);
         rightBottom.add(btnLanguage);
 
         bottomBar.add(leftBottom, BorderLayout.WEST);
@@ -203,6 +212,23 @@ public class GameHistoryFrame extends JFrame {
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Lets the user pick a recorded game and opens it in the replay viewer.
+     */
+    private void openReplay() {
+        JFileChooser chooser = new JFileChooser(controller.getReplayDirectory());
+        chooser.setFileFilter(new FileNameExtensionFilter("Replays (*.scr)", "scr"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        LanguageManager.Language lang = controller.getCurrentLanguage();
+        if (!controller.openReplay(file)) {
+            ConfirmDialog.showInfo(this, LanguageManager.get("replays", lang),
+                    LanguageManager.get("replay_open_failed", lang), ACCENT_COLOR, LanguageManager.isRTL(lang));
+            return;
+        }
+        new ReplayViewerFrame(controller, file.getName()).setVisible(true);
+    }
+
     private void showLanguagePopup() {
         JPopupMenu popup = new JPopupMenu();
         popup.setBackground(new Color(30, 30, 40));
@@ -340,6 +366,7 @@ public class GameHistoryFrame extends JFrame {
         lblDiff.setText(getDiffLabel());
         lblResult.setText(getResultLabel());
         searchBtn.setText(getSearchBtnText());
+        replaysBtn.setText(LanguageManager.get("replays", lang));
 
         lblSortHint.setText(LanguageManager.get("sort_hint", lang));
 
@@ -109,6 +109,17 @@ public class GamePanel extends JPanel {
                 showExitConfirmation();
             }
         });
+
+        // P toggles the mine-probability heatmap on both boards
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_P, 0), "toggleProbabilities");
+        actionMap.put("toggleProbabilities", new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                boolean enabled = !boardPanel1.isProbabilityOverlay();
+                boardPanel1.setProbabilityOverlay(enabled);
+                boardPanel2.setProbabilityOverlay(enabled);
+            }
+        });
     }
 
     private void showExitConfirmation() {
@@ -4,6 +4,7 @@
 package View;
 
 import Controller.GameController;
+import util.AppPaths;
 import util.LanguageManager;
 import util.SoundManager;
 import util.SoundToggleOverlay;
@@ -554,6 +555,8 @@ public class MainFrame extends JFrame
     }
 
     public static void main(String[] args) {
+        // Every game played in the app is recorded for replays
+        GameController.getInstance().setReplayDirectory(AppPaths.replaysDir());
         SwingUtilities.invokeLater(MainFrame::new);
 
 
@@ -0,0 +1,182 @@
+package View;
+
+import Controller.GameController;
+import util.LanguageManager;
+import util.SoundManager;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Plays back a recorded game on two read-only boards, with a scrubbable timeline.
+ * <p>
+ * Slider moves and playback only set a target move; a 60 fps timer seeks the controller
+ * to the latest target and redraws the cells that changed, so dragging across tens of
+ * thousands of moves never queues up work.
+ */
+public class ReplayViewerFrame extends JFrame {
+
+    // Frame period of the seek/redraw timer (about 60 fps)
+    private static final int FRAME_MILLIS = 16;
+    private static final int[] SPEEDS = {1, 2, 4, 8, 16, 64};
+
+    private static final Color BACKGROUND = new Color(20, 20, 20);
+    private static final Color ACCENT_COLOR = new Color(0, 255, 255);
+
+    private final GameController controller;
+    private final BoardPanel boardPanel1;
+    private final BoardPanel boardPanel2;
+    private final JSlider timeline;
+    private final JButton playButton;
+    private final JComboBox<String> speedBox;
+    private final JLabel statusLabel;
+    private final Timer frameTimer;
+
+    private final int length;
+    // Move the boards should show on the next frame
+    private int targetMove;
+    // True while the slider is moved by playback (not by the user)
+    private boolean adjustingSlider;
+    private boolean playing;
+    // Playback clock in recording milliseconds
+    private double playMillis;
+    private long lastFrameNanos;
+
+    /**
+     * Expects the controller to have a replay open ({@link GameController#openReplay}).
+     * Closing the frame closes the replay.
+     */
+    public ReplayViewerFrame(GameController controller, String title) {
+        super(LanguageManager.get("replay_title", controller.getCurrentLanguage()) + " - " + title);
+        this.controller = controller;
+        this.length = controller.getReplayLength();
+        this.targetMove = controller.getReplayPosition();
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        boardPanel1 = new BoardPanel(controller, 1, false, null);
+        boardPanel2 = new BoardPanel(controller, 2, false, null);
+        JPanel boards = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        boards.setBackground(BACKGROUND);
+        boards.add(boardPanel1);
+        boards.add(boardPanel2);
+        JScrollPane scroll = new JScrollPane(boards);
+        scroll.setBorder(BorderFactory.createEmptyBorder());
+        scroll.getViewport().setBackground(BACKGROUND);
+
+        LanguageManager.Language lang = controller.getCurrentLanguage();
+        playButton = createButton(LanguageManager.get("replay_play", lang));
+        playButton.setPreferredSize(new Dimension(90, 30));
+        playButton.addActionListener(e -> {
+            SoundManager.click();
+            setPlaying(!playing);
+        });
+
+        speedBox = new JComboBox<>();
+        for (int speed : SPEEDS) speedBox.addItem(speed + "x");
+        speedBox.setSelectedIndex(2);
+
+        timeline = new JSlider(0, Math.max(length, 1), targetMove);
+        timeline.setEnabled(length > 0);
+        timeline.setOpaque(false);
+        timeline.addChangeListener(e -> {
+            if (adjustingSlider) return;
+            targetMove = timeline.getValue();
+            playMillis = controller.getReplayTimeMillis(targetMove);
+        });
+
+        statusLabel = new JLabel();
+        statusLabel.setForeground(Color.WHITE);
+        statusLabel.setFont(new Font("Dialog", Font.BOLD, 13));
+
+        JPanel controls = new JPanel(new BorderLayout(10, 0));
+        controls.setBackground(BACKGROUND);
+        controls.setBorder(BorderFactory.createEmptyBorder(8, 12, 10, 12));
+        JPanel left = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+        left.setOpaque(false);
+        left.add(playButton);
+        left.add(speedBox);
+        controls.add(left, BorderLayout.WEST);
+        controls.add(timeline, BorderLayout.CENTER);
+        controls.add(statusLabel, BorderLayout.EAST);
+
+        JPanel root = new JPanel(new BorderLayout());
+        root.setBackground(BACKGROUND);
+        root.add(scroll, BorderLayout.CENTER);
+        root.add(controls, BorderLayout.SOUTH);
+        setContentPane(root);
+
+        frameTimer = new Timer(FRAME_MILLIS, e -> onFrame());
+        frameTimer.setCoalesce(true);
+        frameTimer.start();
+
+        updateStatus();
+        pack();
+        Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        setSize(Math.min(getWidth(), screen.width), Math.min(getHeight(), screen.height));
+        setLocationRelativeTo(null);
+    }
+
+    private void setPlaying(boolean play) {
+        if (play && targetMove >= length) {
+            targetMove = 0;
+            playMillis = 0;
+        }
+        playing = play && length > 0;
+        lastFrameNanos = System.nanoTime();
+        LanguageManager.Language lang = controller.getCurrentLanguage();
+        playButton.setText(LanguageManager.get(playing ? "replay_pause" : "replay_play", lang));
+    }
+
+    /**
+     * Advances playback, then seeks to the latest target and redraws the changed cells.
+     */
+    private void onFrame() {
+        if (playing) {
+            long now = System.nanoTime();
+            playMillis += (now - lastFrameNanos) / 1_000_000.0 * SPEEDS[speedBox.getSelectedIndex()];
+            lastFrameNanos = now;
+            targetMove = Math.max(targetMove, controller.getReplayMoveAt((long) playMillis));
+            if (targetMove >= length) setPlaying(false);
+            adjustingSlider = true;
+            timeline.setValue(targetMove);
+            adjustingSlider = false;
+        }
+        if (targetMove != controller.getReplayPosition()) {
+            controller.seekReplay(targetMove);
+            boardPanel1.refresh();
+            boardPanel2.refresh();
+            updateStatus();
+        }
+    }
+
+    private void updateStatus() {
+        LanguageManager.Language lang = controller.getCurrentLanguage();
+        int move = controller.getReplayPosition();
+        long seconds = controller.getReplayTimeMillis(move) / 1000;
+        statusLabel.setText(String.format("%s %d/%d   %02d:%02d   %s: %d   %s: %d/%d",
+                LanguageManager.get("replay_move", lang), move, length,
+                seconds / 60, seconds % 60,
+                LanguageManager.get("score", lang), controller.getSharedScore(),
+                LanguageManager.get("lives", lang), controller.getSharedLives(), controller.getMaxLives()));
+    }
+
+    private JButton createButton(String text) {
+        JButton b = new JButton(text);
+        b.setForeground(ACCENT_COLOR);
+        b.setBackground(new Color(40, 40, 40));
+        b.setBorder(BorderFactory.createLineBorder(ACCENT_COLOR));
+        b.setFocusPainted(false);
+        b.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        b.setFont(new Font("Dialog", Font.BOLD, 12));
+        return b;
+    }
+
+    @Override
+    public void dispose() {
+        frameTimer.stop();
+        controller.setCellChangeListener(1, null);
+        controller.setCellChangeListener(2, null);
+        controller.closeReplay();
+        super.dispose();
+    }
+}
@@ -10,6 +10,15 @@ public class AppPaths {
         return dir;
     }
 
+    /**
+     * Directory where recorded games (replay files) are kept.
+     */
+    public static File replaysDir() {
+        File dir = new File(dataDir(), "replays");
+        if (!dir.exists()) dir.mkdirs();
+        return dir;
+    }
+
     public static File questionsEnFile() {
         return new File(dataDir(), "questions.csv");
     }
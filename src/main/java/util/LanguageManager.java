@@ -220,6 +220,12 @@ public class LanguageManager {
         add("how_to_play_win", "Win = all safe cells cleared.", "ניצחון = כל התאים הבטוחים נחשפו.", "الفوز = تم كشف جميع الخلايا الآمنة.", "Победа = все безопасные клетки открыты.", "Ganar = todas las celdas seguras reveladas.");
         add("how_to_play_lose", "Lose = shared lives reach 0.", "הפסד = החיים המשותפים הגיעו ל-0.", "الخسارة = الأرواح المشتركة تصل إلى 0.", "Поражение = общие жизни достигли 0.", "Perder = las vidas compartidas llegan a 0.");
         add("how_to_play_bonus", "Remaining lives turn into extra score at the end.", "חיים שנותרו הופכים לניקוד נוסף בסוף.", "الأرواح المتبقية تتحول إلى نقاط إضافية في النهاية.", "Оставшиеся жизни превращаются в очки в конце.", "Las vidas restantes se convierten en puntos extra al final.");
+        add("replays", "Replays", "הקלטות", "الإعادات", "Повторы", "Repeticiones");
+        add("replay_title", "Replay", "הקלטה", "إعادة", "Повтор", "Repetición");
+        add("replay_play", "Play", "נגן", "تشغيل", "Играть", "Reproducir");
+        add("replay_pause", "Pause", "השהה", "إيقاف مؤقت", "Пауза", "Pausa");
+        add("replay_move", "Move", "מהלך", "حركة", "Ход", "Jugada");
+        add("replay_open_failed", "This replay could not be opened.", "לא ניתן לפתוח את ההקלטה.", "تعذر فتح هذه الإعادة.", "Не удалось открыть повтор.", "No se pudo abrir esta repetición.");
     }
 
     private static void add(String key, String en, String he, String ar, String ru, String es) {
@@ -0,0 +1,35 @@
+import Model.Board;
+import Model.Cell;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions on whole boards shared by the tests.
+ */
+final class BoardAssertions {
+
+    private BoardAssertions() {
+    }
+
+    /**
+     * Asserts that two boards have the same size and, cell by cell, the same content,
+     * state and adjacent mine count.
+     */
+    static void assertSameLayout(Board x, Board y) {
+        assertEquals(x.getRows(), y.getRows(), "rows");
+        assertEquals(x.getCols(), y.getCols(), "cols");
+        for (int r = 0; r < x.getRows(); r++) {
+            for (int c = 0; c < x.getCols(); c++) {
+                Cell a = x.getCell(r, c);
+                Cell b = y.getCell(r, c);
+                // Checked without building messages, so large boards stay fast
+                if (a.getContent() != b.getContent()
+                        || a.getState() != b.getState()
+                        || a.getAdjacentMines() != b.getAdjacentMines()) {
+                    fail("Boards differ at (" + r + "," + c + "): " + a.getContent() + "/" + a.getState() + "/"
+                            + a.getAdjacentMines() + " vs " + b.getContent() + "/" + b.getState() + "/" + b.getAdjacentMines());
+                }
+            }
+        }
+    }
+}
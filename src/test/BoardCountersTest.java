@@ -0,0 +1,121 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that Board's incremental mine/flag counters always match a full scan.
+ * Runs with the board consistency-checker mode enabled.
+ */
+public class BoardCountersTest {
+
+    @BeforeEach
+    void enableChecks() {
+        Board.setConsistencyChecks(true);
+    }
+
+    @AfterEach
+    void disableChecks() {
+        Board.setConsistencyChecks(false);
+    }
+
+    @Test
+    @DisplayName("Counters stay in sync through random reveals, flags and rewards")
+    void countersMatchScanDuringPlay() {
+        Random rnd = new Random(42);
+        for (int game = 0; game < 50; game++) {
+            Game g = new Game(Difficulty.HARD);
+            Board board = g.getBoard1();
+            board.verifyCounters();
+
+            for (int move = 0; move < 200 && g.getGameState() == GameState.RUNNING; move++) {
+                int r = rnd.nextInt(board.getRows());
+                int c = rnd.nextInt(board.getCols());
+                switch (rnd.nextInt(4)) {
+                    case 0 -> board.toggleFlag(r, c);
+                    case 1 -> board.revealRandomMine();
+                    case 2 -> board.revealRandom3x3AreaReward();
+                    default -> board.revealCell(r, c);
+                }
+                assertEquals(scanFoundMines(board), board.getFoundMinesCount());
+                assertEquals(scanFlags(board), board.getFlagsPlaced());
+            }
+            board.verifyCounters();
+        }
+    }
+
+    @Test
+    @DisplayName("Direct Cell edits through the view update the counters")
+    void cellViewWritesUpdateCounters() {
+        Game g = new Game(Difficulty.EASY);
+        Board board = g.getBoard1();
+
+        Cell cell = board.getCell(0, 0);
+        cell.setContent(Cell.CellContent.MINE);
+        cell.setState(Cell.CellState.FLAGGED);
+        board.verifyCounters();
+
+        cell.setContent(Cell.CellContent.EMPTY);
+        cell.setState(Cell.CellState.HIDDEN);
+        board.verifyCounters();
+        assertEquals(scanFoundMines(board), board.getFoundMinesCount());
+    }
+
+    @Test
+    @DisplayName("revealRandomMine reveals each hidden, unflagged mine exactly once")
+    void randomMineRevealsOnlyHiddenMines() {
+        Game g = new Game(Difficulty.HARD);
+        Board board = g.getBoard1();
+
+        // Flag a few mines: they must never be picked
+        int flagged = 0;
+        for (int r = 0; r < board.getRows() && flagged < 5; r++) {
+            for (int c = 0; c < board.getCols() && flagged < 5; c++) {
+                if (board.getCell(r, c).isMine() && board.toggleFlag(r, c)) flagged++;
+            }
+        }
+
+        int reveals = 0;
+        while (board.revealRandomMine()) {
+            reveals++;
+        }
+        assertEquals(board.getTotalMines() - flagged, reveals);
+        assertEquals(board.getTotalMines(), board.getFoundMinesCount());
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.isMine()) assertNotEquals(Cell.CellState.HIDDEN, cell.getState());
+            }
+        }
+    }
+
+    private static int scanFoundMines(Board board) {
+        int found = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.isMine() && (cell.isRevealed() || cell.isFlagged())) found++;
+            }
+        }
+        return found;
+    }
+
+    private static int scanFlags(Board board) {
+        int flags = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).isFlagged()) flags++;
+            }
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,103 @@
+import Model.BoardConfig;
+import Model.BoardPool;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the pre-generated board pool: background refill, hits and misses,
+ * seed reproducibility of pooled boards and the memory budget.
+ */
+public class BoardPoolTest {
+
+    @Test
+    @DisplayName("Restart takes a prepared board pair and the pool refills in the background")
+    void restartUsesPool() throws InterruptedException {
+        BoardPool pool = new BoardPool(BoardPool.DEFAULT_MEMORY_BUDGET_BYTES);
+        BoardConfig config = BoardConfig.of(Difficulty.MEDIUM);
+        pool.setTargetSize(Difficulty.MEDIUM, 2);
+        awaitAvailable(pool, config, 2);
+
+        Game game = new Game(config);
+        game.setBoardPool(pool);
+        game.restartGame();
+
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getMisses());
+        assertEquals(GameState.RUNNING, game.getGameState());
+        awaitAvailable(pool, config, 2);
+
+        // The pooled game is the same as starting from its seed
+        Game replay = new Game(config);
+        replay.setBoardPool(null);
+        replay.startNewGame(config, game.getSeed());
+        BoardAssertions.assertSameLayout(game.getBoard1(), replay.getBoard1());
+        BoardAssertions.assertSameLayout(game.getBoard2(), replay.getBoard2());
+
+        // Pooled boards act on the game that took them
+        int before = game.getSharedScore();
+        game.getBoard1().toggleFlag(0, 0);
+        assertNotEquals(before, game.getSharedScore());
+    }
+
+    @Test
+    @DisplayName("Boards that do not fit the memory budget are not pooled")
+    void memoryBudgetRespected() throws InterruptedException {
+        BoardConfig config = BoardConfig.of(Difficulty.HARD);
+        BoardPool pool = new BoardPool(100);
+        pool.setTargetSize(config, 3);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.getSkippedOverBudget() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(pool.getSkippedOverBudget() > 0);
+        assertEquals(0, pool.getAvailable(config));
+        assertEquals(0, pool.getUsedBytes());
+
+        Game game = new Game(config);
+        game.setBoardPool(pool);
+        game.restartGame();
+        assertEquals(1, pool.getMisses(), "Empty pool falls back to normal generation");
+        assertNotNull(game.getBoard1());
+    }
+
+    @Test
+    @DisplayName("The reserved size covers a real board pair, and the pool counts its real size")
+    void estimateCoversRealBoards() throws InterruptedException {
+        BoardConfig[] configs = {
+                BoardConfig.of(Difficulty.EASY), BoardConfig.of(Difficulty.MEDIUM), BoardConfig.of(Difficulty.HARD),
+                BoardConfig.custom(200, 300, 0.05, 20, 10, Difficulty.HARD),
+                BoardConfig.custom(200, 300, 0.3, 20, 10, Difficulty.HARD)
+        };
+        for (BoardConfig config : configs) {
+            Game game = new Game(config, 42L);
+            long real = game.getBoard1().estimateMemoryBytes() + game.getBoard2().estimateMemoryBytes();
+            // Packed cells alone are 3 bytes per cell; zero regions add an int label per cell
+            long cells = (long) config.getRows() * config.getCols();
+            assertTrue(real > 2 * 7 * cells, config + ": " + real);
+            assertTrue(BoardPool.estimateBytes(config) >= real, config + ": " + real);
+        }
+
+        BoardConfig config = configs[3];
+        BoardPool pool = new BoardPool(BoardPool.DEFAULT_MEMORY_BUDGET_BYTES);
+        pool.setTargetSize(config, 2);
+        awaitAvailable(pool, config, 2);
+        assertTrue(pool.getUsedBytes() > 2 * 2 * 7 * config.getRows() * config.getCols());
+        assertTrue(pool.getUsedBytes() <= 2 * BoardPool.estimateBytes(config));
+        pool.setTargetSize(config, 0);
+        assertEquals(0, pool.getUsedBytes());
+    }
+
+    private static void awaitAvailable(BoardPool pool, BoardConfig config, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.getAvailable(config) < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, pool.getAvailable(config));
+    }
+}
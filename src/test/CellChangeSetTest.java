@@ -0,0 +1,110 @@
+import Model.Board;
+import Model.BoardConfig;
+import Model.Cell;
+import Model.CellChangeSet;
+import Model.Difficulty;
+import Model.Game;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the per-action cell change sets published by Board through Game.
+ */
+public class CellChangeSetTest {
+
+    private Game game;
+    private final List<int[]> events = new ArrayList<>();   // {board, size, full}
+    private final List<int[]> lastChanges = new ArrayList<>(); // {index, old, new} of the last event
+
+    @BeforeEach
+    void setup() {
+        game = new Game(BoardConfig.of(Difficulty.HARD));
+        game.startNewGame(BoardConfig.of(Difficulty.HARD), 2024L);
+        game.addCellChangeListener((boardNumber, changes) -> {
+            events.add(new int[]{boardNumber, changes.size(), changes.isFullRefresh() ? 1 : 0});
+            lastChanges.clear();
+            for (int k = 0; k < changes.size(); k++) {
+                lastChanges.add(new int[]{changes.index(k), changes.oldCode(k), changes.newCode(k)});
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("A flag produces one change with old and new state")
+    void flagIsOneChange() {
+        Board board = game.getBoard1();
+        assertTrue(board.toggleFlag(0, 0));
+
+        assertEquals(1, events.size());
+        assertArrayEquals(new int[]{1, 1, 0}, events.get(0));
+        int[] change = lastChanges.get(0);
+        assertEquals(0, change[0]);
+        assertEquals(Cell.CellState.HIDDEN, CellChangeSet.stateOf(change[1]));
+        assertEquals(Cell.CellState.FLAGGED, CellChangeSet.stateOf(change[2]));
+    }
+
+    @Test
+    @DisplayName("A region reveal is one event listing exactly the revealed cells")
+    void regionRevealIsOneEvent() {
+        Board board = game.getBoard2();
+        int[] zero = findEmpty(board);
+        int score = game.getSharedScore();
+
+        board.revealCell(zero[0], zero[1]);
+
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0)[0]);
+        int revealed = game.getSharedScore() - score;
+        assertEquals(revealed, lastChanges.size());
+        for (int[] change : lastChanges) {
+            assertFalse(CellChangeSet.isRevealed(change[1]));
+            assertTrue(CellChangeSet.isRevealed(change[2]));
+            assertTrue(board.getCell(change[0] / board.getCols(), change[0] % board.getCols()).isRevealed());
+        }
+    }
+
+    @Test
+    @DisplayName("Using a special cell reports the used bit; restart announces a full refresh")
+    void usedBitAndRestart() {
+        Board board = game.getBoard1();
+        int[] special = find(board, Cell.CellContent.SURPRISE);
+        board.revealCell(special[0], special[1]);
+        events.clear();
+
+        game.setSharedScore(100);
+        assertTrue(board.activateSpecialCell(special[0], special[1]));
+        int index = special[0] * board.getCols() + special[1];
+        boolean sawUsed = lastChanges.stream().anyMatch(ch -> ch[0] == index && CellChangeSet.isUsed(ch[2]) && !CellChangeSet.isUsed(ch[1]));
+        assertTrue(sawUsed, "Used flag change must be reported");
+
+        events.clear();
+        game.restartGame();
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0)[2]);
+        assertEquals(1, events.get(1)[2]);
+
+        // The listener follows the new boards
+        events.clear();
+        game.getBoard1().toggleFlag(0, 0);
+        assertEquals(1, events.size());
+    }
+
+    private static int[] findEmpty(Board board) {
+        return find(board, Cell.CellContent.EMPTY);
+    }
+
+    private static int[] find(Board board, Cell.CellContent content) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).getContent() == content) return new int[]{r, c};
+            }
+        }
+        throw new AssertionError("No " + content + " cell");
+    }
+}
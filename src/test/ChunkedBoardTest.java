@@ -0,0 +1,123 @@
+import Model.Cell;
+import Model.ChunkedBoard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the lazily generated chunked board: consistent numbers across chunk edges,
+ * deterministic generation, eviction/restore of cold chunks, and resuming capped flood fills.
+ */
+public class ChunkedBoardTest {
+
+    private static final int CHUNK = ChunkedBoard.CHUNK_SIZE;
+
+    @Test
+    @DisplayName("Numbers on chunk borders match the mines of neighbouring chunks")
+    void numbersConsistentAcrossChunkEdges() {
+        ChunkedBoard board = new ChunkedBoard(7L, 0.2);
+
+        // Rows/cols straddling the first chunk borders in both directions
+        for (int r = CHUNK - 3; r <= CHUNK + 2; r++) {
+            for (int c = CHUNK - 3; c <= CHUNK + 2; c++) {
+                if (board.isMine(r, c)) continue;
+                int expected = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if ((dr != 0 || dc != 0) && board.isMine(r + dr, c + dc)) expected++;
+                    }
+                }
+                assertEquals(expected, board.getAdjacentMines(r, c), "Wrong number at (" + r + "," + c + ")");
+                assertEquals(expected > 0 ? Cell.CellContent.NUMBER : Cell.CellContent.EMPTY, board.getContent(r, c));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Untouched chunks are not loaded and the same seed gives the same layout")
+    void lazyAndDeterministic() {
+        ChunkedBoard a = new ChunkedBoard(99L, 0.15);
+        ChunkedBoard b = new ChunkedBoard(99L, 0.15);
+        assertEquals(0, a.getLoadedChunkCount());
+
+        int far = 1_000_000_000;
+        assertEquals(a.isMine(far, far), b.isMine(far, far));
+        assertEquals(a.getAdjacentMines(far + 1, far), b.getAdjacentMines(far + 1, far));
+        assertEquals(1, a.getLoadedChunkCount(), "Only the touched chunk is materialized");
+    }
+
+    @Test
+    @DisplayName("Evicted chunks keep their revealed and flagged cells")
+    void evictionPreservesState() {
+        ChunkedBoard board = new ChunkedBoard(1_000_000, 1_000_000, 5L, 0.2,
+                ChunkedBoard.MIN_LOADED_CHUNKS, ChunkedBoard.DEFAULT_MAX_FLOOD_CELLS);
+
+        int r = 10, c = 10;
+        boolean mine = board.isMine(r, c);
+        if (mine) {
+            board.toggleFlag(r, c);
+        } else {
+            board.revealCell(r, c);
+        }
+
+        // Touch many far-away chunks to push the first one out
+        for (int k = 1; k <= 40; k++) {
+            board.isMine(k * CHUNK * 3, k * CHUNK * 3);
+        }
+        assertTrue(board.getChunksEvicted() > 0);
+        assertTrue(board.getLoadedChunkCount() <= ChunkedBoard.MIN_LOADED_CHUNKS);
+
+        if (mine) {
+            assertTrue(board.isFlagged(r, c), "Flag must survive eviction");
+        } else {
+            assertTrue(board.isRevealed(r, c), "Reveal must survive eviction");
+        }
+        assertTrue(board.getChunksRestored() > 0);
+    }
+
+    @Test
+    @DisplayName("Loaded chunks cost about 3 bytes per cell")
+    void memoryEstimatePerChunk() {
+        ChunkedBoard board = new ChunkedBoard(3L, 0.2);
+        board.revealCell(5, 5);
+        board.toggleFlag(CHUNK * 4 + 1, 1);
+        int loaded = board.getLoadedChunkCount();
+        assertTrue(loaded > 0);
+        long perChunk = CHUNK * CHUNK * 3L + CHUNK * CHUNK / 8;
+        assertEquals(loaded * perChunk, board.estimateMemoryBytes());
+    }
+
+    @Test
+    @DisplayName("A capped flood fill continues from its frontier when an empty cell is clicked again")
+    void cappedFloodResumes() {
+        int size = 300, cap = 500;
+        ChunkedBoard capped = new ChunkedBoard(size, size, 11L, 0.01, ChunkedBoard.DEFAULT_MAX_LOADED_CHUNKS, cap);
+        ChunkedBoard full = new ChunkedBoard(size, size, 11L, 0.01,
+                ChunkedBoard.DEFAULT_MAX_LOADED_CHUNKS, ChunkedBoard.DEFAULT_MAX_FLOOD_CELLS);
+
+        int r = size / 2, c = size / 2;
+        while (capped.getContent(r, c) != Cell.CellContent.EMPTY) c++;
+        int expected = full.revealCell(r, c);
+        assertTrue(expected > 4 * cap, "test needs a region larger than several fills");
+
+        int total = capped.revealCell(r, c);
+        assertEquals(1 + cap, total, "first fill stops exactly at the cap");
+        assertTrue(capped.isFloodPending());
+        int clicks = 1;
+        while (capped.isFloodPending()) {
+            int more = capped.revealCell(r, c); // the origin: all its neighbours are revealed
+            assertTrue(more > 0 && more <= cap, "each resumed fill reveals new cells, at most the cap");
+            total += more;
+            assertTrue(++clicks <= expected / cap + 2, "fill must finish");
+        }
+        assertEquals(expected, total);
+        assertEquals(expected, capped.getRevealedSafeCells());
+        assertEquals(0, capped.revealCell(r, c), "nothing left once the region is open");
+        for (int rr = 0; rr < size; rr += 7) {
+            for (int cc = 0; cc < size; cc += 7) {
+                assertEquals(full.isRevealed(rr, cc), capped.isRevealed(rr, cc), "(" + rr + "," + cc + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import Controller.GameController;
+import Model.Board;
+import Model.BoardConfig;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies custom board sizes beyond the Difficulty enum, including very large boards.
+ */
+public class CustomBoardTest {
+
+    @Test
+    @DisplayName("Custom layout builds boards of the requested size and mine count")
+    void customLayoutIsApplied() {
+        BoardConfig config = BoardConfig.customWithMineCount(20, 30, 90, 5, 3, Difficulty.MEDIUM);
+        Game game = new Game(config);
+        Board board = game.getBoard1();
+
+        assertEquals(20, board.getRows());
+        assertEquals(30, board.getCols());
+        assertEquals(90, countMines(board));
+        assertEquals(Difficulty.MEDIUM, game.getDifficulty(), "Rules come from the base difficulty");
+        assertEquals(Difficulty.MEDIUM.getStartingLives(), game.getSharedLives());
+
+        game.restartGame();
+        assertEquals(config, game.getBoardConfig(), "Restart keeps the custom layout");
+        assertEquals(30, game.getBoard2().getCols());
+    }
+
+    @Test
+    @DisplayName("Invalid custom layouts are rejected")
+    void invalidLayoutsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardConfig.custom(2, 50, 0.1, 0, 0, Difficulty.EASY));
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardConfig.custom(10, 10, 1.0, 0, 0, Difficulty.EASY));
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardConfig.customWithMineCount(10, 10, 100, 0, 0, Difficulty.EASY));
+    }
+
+    @Test
+    @DisplayName("1000x1000 game generates and answers a reveal interactively")
+    void hugeBoardStaysInteractive() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            GameController controller = GameController.getInstance();
+            controller.startNewCustomGame(1000, 1000, 0.10, 200, 100, "HARD");
+            assertTrue(controller.isCustomGame());
+            assertEquals(1000, controller.getBoardRows(1));
+
+            Game game = controller.getCurrentGame();
+            Board board = game.getBoard1();
+            int[] empty = findEmpty(board);
+            assertNotNull(empty, "A 10% board must contain EMPTY cells");
+
+            controller.revealCellUI(1, empty[0], empty[1]);
+            assertTrue(board.getCell(empty[0], empty[1]).isRevealed());
+            assertTrue(game.getSharedScore() > 0);
+        });
+    }
+
+    private static int countMines(Board board) {
+        int mines = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).isMine()) mines++;
+            }
+        }
+        return mines;
+    }
+
+    private static int[] findEmpty(Board board) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).getContent() == Cell.CellContent.EMPTY) return new int[]{r, c};
+            }
+        }
+        return null;
+    }
+}
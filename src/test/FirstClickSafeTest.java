@@ -0,0 +1,147 @@
+import Model.Board;
+import Model.BoardConfig;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.replay.Replay;
+import Model.replay.ReplayPlayer;
+import Model.replay.ReplayRecorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * First-click safety: the first reveal opens a zero region, the locally updated numbers
+ * match a full recount, special cells are placed again, and seeds stay reproducible.
+ */
+public class FirstClickSafeTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("The first reveal opens a zero region, even on a mine, and the layout stays consistent")
+    void firstClickOpensZeroRegion() {
+        SplittableRandom rnd = new SplittableRandom(21);
+        for (Difficulty d : Difficulty.values()) {
+            for (int round = 0; round < 30; round++) {
+                Game game = new Game(BoardConfig.of(d).withFirstClickSafe(true), rnd.nextLong());
+                Board board = game.getBoard1();
+                // Every other round clicks a mine on purpose
+                int r = rnd.nextInt(board.getRows());
+                int c = rnd.nextInt(board.getCols());
+                if (round % 2 == 0) {
+                    int mine = firstMine(board);
+                    r = mine / board.getCols();
+                    c = mine % board.getCols();
+                }
+                board.revealCell(r, c);
+
+                Cell clicked = board.getCell(r, c);
+                assertTrue(clicked.isRevealed());
+                assertFalse(clicked.isMine(), d + " round " + round);
+                assertEquals(0, clicked.getAdjacentMines());
+                assertEquals(d.getStartingLives(), game.getSharedLives());
+                assertTrue(board.getSafeCellsRemaining() < board.getRows() * board.getCols() - board.getTotalMines() - 1,
+                        "a zero region opens more than the clicked cell");
+                assertLayoutConsistent(board);
+                board.verifyCounters();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Only the first reveal moves mines; layouts without the flag keep theirs")
+    void onlyFirstRevealMoves() {
+        Game game = new Game(BoardConfig.of(Difficulty.MEDIUM).withFirstClickSafe(true), 4);
+        Board board = game.getBoard1();
+        board.revealCell(0, 0);
+        int mine = firstMine(board);
+        board.revealCell(mine / board.getCols(), mine % board.getCols());
+        assertTrue(board.getCell(mine / board.getCols(), mine % board.getCols()).isMine());
+        assertEquals(Difficulty.MEDIUM.getStartingLives() - 1, game.getSharedLives());
+
+        Game plain = new Game(BoardConfig.of(Difficulty.MEDIUM), 4);
+        Board plainBoard = plain.getBoard1();
+        mine = firstMine(plainBoard);
+        plainBoard.revealCell(mine / plainBoard.getCols(), mine % plainBoard.getCols());
+        assertEquals(Difficulty.MEDIUM.getStartingLives() - 1, plain.getSharedLives());
+    }
+
+    @Test
+    @DisplayName("Same seed and first click give the same final layout, also through a replay")
+    void relocationIsReproducible() throws Exception {
+        BoardConfig config = BoardConfig.of(Difficulty.HARD).withFirstClickSafe(true);
+        Game a = new Game(config, 31);
+        Game b = new Game(config, 31);
+        int mine = firstMine(a.getBoard1());
+        int r = mine / a.getBoard1().getCols();
+        int c = mine % a.getBoard1().getCols();
+        a.getBoard1().revealCell(r, c);
+        b.getBoard1().revealCell(r, c);
+        BoardAssertions.assertSameLayout(a.getBoard1(), b.getBoard1());
+
+        Path file = dir.resolve("safe.scr");
+        try (ReplayRecorder recorder = ReplayRecorder.start(file, a.getSeed(), config, 0)) {
+            recorder.recordReveal(1, r, c);
+        }
+        Replay replay = Replay.read(file);
+        assertTrue(replay.getConfig().isFirstClickSafe());
+        ReplayPlayer player = new ReplayPlayer(replay, null);
+        assertTrue(player.step());
+        BoardAssertions.assertSameLayout(a.getBoard1(), player.getGame().getBoard1());
+        assertEquals(a.getSharedScore(), player.getGame().getSharedScore());
+    }
+
+    private static int firstMine(Board board) {
+        for (int i = 0; i < board.getRows() * board.getCols(); i++) {
+            if (board.getCell(i / board.getCols(), i % board.getCols()).isMine()) return i;
+        }
+        throw new AssertionError("board without mines");
+    }
+
+    // Numbers equal a full recount; special cells sit on true-empty cells, all of them placed
+    private static void assertLayoutConsistent(Board board) {
+        int mines = 0;
+        int questions = 0;
+        int surprises = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.isMine()) {
+                    mines++;
+                    continue;
+                }
+                int count = 0;
+                for (int nr = r - 1; nr <= r + 1; nr++) {
+                    for (int nc = c - 1; nc <= c + 1; nc++) {
+                        if ((nr != r || nc != c) && nr >= 0 && nc >= 0 && nr < board.getRows() && nc < board.getCols()
+                                && board.getCell(nr, nc).isMine()) count++;
+                    }
+                }
+                assertEquals(count, cell.getAdjacentMines(), "cell " + r + "," + c);
+                switch (cell.getContent()) {
+                    case NUMBER -> assertTrue(count > 0);
+                    case EMPTY -> assertEquals(0, count);
+                    case QUESTION -> {
+                        questions++;
+                        assertEquals(0, count);
+                    }
+                    case SURPRISE -> {
+                        surprises++;
+                        assertEquals(0, count);
+                    }
+                    default -> fail("unexpected content " + cell.getContent());
+                }
+            }
+        }
+        assertEquals(board.getTotalMines(), mines);
+        assertEquals(board.getPlacedQuestionCells(), questions);
+        assertEquals(board.getPlacedSurpriseCells(), surprises);
+    }
+}
@@ -0,0 +1,85 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the queue-based flood-fill reveal in Board.revealCell:
+ * whole region revealed in one action, bulk scoring, and flags/mines left alone.
+ */
+public class FloodFillRevealTest {
+
+    private Game game;
+    private Board board;
+
+    @BeforeEach
+    void setup() {
+        game = new Game(Difficulty.EASY);
+        board = game.getBoard1();
+
+        // Deterministic layout: all EMPTY, single mine at (0,0) with its 3 NUMBER neighbours
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                cell.setContent(Cell.CellContent.EMPTY);
+                cell.setAdjacentMines(0);
+                cell.setState(Cell.CellState.HIDDEN);
+            }
+        }
+        board.getCell(0, 0).setContent(Cell.CellContent.MINE);
+        int[][] around = {{0, 1}, {1, 0}, {1, 1}};
+        for (int[] p : around) {
+            board.getCell(p[0], p[1]).setContent(Cell.CellContent.NUMBER);
+            board.getCell(p[0], p[1]).setAdjacentMines(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Revealing an EMPTY cell opens the whole region and scores it in one step")
+    void revealOpensWholeRegion() {
+        int before = game.getSharedScore();
+        int safeCells = board.getRows() * board.getCols() - 1;
+
+        board.revealCell(board.getRows() - 1, board.getCols() - 1);
+
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (r == 0 && c == 0) {
+                    assertFalse(board.getCell(r, c).isRevealed(), "Mine must not be revealed by flood fill");
+                } else {
+                    assertTrue(board.getCell(r, c).isRevealed(), "Cell (" + r + "," + c + ") should be revealed");
+                }
+            }
+        }
+        assertEquals(before + safeCells, game.getSharedScore(), "Score should increase by one per revealed cell");
+    }
+
+    @Test
+    @DisplayName("Flagged cells stop the flood fill and stay flagged")
+    void flaggedCellIsNotRevealed() {
+        board.getCell(4, 4).setState(Cell.CellState.FLAGGED);
+
+        board.revealCell(8, 8);
+
+        assertTrue(board.getCell(4, 4).isFlagged(), "Flagged cell should stay flagged");
+        assertFalse(board.getCell(4, 4).isRevealed(), "Flagged cell should not be revealed");
+        assertTrue(board.getCell(4, 5).isRevealed(), "Neighbours of the flag are still reachable");
+    }
+
+    @Test
+    @DisplayName("Revealing a NUMBER cell reveals only that cell")
+    void numberCellDoesNotExpand() {
+        int before = game.getSharedScore();
+
+        board.revealCell(1, 1);
+
+        assertTrue(board.getCell(1, 1).isRevealed());
+        assertFalse(board.getCell(2, 2).isRevealed(), "NUMBER cells must not expand");
+        assertEquals(before + 1, game.getSharedScore());
+    }
+}
@@ -0,0 +1,144 @@
+import Controller.GameController;
+import Controller.GameController.HintData;
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.solver.FrontierSolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the solver's rules on hand-made positions and, on real games, that its
+ * incremental deductions are sound and equal to solving the visible board from scratch.
+ */
+public class FrontierSolverTest {
+
+    private final GameController controller = GameController.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        controller.setUndoDepth(0);
+        controller.endGame();
+    }
+
+    @Test
+    @DisplayName("Single-cell rule: a 0 clears its neighbours, a full count marks them as mines")
+    void singleCellRule() {
+        FrontierSolver solver = new FrontierSolver(3, 3);
+        // Corner 1 with its other two neighbours revealed: the last hidden neighbour is the mine
+        solver.reveal(0, 1);
+        solver.reveal(1, 1);
+        solver.reveal(3, 1);
+        solver.propagate();
+        assertTrue(solver.isMine(4));
+        assertEquals(1, solver.getMineCount());
+        // The two other 1s are satisfied by it, so the rest of their neighbours are safe
+        assertArrayEquals(new int[]{2, 5, 6, 7}, sorted(solver.getSafeCells()));
+        assertTrue(solver.isUnknown(8));
+
+        solver.reveal(5, 1);
+        solver.propagate();
+        assertFalse(solver.isSafe(5));
+        assertTrue(solver.isSafe(8), "the 1 at 5 is filled by the mine at 4");
+    }
+
+    @Test
+    @DisplayName("Subset rule solves the 1-2-1 pattern")
+    void subsetRule() {
+        // Hidden top row, revealed 1 2 1 below it and 0 0 0 at the bottom
+        FrontierSolver solver = new FrontierSolver(3, 3);
+        int[] values = {1, 2, 1, 0, 0, 0};
+        for (int k = 0; k < values.length; k++) {
+            solver.reveal(3 + k, values[k]);
+        }
+        solver.propagate();
+        assertTrue(solver.isMine(0));
+        assertTrue(solver.isSafe(1));
+        assertTrue(solver.isMine(2));
+        assertEquals(1, solver.nextSafeCell());
+    }
+
+    @Test
+    @DisplayName("Hints on a HARD game are sound and match a from-scratch solve after every move (with undo)")
+    void incrementalMatchesReload() {
+        controller.setUndoDepth(5);
+        controller.startNewGame(Difficulty.HARD);
+        SplittableRandom rnd = new SplittableRandom(3);
+        int hintsFollowed = 0;
+        for (int move = 0; move < 300 && controller.isGameRunning(); move++) {
+            int b = controller.getCurrentPlayerTurn();
+            HintData hint = controller.getHint(b);
+            if (move % 40 == 39) {
+                controller.undo();
+            } else if (hint != null) {
+                hintsFollowed++;
+                if (hint.flag) controller.toggleFlagUI(b, hint.row, hint.col);
+                else controller.revealCellUI(b, hint.row, hint.col);
+            } else {
+                controller.revealCellUI(b, rnd.nextInt(controller.getBoardRows(b)), rnd.nextInt(controller.getBoardCols(b)));
+            }
+            for (int board = 1; board <= 2; board++) {
+                assertMatchesFreshSolve(board);
+            }
+            if (move % 3 == 2) controller.processTurnEnd();
+        }
+        assertTrue(hintsFollowed > 20, "deductions should drive most of the game");
+    }
+
+    @Test
+    @DisplayName("Solver keeps up on a 500x500 board")
+    void largeBoard() {
+        controller.startNewCustomGame(500, 500, 0.15, 0, 0, "EASY");
+        Board board = controller.getCurrentGame().getBoard1();
+        controller.revealCellUI(1, 250, 250);
+        controller.getHint(1);
+        long worst = 0;
+        int moves = 0;
+        for (; moves < 2000 && controller.isGameRunning(); moves++) {
+            HintData hint = controller.getHint(1);
+            long t0 = System.nanoTime();
+            if (hint == null) {
+                controller.revealCellUI(1, (moves * 7919) % 500, (moves * 104729) % 500);
+            } else if (hint.flag) {
+                controller.toggleFlagUI(1, hint.row, hint.col);
+            } else {
+                controller.revealCellUI(1, hint.row, hint.col);
+            }
+            worst = Math.max(worst, System.nanoTime() - t0);
+        }
+        assertTrue(moves > 100);
+        for (int i : controller.getSafeCells(1)) {
+            assertNotEquals(Cell.CellContent.MINE, board.getCell(i / 500, i % 500).getContent());
+        }
+        // Generous bound: a move plus its solver update, including flood fills and GC pauses
+        assertTrue(worst < 250_000_000L, "slowest move took " + worst / 1_000_000 + " ms");
+    }
+
+    private void assertMatchesFreshSolve(int boardNumber) {
+        Board board = (boardNumber == 1) ? controller.getCurrentGame().getBoard1() : controller.getCurrentGame().getBoard2();
+        int[] safe = controller.getSafeCells(boardNumber);
+        int[] mines = controller.getCertainMines(boardNumber);
+        int cols = board.getCols();
+        for (int i : safe) {
+            assertNotEquals(Cell.CellContent.MINE, board.getCell(i / cols, i % cols).getContent(), "safe cell " + i);
+        }
+        for (int i : mines) {
+            assertEquals(Cell.CellContent.MINE, board.getCell(i / cols, i % cols).getContent(), "mine " + i);
+        }
+        FrontierSolver fresh = FrontierSolver.forBoard(board);
+        assertArrayEquals(sorted(fresh.getSafeCells()), sorted(safe));
+        assertArrayEquals(sorted(fresh.getCertainMines()), sorted(mines));
+    }
+
+    private static int[] sorted(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
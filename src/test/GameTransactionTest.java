@@ -0,0 +1,73 @@
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the Game unit-of-work API: deferred win/loss check and one coalesced change event per commit.
+ */
+public class GameTransactionTest {
+
+    private Game game;
+    private final List<Game.StateChange> events = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        game = new Game(Difficulty.HARD);
+        game.addChangeListener((g, change) -> events.add(change));
+    }
+
+    @Test
+    @DisplayName("A question answer publishes exactly one coalesced change event")
+    void questionAnswerPublishesOneEvent() {
+        game.setSharedLives(5);
+        events.clear();
+
+        // HARD game, HARD question, correct: +20 pts, +2 lives (two addLife calls inside)
+        game.processQuestionAnswer(Game.QuestionLevel.HARD, true);
+
+        assertEquals(1, events.size(), "Only one event should be published for the whole answer");
+        assertEquals(20, events.get(0).deltaScore);
+        assertEquals(2, events.get(0).deltaLives);
+    }
+
+    @Test
+    @DisplayName("Loss is only evaluated when the outermost transaction commits")
+    void lossDeferredUntilCommit() {
+        game.beginTransaction();
+        game.deductLife(game.getSharedLives());
+        assertEquals(GameState.RUNNING, game.getGameState(), "Status check must be deferred inside a transaction");
+        game.addLife(0);
+        game.commitTransaction();
+
+        assertEquals(GameState.RUNNING, game.getGameState(), "End state has 1 life, so the game continues");
+        assertEquals(1, game.getSharedLives());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    @DisplayName("Committing a transaction that ends with 0 lives loses the game once")
+    void commitDetectsLoss() {
+        game.runInTransaction(() -> {
+            game.deductLife(1);
+            game.setSharedLives(0);
+        });
+
+        assertEquals(GameState.LOST, game.getGameState());
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).stateChanged());
+    }
+
+    @Test
+    @DisplayName("Unbalanced commit is rejected")
+    void commitWithoutBeginThrows() {
+        assertThrows(IllegalStateException.class, game::commitTransaction);
+    }
+}
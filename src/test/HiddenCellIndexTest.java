@@ -0,0 +1,101 @@
+package Model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the Fenwick index of hidden cells and the area-reward window queries
+ * against brute-force scans.
+ */
+public class HiddenCellIndexTest {
+
+    @Test
+    @DisplayName("Window counts, best window and random window match a brute-force scan")
+    void queriesMatchBruteForce() {
+        SplittableRandom rnd = new SplittableRandom(11);
+        for (int round = 0; round < 30; round++) {
+            int rows = 3 + rnd.nextInt(40);
+            int cols = 3 + rnd.nextInt(40);
+            CellGrid grid = new CellGrid(rows, cols);
+            double revealed = rnd.nextDouble();
+            for (int i = 0; i < grid.size(); i++) {
+                if (rnd.nextDouble() < revealed) grid.setStateAt(i, CellGrid.REVEALED);
+            }
+            HiddenCellIndex index = grid.hiddenIndex();
+
+            // Incremental updates after the index exists
+            for (int n = 0; n < 50; n++) {
+                int i = rnd.nextInt(grid.size());
+                grid.setStateAt(i, (byte) rnd.nextInt(3));
+            }
+            assertNull(grid.findCounterMismatch());
+
+            int k = 1 + rnd.nextInt(Math.min(rows, cols));
+            int best = 0;
+            for (int r = 0; r + k <= rows; r++) {
+                for (int c = 0; c + k <= cols; c++) {
+                    int n = bruteCount(grid, r, c, k);
+                    assertEquals(n, index.windowCount(r, c, k));
+                    best = Math.max(best, n);
+                }
+            }
+
+            int origin = index.bestWindow(k);
+            if (best == 0) {
+                assertEquals(-1, origin);
+            } else {
+                assertEquals(best, bruteCount(grid, grid.rowOf(origin), grid.colOf(origin), k));
+            }
+
+            int min = 1 + rnd.nextInt(k * k);
+            int pick = index.randomWindow(k, min, rnd);
+            if (best < min) {
+                assertEquals(-1, pick);
+            } else {
+                assertTrue(bruteCount(grid, grid.rowOf(pick), grid.colOf(pick), k) >= min);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Area reward finds the only hidden cluster on a large, mostly revealed board")
+    void rewardFindsLastCluster() {
+        Game game = new Game(BoardConfig.custom(300, 400, 0.1, 0, 0, Difficulty.HARD));
+        Board board = game.getBoard1();
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                board.getCell(r, c).setState(Cell.CellState.REVEALED);
+            }
+        }
+        board.getCell(250, 333).setState(Cell.CellState.HIDDEN);
+        board.getCell(251, 334).setState(Cell.CellState.HIDDEN);
+
+        assertEquals(2, board.revealRandomAreaReward(3));
+        assertTrue(board.getCell(250, 333).isRevealed());
+        assertTrue(board.getCell(251, 334).isRevealed());
+        assertEquals(0, board.revealRandomAreaReward(3));
+    }
+
+    @Test
+    @DisplayName("Reward area is 3x3 on built-in levels and grows with custom board size")
+    void rewardAreaScales() {
+        assertEquals(3, BoardConfig.of(Difficulty.HARD).getRewardAreaSize());
+        assertEquals(3, BoardConfig.custom(16, 16, 0.2, 0, 0, Difficulty.HARD).getRewardAreaSize());
+        assertEquals(6, BoardConfig.custom(32, 32, 0.2, 0, 0, Difficulty.HARD).getRewardAreaSize());
+        assertEquals(3, BoardConfig.custom(3, 500, 0.2, 0, 0, Difficulty.HARD).getRewardAreaSize());
+    }
+
+    private static int bruteCount(CellGrid grid, int r0, int c0, int k) {
+        int n = 0;
+        for (int r = r0; r < r0 + k; r++) {
+            for (int c = c0; c < c0 + k; c++) {
+                if (grid.stateAt(grid.index(r, c)) == CellGrid.HIDDEN) n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,103 @@
+import Model.Board;
+import Model.BoardConfig;
+import Model.Difficulty;
+import Model.Game;
+import Model.NoGuessGenerator;
+import Model.replay.Replay;
+import Model.replay.ReplayPlayer;
+import Model.replay.ReplayRecorder;
+import Model.solver.FrontierSolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * No-guess generation: the winning layout is solvable by deduction from its opening,
+ * the search is deterministic for a seed, and an exhausted budget falls back.
+ */
+public class NoGuessGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        NoGuessGenerator.setBudgetMillis(NoGuessGenerator.DEFAULT_BUDGET_MILLIS);
+        NoGuessGenerator.setMaxCandidates(NoGuessGenerator.DEFAULT_MAX_CANDIDATES);
+        Board.setParallelGeneration(true);
+    }
+
+    @Test
+    @DisplayName("No-guess boards of every level are cleared by following deductions from the opening")
+    void boardsAreSolvableFromOpening() {
+        NoGuessGenerator.setBudgetMillis(60_000);
+        for (Difficulty d : Difficulty.values()) {
+            Game game = new Game(BoardConfig.of(d).withNoGuess(true), 42);
+            Board board = game.getBoard1();
+            assertNotEquals(NoGuessGenerator.FALLBACK, board.getLayoutCandidate(), d.name());
+            int opening = board.getOpeningCell();
+            assertTrue(opening >= 0);
+            int cols = board.getCols();
+            board.revealCell(opening / cols, opening % cols);
+            while (board.getSafeCellsRemaining() > 0) {
+                int next = FrontierSolver.forBoard(board).nextSafeCell();
+                assertTrue(next >= 0, d + ": deductions ran out with " + board.getSafeCellsRemaining() + " cells left");
+                board.revealCell(next / cols, next % cols);
+            }
+            assertEquals(d.getStartingLives(), game.getSharedLives(), "no mine may be hit");
+            assertTrue(NoGuessGenerator.getStats(d).getBoards() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("The parallel search picks the same candidate as a sequential one")
+    void parallelSearchIsDeterministic() {
+        NoGuessGenerator.setBudgetMillis(60_000);
+        BoardConfig config = BoardConfig.of(Difficulty.HARD).withNoGuess(true);
+        Game parallel = new Game(config, 7);
+        Board.setParallelGeneration(false);
+        Game sequential = new Game(config, 7);
+        assertArrayEquals(sequential.getLayoutCandidates(), parallel.getLayoutCandidates());
+        BoardAssertions.assertSameLayout(sequential.getBoard1(), parallel.getBoard1());
+        BoardAssertions.assertSameLayout(sequential.getBoard2(), parallel.getBoard2());
+    }
+
+    @Test
+    @DisplayName("A spent budget falls back to the normal generator and is counted")
+    void budgetFallback() {
+        NoGuessGenerator.setBudgetMillis(0);
+        long before = NoGuessGenerator.getStats(Difficulty.MEDIUM).getFallbacks();
+        Game game = new Game(BoardConfig.of(Difficulty.MEDIUM).withNoGuess(true), 3);
+        assertEquals(NoGuessGenerator.FALLBACK, game.getBoard1().getLayoutCandidate());
+        assertEquals(-1, game.getBoard1().getOpeningCell());
+        assertEquals(Difficulty.MEDIUM.getMines(), game.getBoard1().getTotalMines());
+        assertEquals(before + 2, NoGuessGenerator.getStats(Difficulty.MEDIUM).getFallbacks());
+    }
+
+    @Test
+    @DisplayName("Replays rebuild no-guess boards from the recorded candidates")
+    void replayKeepsCandidates() throws Exception {
+        NoGuessGenerator.setBudgetMillis(60_000);
+        BoardConfig config = BoardConfig.of(Difficulty.EASY).withNoGuess(true);
+        Game game = new Game(config, 99);
+        Path file = dir.resolve("noguess.scr");
+        try (ReplayRecorder recorder = ReplayRecorder.start(file, game.getSeed(), config, 0, game.getLayoutCandidates())) {
+            recorder.recordReveal(1, 0, 0);
+        }
+        Replay replay = Replay.read(file);
+        assertTrue(replay.getConfig().isNoGuess());
+        assertArrayEquals(game.getLayoutCandidates(), replay.getLayoutCandidates());
+
+        // Even with no time to search, the recorded candidates give the same boards
+        NoGuessGenerator.setBudgetMillis(0);
+        Game rebuilt = new ReplayPlayer(replay, null).getGame();
+        BoardAssertions.assertSameLayout(game.getBoard1(), rebuilt.getBoard1());
+        BoardAssertions.assertSameLayout(game.getBoard2(), rebuilt.getBoard2());
+        assertEquals(game.getBoard1().getOpeningCell(), rebuilt.getBoard1().getOpeningCell());
+    }
+}
@@ -0,0 +1,58 @@
+import Model.Board;
+import Model.BoardConfig;
+import Model.Difficulty;
+import Model.Game;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that parallel board generation gives exactly the same boards as
+ * sequential generation for a given seed.
+ */
+public class ParallelBoardGenerationTest {
+
+    @AfterEach
+    void restoreDefault() {
+        Board.setParallelGeneration(true);
+    }
+
+    @Test
+    @DisplayName("Large board: parallel and sequential generation are bit-identical")
+    void largeBoardIdentical() {
+        BoardConfig config = BoardConfig.custom(700, 500, 0.15, 40, 40, Difficulty.HARD);
+        assertIdentical(config, 4242L);
+    }
+
+    @Test
+    @DisplayName("Built-in difficulties are unchanged by the parallel switch")
+    void builtInIdentical() {
+        for (Difficulty d : Difficulty.values()) {
+            assertIdentical(BoardConfig.of(d), 99L);
+        }
+    }
+
+    private static void assertIdentical(BoardConfig config, long seed) {
+        Board.setParallelGeneration(false);
+        Game sequential = new Game(config);
+        sequential.startNewGame(config, seed);
+
+        Board.setParallelGeneration(true);
+        Game parallel = new Game(config);
+        parallel.startNewGame(config, seed);
+
+        assertSameBoard(sequential.getBoard1(), parallel.getBoard1());
+        assertSameBoard(sequential.getBoard2(), parallel.getBoard2());
+    }
+
+    private static void assertSameBoard(Board x, Board y) {
+        assertEquals(x.getPlacedQuestionCells(), y.getPlacedQuestionCells());
+        assertEquals(x.getPlacedSurpriseCells(), y.getPlacedSurpriseCells());
+        assertEquals(x.getSafeCellsRemaining(), y.getSafeCellsRemaining());
+        BoardAssertions.assertSameLayout(x, y);
+        x.verifyCounters();
+        y.verifyCounters();
+    }
+}
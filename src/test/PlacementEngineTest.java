@@ -0,0 +1,66 @@
+import Model.Board;
+import Model.BoardConfig;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the Fisher-Yates placement engine: exact counts at any density
+ * and honest reporting when true-empty cells run out.
+ */
+public class PlacementEngineTest {
+
+    @Test
+    @DisplayName("Very high mine density places exactly the requested mines quickly")
+    void highDensityIsExactAndFast() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            BoardConfig config = BoardConfig.customWithMineCount(500, 500, 500 * 500 - 10, 0, 0, Difficulty.HARD);
+            Board board = new Game(config).getBoard1();
+            assertEquals(500 * 500 - 10, count(board, Cell.CellContent.MINE));
+        });
+    }
+
+    @Test
+    @DisplayName("Shortage of true-empty cells is reported exactly, questions served first")
+    void specialCellShortageReported() {
+        // 10x10 with 60 mines leaves very few (often zero) cells with no adjacent mine
+        BoardConfig config = BoardConfig.customWithMineCount(10, 10, 60, 30, 30, Difficulty.EASY);
+        for (int i = 0; i < 20; i++) {
+            Board board = new Game(config).getBoard1();
+
+            assertEquals(board.getPlacedQuestionCells(), count(board, Cell.CellContent.QUESTION));
+            assertEquals(board.getPlacedSurpriseCells(), count(board, Cell.CellContent.SURPRISE));
+            assertTrue(board.getPlacedQuestionCells() <= 30);
+            if (board.getPlacedSurpriseCells() > 0) {
+                assertEquals(30, board.getPlacedQuestionCells(), "Surprises are only placed after all questions");
+            }
+            assertEquals(60, count(board, Cell.CellContent.MINE));
+        }
+    }
+
+    @Test
+    @DisplayName("Built-in difficulties always get their full special-cell counts")
+    void builtInCountsArePlaced() {
+        for (Difficulty d : Difficulty.values()) {
+            Board board = new Game(d).getBoard1();
+            assertEquals(d.getQuestionCells(), board.getPlacedQuestionCells());
+            assertEquals(d.getSurpriseCells(), board.getPlacedSurpriseCells());
+        }
+    }
+
+    private static int count(Board board, Cell.CellContent content) {
+        int n = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).getContent() == content) n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,223 @@
+import Model.Board;
+import Model.CellRenderCode;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import Model.solver.FrontierSolver;
+import Model.solver.MineProbabilities;
+import Model.solver.ProbabilityEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the exact probabilities against hand-computed positions and a brute-force count
+ * over every layout, and their consistency on real games.
+ */
+public class ProbabilityEngineTest {
+
+    private static final byte HIDDEN = (byte) CellRenderCode.HIDDEN;
+
+    private final ProbabilityEngine engine = new ProbabilityEngine();
+
+    @Test
+    @DisplayName("Unconstrained cells are weighted by the binomial count of the remaining mines")
+    void binomialWeighting() {
+        // A revealed 1 in the corner of a 2x3 board: three frontier cells, two unconstrained
+        byte[] codes = {revealed(1), HIDDEN, HIDDEN, HIDDEN, HIDDEN, HIDDEN};
+        MineProbabilities p = engine.compute(2, 3, codes, 2, null, 1000);
+        assertNotNull(p);
+        assertTrue(Float.isNaN(p.get(0)));
+        assertEquals(1 / 3f, p.get(1), 1e-6);
+        assertEquals(1 / 3f, p.get(0, 1), 1e-6);
+        assertEquals(1 / 2f, p.get(1, 2), 1e-6);
+        assertEquals(1 / 2f, p.getUnconstrained(), 1e-6);
+        assertEquals(1, p.getComponentCount());
+
+        // With three mines both unconstrained cells must be mines
+        p = engine.compute(2, 3, codes, 3, null, 1000);
+        assertEquals(1f, p.get(2), 1e-6);
+        // And with one, none of them can be
+        p = engine.compute(2, 3, codes, 1, null, 1000);
+        assertEquals(0f, p.get(2), 1e-6);
+        // Four mines cannot fit the visible board
+        assertNull(engine.compute(2, 3, codes, 4, null, 1000));
+    }
+
+    @Test
+    @DisplayName("Probabilities equal a brute-force count over all layouts on small boards")
+    void matchesBruteForce() {
+        SplittableRandom rnd = new SplittableRandom(11);
+        for (int round = 0; round < 200; round++) {
+            int rows = 4, cols = 5, mines = 3 + rnd.nextInt(4);
+            byte[] codes = randomPosition(rows, cols, mines, rnd);
+            MineProbabilities p = engine.compute(rows, cols, codes, mines, null, 5000);
+            assertNotNull(p, "round " + round);
+            double[] expected = bruteForce(rows, cols, codes, mines);
+            for (int i = 0; i < codes.length; i++) {
+                if (Double.isNaN(expected[i])) assertTrue(Float.isNaN(p.get(i)));
+                else assertEquals(expected[i], p.get(i), 1e-5, "round " + round + " cell " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("On a HARD game the hidden cells' probabilities add up to the remaining mines")
+    void expectedMinesOnRealGame() {
+        Game game = new Game(Difficulty.HARD);
+        Board board = game.getBoard1();
+        SplittableRandom rnd = new SplittableRandom(5);
+        for (int move = 0; move < 8 && game.getGameState() == GameState.RUNNING; move++) {
+            board.revealCell(rnd.nextInt(board.getRows()), rnd.nextInt(board.getCols()));
+            MineProbabilities p = engine.compute(board, 5000);
+            assertNotNull(p);
+            double sum = 0;
+            int revealedMines = 0;
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    float q = p.get(r, c);
+                    if (Float.isNaN(q)) {
+                        int code = board.getRenderCode(r, c);
+                        if (CellRenderCode.value(code) == CellRenderCode.MINE) revealedMines++;
+                        continue;
+                    }
+                    assertTrue(q >= -1e-6 && q <= 1 + 1e-6);
+                    sum += q;
+                }
+            }
+            assertEquals(board.getTotalMines() - revealedMines, sum, 1e-3);
+        }
+    }
+
+    @Test
+    @DisplayName("A spent budget or a cancelled computation gives no result")
+    void budgetAndCancel() {
+        byte[] codes = {revealed(1), HIDDEN, HIDDEN, HIDDEN, HIDDEN, HIDDEN};
+        assertNull(engine.compute(2, 3, codes, 2, null, -1));
+        engine.cancel();
+        assertNotNull(engine.compute(2, 3, codes, 2, null, 1000), "cancel only stops a running computation");
+    }
+
+    @Test
+    @DisplayName("A solver copy keeps a snapshot's deductions while the original follows the board")
+    void solverCopySnapshot() {
+        Game game = new Game(Difficulty.HARD);
+        Board board = game.getBoard1();
+        SplittableRandom rnd = new SplittableRandom(8);
+        FrontierSolver solver = FrontierSolver.forBoard(board);
+        for (int move = 0; move < 3 && game.getGameState() == GameState.RUNNING; move++) {
+            board.revealCell(rnd.nextInt(board.getRows()), rnd.nextInt(board.getCols()));
+        }
+        solver.load(board);
+        int rows = board.getRows(), cols = board.getCols();
+        byte[] codes = new byte[rows * cols];
+        board.fillRenderCodes(0, 0, rows, cols, codes, 0);
+        FrontierSolver snapshot = solver.copy();
+        int safe = snapshot.getSafeCount();
+
+        // The original moves on; the copy does not
+        for (int move = 0; move < 5 && game.getGameState() == GameState.RUNNING; move++) {
+            board.revealCell(rnd.nextInt(rows), rnd.nextInt(cols));
+        }
+        solver.load(board);
+        assertEquals(safe, snapshot.getSafeCount());
+
+        MineProbabilities withCopy = engine.compute(rows, cols, codes, board.getTotalMines(), snapshot, 5000);
+        MineProbabilities fresh = new ProbabilityEngine().compute(rows, cols, codes, board.getTotalMines(), null, 5000);
+        assertNotNull(withCopy);
+        assertNotNull(fresh);
+        for (int i = 0; i < codes.length; i++) {
+            if (Float.isNaN(fresh.get(i))) assertTrue(Float.isNaN(withCopy.get(i)));
+            else assertEquals(fresh.get(i), withCopy.get(i), 1e-5, "cell " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("A node limit gives up on large components the same way on every run")
+    void nodeLimitIsDeterministic() {
+        SplittableRandom rnd = new SplittableRandom(3);
+        int limited = 0;
+        for (int round = 0; round < 40; round++) {
+            int rows = 8, cols = 8, mines = 12;
+            byte[] codes = randomPosition(rows, cols, mines, rnd);
+            MineProbabilities full = engine.compute(rows, cols, codes, mines, null, ProbabilityEngine.NO_BUDGET);
+            boolean[] gaveUp = new boolean[2];
+            for (int run = 0; run < 2; run++) {
+                ProbabilityEngine bounded = new ProbabilityEngine();
+                bounded.setNodeLimit(1);
+                MineProbabilities p = bounded.compute(rows, cols, codes, mines, null, ProbabilityEngine.NO_BUDGET);
+                gaveUp[run] = p == null && full != null;
+                if (p != null) assertEquals(full.get(0), p.get(0), 1e-6);
+            }
+            assertEquals(gaveUp[0], gaveUp[1], "round " + round);
+            if (gaveUp[0]) limited++;
+        }
+        assertTrue(limited > 0, "some positions need more nodes than the limit");
+    }
+
+    private static byte revealed(int value) {
+        return (byte) (CellRenderCode.REVEALED | value);
+    }
+
+    // Random layout with a random subset of its safe cells revealed
+    private static byte[] randomPosition(int rows, int cols, int mines, SplittableRandom rnd) {
+        boolean[] mine = new boolean[rows * cols];
+        for (int placed = 0; placed < mines; ) {
+            int i = rnd.nextInt(mine.length);
+            if (!mine[i]) {
+                mine[i] = true;
+                placed++;
+            }
+        }
+        byte[] codes = new byte[rows * cols];
+        for (int i = 0; i < codes.length; i++) {
+            if (mine[i] || rnd.nextInt(3) != 0) continue;
+            int count = 0;
+            for (int j = 0; j < codes.length; j++) {
+                if (j != i && mine[j] && Math.abs(j / cols - i / cols) <= 1 && Math.abs(j % cols - i % cols) <= 1) count++;
+            }
+            codes[i] = revealed(count);
+        }
+        return codes;
+    }
+
+    // Counts every placement of the mines on hidden cells that matches all revealed numbers
+    private static double[] bruteForce(int rows, int cols, byte[] codes, int mines) {
+        int n = codes.length;
+        int[] hidden = new int[n];
+        int h = 0;
+        for (int i = 0; i < n; i++) {
+            if (CellRenderCode.state(codes[i]) != CellRenderCode.REVEALED) hidden[h++] = i;
+        }
+        double[] mineCount = new double[n];
+        double layouts = 0;
+        for (long mask = 0; mask < (1L << h); mask++) {
+            if (Long.bitCount(mask) != mines) continue;
+            boolean[] mine = new boolean[n];
+            for (int k = 0; k < h; k++) mine[hidden[k]] = (mask >> k & 1) != 0;
+            if (!fits(rows, cols, codes, mine)) continue;
+            layouts++;
+            for (int i = 0; i < n; i++) if (mine[i]) mineCount[i]++;
+        }
+        double[] p = new double[n];
+        for (int i = 0; i < n; i++) {
+            p[i] = (CellRenderCode.state(codes[i]) == CellRenderCode.REVEALED) ? Double.NaN : mineCount[i] / layouts;
+        }
+        return p;
+    }
+
+    private static boolean fits(int rows, int cols, byte[] codes, boolean[] mine) {
+        for (int i = 0; i < codes.length; i++) {
+            if (CellRenderCode.state(codes[i]) != CellRenderCode.REVEALED) continue;
+            int count = 0;
+            for (int j = 0; j < codes.length; j++) {
+                if (j != i && mine[j] && Math.abs(j / cols - i / cols) <= 1 && Math.abs(j % cols - i % cols) <= 1) count++;
+            }
+            if (count != CellRenderCode.value(codes[i])) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+import Controller.GameController;
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the bulk render snapshots against the per-cell view data.
+ */
+public class RenderSnapshotTest {
+
+    private GameController controller;
+    private Board board;
+
+    @BeforeEach
+    void setup() {
+        controller = GameController.getInstance();
+        controller.startNewGame(Difficulty.HARD);
+        board = controller.getCurrentGame().getBoard1();
+
+        // Mix of states: a flag, a few reveals and one used special cell
+        controller.toggleFlagUI(1, 0, 0);
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.isQuestionOrSurprise() && cell.getState() == Cell.CellState.HIDDEN) {
+                    cell.setState(Cell.CellState.REVEALED);
+                    cell.setUsed(true);
+                    return;
+                }
+                if (!cell.isMine() && (r + c) % 7 == 0 && cell.getState() == Cell.CellState.HIDDEN) {
+                    cell.setState(Cell.CellState.REVEALED);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Whole-board snapshot matches the per-cell view data")
+    void wholeBoardMatchesViewData() {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        byte[] codes = new byte[rows * cols];
+        assertTrue(controller.fillRenderState(1, codes));
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int code = codes[r * cols + c];
+                assertEquals(controller.getRenderCode(1, r, c), code);
+                assertEquals(expectedText(controller.getCellViewData(1, r, c)), describe(code), "cell " + r + "," + c);
+                assertEquals(board.getCell(r, c).isRevealed(),
+                        (code & GameController.RENDER_STATE_MASK) == GameController.RENDER_REVEALED);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Viewport snapshot is the matching window of the whole board")
+    void viewportMatchesWholeBoard() {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        int[] all = new int[rows * cols];
+        controller.fillRenderState(1, all);
+
+        int row0 = 3, col0 = 5, height = 6, width = 4;
+        byte[] window = new byte[height * width];
+        controller.fillRenderState(1, row0, col0, height, width, window);
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                assertEquals(all[(row0 + r) * cols + col0 + c], window[r * width + c]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Viewports outside the board or too small buffers are rejected")
+    void invalidRequestsAreRejected() {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.fillRenderState(1, rows - 1, 0, 2, 1, new byte[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.fillRenderState(1, new byte[rows * cols - 1]));
+        assertEquals(-1, controller.getRenderCode(1, rows, 0));
+    }
+
+    // Text the old string-based view data shows for a cell, with "used" appended
+    private static String expectedText(GameController.CellViewData data) {
+        boolean special = "Q".equals(data.text) || "S".equals(data.text);
+        return data.text + (special && !data.enabled ? "/used" : "");
+    }
+
+    private static String describe(int code) {
+        int state = code & GameController.RENDER_STATE_MASK;
+        int value = code & GameController.RENDER_VALUE_MASK;
+        if (state == GameController.RENDER_FLAGGED) return "🚩";
+        if (state == GameController.RENDER_HIDDEN) return "";
+        String text = switch (value) {
+            case GameController.RENDER_MINE -> "M";
+            case GameController.RENDER_QUESTION -> "Q";
+            case GameController.RENDER_SURPRISE -> "S";
+            case 0 -> "";
+            default -> String.valueOf(value);
+        };
+        boolean used = (code & GameController.RENDER_USED) != 0;
+        return text + (used ? "/used" : "");
+    }
+}
@@ -0,0 +1,140 @@
+import Controller.GameController;
+import Model.Board;
+import Model.Difficulty;
+import Model.Game;
+import Model.QuestionManager;
+import Model.QuestionResult;
+import Model.replay.Replay;
+import Model.replay.ReplayFormat;
+import Model.replay.ReplayPlayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records games through the GameController and rebuilds them from the replay file.
+ */
+public class ReplayTest {
+
+    @TempDir
+    Path dir;
+
+    private final GameController controller = GameController.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        controller.setReplayDirectory(null);
+        controller.setUndoDepth(0);
+    }
+
+    @Test
+    @DisplayName("A recorded game replays to the exact same end state")
+    void replayRebuildsGame() throws Exception {
+        controller.setReplayDirectory(dir.toFile());
+        controller.setUndoDepth(4);
+        controller.startNewGame(Difficulty.MEDIUM);
+        int[] answers = {0};
+        controller.registerQuestionPresenter(q -> (answers[0]++ % 3 == 0) ? QuestionResult.WRONG : QuestionResult.CORRECT);
+
+        int events = playRandomly(new SplittableRandom(11), 80);
+        controller.flushRecording();
+        File file = controller.getReplayFile();
+        int[] live = snapshot(controller.getCurrentGame());
+        assertTrue(answers[0] > 0, "the game should have asked questions");
+
+        Replay replay = Replay.read(file.toPath());
+        assertEquals(controller.getCurrentGame().getSeed(), replay.getSeed());
+        assertEquals(events, replay.getEventCount() - answers[0]);
+        assertTrue(Files.size(file.toPath()) < 40 + 6L * replay.getEventCount(), "events should take a few bytes each");
+
+        ReplayPlayer player = new ReplayPlayer(replay, QuestionManager.getInstance());
+        player.playToEnd();
+        assertArrayEquals(live, snapshot(player.getGame()));
+
+        // Seeking back rebuilds from the start and replays forward again
+        player.seek(replay.getEventCount() / 2);
+        player.seek(replay.getEventCount());
+        assertArrayEquals(live, snapshot(player.getGame()));
+    }
+
+    @Test
+    @DisplayName("Restart opens a new recording and a cut-off file keeps its complete events")
+    void restartAndTruncation() throws Exception {
+        controller.setReplayDirectory(dir.toFile());
+        controller.startNewGame(Difficulty.EASY);
+        File first = controller.getReplayFile();
+        controller.toggleFlagUI(1, 0, 0);
+        controller.processTurnEnd();
+        controller.restartGame();
+        File second = controller.getReplayFile();
+        assertNotEquals(first, second);
+        controller.revealCellUI(1, 1, 1);
+        controller.flushRecording();
+
+        Replay firstReplay = Replay.read(first.toPath());
+        assertEquals(2, firstReplay.getEventCount());
+        assertEquals(ReplayFormat.FLAG, firstReplay.getEventType(0));
+        assertEquals(ReplayFormat.SWITCH_TURN, firstReplay.getEventType(1));
+
+        byte[] bytes = Files.readAllBytes(second.toPath());
+        Replay whole = Replay.parse(ByteBuffer.wrap(bytes));
+        assertEquals(1, whole.getEventCount());
+        Replay cut = Replay.parse(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+        assertEquals(0, cut.getEventCount());
+        assertEquals(whole.getSeed(), cut.getSeed());
+    }
+
+    // Clicks around like a player: reveals, flags, special cells, turn ends and undos
+    private int playRandomly(SplittableRandom rnd, int moves) {
+        int recorded = 0;
+        for (int m = 0; m < moves && controller.isGameRunning(); m++) {
+            int boardNumber = controller.getCurrentPlayerTurn();
+            Board board = (boardNumber == 1) ? controller.getCurrentGame().getBoard1() : controller.getCurrentGame().getBoard2();
+            int r = rnd.nextInt(board.getRows());
+            int c = rnd.nextInt(board.getCols());
+            int action = rnd.nextInt(10);
+            if (action < 5) {
+                controller.revealCellUI(boardNumber, r, c);
+                recorded++;
+                if (controller.isQuestionOrSurprise(boardNumber, r, c) && controller.isGameRunning()) {
+                    controller.activateSpecialCellUI(boardNumber, r, c);
+                    recorded++;
+                }
+            } else if (action < 7) {
+                controller.toggleFlagUI(boardNumber, r, c);
+                recorded++;
+            } else if (action < 9) {
+                controller.processTurnEnd();
+                recorded++;
+            } else if (controller.undo()) {
+                recorded++;
+            }
+        }
+        return recorded;
+    }
+
+    private static int[] snapshot(Game game) {
+        Board b1 = game.getBoard1();
+        Board b2 = game.getBoard2();
+        int cells = b1.getRows() * b1.getCols();
+        int[] s = new int[6 + 2 * cells];
+        s[0] = game.getSharedScore();
+        s[1] = game.getSharedLives();
+        s[2] = game.getGameState().ordinal();
+        s[3] = game.getCurrentPlayerTurn();
+        s[4] = game.getTotalQuestionsAnswered();
+        s[5] = game.getTotalSurprisesOpened();
+        b1.fillRenderCodes(0, 0, b1.getRows(), b1.getCols(), s, 6);
+        b2.fillRenderCodes(0, 0, b2.getRows(), b2.getCols(), s, 6 + cells);
+        return s;
+    }
+}
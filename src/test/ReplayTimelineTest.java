@@ -0,0 +1,172 @@
+import Controller.GameController;
+import Model.Board;
+import Model.Game;
+import Model.QuestionManager;
+import Model.QuestionResult;
+import Model.ReplayTimeline;
+import Model.replay.Replay;
+import Model.replay.ReplayPlayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeks a replay timeline around and compares every position with the same replay
+ * stepped forward from the start.
+ */
+public class ReplayTimelineTest {
+
+    @TempDir
+    Path dir;
+
+    private final GameController controller = GameController.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        controller.closeReplay();
+        controller.setReplayDirectory(null);
+        controller.setUndoDepth(0);
+    }
+
+    @Test
+    @DisplayName("Random seeks (forward, backward, through checkpoints) match a step-by-step replay")
+    void seeksMatchSequentialReplay() throws Exception {
+        controller.setReplayDirectory(dir.toFile());
+        controller.setUndoDepth(3);
+        controller.startNewCustomGame(60, 60, 0.08, 6, 6, "MEDIUM");
+        int[] asked = {0};
+        controller.registerQuestionPresenter(q -> (asked[0]++ % 2 == 0) ? QuestionResult.CORRECT : QuestionResult.WRONG);
+        playRandomly(new SplittableRandom(5), 400);
+        controller.flushRecording();
+        Replay replay = Replay.read(controller.getReplayFile().toPath());
+
+        ReplayTimeline timeline = ReplayTimeline.build(replay, QuestionManager.getInstance());
+        assertTrue(timeline.getCheckpointCount() > 1, "a long game on a large board should have checkpoints");
+
+        ReplayPlayer player = new ReplayPlayer(replay, QuestionManager.getInstance());
+        int[][] expected = new int[timeline.getLength() + 1][];
+        expected[0] = snapshot(player.getGame());
+        for (int p = 1; p <= timeline.getLength(); p++) {
+            assertTrue(player.step());
+            expected[p] = snapshot(player.getGame());
+        }
+        assertFalse(player.step());
+
+        // Built at the end position
+        assertArrayEquals(expected[timeline.getLength()], snapshot(timeline.getGame()));
+
+        SplittableRandom rnd = new SplittableRandom(17);
+        for (int k = 0; k < 60; k++) {
+            int target = rnd.nextInt(timeline.getLength() + 1);
+            timeline.seek(target);
+            assertEquals(target, timeline.getPosition());
+            assertArrayEquals(expected[target], snapshot(timeline.getGame()), "position " + target);
+        }
+        timeline.seek(0);
+        assertArrayEquals(expected[0], snapshot(timeline.getGame()));
+        timeline.seek(timeline.getLength());
+        assertArrayEquals(expected[timeline.getLength()], snapshot(timeline.getGame()));
+    }
+
+    @Test
+    @DisplayName("An open replay drives the controller's game and ignores board actions and undo")
+    void controllerReplayMode() throws Exception {
+        controller.setReplayDirectory(dir.toFile());
+        controller.startNewGame("EASY");
+        controller.toggleFlagUI(1, 0, 0);
+        controller.processTurnEnd();
+        controller.revealCellUI(2, 4, 4);
+        controller.flushRecording();
+        Path file = controller.getReplayFile().toPath();
+
+        int[] changed = {0};
+        controller.setCellChangeListener(1, (changes, count, fullRefresh) -> changed[0] += count);
+        assertTrue(controller.openReplay(file.toFile()));
+        assertTrue(controller.isReplayMode());
+        assertEquals(3, controller.getReplayLength());
+        assertEquals(0, controller.getReplayPosition());
+        assertNull(controller.getReplayFile(), "viewing a replay is not recorded");
+
+        changed[0] = 0;
+        controller.seekReplay(1);
+        assertTrue(isFlagged(1, 0, 0));
+        assertEquals(1, changed[0]);
+        assertFalse(controller.revealCellUI(controller.getCurrentPlayerTurn(), 1, 1));
+        assertFalse(controller.toggleFlagUI(1, 0, 0));
+
+        // Undo settings and commands do not reach the replay's game
+        controller.setUndoDepth(5);
+        assertEquals(5, controller.getUndoDepth(), "kept for later games");
+        assertEquals(0, controller.getCurrentGame().getUndoDepth());
+        assertFalse(controller.canUndo());
+        assertFalse(controller.undo());
+        assertFalse(controller.redo());
+        assertEquals(1, controller.getReplayPosition());
+        assertTrue(isFlagged(1, 0, 0));
+
+        controller.seekReplay(99);
+        assertEquals(3, controller.getReplayPosition());
+        assertEquals(2, controller.getCurrentPlayerTurn());
+        controller.seekReplay(0);
+        assertFalse(isFlagged(1, 0, 0));
+        assertEquals(1, controller.getCurrentPlayerTurn());
+
+        controller.closeReplay();
+        controller.setCellChangeListener(1, null);
+        assertFalse(controller.isReplayMode());
+        assertNull(controller.getCurrentGame());
+        assertFalse(controller.openReplay(dir.resolve("missing.scr").toFile()));
+    }
+
+    private boolean isFlagged(int boardNumber, int row, int col) {
+        int code = controller.getRenderCode(boardNumber, row, col);
+        return (code & GameController.RENDER_STATE_MASK) == GameController.RENDER_FLAGGED;
+    }
+
+    // Reveals, flags, activations, turn ends and undos on the current player's board
+    private void playRandomly(SplittableRandom rnd, int moves) {
+        for (int m = 0; m < moves && controller.isGameRunning(); m++) {
+            int boardNumber = controller.getCurrentPlayerTurn();
+            int r = rnd.nextInt(controller.getBoardRows(boardNumber));
+            int c = rnd.nextInt(controller.getBoardCols(boardNumber));
+            int action = rnd.nextInt(12);
+            if (action < 7) {
+                controller.revealCellUI(boardNumber, r, c);
+                if (controller.isQuestionOrSurprise(boardNumber, r, c) && controller.isGameRunning()) {
+                    controller.activateSpecialCellUI(boardNumber, r, c);
+                }
+            } else if (action < 9) {
+                controller.toggleFlagUI(boardNumber, r, c);
+            } else if (action < 11) {
+                controller.processTurnEnd();
+            } else {
+                controller.undo();
+            }
+        }
+    }
+
+    private static int[] snapshot(Game game) {
+        Board b1 = game.getBoard1();
+        Board b2 = game.getBoard2();
+        int cells = b1.getRows() * b1.getCols();
+        int[] s = new int[9 + 2 * cells];
+        s[0] = game.getSharedScore();
+        s[1] = game.getSharedLives();
+        s[2] = game.getGameState().ordinal();
+        s[3] = game.getCurrentPlayerTurn();
+        s[4] = game.getTotalQuestionsAnswered();
+        s[5] = game.getTotalCorrectAnswers();
+        s[6] = game.getTotalSurprisesOpened();
+        s[7] = b1.getSafeCellsRemaining();
+        s[8] = b2.getSafeCellsRemaining();
+        b1.fillRenderCodes(0, 0, b1.getRows(), b1.getCols(), s, 9);
+        b2.fillRenderCodes(0, 0, b2.getRows(), b2.getCols(), s, 9 + cells);
+        return s;
+    }
+}
@@ -0,0 +1,125 @@
+import Model.Difficulty;
+import Model.Game;
+import Model.ScoreRules;
+import Model.sim.RuleAnalyzer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Expected values of special cell activations: hand-checked rule outcomes, the life cap,
+ * sampling against the exact values and replaced rule tables.
+ */
+public class RuleAnalyzerTest {
+
+    private static RuleAnalyzer.Expectation find(List<RuleAnalyzer.Expectation> all, Difficulty d,
+                                                 Game.QuestionLevel level, boolean correct, int lives) {
+        for (RuleAnalyzer.Expectation e : all) {
+            if (e.getDifficulty() == d && e.getQuestionLevel() == level
+                    && e.isCorrect() == correct && e.getLivesBefore() == lives) {
+                return e;
+            }
+        }
+        throw new AssertionError("No expectation for " + d + " " + level + " " + correct + " " + lives);
+    }
+
+    @Test
+    @DisplayName("Every difficulty, question level, answer and lives value is covered")
+    void coversEveryCombination() {
+        RuleAnalyzer analyzer = new RuleAnalyzer();
+        analyzer.setSamples(0);
+        List<RuleAnalyzer.Expectation> all = analyzer.analyze();
+        int kinds = Game.QuestionLevel.values().length * 2 + 1;
+        assertEquals(Difficulty.values().length * kinds * Game.MAX_LIVES, all.size());
+    }
+
+    @Test
+    @DisplayName("Exact values include the activation cost, 50/50 rules and the life cap")
+    void exactValues() {
+        RuleAnalyzer analyzer = new RuleAnalyzer();
+        analyzer.setSamples(0);
+        List<RuleAnalyzer.Expectation> all = analyzer.analyze();
+
+        // EASY game, correct EASY: cost 5, +3 pts, +1 life
+        RuleAnalyzer.Expectation e = find(all, Difficulty.EASY, Game.QuestionLevel.EASY, true, 5);
+        assertEquals(-2, e.getScore(), 1e-12);
+        assertEquals(1, e.getLives(), 1e-12);
+        // At the cap the life becomes 5 points
+        e = find(all, Difficulty.EASY, Game.QuestionLevel.EASY, true, Game.MAX_LIVES);
+        assertEquals(3, e.getScore(), 1e-12);
+        assertEquals(0, e.getLives(), 1e-12);
+
+        // EASY game, wrong EASY: -3 pts with probability 1/2
+        e = find(all, Difficulty.EASY, Game.QuestionLevel.EASY, false, 5);
+        assertEquals(-5 - 1.5, e.getScore(), 1e-12);
+        assertEquals(0, e.getLossProbability(), 1e-12);
+
+        // MEDIUM game, wrong EXPERT: -1 or -2 lives; with 1 life it always loses,
+        // with 2 lives only the -2 branch does
+        e = find(all, Difficulty.MEDIUM, Game.QuestionLevel.EXPERT, false, 1);
+        assertEquals(1, e.getLossProbability(), 1e-12);
+        assertEquals(-1, e.getLives(), 1e-12);
+        e = find(all, Difficulty.MEDIUM, Game.QuestionLevel.EXPERT, false, 2);
+        assertEquals(0.5, e.getLossProbability(), 1e-12);
+        assertEquals(-1.5, e.getLives(), 1e-12);
+        assertEquals(-8 - 20, e.getScore(), 1e-12);
+
+        // HARD game, correct MEDIUM at one below the cap: the second life of +2 turns into 12 pts
+        e = find(all, Difficulty.HARD, Game.QuestionLevel.MEDIUM, true, Game.MAX_LIVES - 1);
+        assertEquals(-12 + 15 + 0.5 * 12, e.getScore(), 1e-12);
+        assertEquals(1, e.getLives(), 1e-12);
+
+        // Surprises cancel out below the cap; at the cap a good one is worth value + value
+        int cost = Difficulty.HARD.getActivationCost();
+        int value = Difficulty.HARD.getSurpriseValue();
+        e = find(all, Difficulty.HARD, null, false, 5);
+        assertTrue(e.isSurprise());
+        assertEquals(-cost, e.getScore(), 1e-12);
+        assertEquals(0, e.getLives(), 1e-12);
+        e = find(all, Difficulty.HARD, null, false, Game.MAX_LIVES);
+        assertEquals(-cost + 0.5 * value, e.getScore(), 1e-12);
+        assertEquals(-0.5, e.getLives(), 1e-12);
+        e = find(all, Difficulty.HARD, null, false, 1);
+        assertEquals(0.5, e.getLossProbability(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Sampled values agree with the exact ones and repeat with the seed")
+    void sampledMatchesExact() {
+        RuleAnalyzer analyzer = new RuleAnalyzer();
+        analyzer.setSeed(7);
+        analyzer.setSamples(20_000);
+        List<RuleAnalyzer.Expectation> first = analyzer.analyze();
+        for (RuleAnalyzer.Expectation e : first) {
+            assertEquals(e.getScore(), e.getSampledScore(), 5 * e.getSampledScoreError() + 1e-9, e.toString());
+            assertEquals(e.getLossProbability(), e.getSampledLossProbability(), 0.03, e.toString());
+        }
+        List<RuleAnalyzer.Expectation> second = analyzer.analyze();
+        for (int k = 0; k < first.size(); k++) {
+            assertEquals(first.get(k).getSampledScore(), second.get(k).getSampledScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Edited rule tables are analyzed without other changes")
+    void replacedRules() {
+        RuleAnalyzer analyzer = new RuleAnalyzer();
+        analyzer.setSamples(0);
+        // Two draws: +4 pts only when both come up
+        analyzer.setQuestionRules((d, level, correct, rnd) ->
+                new ScoreRules.Result(rnd.nextBoolean() && rnd.nextBoolean() ? 4 : 0, 0, ""));
+        analyzer.setSurpriseRules((d, rnd) -> new ScoreRules.Result(0, -1, ""));
+        List<RuleAnalyzer.Expectation> all = analyzer.analyze();
+
+        RuleAnalyzer.Expectation e = find(all, Difficulty.MEDIUM, Game.QuestionLevel.HARD, true, 3);
+        assertEquals(-Difficulty.MEDIUM.getActivationCost() + 1, e.getScore(), 1e-12);
+        e = find(all, Difficulty.EASY, null, false, 1);
+        assertEquals(1, e.getLossProbability(), 1e-12);
+
+        analyzer.setQuestionRules((d, level, correct, rnd) -> new ScoreRules.Result(rnd.nextInt(3), 0, ""));
+        assertThrows(UnsupportedOperationException.class, analyzer::analyze);
+    }
+}
@@ -0,0 +1,69 @@
+import Model.BoardConfig;
+import Model.Difficulty;
+import Model.Game;
+import Model.ScoreRules;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that a game seed reproduces boards and random rule outcomes exactly.
+ */
+public class SeededGameTest {
+
+    @Test
+    @DisplayName("Same seed gives identical boards on both sides")
+    void sameSeedSameBoards() {
+        Game a = new Game(Difficulty.HARD);
+        Game b = new Game(Difficulty.HARD);
+        a.startNewGame(BoardConfig.of(Difficulty.HARD), 12345L);
+        b.startNewGame(BoardConfig.of(Difficulty.HARD), 12345L);
+
+        assertEquals(12345L, a.getSeed());
+        BoardAssertions.assertSameLayout(a.getBoard1(), b.getBoard1());
+        BoardAssertions.assertSameLayout(a.getBoard2(), b.getBoard2());
+    }
+
+    @Test
+    @DisplayName("Same seed gives identical reward picks and 50/50 scoring outcomes")
+    void sameSeedSameOutcomes() {
+        Game a = new Game(Difficulty.MEDIUM);
+        Game b = new Game(Difficulty.MEDIUM);
+        a.startNewGame(BoardConfig.of(Difficulty.MEDIUM), 777L);
+        b.startNewGame(BoardConfig.of(Difficulty.MEDIUM), 777L);
+
+        for (int i = 0; i < 20; i++) {
+            ScoreRules.Result ra = a.processQuestionAnswer(Game.QuestionLevel.EXPERT, false);
+            ScoreRules.Result rb = b.processQuestionAnswer(Game.QuestionLevel.EXPERT, false);
+            assertEquals(ra.deltaLives, rb.deltaLives);
+            assertEquals(ra.deltaScore, rb.deltaScore);
+            a.setSharedLives(8);
+            b.setSharedLives(8);
+        }
+
+        a.getBoard1().revealRandomMine();
+        b.getBoard1().revealRandomMine();
+        BoardAssertions.assertSameLayout(a.getBoard1(), b.getBoard1());
+    }
+
+    @Test
+    @DisplayName("Different seeds give different boards")
+    void differentSeedsDiffer() {
+        Game a = new Game(Difficulty.HARD);
+        Game b = new Game(Difficulty.HARD);
+        a.startNewGame(BoardConfig.of(Difficulty.HARD), 1L);
+        b.startNewGame(BoardConfig.of(Difficulty.HARD), 2L);
+
+        boolean differs = false;
+        for (int r = 0; r < a.getBoard1().getRows() && !differs; r++) {
+            for (int c = 0; c < a.getBoard1().getCols(); c++) {
+                if (a.getBoard1().getCell(r, c).getContent() != b.getBoard1().getCell(r, c).getContent()) {
+                    differs = true;
+                    break;
+                }
+            }
+        }
+        assertTrue(differs);
+    }
+}
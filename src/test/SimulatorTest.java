@@ -0,0 +1,98 @@
+import Model.BoardConfig;
+import Model.Difficulty;
+import Model.Game;
+import Model.sim.Histogram;
+import Model.sim.RandomBot;
+import Model.sim.SimulationReport;
+import Model.sim.Simulator;
+import Model.sim.SolverBot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Headless simulation: reports add up, results do not depend on the thread count, and
+ * the bots rank as expected.
+ */
+public class SimulatorTest {
+
+    @Test
+    @DisplayName("Every simulated game is counted once in the outcomes and both histograms")
+    void reportsAddUp() {
+        boolean console = Game.isConsoleOutput();
+        Simulator simulator = new Simulator(() -> new SolverBot(true));
+        Map<Difficulty, SimulationReport> reports = simulator.runAll(40);
+        assertEquals(Difficulty.values().length, reports.size());
+        for (SimulationReport report : reports.values()) {
+            assertEquals(40, report.getGames());
+            assertEquals(40, report.getWins() + report.getLosses() + report.getUnfinished());
+            assertEquals(0, report.getUnfinished(), report.toString());
+            assertEquals(40, report.getScores().getTotal());
+            assertEquals(40, report.getTurns().getTotal());
+            assertTrue(report.getConfig().isFirstClickSafe());
+            assertTrue(report.getCorrectAnswers() <= report.getQuestionsAnswered());
+        }
+        assertEquals(console, Game.isConsoleOutput(), "the console setting is restored after a run");
+    }
+
+    @Test
+    @DisplayName("The same seed gives the same results on one thread and on several")
+    void resultsDoNotDependOnThreads() {
+        assertSameOnAnyThreads(new Simulator(SolverBot::new), BoardConfig.of(Difficulty.MEDIUM));
+        // Risk-takers also guess by probabilities and play special cells
+        assertSameOnAnyThreads(new Simulator(() -> new SolverBot(true)), BoardConfig.of(Difficulty.HARD));
+    }
+
+    private static void assertSameOnAnyThreads(Simulator simulator, BoardConfig config) {
+        simulator.setSeed(99);
+        simulator.setParallelism(1);
+        SimulationReport sequential = simulator.run(config, 150);
+        simulator.setParallelism(4);
+        SimulationReport parallel = simulator.run(config, 150);
+
+        assertEquals(sequential.getWins(), parallel.getWins());
+        assertEquals(sequential.getAverageLivesLeft(), parallel.getAverageLivesLeft());
+        assertEquals(sequential.getQuestionsAnswered(), parallel.getQuestionsAnswered());
+        assertEquals(sequential.getSurprisesOpened(), parallel.getSurprisesOpened());
+        assertArrayEquals(sequential.getScores().getBuckets(1), parallel.getScores().getBuckets(1));
+        assertArrayEquals(sequential.getTurns().getBuckets(1), parallel.getTurns().getBuckets(1));
+    }
+
+    @Test
+    @DisplayName("Playing by deduction wins far more often than clicking at random")
+    void solverBeatsRandom() {
+        BoardConfig config = BoardConfig.of(Difficulty.MEDIUM).withFirstClickSafe(true);
+        SimulationReport random = new Simulator(RandomBot::new).run(config, 100);
+        SimulationReport solver = new Simulator(SolverBot::new).run(config, 100);
+        assertTrue(solver.getWinRate() > 0.8, solver.toString());
+        assertTrue(random.getWinRate() < solver.getWinRate() / 2, random.toString());
+    }
+
+    @Test
+    @DisplayName("Histograms cover negative values, merge and answer percentiles")
+    void histogram() {
+        Histogram a = new Histogram();
+        for (int v = -5; v <= 4; v++) a.add(v);
+        Histogram b = new Histogram();
+        b.add(100);
+        b.add(-20);
+        a.merge(b);
+
+        assertEquals(12, a.getTotal());
+        assertEquals(-20, a.getMin());
+        assertEquals(100, a.getMax());
+        assertEquals(1, a.getCount(-20));
+        assertEquals(0, a.getCount(50));
+        assertEquals(75 / 12.0, a.getMean(), 1e-9);
+        assertEquals(-20, a.getPercentile(0.0));
+        assertEquals(-1, a.getPercentile(0.5));
+        assertEquals(100, a.getPercentile(1.0));
+        long[] buckets = a.getBuckets(50);
+        assertEquals(3, buckets.length);
+        assertEquals(11, buckets[0]);
+        assertEquals(1, buckets[2]);
+    }
+}
@@ -0,0 +1,193 @@
+import Model.Board;
+import Model.BoardConfig;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies undo/redo through the move journal: every move restores boards, score,
+ * lives, state, turn and counters exactly.
+ */
+public class UndoRedoTest {
+
+    private Game game;
+
+    @BeforeEach
+    void setup() {
+        game = new Game(BoardConfig.of(Difficulty.HARD));
+        game.setUndoDepth(1000);
+        game.startNewGame(BoardConfig.of(Difficulty.HARD), 77L);
+    }
+
+    @Test
+    @DisplayName("Undo and redo of a flood fill restore the exact before and after states")
+    void floodFillRoundTrip() {
+        int[] before = snapshot();
+        int[] zero = findEmpty(game.getBoard1());
+        game.getBoard1().revealCell(zero[0], zero[1]);
+        int[] after = snapshot();
+        assertNotEquals(before[0], after[0], "the reveal should score");
+
+        assertTrue(game.undo());
+        assertArrayEquals(before, snapshot());
+        assertFalse(game.canUndo());
+
+        assertTrue(game.redo());
+        assertArrayEquals(after, snapshot());
+        assertFalse(game.canRedo());
+        game.getBoard1().verifyCounters();
+    }
+
+    @Test
+    @DisplayName("A random game unwinds to its start and replays to its end")
+    void randomGameUnwindsAndReplays() {
+        List<int[]> states = new ArrayList<>();
+        states.add(snapshot());
+        SplittableRandom rnd = new SplittableRandom(5);
+        for (int move = 0; move < 60 && game.getGameState() == GameState.RUNNING; move++) {
+            Board board = (move % 2 == 0) ? game.getBoard1() : game.getBoard2();
+            int r = rnd.nextInt(board.getRows());
+            int c = rnd.nextInt(board.getCols());
+            int undoable = countUndo();
+            if (rnd.nextInt(4) == 0) board.toggleFlag(r, c);
+            else board.revealCell(r, c);
+            if (move % 3 == 0) game.switchTurn();
+            if (countUndo() > undoable) states.add(snapshot());
+        }
+        assertTrue(states.size() > 10);
+
+        for (int k = states.size() - 2; k >= 0; k--) {
+            assertTrue(game.undo());
+            assertArrayEquals(withoutTurn(states.get(k)), withoutTurn(snapshot()), "after undo to " + k);
+            game.getBoard1().verifyCounters();
+            game.getBoard2().verifyCounters();
+        }
+        assertFalse(game.undo());
+        for (int k = 1; k < states.size(); k++) {
+            assertTrue(game.redo());
+            assertArrayEquals(withoutTurn(states.get(k)), withoutTurn(snapshot()), "after redo to " + k);
+        }
+        assertFalse(game.redo());
+    }
+
+    @Test
+    @DisplayName("Undo restores the turn of the player who made the move")
+    void undoRestoresTurn() {
+        int[] zero = findEmpty(game.getBoard1());
+        game.getBoard1().revealCell(zero[0], zero[1]);
+        game.switchTurn();
+        assertEquals(2, game.getCurrentPlayerTurn());
+
+        game.undo();
+        assertEquals(1, game.getCurrentPlayerTurn());
+        game.redo();
+        assertEquals(2, game.getCurrentPlayerTurn());
+    }
+
+    @Test
+    @DisplayName("Undoing the losing move brings the game back to RUNNING")
+    void undoLoss() {
+        Board board = game.getBoard1();
+        game.setSharedLives(1);
+        int[] before = snapshot();
+        int[] mine = findMine(board);
+        board.revealCell(mine[0], mine[1]);
+        assertEquals(GameState.LOST, game.getGameState());
+
+        assertTrue(game.undo());
+        assertEquals(GameState.RUNNING, game.getGameState());
+        assertArrayEquals(before, snapshot());
+    }
+
+    @Test
+    @DisplayName("The journal keeps at most depth moves and a new move drops the redo history")
+    void depthAndRedoTruncation() {
+        game.setUndoDepth(3);
+        Board board = game.getBoard1();
+        int flags = 0;
+        for (int r = 0; r < board.getRows() && flags < 5; r++) {
+            if (board.toggleFlag(r, 0)) flags++;
+        }
+        assertEquals(5, flags);
+        int undone = 0;
+        while (game.undo()) undone++;
+        assertEquals(3, undone);
+        assertEquals(2, board.getFlagsPlaced());
+
+        game.redo();
+        assertTrue(game.canRedo());
+        board.toggleFlag(board.getRows() - 1, board.getCols() - 1);
+        assertFalse(game.canRedo());
+        board.verifyCounters();
+    }
+
+    @Test
+    @DisplayName("Without an undo depth nothing is recorded")
+    void offByDefault() {
+        Game plain = new Game(BoardConfig.of(Difficulty.EASY));
+        plain.getBoard1().toggleFlag(0, 0);
+        assertEquals(0, plain.getUndoDepth());
+        assertFalse(plain.canUndo());
+        assertFalse(plain.undo());
+    }
+
+    private int countUndo() {
+        int n = 0;
+        while (game.undo()) n++;
+        for (int k = 0; k < n; k++) game.redo();
+        return n;
+    }
+
+    // score, lives, state, turn, safe cells and flags of both boards, then all render codes
+    private int[] snapshot() {
+        Board b1 = game.getBoard1();
+        Board b2 = game.getBoard2();
+        int cells = b1.getRows() * b1.getCols();
+        int[] s = new int[8 + 2 * cells];
+        s[0] = game.getSharedScore();
+        s[1] = game.getSharedLives();
+        s[2] = game.getGameState().ordinal();
+        s[3] = game.getCurrentPlayerTurn();
+        s[4] = b1.getSafeCellsRemaining();
+        s[5] = b2.getSafeCellsRemaining();
+        s[6] = b1.getFlagsPlaced();
+        s[7] = b2.getFlagsPlaced();
+        b1.fillRenderCodes(0, 0, b1.getRows(), b1.getCols(), s, 8);
+        b2.fillRenderCodes(0, 0, b2.getRows(), b2.getCols(), s, 8 + cells);
+        return s;
+    }
+
+    // Turn switches happen outside moves; undo restores the mover's turn, redo the turn that followed
+    private static int[] withoutTurn(int[] snapshot) {
+        int[] copy = snapshot.clone();
+        copy[3] = 0;
+        return copy;
+    }
+
+    private static int[] findEmpty(Board board) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getZeroRegionSize(r, c) > 1) return new int[]{r, c};
+            }
+        }
+        throw new AssertionError("no empty cell");
+    }
+
+    private static int[] findMine(Board board) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).isMine()) return new int[]{r, c};
+            }
+        }
+        throw new AssertionError("no mine");
+    }
+}
@@ -0,0 +1,195 @@
+import Model.Board;
+import Model.BoardConfig;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the precomputed zero regions: batch reveals match a reference flood fill,
+ * special cells belong to their region, and 3BV matches a brute-force count.
+ */
+public class ZeroRegionTest {
+
+    @Test
+    @DisplayName("Clicking any zero cell reveals exactly what a flood fill would")
+    void batchRevealMatchesFloodFill() {
+        SplittableRandom rnd = new SplittableRandom(5);
+        for (int round = 0; round < 40; round++) {
+            BoardConfig config = BoardConfig.custom(20 + rnd.nextInt(30), 20 + rnd.nextInt(30),
+                    0.05 + rnd.nextDouble() * 0.15, 5, 3, Difficulty.MEDIUM);
+            Game game = new Game(config);
+            game.startNewGame(config, rnd.nextLong());
+            Board board = game.getBoard1();
+
+            // Sometimes flag a safe zero cell first, which can cut a region
+            if (rnd.nextBoolean()) {
+                int[] z = randomZeroCell(board, rnd);
+                if (z != null) board.toggleFlag(z[0], z[1]);
+            }
+
+            for (int click = 0; click < 5; click++) {
+                int[] z = randomZeroCell(board, rnd);
+                if (z == null) break;
+                boolean[][] expected = expectedAfterFlood(board, z[0], z[1]);
+                int score = game.getSharedScore();
+                int newly = countNewly(board, expected);
+
+                board.revealCell(z[0], z[1]);
+
+                for (int r = 0; r < board.getRows(); r++) {
+                    for (int c = 0; c < board.getCols(); c++) {
+                        assertEquals(expected[r][c], board.getCell(r, c).isRevealed(), "Cell (" + r + "," + c + ")");
+                    }
+                }
+                assertEquals(score + newly, game.getSharedScore());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Question and surprise cells open their whole zero region")
+    void specialCellsInsideRegions() {
+        BoardConfig config = BoardConfig.custom(40, 40, 0.08, 20, 20, Difficulty.MEDIUM);
+        Game game = new Game(config);
+        game.startNewGame(config, 77L);
+        Board board = game.getBoard1();
+
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell.CellContent content = board.getCell(r, c).getContent();
+                if (content == Cell.CellContent.QUESTION || content == Cell.CellContent.SURPRISE) {
+                    assertEquals(expectedRegionSize(board, r, c), board.getZeroRegionSize(r, c));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("3BV equals zero regions plus numbers that no region opens")
+    void threeBVMatchesBruteForce() {
+        for (Difficulty d : Difficulty.values()) {
+            Game game = new Game(d);
+            game.startNewGame(BoardConfig.of(d), 31L);
+            Board board = game.getBoard1();
+
+            int regions = 0;
+            boolean[][] seen = new boolean[board.getRows()][board.getCols()];
+            boolean[][] opened = new boolean[board.getRows()][board.getCols()];
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    if (!isZero(board, r, c) || seen[r][c]) continue;
+                    regions++;
+                    boolean[][] region = floodFrom(board, r, c);
+                    for (int rr = 0; rr < board.getRows(); rr++) {
+                        for (int cc = 0; cc < board.getCols(); cc++) {
+                            if (!region[rr][cc]) continue;
+                            opened[rr][cc] = true;
+                            if (isZero(board, rr, cc)) seen[rr][cc] = true;
+                        }
+                    }
+                }
+            }
+            int isolated = 0;
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    if (!board.getCell(r, c).isMine() && !opened[r][c]) isolated++;
+                }
+            }
+            assertEquals(regions, board.getZeroRegionCount());
+            assertEquals(regions + isolated, board.get3BV());
+        }
+    }
+
+    // --- Reference flood fill over the public Cell view ---
+
+    private static boolean isZero(Board board, int r, int c) {
+        Cell cell = board.getCell(r, c);
+        return !cell.isMine() && cell.getContent() != Cell.CellContent.NUMBER;
+    }
+
+    private static int[] randomZeroCell(Board board, SplittableRandom rnd) {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            int r = rnd.nextInt(board.getRows());
+            int c = rnd.nextInt(board.getCols());
+            if (isZero(board, r, c) && board.getCell(r, c).getState() == Cell.CellState.HIDDEN) {
+                return new int[]{r, c};
+            }
+        }
+        return null;
+    }
+
+    /** Cells a flood from (r, c) would open on a fresh board (ignores current states). */
+    private static boolean[][] floodFrom(Board board, int r0, int c0) {
+        boolean[][] open = new boolean[board.getRows()][board.getCols()];
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        open[r0][c0] = true;
+        queue.add(new int[]{r0, c0});
+        while (!queue.isEmpty()) {
+            int[] p = queue.poll();
+            if (!isZero(board, p[0], p[1])) continue;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int r = p[0] + dr, c = p[1] + dc;
+                    if (r < 0 || c < 0 || r >= board.getRows() || c >= board.getCols()) continue;
+                    if (open[r][c] || board.getCell(r, c).isMine()) continue;
+                    open[r][c] = true;
+                    queue.add(new int[]{r, c});
+                }
+            }
+        }
+        return open;
+    }
+
+    private static int expectedRegionSize(Board board, int r, int c) {
+        boolean[][] region = floodFrom(board, r, c);
+        int n = 0;
+        for (boolean[] row : region) {
+            for (boolean b : row) if (b) n++;
+        }
+        return n;
+    }
+
+    /** Revealed states after clicking (r0, c0), following the rules of the game's flood fill. */
+    private static boolean[][] expectedAfterFlood(Board board, int r0, int c0) {
+        boolean[][] revealed = new boolean[board.getRows()][board.getCols()];
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                revealed[r][c] = board.getCell(r, c).isRevealed();
+            }
+        }
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        revealed[r0][c0] = true;
+        queue.add(new int[]{r0, c0});
+        while (!queue.isEmpty()) {
+            int[] p = queue.poll();
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int r = p[0] + dr, c = p[1] + dc;
+                    if (r < 0 || c < 0 || r >= board.getRows() || c >= board.getCols()) continue;
+                    Cell cell = board.getCell(r, c);
+                    if (revealed[r][c] || cell.isFlagged() || cell.isMine()) continue;
+                    revealed[r][c] = true;
+                    if (cell.getContent() != Cell.CellContent.NUMBER) queue.add(new int[]{r, c});
+                }
+            }
+        }
+        return revealed;
+    }
+
+    private static int countNewly(Board board, boolean[][] expected) {
+        int n = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (expected[r][c] && !board.getCell(r, c).isRevealed()) n++;
+            }
+        }
+        return n;
+    }
+}